@@ -0,0 +1,151 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.Intent;
+import android.os.Bundle;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Declarative filters registered from JS. Remote notification events that match none of the
+ * active filters are dropped before being converted and emitted across the bridge. With no
+ * filters registered every event is delivered.
+ */
+public final class ReactNativeEventFilters {
+
+    private static final List<Filter> mFilters = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger mNextFilterId = new AtomicInteger(1);
+    private static final AtomicLong mPassedCount = new AtomicLong();
+    private static final AtomicLong mFilteredCount = new AtomicLong();
+
+    public static final class Filter {
+        private final int mId;
+        private final String mType;
+        private final String mKey;
+        private final String mValue;
+
+        private Filter(int id, String type, String key, String value) {
+            this.mId = id;
+            this.mType = type;
+            this.mKey = key;
+            this.mValue = value;
+        }
+
+        public int getId() {
+            return mId;
+        }
+
+        /**
+         * Matches against the event's extras, fetched once per event by the caller since
+         * {@link Intent#getExtras()} copies them.
+         */
+        public boolean matches(Bundle extras) {
+            switch (mType) {
+                case EVENT_FILTER_TYPE_KEY_PRESENT:
+                    return extras.containsKey(mKey);
+                case EVENT_FILTER_TYPE_KEY_EQUALS:
+                    return extraEquals(extras, mKey, mValue);
+                case EVENT_FILTER_TYPE_GROUP:
+                    return extraEquals(extras, KEY_REMOTE_NOTIFICATION_GROUP, mValue);
+                case EVENT_FILTER_TYPE_TAG:
+                    return extraEquals(extras, KEY_REMOTE_NOTIFICATION_TAG, mValue);
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean extraEquals(Bundle extras, String key, String value) {
+            Object extra = extras.get(key);
+            return extra != null && String.valueOf(extra).equals(value);
+        }
+    }
+
+    /**
+     * Registers a filter and returns its id, or -1 if the definition is invalid.
+     */
+    public static int add(String type, String key, String value) {
+        if (type == null) {
+            return -1;
+        }
+
+        switch (type) {
+            case EVENT_FILTER_TYPE_KEY_PRESENT:
+                if (key == null) {
+                    return -1;
+                }
+                break;
+            case EVENT_FILTER_TYPE_KEY_EQUALS:
+                if (key == null || value == null) {
+                    return -1;
+                }
+                break;
+            case EVENT_FILTER_TYPE_GROUP:
+            case EVENT_FILTER_TYPE_TAG:
+                if (value == null) {
+                    return -1;
+                }
+                break;
+            default:
+                return -1;
+        }
+
+        Filter filter = new Filter(mNextFilterId.getAndIncrement(), type, key, value);
+        mFilters.add(filter);
+        return filter.getId();
+    }
+
+    public static void remove(int id) {
+        for (Filter filter : mFilters) {
+            if (filter.getId() == id) {
+                mFilters.remove(filter);
+            }
+        }
+    }
+
+    public static void clear() {
+        mFilters.clear();
+    }
+
+    public static int getActiveFilterCount() {
+        return mFilters.size();
+    }
+
+    public static long getPassedCount() {
+        return mPassedCount.get();
+    }
+
+    public static long getFilteredCount() {
+        return mFilteredCount.get();
+    }
+
+    /**
+     * Returns whether the broadcast intent should be emitted to JS. Only remote notification
+     * events are subject to filtering; registration events are always delivered.
+     */
+    public static boolean accept(Intent intent) {
+        if (!INTENT_EVENT_TYPE_BUNDLE.equals(intent.getStringExtra(KEY_INTENT_EVENT_TYPE))
+                || mFilters.isEmpty()) {
+            return true;
+        }
+
+        Bundle extras = intent.getExtras();
+        if (extras != null) {
+            for (Filter filter : mFilters) {
+                if (filter.matches(extras)) {
+                    mPassedCount.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+
+        mFilteredCount.incrementAndGet();
+        return false;
+    }
+
+    private ReactNativeEventFilters() {
+    }
+}
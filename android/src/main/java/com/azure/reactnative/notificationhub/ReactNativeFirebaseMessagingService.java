@@ -9,6 +9,7 @@ import android.os.Bundle;
 import android.service.notification.StatusBarNotification;
 import android.util.Log;
 
+import com.facebook.react.HeadlessJsTaskService;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
 
@@ -17,9 +18,6 @@ import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
 import androidx.annotation.NonNull;
 import androidx.annotation.RequiresApi;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
 import java.util.Objects;
 
 public class ReactNativeFirebaseMessagingService extends FirebaseMessagingService {
@@ -36,14 +34,11 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
      */
     private static final String NOTIFICATION_RANKER_GROUP = "ranker_group";
 
-    /**
-     * Comparator for sorting notifications by their post time in ascending order.
-     */
-    private final Comparator<StatusBarNotification> NOTIFICATION_COMPARATOR_BY_POST_TIME =
-            (o1, o2) -> (int) (o1.getPostTime() - o2.getPostTime());
-
     private static String notificationChannelID;
 
+    // Receipt time of the message handleIntent is delivering, messages are handled one at a time
+    private long mReceivedAtNanos;
+
     public static void createNotificationChannel(Context context) {
         if (notificationChannelID == null) {
             ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
@@ -106,6 +101,12 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
         }
     }
 
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        ReactNativeTrace.initialize(this);
+    }
+
     @Override
     public void onNewToken(@NonNull String token) {
         Intent intent = ReactNativeNotificationHubUtil.IntentFactory.createIntent(this, ReactNativeRegistrationIntentService.class);
@@ -118,7 +119,9 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
      */
     @Override
     public void handleIntent(Intent intent) {
+        mReceivedAtNanos = System.nanoTime();
 
+        boolean section = ReactNativeTrace.begin(TRACE_HANDLE_INTENT);
         try {
             if (intent.getExtras() != null) {
                 String className = ReactNativeFirebaseMessagingService.class.getSimpleName();
@@ -137,16 +140,39 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
         catch (Exception e) {
             super.handleIntent(intent);
         }
+        finally {
+            ReactNativeTrace.end(section);
+        }
     }
 
     @Override
     public void onMessageReceived(RemoteMessage remoteMessage) {
+        boolean section = ReactNativeTrace.begin(TRACE_MESSAGE_RECEIVED);
+        try {
+            receiveMessage(remoteMessage);
+        } finally {
+            ReactNativeTrace.end(section);
+        }
+    }
+
+    private void receiveMessage(RemoteMessage remoteMessage) {
+        ReactNativeMessageTrace trace = ReactNativeMessageTrace.start(
+                mReceivedAtNanos != 0 ? mReceivedAtNanos : System.nanoTime());
+        mReceivedAtNanos = 0;
+        ReactNativeMetrics.increment(METRIC_MESSAGES_RECEIVED);
 
         ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
 
         Bundle bundle = remoteMessage.toIntent().getExtras();
 
-        String message = null;
+        // Silent messages skip the inbox, the channel, tray eviction and rendering altogether.
+        // Opt-in, so payloads that already carry the key next to a visible body keep rendering.
+        String silentMessageKey = notificationHubUtil.getSilentMessageKey(this);
+        if (bundle != null && silentMessageKey != null &&
+                ReactNativePayloadValues.parseFlag(bundle.get(silentMessageKey))) {
+            deliverSilentMessage(bundle, trace);
+            return;
+        }
 
         if (bundle != null) {
             // Retrieve notification body from google notification payload
@@ -158,17 +184,15 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
             if (bundle.get(KEY_REMOTE_GCM_NOTIFICATION_TITLE) != null) {
                 bundle.putString(KEY_REMOTE_NOTIFICATION_TITLE, bundle.getString(KEY_REMOTE_GCM_NOTIFICATION_TITLE));
             }
+        }
 
-            if (bundle.get(KEY_REMOTE_NOTIFICATION_MESSAGE) != null) {
-                message = bundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE);
-            }
-
-            if (message == null && bundle.get(KEY_REMOTE_NOTIFICATION_BODY) != null) {
-                message = bundle.getString(KEY_REMOTE_NOTIFICATION_BODY);
-            }
+        // Data-only messages have no spec but still belong in the inbox
+        if (bundle != null && notificationHubUtil.isInboxEnabled(this)) {
+            appendToInbox(this, bundle);
         }
 
-        if (message == null) {
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(bundle, trace);
+        if (spec == null) {
             Log.e(TAG, ERROR_NO_MESSAGE);
             return;
         }
@@ -188,10 +212,69 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
             bundle.putBoolean(KEY_REMOTE_NOTIFICATION_USER_INTERACTION, false);
             bundle.putBoolean(KEY_REMOTE_NOTIFICATION_COLDSTART, false);
         } else {
-            ReactNativeNotificationsHandler.sendNotification(this, bundle, notificationChannelID);
+            ReactNativeNotificationsHandler.sendNotification(this, spec, notificationChannelID);
         }
 
-        ReactNativeNotificationsHandler.sendBroadcast(this, bundle, 0);
+        ReactNativeNotificationsHandler.sendBroadcast(this, bundle, 0, trace);
+    }
+
+    /**
+     * Hands a silent message to JS: as a notification event while the app is in the foreground,
+     * otherwise to the silent headless task when enabled, falling back to the event. The event
+     * only reaches a foreground app, so without the headless task a background message is dropped.
+     */
+    private void deliverSilentMessage(Bundle bundle, ReactNativeMessageTrace trace) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        ReactNativeMetrics.increment(METRIC_SILENT_MESSAGES);
+
+        if (notificationHubUtil.getAppIsForeground()) {
+            bundle.putBoolean(KEY_REMOTE_NOTIFICATION_FOREGROUND, true);
+            bundle.putBoolean(KEY_REMOTE_NOTIFICATION_USER_INTERACTION, false);
+            bundle.putBoolean(KEY_REMOTE_NOTIFICATION_COLDSTART, false);
+        } else if (notificationHubUtil.isSilentHeadlessTaskEnabled(this)) {
+            Intent service = ReactNativeNotificationHubUtil.IntentFactory.createIntent(
+                    this, ReactNativeSilentMessageTaskService.class);
+            service.putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, bundle);
+            try {
+                if (startService(service) != null) {
+                    HeadlessJsTaskService.acquireWakeLockNow(this);
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                // Background start restrictions, fall back to the event
+                Log.e(TAG, ERROR_SILENT_HEADLESS_TASK, e);
+            }
+        }
+
+        ReactNativeNotificationsHandler.sendBroadcast(this, bundle, 0, trace);
+    }
+
+    /**
+     * Records the message in the local inbox. The payload is serialized on the calling thread
+     * because the bundle is mutated further down the rendering path.
+     */
+    private static void appendToInbox(final Context context, final Bundle bundle) {
+        final ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        final String payload = ReactNativeUtil.convertBundleToJsonString(bundle);
+        final String messageId = bundle.getString(KEY_REMOTE_NOTIFICATION_ID);
+        final long receivedAt = System.currentTimeMillis();
+        if (payload == null) {
+            return;
+        }
+
+        ReactNativeUtil.runInWorkerThread(() -> {
+            try {
+                ReactNativeNotificationInbox.getInstance(context).append(
+                        messageId,
+                        receivedAt,
+                        payload,
+                        notificationHubUtil.getInboxMaxCount(context),
+                        notificationHubUtil.getInboxMaxAge(context),
+                        notificationHubUtil.getInboxMaxBytes(context));
+            } catch (Exception e) {
+                Log.e(TAG, ERROR_INBOX, e);
+            }
+        });
     }
 
     /**
@@ -199,6 +282,16 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
      */
     @RequiresApi(api = Build.VERSION_CODES.M)
     public void cancelOldestVisibleNotification() {
+        boolean section = ReactNativeTrace.begin(TRACE_CANCEL_OLDEST);
+        try {
+            cancelOldest();
+        } finally {
+            ReactNativeTrace.end(section);
+        }
+    }
+
+    @RequiresApi(api = Build.VERSION_CODES.M)
+    private void cancelOldest() {
 
         // Initialize notification manager
         NotificationManager notificationManager = getSystemService(NotificationManager.class);
@@ -209,27 +302,20 @@ public class ReactNativeFirebaseMessagingService extends FirebaseMessagingServic
 
         if (statusBarNotifications != null) {
 
-            // Convert to an ArrayList for easier manipulation
-            ArrayList<StatusBarNotification> notifications =
-                    new ArrayList<>(Arrays.asList(statusBarNotifications));
-
-            // Exclude ranker-group notifications (if supported)
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
-                notifications.removeIf(
-                        notification -> Objects.equals(notification.getTag(), NOTIFICATION_RANKER_GROUP));
+            // Exclude ranker-group notifications from the limit
+            long[] postTimes = new long[statusBarNotifications.length];
+            boolean[] exempt = new boolean[statusBarNotifications.length];
+            for (int i = 0; i < statusBarNotifications.length; i++) {
+                postTimes[i] = statusBarNotifications[i].getPostTime();
+                exempt[i] = Objects.equals(statusBarNotifications[i].getTag(), NOTIFICATION_RANKER_GROUP);
             }
 
-            // Check if the number of visible notifications exceeds the limit
-            if (notifications.size() > NOTIFICATION_VISIBLE_LIMIT) {
-
-                // Sort notifications by post time in ascending order (if supported)
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
-                    notifications.sort(NOTIFICATION_COMPARATOR_BY_POST_TIME);
-                }
-
-                // Cancel the oldest notification
-                StatusBarNotification notificationCanceled = notifications.get(0);
-                notificationManager.cancel(notificationCanceled.getId());
+            // Cancel the oldest notification if the number of visible notifications exceeds the limit
+            int oldest = ReactNativeEvictionPolicy.selectOldest(postTimes, exempt, NOTIFICATION_VISIBLE_LIMIT);
+            if (oldest >= 0) {
+                StatusBarNotification notificationCanceled = statusBarNotifications[oldest];
+                notificationManager.cancel(notificationCanceled.getTag(), notificationCanceled.getId());
+                ReactNativeNotificationTray.remove(notificationCanceled.getTag(), notificationCanceled.getId());
             }
         }
     }
@@ -0,0 +1,222 @@
+package com.azure.reactnative.notificationhub;
+
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.core.app.NotificationCompat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Per-group model behind the group summary notifications. Each group tracks its children and
+ * the most recent {@link ReactNativeConstants#GROUP_SUMMARY_MAX_LINES} lines, updated as children
+ * are posted and removed. Summary posts are debounced, so a burst of messages into one group
+ * results in a single notify() with the final state.
+ */
+public final class ReactNativeGroupSummaries {
+
+    public static final String TAG = "ReactNativeGroupSummaries";
+
+    private static final Object mLock = new Object();
+    private static final Map<String, Group> mGroups = new HashMap<>();
+
+    private static final class Line {
+        final String title;
+        final String message;
+
+        Line(String title, String message) {
+            this.title = title;
+            this.message = message;
+        }
+    }
+
+    private static final class Group {
+        final Set<String> children = new HashSet<>();
+
+        // Keyed by child, insertion order is arrival order
+        final LinkedHashMap<String, Line> lines = new LinkedHashMap<>();
+
+        Context context;
+        String channelID;
+        String title;
+        int smallIconResId;
+        int color;
+        boolean pending;
+    }
+
+    /**
+     * Adds or replaces a child of the group and schedules a summary update.
+     */
+    public static void add(Context context,
+                           String group,
+                           String childKey,
+                           String title,
+                           String message,
+                           String notificationChannelID,
+                           int smallIconResId,
+                           int color) {
+        synchronized (mLock) {
+            Group model = mGroups.get(group);
+            if (model == null) {
+                model = new Group();
+                mGroups.put(group, model);
+            }
+
+            model.context = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+            model.channelID = notificationChannelID;
+            model.title = title;
+            model.smallIconResId = smallIconResId;
+            model.color = color;
+
+            model.children.add(childKey);
+            model.lines.remove(childKey);
+            model.lines.put(childKey, new Line(title, message));
+            if (model.lines.size() > GROUP_SUMMARY_MAX_LINES) {
+                Iterator<String> oldest = model.lines.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+
+            scheduleLocked(group, model);
+        }
+    }
+
+    /**
+     * Removes a child, e.g. after it was dismissed or cancelled. The summary is updated, or
+     * cancelled once the group has no children left.
+     */
+    public static void remove(String group, String childKey) {
+        synchronized (mLock) {
+            Group model = mGroups.get(group);
+            if (model == null || !model.children.remove(childKey)) {
+                return;
+            }
+
+            model.lines.remove(childKey);
+            scheduleLocked(group, model);
+        }
+    }
+
+    public static void clear() {
+        synchronized (mLock) {
+            mGroups.clear();
+        }
+    }
+
+    public static int getCount(String group) {
+        synchronized (mLock) {
+            Group model = mGroups.get(group);
+            return model != null ? model.children.size() : 0;
+        }
+    }
+
+    /**
+     * Returns the messages of the most recent children, newest first.
+     */
+    public static List<String> getLines(String group) {
+        List<String> lines = new ArrayList<>();
+        synchronized (mLock) {
+            Group model = mGroups.get(group);
+            if (model != null) {
+                for (Line line : model.lines.values()) {
+                    lines.add(0, line.message);
+                }
+            }
+        }
+
+        return lines;
+    }
+
+    private static void scheduleLocked(final String group, Group model) {
+        if (model.pending) {
+            return;
+        }
+
+        model.pending = true;
+        ReactNativeUtil.runInWorkerThreadDelayed(new Runnable() {
+            public void run() {
+                try {
+                    post(group);
+                } catch (Exception e) {
+                    Log.e(TAG, ERROR_SEND_PUSH_NOTIFICATION, e);
+                }
+            }
+        }, GROUP_SUMMARY_DEBOUNCE_MS);
+    }
+
+    private static void post(String group) {
+        Context context;
+        Notification summary = null;
+
+        synchronized (mLock) {
+            Group model = mGroups.get(group);
+            if (model == null) {
+                return;
+            }
+
+            model.pending = false;
+            context = model.context;
+
+            if (model.children.isEmpty()) {
+                mGroups.remove(group);
+            } else {
+                summary = buildLocked(group, model);
+            }
+        }
+
+        NotificationManager notificationManager = (NotificationManager) context.getSystemService(
+                Context.NOTIFICATION_SERVICE);
+        if (notificationManager == null) {
+            return;
+        }
+
+        int summaryID = ReactNativeNotificationIds.forGroup(context, group);
+        if (summary != null) {
+            notificationManager.notify(summaryID, summary);
+        } else {
+            notificationManager.cancel(summaryID);
+        }
+    }
+
+    private static Notification buildLocked(String group, Group model) {
+        int count = model.children.size();
+        String contentText = String.format(GROUP_SUMMARY_CONTENT_TEXT, count);
+
+        NotificationCompat.InboxStyle style = ReactNativeUtil.getInboxStyle(model.title)
+                .setBigContentTitle(contentText);
+
+        List<Line> lines = new ArrayList<>(model.lines.values());
+        for (int i = lines.size() - 1; i >= 0; i--) {
+            Line line = lines.get(i);
+            style.addLine(line.title != null ? line.title + "  " + line.message : line.message);
+        }
+
+        return new NotificationCompat.Builder(model.context, model.channelID)
+                .setContentTitle(model.title)
+                .setContentText(contentText)
+                .setSmallIcon(model.smallIconResId)
+                .setColor(model.color)
+                .setStyle(style)
+                .setNumber(count)
+                .setGroup(group)
+                .setGroupSummary(true)
+                .setGroupAlertBehavior(NotificationCompat.GROUP_ALERT_CHILDREN)
+                .setOnlyAlertOnce(true)
+                .setAutoCancel(true)
+                .build();
+    }
+
+    private ReactNativeGroupSummaries() {
+    }
+}
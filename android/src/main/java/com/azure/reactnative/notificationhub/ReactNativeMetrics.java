@@ -0,0 +1,246 @@
+package com.azure.reactnative.notificationhub;
+
+import android.util.Log;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Process-wide metrics registry. Latency histograms: one per notification render stage, one per
+ * path a notification action is dispatched through, one per milestone of a remote message
+ * measured from its receipt, and one per timed operation such as an image fetch. Counters: one
+ * per {@code METRIC_*} name. Worker pools: the library's executors, each reporting its own queue
+ * and task stats. Recording into an existing counter or histogram does not allocate, so the
+ * registry stays on in production.
+ */
+public final class ReactNativeMetrics {
+    public static final String TAG = "ReactNativeMetrics";
+
+    // Registered up front so every counter is reported, including those still at zero
+    private static final String[] COUNTERS = {
+            METRIC_MESSAGES_RECEIVED,
+            METRIC_DUPLICATES_DROPPED,
+            METRIC_RENDERS,
+            METRIC_RENDER_FAILURES,
+            METRIC_IMAGE_FETCHES,
+            METRIC_IMAGE_FETCH_FAILURES,
+            METRIC_IMAGE_FETCH_BYTES,
+            METRIC_BRIDGE_EMITS,
+            METRIC_EVENTS_DROPPED,
+            METRIC_REGISTRATION_ATTEMPTS,
+            METRIC_REGISTRATION_SUCCESSES,
+            METRIC_REGISTRATION_FAILURES,
+            METRIC_REGISTRATION_RETRIES,
+            METRIC_REGISTRATIONS_COALESCED,
+            METRIC_REGISTRATIONS_SKIPPED,
+            METRIC_SILENT_MESSAGES
+    };
+
+    // Bumped a few times per message, far below the rate where a single atomic contends
+    private static final ConcurrentHashMap<String, AtomicLong> mCounters =
+            new ConcurrentHashMap<>();
+
+    private static final ConcurrentHashMap<String, ReactNativeMonitoredExecutor> mPools =
+            new ConcurrentHashMap<>();
+
+    private static final ReactNativeMonitoredExecutor.SlowTaskListener SLOW_TASK_LOGGER =
+            new ReactNativeMonitoredExecutor.SlowTaskListener() {
+                @Override
+                public void onSlowTask(ReactNativeMonitoredExecutor executor,
+                                       ReactNativeMonitoredExecutor.SlowTask task) {
+                    Throwable sample = new Throwable();
+                    sample.setStackTrace(task.stack);
+                    Log.w(TAG, String.format(ERROR_SLOW_TASK, executor.getName(), task.name,
+                            task.elapsedNanos / 1000000, task.thread), sample);
+                }
+            };
+
+    private static final ConcurrentHashMap<String, ReactNativeHistogram> mStageHistograms =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, ReactNativeHistogram> mActionHistograms =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, ReactNativeHistogram> mMilestoneHistograms =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, ReactNativeHistogram> mOperationHistograms =
+            new ConcurrentHashMap<>();
+
+    static {
+        for (String name : COUNTERS) {
+            mCounters.put(name, new AtomicLong());
+        }
+    }
+
+    public static AtomicLong getCounter(String name) {
+        AtomicLong counter = mCounters.get(name);
+        if (counter == null) {
+            counter = new AtomicLong();
+            AtomicLong existing = mCounters.putIfAbsent(name, counter);
+            if (existing != null) {
+                counter = existing;
+            }
+        }
+
+        return counter;
+    }
+
+    public static void increment(String name) {
+        getCounter(name).incrementAndGet();
+    }
+
+    public static void add(String name, long delta) {
+        getCounter(name).addAndGet(delta);
+    }
+
+    /**
+     * Returns the current value of every counter, sorted by name.
+     */
+    public static Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : mCounters.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().get());
+        }
+
+        return values;
+    }
+
+    public static void resetCounters() {
+        for (AtomicLong counter : mCounters.values()) {
+            counter.set(0);
+        }
+    }
+
+    /**
+     * Reports the pool's stats under its name and logs a stack sample of its slow tasks.
+     */
+    public static void registerPool(ReactNativeMonitoredExecutor pool) {
+        pool.setSlowTaskListener(SLOW_TASK_LOGGER);
+        mPools.put(pool.getName(), pool);
+    }
+
+    public static Map<String, ReactNativeMonitoredExecutor> getPools() {
+        return new TreeMap<>(mPools);
+    }
+
+    public static void resetPools() {
+        for (ReactNativeMonitoredExecutor pool : mPools.values()) {
+            pool.resetStats();
+        }
+    }
+
+    public static ReactNativeHistogram getStageHistogram(String stage) {
+        return getOrCreate(mStageHistograms, stage);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} against the stage and returns the current
+     * time, so consecutive stages can be timed by chaining the return value.
+     */
+    public static long recordStage(String stage, long startNanos) {
+        long now = System.nanoTime();
+        getStageHistogram(stage).record(now - startNanos);
+        return now;
+    }
+
+    /**
+     * Returns the stages that have been recorded so far, sorted by name.
+     */
+    public static Map<String, ReactNativeHistogram> getStageHistograms() {
+        return new TreeMap<>(mStageHistograms);
+    }
+
+    public static void resetStages() {
+        reset(mStageHistograms);
+    }
+
+    public static ReactNativeHistogram getActionHistogram(String path) {
+        return getOrCreate(mActionHistograms, path);
+    }
+
+    /**
+     * Records the time from receiving a notification action to handing it to its handler.
+     */
+    public static void recordAction(String path, long receivedAtNanos) {
+        getActionHistogram(path).record(System.nanoTime() - receivedAtNanos);
+    }
+
+    public static Map<String, ReactNativeHistogram> getActionHistograms() {
+        return new TreeMap<>(mActionHistograms);
+    }
+
+    public static void resetActions() {
+        reset(mActionHistograms);
+    }
+
+    public static ReactNativeHistogram getMilestoneHistogram(String milestone) {
+        return getOrCreate(mMilestoneHistograms, milestone);
+    }
+
+    /**
+     * Stamps the milestone on the trace and records the time since the message was received. Does
+     * nothing without a trace, or if the trace already passed the milestone.
+     */
+    public static void recordMilestone(ReactNativeMessageTrace trace, int milestone) {
+        if (trace == null) {
+            return;
+        }
+
+        long elapsed = trace.stamp(milestone);
+        if (elapsed >= 0) {
+            getMilestoneHistogram(ReactNativeMessageTrace.getName(milestone)).record(elapsed);
+        }
+    }
+
+    public static Map<String, ReactNativeHistogram> getMilestoneHistograms() {
+        return new TreeMap<>(mMilestoneHistograms);
+    }
+
+    public static void resetMilestones() {
+        reset(mMilestoneHistograms);
+    }
+
+    public static ReactNativeHistogram getOperationHistogram(String operation) {
+        return getOrCreate(mOperationHistograms, operation);
+    }
+
+    /**
+     * Records the duration of an operation that started at {@code startNanos}.
+     */
+    public static void recordOperation(String operation, long startNanos) {
+        getOperationHistogram(operation).record(System.nanoTime() - startNanos);
+    }
+
+    public static Map<String, ReactNativeHistogram> getOperationHistograms() {
+        return new TreeMap<>(mOperationHistograms);
+    }
+
+    public static void resetOperations() {
+        reset(mOperationHistograms);
+    }
+
+    private static ReactNativeHistogram getOrCreate(ConcurrentHashMap<String, ReactNativeHistogram> histograms,
+                                                    String name) {
+        ReactNativeHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new ReactNativeHistogram();
+            ReactNativeHistogram existing = histograms.putIfAbsent(name, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+
+        return histogram;
+    }
+
+    private static void reset(ConcurrentHashMap<String, ReactNativeHistogram> histograms) {
+        for (ReactNativeHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    private ReactNativeMetrics() {
+    }
+}
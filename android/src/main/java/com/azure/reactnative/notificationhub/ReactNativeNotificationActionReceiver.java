@@ -0,0 +1,115 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.util.Log;
+
+import com.facebook.react.HeadlessJsTaskService;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Receives the notification action buttons added by
+ * {@link ReactNativeUtil#processNotificationActions}. An action is dispatched to the first of:
+ * <ol>
+ *     <li>a native handler registered for it, run without starting JS;</li>
+ *     <li>the running JS app, as a remoteNotificationReceived event;</li>
+ *     <li>the {@link ReactNativeConstants#ACTION_HEADLESS_TASK_KEY} headless task, if enabled;</li>
+ *     <li>the legacy {@code packageName + "." + action} broadcast, for app-provided receivers.</li>
+ * </ol>
+ * The time from receipt to dispatch is recorded per path in {@link ReactNativeMetrics}.
+ */
+public class ReactNativeNotificationActionReceiver extends BroadcastReceiver {
+
+    public static final String TAG = "ReactNativeNotificationActionReceiver";
+
+    /**
+     * Handles an action natively, e.g. "Mark as read". Runs on a worker thread and should finish
+     * within the few seconds a broadcast is allowed to run.
+     */
+    public interface Handler {
+        void onAction(Context context, String action, Bundle payload);
+    }
+
+    private static final ConcurrentHashMap<String, Handler> mHandlers = new ConcurrentHashMap<>();
+
+    public static void registerHandler(String action, Handler handler) {
+        mHandlers.put(action, handler);
+    }
+
+    public static void unregisterHandler(String action) {
+        mHandlers.remove(action);
+    }
+
+    @Override
+    public void onReceive(final Context context, Intent intent) {
+        final long receivedAt = System.nanoTime();
+        final Bundle payload = intent.getBundleExtra(KEY_NOTIFICATION_PAYLOAD_TYPE);
+        if (payload == null) {
+            return;
+        }
+
+        final String action = payload.getString(KEY_REMOTE_NOTIFICATION_ACTION);
+        if (action == null) {
+            return;
+        }
+
+        final Handler handler = mHandlers.get(action);
+        if (handler != null) {
+            final PendingResult result = goAsync();
+            boolean accepted = ReactNativeUtil.runInWorkerThread(new Runnable() {
+                public void run() {
+                    try {
+                        ReactNativeMetrics.recordAction(ACTION_DISPATCH_NATIVE, receivedAt);
+                        handler.onAction(context, action, payload);
+                    } catch (Exception e) {
+                        Log.e(TAG, ERROR_ACTION_HANDLER, e);
+                    } finally {
+                        result.finish();
+                    }
+                }
+            });
+            if (!accepted) {
+                // The task will never run, release the broadcast ourselves
+                Log.e(TAG, ERROR_ACTION_HANDLER_DROPPED + ": " + action);
+                result.finish();
+            }
+            return;
+        }
+
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        if (notificationHubUtil.getAppIsForeground()) {
+            Intent event = ReactNativeUtil.createBroadcastIntent(ReactNativeNotificationsHandler.TAG, payload);
+            event.putExtra(KEY_INTENT_ACTION_RECEIVED_AT, receivedAt);
+            ReactNativeNotificationsHandler.sendBroadcast(context, event, 0);
+            return;
+        }
+
+        if (notificationHubUtil.isActionHeadlessTaskEnabled(context)) {
+            Intent service = ReactNativeNotificationHubUtil.IntentFactory.createIntent(
+                    context, ReactNativeNotificationActionTaskService.class);
+            service.putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, payload);
+            service.putExtra(KEY_INTENT_ACTION_RECEIVED_AT, receivedAt);
+            try {
+                if (context.startService(service) != null) {
+                    HeadlessJsTaskService.acquireWakeLockNow(context);
+                    return;
+                }
+            } catch (IllegalStateException e) {
+                // Background start restrictions, fall back to the legacy broadcast
+                Log.e(TAG, ERROR_ACTION_HEADLESS_TASK, e);
+            }
+        }
+
+        String packageName = context.getPackageName();
+        Intent legacy = ReactNativeNotificationHubUtil.IntentFactory.createIntent(packageName + "." + action);
+        legacy.setPackage(packageName);
+        legacy.putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, payload);
+        context.sendBroadcast(legacy);
+        ReactNativeMetrics.recordAction(ACTION_DISPATCH_LEGACY, receivedAt);
+    }
+}
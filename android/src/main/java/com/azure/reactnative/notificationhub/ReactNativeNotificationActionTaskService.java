@@ -0,0 +1,38 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.Intent;
+import android.os.Bundle;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.HeadlessJsTaskService;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.jstasks.HeadlessJsTaskConfig;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Runs the {@link ReactNativeConstants#ACTION_HEADLESS_TASK_KEY} headless task with the payload
+ * of a notification action that arrived while the app was in the background.
+ */
+public class ReactNativeNotificationActionTaskService extends HeadlessJsTaskService {
+
+    @Override
+    protected @Nullable HeadlessJsTaskConfig getTaskConfig(Intent intent) {
+        Bundle payload = intent != null ? intent.getBundleExtra(KEY_NOTIFICATION_PAYLOAD_TYPE) : null;
+        if (payload == null) {
+            return null;
+        }
+
+        if (intent.hasExtra(KEY_INTENT_ACTION_RECEIVED_AT)) {
+            ReactNativeMetrics.recordAction(ACTION_DISPATCH_HEADLESS,
+                    intent.getLongExtra(KEY_INTENT_ACTION_RECEIVED_AT, 0));
+        }
+
+        return new HeadlessJsTaskConfig(
+                ACTION_HEADLESS_TASK_KEY,
+                Arguments.fromBundle(payload),
+                ACTION_HEADLESS_TASK_TIMEOUT_MS,
+                true);
+    }
+}
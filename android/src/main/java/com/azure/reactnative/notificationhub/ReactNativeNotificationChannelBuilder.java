@@ -47,15 +47,14 @@ public class ReactNativeNotificationChannelBuilder {
                 .setUsage(AudioAttributes.USAGE_NOTIFICATION)
                 .build();
 
-        int resId = context
-                .getResources()
-                .getIdentifier(
-                        RESOURCE_NAME_NOTIFICATION_SOUND,
-                        RESOURCE_DEF_TYPE_RAW,
-                        context.getPackageName()
-                );
-
-        Uri soundUri = Uri.parse("android.resource://" + context.getPackageName() + "/" + resId);
+        ReactNativeResourceResolver.init(context);
+        int resId = ReactNativeResourceResolver.getIdentifier(
+                context.getResources(),
+                RESOURCE_NAME_NOTIFICATION_SOUND,
+                RESOURCE_DEF_TYPE_RAW,
+                context.getPackageName());
+
+        Uri soundUri = ReactNativeResourceResolver.getResourceUri(context.getPackageName(), resId);
 
         channel.setSound(soundUri, audioAttributes);
 
@@ -0,0 +1,25 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Receives the delete intent of notifications posted by the library, so the tray index drops
+ * entries the user swiped away.
+ */
+public class ReactNativeNotificationDismissedReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!intent.hasExtra(KEY_INTENT_NOTIFICATION_ID)) {
+            return;
+        }
+
+        ReactNativeNotificationTray.remove(
+                intent.getStringExtra(KEY_INTENT_NOTIFICATION_TAG),
+                intent.getIntExtra(KEY_INTENT_NOTIFICATION_ID, 0));
+    }
+}
@@ -14,6 +14,7 @@ import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 import com.facebook.react.bridge.ActivityEventListener;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.GoogleApiAvailabilityLight;
@@ -29,6 +30,10 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
 
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+
 import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
 
 public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule implements
@@ -36,17 +41,118 @@ public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule
 
     private static final int NOTIFICATION_DELAY_ON_START = 3000;
 
+    // The live module, weak so that a reloaded bridge can still be collected
+    private static volatile WeakReference<ReactNativeNotificationHubModule> mInstance;
+
     private final ReactApplicationContext mReactContext;
 
+    // Guards the receiver, registered once push is used and torn down with the module
+    private final Object mInitLock = new Object();
+    private volatile boolean mInitialized;
+    private boolean mDestroyed;
+    private LocalBroadcastReceiver mLocalBroadcastReceiver;
+
+    /**
+     * Last known OS-level notification permission state. The value can only change while the app
+     * is in the background, so it is refreshed on every resume and served synchronously in between.
+     */
+    private volatile Boolean mNotificationsEnabled;
+
+    /**
+     * Only does what the app's startup path cannot do without: the receivers forwarding events to
+     * JS are registered by {@link #initializeIfNeeded()} once push is used, and the preferences are
+     * loaded off the calling thread. Both costs are reported by
+     * {@link ReactNativeMetrics#getOperationHistograms()}.
+     */
     public ReactNativeNotificationHubModule(ReactApplicationContext reactContext) {
         super(reactContext);
+        long start = System.nanoTime();
         this.mReactContext = reactContext;
-        LocalBroadcastReceiver localBroadcastReceiver = new LocalBroadcastReceiver();
-        LocalBroadcastManager localBroadcastManager = LocalBroadcastManager.getInstance(reactContext);
-        localBroadcastManager.registerReceiver(localBroadcastReceiver, new IntentFilter(ReactNativeRegistrationIntentService.TAG));
-        localBroadcastManager.registerReceiver(localBroadcastReceiver, new IntentFilter(ReactNativeNotificationsHandler.TAG));
+        ReactNativeTrace.initialize(reactContext);
         reactContext.addLifecycleEventListener(this);
         reactContext.addActivityEventListener(this);
+        ReactNativeNotificationHubUtil.getInstance().warmPreferences(reactContext);
+        mInstance = new WeakReference<>(this);
+        ReactNativeMetrics.recordOperation(METRIC_OPERATION_MODULE_CREATE, start);
+    }
+
+    /**
+     * Called before an event is broadcast to JS, so that the first push, registration result or
+     * notification action of the process finds the module's receivers in place.
+     */
+    public static void prepareForEvents() {
+        WeakReference<ReactNativeNotificationHubModule> instance = mInstance;
+        ReactNativeNotificationHubModule module = instance != null ? instance.get() : null;
+        if (module != null) {
+            module.initializeIfNeeded();
+        }
+    }
+
+    /**
+     * Registers the receivers that forward broadcasts to JS. Runs once, on registration from JS or
+     * on the first event headed for JS, whichever comes first.
+     */
+    public void initializeIfNeeded() {
+        if (mInitialized) {
+            return;
+        }
+
+        synchronized (mInitLock) {
+            if (mInitialized || mDestroyed) {
+                return;
+            }
+
+            long start = System.nanoTime();
+            mLocalBroadcastReceiver = new LocalBroadcastReceiver();
+            LocalBroadcastManager localBroadcastManager = LocalBroadcastManager.getInstance(mReactContext);
+            localBroadcastManager.registerReceiver(mLocalBroadcastReceiver, new IntentFilter(ReactNativeRegistrationIntentService.TAG));
+            localBroadcastManager.registerReceiver(mLocalBroadcastReceiver, new IntentFilter(ReactNativeNotificationsHandler.TAG));
+            mInitialized = true;
+            ReactNativeMetrics.recordOperation(METRIC_OPERATION_MODULE_INIT, start);
+        }
+    }
+
+    /**
+     * Called when the bridge goes away, on every JS reload among others. Unregisters everything
+     * the module registered and drops the event filters set from JS, so the next module does not
+     * emit each event a second time or filter with a stale set, and the old context can be
+     * collected.
+     */
+    @Override
+    public void onCatalystInstanceDestroy() {
+        tearDown();
+    }
+
+    /**
+     * Replaces {@link #onCatalystInstanceDestroy()} from React Native 0.65, either may be called.
+     */
+    public void invalidate() {
+        tearDown();
+    }
+
+    private void tearDown() {
+        synchronized (mInitLock) {
+            if (mDestroyed) {
+                return;
+            }
+
+            mDestroyed = true;
+            if (mLocalBroadcastReceiver != null) {
+                LocalBroadcastManager.getInstance(mReactContext).unregisterReceiver(mLocalBroadcastReceiver);
+                mLocalBroadcastReceiver = null;
+            }
+        }
+
+        mReactContext.removeLifecycleEventListener(this);
+        mReactContext.removeActivityEventListener(this);
+
+        // Filters belong to the JS that registered them. Keep them if a newer module took over,
+        // since its JS may already have registered its own.
+        WeakReference<ReactNativeNotificationHubModule> instance = mInstance;
+        if (instance != null && instance.get() == this) {
+            mInstance = null;
+            ReactNativeEventFilters.clear();
+        }
     }
 
     @NonNull
@@ -88,8 +194,28 @@ public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule
         }
     }
 
+    /**
+     * Synchronous variant of {@link #getInitialNotification(Promise)} for use on the app's launch
+     * path. Returns null instead of rejecting when there is no initial notification.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getInitialNotificationSync() {
+        Activity activity = getCurrentActivity();
+        if (activity == null) {
+            return null;
+        }
+
+        Intent intent = activity.getIntent();
+        if (intent == null || intent.getAction() == null || intent.getExtras() == null) {
+            return null;
+        }
+
+        return ReactNativeUtil.convertBundleToMap(intent.getExtras());
+    }
+
     @ReactMethod
     public void register(ReadableMap config, Promise promise) {
+        initializeIfNeeded();
         ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
         String connectionString = config.getString(KEY_REGISTRATION_CONNECTIONSTRING);
         if (connectionString == null) {
@@ -160,6 +286,12 @@ public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule
             notificationHubUtil.setChannelEnableVibration(reactContext, channelEnableVibration);
         }
 
+        if (config.hasKey(KEY_REGISTRATION_NOTIFICATION_ACTIVITY)) {
+            String activityClassName = config.getString(KEY_REGISTRATION_NOTIFICATION_ACTIVITY);
+            notificationHubUtil.setNotificationActivityClass(reactContext, activityClassName);
+            ReactNativeUtil.setMainActivityClass(null);
+        }
+
         String uuid = notificationHubUtil.getUUID(reactContext);
         if (uuid == null) {
             uuid = ReactNativeUtil.genUUID();
@@ -193,6 +325,7 @@ public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule
 
     @ReactMethod
     public void registerTemplate(ReadableMap config, Promise promise) {
+        initializeIfNeeded();
         ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
         String connectionString = config.getString(KEY_REGISTRATION_CONNECTIONSTRING);
         if (connectionString == null) {
@@ -277,6 +410,12 @@ public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule
             notificationHubUtil.setChannelEnableVibration(reactContext, channelEnableVibration);
         }
 
+        if (config.hasKey(KEY_REGISTRATION_NOTIFICATION_ACTIVITY)) {
+            String activityClassName = config.getString(KEY_REGISTRATION_NOTIFICATION_ACTIVITY);
+            notificationHubUtil.setNotificationActivityClass(reactContext, activityClassName);
+            ReactNativeUtil.setMainActivityClass(null);
+        }
+
         String uuid = notificationHubUtil.getUUID(reactContext);
         if (uuid == null) {
             uuid = ReactNativeUtil.genUUID();
@@ -375,18 +514,337 @@ public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule
         }
     }
 
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public String getUUIDSync() {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        return notificationHubUtil.getUUID(getReactApplicationContext());
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public String getRegistrationIdSync() {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        return notificationHubUtil.getRegistrationID(getReactApplicationContext());
+    }
+
+    /**
+     * When enabled, remote notification events are emitted as a single JSON string instead of a
+     * map. Intended for apps receiving large data payloads that parse them on the JS side anyway.
+     */
+    @ReactMethod
+    public void setRawJsonPayloadEnabled(boolean enabled) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        notificationHubUtil.setRawJsonPayloadEnabled(enabled);
+    }
+
+    /**
+     * When enabled, notifications with an avatar or image are posted with their text right away
+     * and silently updated once the media has been downloaded. Persisted, since notifications
+     * are rendered while the app is not running.
+     */
+    @ReactMethod
+    public void setProgressiveRenderingEnabled(boolean enabled) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        notificationHubUtil.setProgressiveRenderingEnabled(getReactApplicationContext(), enabled);
+    }
+
+    @ReactMethod
+    public void addEventFilter(ReadableMap filter, Promise promise) {
+        String type = filter.hasKey(KEY_EVENT_FILTER_TYPE) ? filter.getString(KEY_EVENT_FILTER_TYPE) : null;
+        String key = filter.hasKey(KEY_EVENT_FILTER_KEY) ? filter.getString(KEY_EVENT_FILTER_KEY) : null;
+        String value = filter.hasKey(KEY_EVENT_FILTER_VALUE) ? filter.getString(KEY_EVENT_FILTER_VALUE) : null;
+
+        int filterId = ReactNativeEventFilters.add(type, key, value);
+        if (filterId < 0) {
+            promise.reject(ERROR_INVALID_ARGUMENTS, ERROR_INVALID_EVENT_FILTER);
+            return;
+        }
+
+        promise.resolve(filterId);
+    }
+
+    @ReactMethod
+    public void removeEventFilter(int filterId) {
+        ReactNativeEventFilters.remove(filterId);
+    }
+
+    @ReactMethod
+    public void clearEventFilters() {
+        ReactNativeEventFilters.clear();
+    }
+
+    @ReactMethod
+    public void getEventFilterStats(Promise promise) {
+        WritableMap res = Arguments.createMap();
+        res.putInt(KEY_EVENT_FILTER_STATS_ACTIVE, ReactNativeEventFilters.getActiveFilterCount());
+        res.putDouble(KEY_EVENT_FILTER_STATS_PASSED, ReactNativeEventFilters.getPassedCount());
+        res.putDouble(KEY_EVENT_FILTER_STATS_FILTERED, ReactNativeEventFilters.getFilteredCount());
+        promise.resolve(res);
+    }
+
+    @ReactMethod
+    public void getRenderStats(Promise promise) {
+        promise.resolve(convertHistograms(ReactNativeMetrics.getStageHistograms()));
+    }
+
+    @ReactMethod
+    public void resetRenderStats() {
+        ReactNativeMetrics.resetStages();
+    }
+
+    /**
+     * Latency from receiving a remote message to each milestone it reached: parsed, rendered,
+     * posted, broadcast and emitted to JS.
+     */
+    @ReactMethod
+    public void getPerformanceStats(Promise promise) {
+        promise.resolve(convertHistograms(ReactNativeMetrics.getMilestoneHistograms()));
+    }
+
+    @ReactMethod
+    public void resetPerformanceStats() {
+        ReactNativeMetrics.resetMilestones();
+    }
+
+    /**
+     * Attaches the milestone timings of a remote message to this fraction of the emitted events,
+     * under {@link ReactNativeConstants#KEY_REMOTE_NOTIFICATION_TIMINGS}. 0 turns it off, 1
+     * attaches them to every event.
+     */
+    @ReactMethod
+    public void setEventTimingsSampleRate(double sampleRate) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        notificationHubUtil.setEventTimingsSampleRate(sampleRate);
+    }
+
+    /**
+     * Counters for the whole message path, from messages received to events emitted across the
+     * bridge, the latency of image fetches and registrations, and the load on each worker pool
+     * with stack samples of its slow tasks.
+     */
+    @ReactMethod
+    public void getMetrics(Promise promise) {
+        WritableMap counters = Arguments.createMap();
+        for (Map.Entry<String, Long> entry : ReactNativeMetrics.getCounters().entrySet()) {
+            counters.putDouble(entry.getKey(), entry.getValue());
+        }
+
+        WritableMap res = Arguments.createMap();
+        res.putMap(KEY_METRICS_COUNTERS, counters);
+        res.putMap(KEY_METRICS_TIMINGS, convertHistograms(ReactNativeMetrics.getOperationHistograms()));
+        res.putMap(KEY_METRICS_POOLS, convertPools(ReactNativeMetrics.getPools()));
+        promise.resolve(res);
+    }
+
+    @ReactMethod
+    public void resetMetrics() {
+        ReactNativeMetrics.resetCounters();
+        ReactNativeMetrics.resetOperations();
+        ReactNativeMetrics.resetPools();
+    }
+
+    /**
+     * Switches the {@link ReactNativeTrace} sections on or off, for capturing system traces of a
+     * release build. They are on by default in debug builds.
+     */
+    @ReactMethod
+    public void setTracingEnabled(boolean enabled) {
+        ReactNativeTrace.setEnabled(enabled);
+    }
+
+    @ReactMethod
+    public void isTracingEnabled(Promise promise) {
+        promise.resolve(ReactNativeTrace.isEnabled());
+    }
+
+    @ReactMethod
+    public void getActionStats(Promise promise) {
+        promise.resolve(convertHistograms(ReactNativeMetrics.getActionHistograms()));
+    }
+
+    @ReactMethod
+    public void resetActionStats() {
+        ReactNativeMetrics.resetActions();
+    }
+
+    /**
+     * When enabled, notification actions without a native handler that arrive while the app is in
+     * the background are delivered to the headless JS task registered as
+     * {@link ReactNativeConstants#ACTION_HEADLESS_TASK_KEY}.
+     */
+    @ReactMethod
+    public void setActionHeadlessTaskEnabled(boolean enabled) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        notificationHubUtil.setActionHeadlessTaskEnabled(getReactApplicationContext(), enabled);
+    }
+
+    /**
+     * Sets the data key that marks a remote message as silent, e.g. "content-available". Unset by
+     * default, and null turns silent handling off again. Silent messages are never rendered and go
+     * straight to JS as a notification event, which only a foreground app receives; enable the
+     * silent headless task to handle them in the background.
+     */
+    @ReactMethod
+    public void setSilentMessageKey(String key) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        notificationHubUtil.setSilentMessageKey(getReactApplicationContext(), key);
+    }
+
+    /**
+     * When enabled, silent messages that arrive while the app is in the background are delivered
+     * to the headless JS task registered as {@link ReactNativeConstants#SILENT_HEADLESS_TASK_KEY}.
+     */
+    @ReactMethod
+    public void setSilentHeadlessTaskEnabled(boolean enabled) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        notificationHubUtil.setSilentHeadlessTaskEnabled(getReactApplicationContext(), enabled);
+    }
+
+    @ReactMethod
+    public void configureInbox(ReadableMap config) {
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        ReactContext reactContext = getReactApplicationContext();
+
+        if (config.hasKey(KEY_INBOX_ENABLED)) {
+            notificationHubUtil.setInboxEnabled(reactContext, config.getBoolean(KEY_INBOX_ENABLED));
+        }
+
+        if (config.hasKey(KEY_INBOX_MAX_COUNT)) {
+            notificationHubUtil.setInboxMaxCount(reactContext, config.getInt(KEY_INBOX_MAX_COUNT));
+        }
+
+        if (config.hasKey(KEY_INBOX_MAX_AGE)) {
+            notificationHubUtil.setInboxMaxAge(reactContext, (long) config.getDouble(KEY_INBOX_MAX_AGE));
+        }
+
+        if (config.hasKey(KEY_INBOX_MAX_BYTES)) {
+            notificationHubUtil.setInboxMaxBytes(reactContext, (long) config.getDouble(KEY_INBOX_MAX_BYTES));
+        }
+    }
+
+    @ReactMethod
+    public void getInbox(final Double cursor, final Double limit, final Promise promise) {
+        final ReactContext reactContext = getReactApplicationContext();
+        ReactNativeUtil.runInWorkerThread(() -> {
+            try {
+                // Clamped as in query(), so a full page still means there may be more
+                int pageSize = Math.max(1, Math.min(
+                        limit != null ? limit.intValue() : INBOX_DEFAULT_PAGE_SIZE, INBOX_MAX_PAGE_SIZE));
+                List<ReactNativeNotificationInbox.Entry> entries = ReactNativeNotificationInbox
+                        .getInstance(reactContext)
+                        .query(cursor != null ? cursor.longValue() : null, pageSize);
+
+                WritableArray items = Arguments.createArray();
+                for (ReactNativeNotificationInbox.Entry entry : entries) {
+                    WritableMap item = Arguments.createMap();
+                    item.putDouble(KEY_INBOX_ITEM_ID, entry.id);
+                    item.putString(KEY_INBOX_ITEM_MESSAGE_ID, entry.messageId);
+                    item.putDouble(KEY_INBOX_ITEM_RECEIVED_AT, entry.receivedAt);
+                    item.putBoolean(KEY_INBOX_ITEM_READ, entry.read);
+                    item.putString(KEY_INBOX_ITEM_PAYLOAD, entry.payload);
+                    items.pushMap(item);
+                }
+
+                WritableMap res = Arguments.createMap();
+                res.putArray(KEY_INBOX_ITEMS, items);
+                if (entries.size() == pageSize) {
+                    res.putDouble(KEY_INBOX_NEXT_CURSOR, entries.get(entries.size() - 1).id);
+                } else {
+                    res.putNull(KEY_INBOX_NEXT_CURSOR);
+                }
+                promise.resolve(res);
+            } catch (Exception e) {
+                promise.reject(ERROR_INBOX, e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void markRead(final ReadableArray ids, final Promise promise) {
+        final ReactContext reactContext = getReactApplicationContext();
+        final long[] entryIds = new long[ids.size()];
+        for (int i = 0; i < ids.size(); ++i) {
+            entryIds[i] = (long) ids.getDouble(i);
+        }
+
+        ReactNativeUtil.runInWorkerThread(() -> {
+            try {
+                ReactNativeNotificationInbox.getInstance(reactContext).markRead(entryIds);
+                promise.resolve(null);
+            } catch (Exception e) {
+                promise.reject(ERROR_INBOX, e);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getDeliveredNotifications(Promise promise) {
+        List<ReactNativeTrayIndex.Entry> entries =
+                ReactNativeNotificationTray.getDelivered(getReactApplicationContext());
+
+        WritableArray res = Arguments.createArray();
+        for (ReactNativeTrayIndex.Entry entry : entries) {
+            WritableMap item = Arguments.createMap();
+            item.putString(KEY_DELIVERED_NOTIFICATION_ID, entry.messageId);
+            item.putString(KEY_DELIVERED_NOTIFICATION_TAG, entry.tag);
+            item.putString(KEY_DELIVERED_NOTIFICATION_GROUP, entry.group);
+            item.putString(KEY_DELIVERED_NOTIFICATION_TITLE, entry.title);
+            item.putString(KEY_DELIVERED_NOTIFICATION_BODY, entry.body);
+            item.putDouble(KEY_DELIVERED_NOTIFICATION_POST_TIME, entry.postTime);
+            res.pushMap(item);
+        }
+        promise.resolve(res);
+    }
+
+    @ReactMethod
+    public void cancelById(String messageId) {
+        ReactNativeNotificationTray.cancelByMessageId(getReactApplicationContext(), messageId);
+    }
+
+    @ReactMethod
+    public void cancelByTag(String tag) {
+        ReactNativeNotificationTray.cancelByTag(getReactApplicationContext(), tag);
+    }
+
+    @ReactMethod
+    public void cancelByGroup(String group) {
+        ReactNativeNotificationTray.cancelByGroup(getReactApplicationContext(), group);
+    }
+
+    @ReactMethod
+    public void cancelAll() {
+        ReactNativeNotificationTray.cancelAll(getReactApplicationContext());
+    }
+
     @ReactMethod
     public void isNotificationEnabledOnOSLevel(Promise promise) {
+        promise.resolve(refreshNotificationsEnabled());
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean isNotificationEnabledOnOSLevelSync() {
+        Boolean notificationsEnabled = mNotificationsEnabled;
+        if (notificationsEnabled == null) {
+            return refreshNotificationsEnabled();
+        }
+
+        return notificationsEnabled;
+    }
+
+    private boolean refreshNotificationsEnabled() {
         ReactContext reactContext = getReactApplicationContext();
         NotificationManagerCompat notificationManagerCompat = NotificationManagerCompat.from(reactContext);
         boolean areNotificationsEnabled = notificationManagerCompat.areNotificationsEnabled();
-        promise.resolve(areNotificationsEnabled);
+        mNotificationsEnabled = areNotificationsEnabled;
+        return areNotificationsEnabled;
     }
 
     @Override
     public void onHostResume() {
         setIsForeground(true);
 
+        // Notification permission may have been changed from the system settings while paused
+        mNotificationsEnabled = null;
+
         Activity activity = getCurrentActivity();
         if (activity != null) {
             Intent intent = activity.getIntent();
@@ -428,11 +886,73 @@ public class ReactNativeNotificationHubModule extends ReactContextBaseJavaModule
     public void onActivityResult(Activity activity, int requestCode, int resultCode, Intent data) {
     }
 
+    private static WritableMap convertHistograms(Map<String, ReactNativeHistogram> histograms) {
+        WritableMap res = Arguments.createMap();
+        for (Map.Entry<String, ReactNativeHistogram> entry : histograms.entrySet()) {
+            res.putMap(entry.getKey(), convertHistogram(entry.getValue()));
+        }
+
+        return res;
+    }
+
+    private static WritableMap convertHistogram(ReactNativeHistogram histogram) {
+        WritableMap stats = Arguments.createMap();
+        stats.putDouble(KEY_HISTOGRAM_COUNT, histogram.getCount());
+        stats.putDouble(KEY_HISTOGRAM_MEAN, histogram.getMeanMillis());
+        stats.putDouble(KEY_HISTOGRAM_MAX, histogram.getMaxMillis());
+        stats.putDouble(KEY_HISTOGRAM_P50, histogram.getPercentileMillis(50));
+        stats.putDouble(KEY_HISTOGRAM_P90, histogram.getPercentileMillis(90));
+        stats.putDouble(KEY_HISTOGRAM_P99, histogram.getPercentileMillis(99));
+        return stats;
+    }
+
+    private static WritableMap convertPools(Map<String, ReactNativeMonitoredExecutor> pools) {
+        WritableMap res = Arguments.createMap();
+        for (Map.Entry<String, ReactNativeMonitoredExecutor> entry : pools.entrySet()) {
+            ReactNativeMonitoredExecutor pool = entry.getValue();
+            WritableArray slowTasks = Arguments.createArray();
+            for (ReactNativeMonitoredExecutor.SlowTask task : pool.getSlowTasks()) {
+                WritableArray stack = Arguments.createArray();
+                for (StackTraceElement frame : task.stack) {
+                    stack.pushString(frame.toString());
+                }
+
+                WritableMap sample = Arguments.createMap();
+                sample.putString(KEY_SLOW_TASK_NAME, task.name);
+                sample.putString(KEY_SLOW_TASK_THREAD, task.thread);
+                sample.putDouble(KEY_SLOW_TASK_ELAPSED, task.elapsedNanos / 1e6);
+                sample.putArray(KEY_SLOW_TASK_STACK, stack);
+                slowTasks.pushMap(sample);
+            }
+
+            WritableMap stats = Arguments.createMap();
+            stats.putInt(KEY_POOL_QUEUE_SIZE, pool.getQueueSize());
+            stats.putInt(KEY_POOL_MAX_QUEUE_SIZE, pool.getMaxQueueSize());
+            stats.putInt(KEY_POOL_ACTIVE_COUNT, pool.getActiveCount());
+            stats.putDouble(KEY_POOL_COMPLETED, pool.getCompletedTaskCount());
+            stats.putDouble(KEY_POOL_REJECTED, pool.getRejectedCount());
+            stats.putDouble(KEY_POOL_DROPPED, pool.getDroppedCount());
+            stats.putDouble(KEY_POOL_SLOW_TASK_COUNT, pool.getSlowTaskCount());
+            stats.putMap(KEY_POOL_WAIT, convertHistogram(pool.getWaitHistogram()));
+            stats.putMap(KEY_POOL_RUN, convertHistogram(pool.getRunHistogram()));
+            stats.putArray(KEY_POOL_SLOW_TASKS, slowTasks);
+            res.putMap(entry.getKey(), stats);
+        }
+
+        return res;
+    }
+
     public class LocalBroadcastReceiver extends BroadcastReceiver {
         @Override
         public void onReceive(Context context, Intent intent) {
-            if (getIsForeground()) {
+            if (getIsForeground() && ReactNativeEventFilters.accept(intent)) {
                 ReactNativeUtil.emitIntent(mReactContext, intent);
+                if (intent.hasExtra(KEY_INTENT_ACTION_RECEIVED_AT)) {
+                    ReactNativeMetrics.recordAction(ACTION_DISPATCH_JS,
+                            intent.getLongExtra(KEY_INTENT_ACTION_RECEIVED_AT, 0));
+                }
+            } else {
+                ReactNativeMetrics.increment(METRIC_EVENTS_DROPPED);
             }
         }
     }
@@ -3,10 +3,12 @@ package com.azure.reactnative.notificationhub;
 import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
+import android.os.Bundle;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
 
@@ -18,6 +20,12 @@ public class ReactNativeNotificationHubUtil {
 
     private boolean mIsForeground;
 
+    private volatile boolean mRawJsonPayload;
+
+    private volatile double mEventTimingsSampleRate;
+
+    private final AtomicBoolean mPrefsWarmed = new AtomicBoolean();
+
     public static class IntentFactory {
         public static Intent createIntent() {
             return new Intent();
@@ -32,6 +40,12 @@ public class ReactNativeNotificationHubUtil {
         }
     }
 
+    public static class BundleFactory {
+        public static Bundle createBundle(Bundle bundle) {
+            return new Bundle(bundle);
+        }
+    }
+
     public static ReactNativeNotificationHubUtil getInstance() {
         if (sharedNotificationHubUtilInstance == null) {
             sharedNotificationHubUtilInstance = new ReactNativeNotificationHubUtil();
@@ -71,6 +85,26 @@ public class ReactNativeNotificationHubUtil {
         setPref(context, KEY_FOR_PREFS_FCMTOKEN, token);
     }
 
+    /**
+     * Hash of the token and hub configuration the current registration was made with, or
+     * {@link ReactNativeContentHash#NONE} if unknown.
+     */
+    public long getRegistrationFingerprint(Context context) {
+        return getPrefLong(context, KEY_FOR_PREFS_REGISTRATION_FINGERPRINT);
+    }
+
+    public void setRegistrationFingerprint(Context context, long fingerprint) {
+        setPrefLong(context, KEY_FOR_PREFS_REGISTRATION_FINGERPRINT, fingerprint);
+    }
+
+    public long getRegistrationTime(Context context) {
+        return getPrefLong(context, KEY_FOR_PREFS_REGISTRATION_TIME);
+    }
+
+    public void setRegistrationTime(Context context, long registrationTime) {
+        setPrefLong(context, KEY_FOR_PREFS_REGISTRATION_TIME, registrationTime);
+    }
+
     public String[] getTags(Context context) {
         Set<String> set = getPrefSet(context, KEY_FOR_PREFS_TAGS);
         return set != null ? set.toArray(new String[set.size()]) : null;
@@ -205,6 +239,97 @@ public class ReactNativeNotificationHubUtil {
         setPref(context, KEY_FOR_PREFS_UUID, uuid);
     }
 
+    public String getNotificationActivityClass(Context context) {
+        return getPref(context, KEY_FOR_PREFS_NOTIFICATION_ACTIVITY);
+    }
+
+    public void setNotificationActivityClass(Context context, String className) {
+        setPref(context, KEY_FOR_PREFS_NOTIFICATION_ACTIVITY, className);
+    }
+
+    public boolean isInboxEnabled(Context context) {
+        return getPrefBoolean(context, KEY_FOR_PREFS_INBOX_ENABLED);
+    }
+
+    public void setInboxEnabled(Context context, boolean enabled) {
+        setPrefBoolean(context, KEY_FOR_PREFS_INBOX_ENABLED, enabled);
+    }
+
+    public int getInboxMaxCount(Context context) {
+        return hasKey(context, KEY_FOR_PREFS_INBOX_MAX_COUNT) ?
+                getPrefInt(context, KEY_FOR_PREFS_INBOX_MAX_COUNT) : INBOX_DEFAULT_MAX_COUNT;
+    }
+
+    public void setInboxMaxCount(Context context, int maxCount) {
+        setPrefInt(context, KEY_FOR_PREFS_INBOX_MAX_COUNT, maxCount);
+    }
+
+    public long getInboxMaxAge(Context context) {
+        return hasKey(context, KEY_FOR_PREFS_INBOX_MAX_AGE) ?
+                getPrefLong(context, KEY_FOR_PREFS_INBOX_MAX_AGE) : INBOX_DEFAULT_MAX_AGE;
+    }
+
+    public void setInboxMaxAge(Context context, long maxAge) {
+        setPrefLong(context, KEY_FOR_PREFS_INBOX_MAX_AGE, maxAge);
+    }
+
+    public long getInboxMaxBytes(Context context) {
+        return hasKey(context, KEY_FOR_PREFS_INBOX_MAX_BYTES) ?
+                getPrefLong(context, KEY_FOR_PREFS_INBOX_MAX_BYTES) : INBOX_DEFAULT_MAX_BYTES;
+    }
+
+    public void setInboxMaxBytes(Context context, long maxBytes) {
+        setPrefLong(context, KEY_FOR_PREFS_INBOX_MAX_BYTES, maxBytes);
+    }
+
+    public boolean isProgressiveRenderingEnabled(Context context) {
+        return getPrefBoolean(context, KEY_FOR_PREFS_PROGRESSIVE_RENDERING);
+    }
+
+    public void setProgressiveRenderingEnabled(Context context, boolean enabled) {
+        setPrefBoolean(context, KEY_FOR_PREFS_PROGRESSIVE_RENDERING, enabled);
+    }
+
+    public boolean isActionHeadlessTaskEnabled(Context context) {
+        return getPrefBoolean(context, KEY_FOR_PREFS_ACTION_HEADLESS_TASK);
+    }
+
+    public void setActionHeadlessTaskEnabled(Context context, boolean enabled) {
+        setPrefBoolean(context, KEY_FOR_PREFS_ACTION_HEADLESS_TASK, enabled);
+    }
+
+    public String getSilentMessageKey(Context context) {
+        return getPref(context, KEY_FOR_PREFS_SILENT_MESSAGE_KEY);
+    }
+
+    public void setSilentMessageKey(Context context, String key) {
+        setPref(context, KEY_FOR_PREFS_SILENT_MESSAGE_KEY, key);
+    }
+
+    public boolean isSilentHeadlessTaskEnabled(Context context) {
+        return getPrefBoolean(context, KEY_FOR_PREFS_SILENT_HEADLESS_TASK);
+    }
+
+    public void setSilentHeadlessTaskEnabled(Context context, boolean enabled) {
+        setPrefBoolean(context, KEY_FOR_PREFS_SILENT_HEADLESS_TASK, enabled);
+    }
+
+    public int getNotificationIdCounter(Context context) {
+        return getPrefInt(context, KEY_FOR_PREFS_NOTIFICATION_ID_COUNTER);
+    }
+
+    public String getNotificationIdTable(Context context) {
+        return getPref(context, KEY_FOR_PREFS_NOTIFICATION_ID_TABLE);
+    }
+
+    public void setNotificationIdCounter(Context context, int counter) {
+        setPrefInt(context, KEY_FOR_PREFS_NOTIFICATION_ID_COUNTER, counter);
+    }
+
+    public void setNotificationIdTable(Context context, String table) {
+        setPref(context, KEY_FOR_PREFS_NOTIFICATION_ID_TABLE, table);
+    }
+
     public void setAppIsForeground(boolean isForeground) {
         mIsForeground = isForeground;
     }
@@ -213,6 +338,42 @@ public class ReactNativeNotificationHubUtil {
         return mIsForeground;
     }
 
+    public void setRawJsonPayloadEnabled(boolean enabled) {
+        mRawJsonPayload = enabled;
+    }
+
+    public boolean isRawJsonPayloadEnabled() {
+        return mRawJsonPayload;
+    }
+
+    public void setEventTimingsSampleRate(double sampleRate) {
+        mEventTimingsSampleRate = sampleRate;
+    }
+
+    public double getEventTimingsSampleRate() {
+        return mEventTimingsSampleRate;
+    }
+
+    /**
+     * Loads the preferences file on the shared scheduler thread, so that the first read on the
+     * caller's thread does not wait for the disk. Runs from the module constructor in every app,
+     * so it does not use the worker pool, whose first use starts its threads and watchdog. Once
+     * per process: the file stays loaded, later modules have nothing to warm.
+     */
+    public void warmPreferences(Context context) {
+        if (!mPrefsWarmed.compareAndSet(false, true)) {
+            return;
+        }
+
+        final Context applicationContext = context.getApplicationContext();
+        ReactNativeUtil.runInWorkerThreadDelayed(() -> {
+            long start = System.nanoTime();
+            applicationContext.getSharedPreferences(SHARED_PREFS_NAME, Context.MODE_PRIVATE)
+                    .contains(KEY_FOR_PREFS_CONNECTIONSTRING);
+            ReactNativeMetrics.recordOperation(METRIC_OPERATION_PREFS_WARMUP, start);
+        }, 0);
+    }
+
     private String getPref(Context context, String key) {
         SharedPreferences prefs =
                 context.getSharedPreferences(SHARED_PREFS_NAME, Context.MODE_PRIVATE);
@@ -225,6 +386,12 @@ public class ReactNativeNotificationHubUtil {
         return prefs.getInt(key, 0);
     }
 
+    private long getPrefLong(Context context, String key) {
+        SharedPreferences prefs =
+                context.getSharedPreferences(SHARED_PREFS_NAME, Context.MODE_PRIVATE);
+        return prefs.getLong(key, 0);
+    }
+
     private boolean getPrefBoolean(Context context, String key) {
         SharedPreferences prefs =
                 context.getSharedPreferences(SHARED_PREFS_NAME, Context.MODE_PRIVATE);
@@ -251,6 +418,13 @@ public class ReactNativeNotificationHubUtil {
         editor.apply();
     }
 
+    private void setPrefLong(Context context, String key, long value) {
+        SharedPreferences.Editor editor =
+                context.getSharedPreferences(SHARED_PREFS_NAME, Context.MODE_PRIVATE).edit();
+        editor.putLong(key, value);
+        editor.apply();
+    }
+
     private void setPrefBoolean(Context context, String key, boolean value) {
         SharedPreferences.Editor editor =
                 context.getSharedPreferences(SHARED_PREFS_NAME, Context.MODE_PRIVATE).edit();
@@ -0,0 +1,236 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Allocates the int ids notifications are posted under. Ids come from a persisted counter, so
+ * unlike {@code String.hashCode()} two different message ids never share an id, and messages
+ * without an id no longer overwrite each other. The most recent mappings are kept in a bounded
+ * LRU table, so a resent message id maps back to the notification it was first posted as and
+ * cancel APIs can look up the message id of a posted notification. Group summaries draw from the
+ * same id space.
+ *
+ * Every message brings a new id, so the table is written in batches, at most once per
+ * {@link ReactNativeConstants#NOTIFICATION_ID_TABLE_FLUSH_DELAY_MS}. Only the small counter is
+ * written on every allocation.
+ */
+public final class ReactNativeNotificationIds {
+
+    public static final String TAG = "ReactNativeNotificationIds";
+
+    private static final String KEY_PREFIX_MESSAGE = "m:";
+    private static final String KEY_PREFIX_GROUP = "g:";
+    private static final String KEY_PREFIX_NOTIFICATION = "n:";
+
+    private static final Object mLock = new Object();
+
+    private static final LinkedHashMap<String, Integer> mIdsByKey =
+            new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                    if (size() > NOTIFICATION_ID_TABLE_MAX_SIZE) {
+                        mKeysById.remove(eldest.getValue());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+    private static final HashMap<Integer, String> mKeysById = new HashMap<>();
+
+    private static int mCounter;
+    private static boolean mLoaded = false;
+
+    // Whether the table has mappings not yet written, and whether a write is scheduled
+    private static boolean mTableDirty = false;
+    private static boolean mFlushPending = false;
+
+    /**
+     * Returns the id for a message, allocating one on first use. A null message id always gets a
+     * fresh id.
+     */
+    public static int forMessage(Context context, String messageId) {
+        return messageId != null ? forKey(context, KEY_PREFIX_MESSAGE + messageId) : forKey(context, null);
+    }
+
+    /**
+     * Returns the id for a sender-assigned notification key, so every send under the key maps to
+     * the same notification.
+     */
+    public static int forNotificationKey(Context context, String notificationKey) {
+        return forKey(context, KEY_PREFIX_NOTIFICATION + notificationKey);
+    }
+
+    public static int forGroup(Context context, String group) {
+        return forKey(context, KEY_PREFIX_GROUP + group);
+    }
+
+    /**
+     * Returns the id a group summary was posted under, or null if the group has none. Unlike
+     * {@link #forGroup} this never allocates.
+     */
+    public static Integer lookupGroup(Context context, String group) {
+        synchronized (mLock) {
+            load(context);
+            return mIdsByKey.get(KEY_PREFIX_GROUP + group);
+        }
+    }
+
+    /**
+     * Reverse lookup of {@link #forMessage}, or null if the id is not a message id still in the
+     * table.
+     */
+    public static String getMessageId(int id) {
+        synchronized (mLock) {
+            String key = mKeysById.get(id);
+            return key != null && key.startsWith(KEY_PREFIX_MESSAGE) ?
+                    key.substring(KEY_PREFIX_MESSAGE.length()) : null;
+        }
+    }
+
+    /**
+     * Drops the in-memory state, so it is reloaded from preferences on next use.
+     */
+    public static void invalidate() {
+        synchronized (mLock) {
+            mIdsByKey.clear();
+            mKeysById.clear();
+            mCounter = 0;
+            mLoaded = false;
+            mTableDirty = false;
+            mFlushPending = false;
+        }
+    }
+
+    /**
+     * Writes the table now if it has unwritten mappings.
+     */
+    public static void flush(Context context) {
+        synchronized (mLock) {
+            mFlushPending = false;
+            if (!mTableDirty) {
+                return;
+            }
+
+            mTableDirty = false;
+            ReactNativeNotificationHubUtil.getInstance().setNotificationIdTable(context, serialize());
+        }
+    }
+
+    /**
+     * The counter is persisted before the id is handed out, so a restarted process never reuses
+     * an id still in the tray. The write happens under the lock, so the last write is always the
+     * newest counter. Losing the table to a crash before its next flush only forgets recent
+     * mappings, a resend then posts under a fresh id.
+     */
+    private static int forKey(Context context, String key) {
+        synchronized (mLock) {
+            load(context);
+
+            if (key != null) {
+                Integer mapped = mIdsByKey.get(key);
+                if (mapped != null) {
+                    return mapped;
+                }
+            }
+
+            int id = next();
+            ReactNativeNotificationHubUtil.getInstance().setNotificationIdCounter(context, mCounter);
+            if (key != null) {
+                mIdsByKey.put(key, id);
+                mKeysById.put(id, key);
+                mTableDirty = true;
+                scheduleFlushLocked(context);
+            }
+
+            return id;
+        }
+    }
+
+    private static void scheduleFlushLocked(final Context context) {
+        if (mFlushPending) {
+            return;
+        }
+
+        mFlushPending = true;
+        ReactNativeUtil.runInWorkerThreadDelayed(new Runnable() {
+            public void run() {
+                try {
+                    flush(context);
+                } catch (Exception e) {
+                    Log.e(TAG, ERROR_NOTIFICATION_ID_TABLE, e);
+                }
+            }
+        }, NOTIFICATION_ID_TABLE_FLUSH_DELAY_MS);
+    }
+
+    // Ids are positive and wrap around; ids still mapped in the table are skipped after a wrap
+    private static int next() {
+        do {
+            mCounter = mCounter < Integer.MAX_VALUE ? mCounter + 1 : 1;
+        } while (mKeysById.containsKey(mCounter));
+
+        return mCounter;
+    }
+
+    private static void load(Context context) {
+        if (mLoaded) {
+            return;
+        }
+        mLoaded = true;
+
+        ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        mCounter = notificationHubUtil.getNotificationIdCounter(context);
+
+        String table = notificationHubUtil.getNotificationIdTable(context);
+        if (table == null || table.isEmpty()) {
+            return;
+        }
+
+        for (String line : table.split("\n")) {
+            int separator = line.indexOf('\t');
+            if (separator <= 0) {
+                continue;
+            }
+
+            try {
+                int id = Integer.parseInt(line.substring(0, separator));
+                String key = line.substring(separator + 1);
+                mIdsByKey.put(key, id);
+                mKeysById.put(id, key);
+            } catch (NumberFormatException e) {
+                // Skip the corrupt line, the rest of the table is still usable
+            }
+        }
+    }
+
+    // One "id\tkey" line per mapping, least recently used first so load() keeps the LRU order
+    private static String serialize() {
+        StringBuilder table = new StringBuilder();
+        Iterator<Map.Entry<String, Integer>> it = mIdsByKey.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Integer> entry = it.next();
+            String key = entry.getKey();
+            if (key.indexOf('\n') >= 0) {
+                continue;
+            }
+
+            table.append(entry.getValue()).append('\t').append(key);
+            if (it.hasNext()) {
+                table.append('\n');
+            }
+        }
+
+        return table.toString();
+    }
+
+    private ReactNativeNotificationIds() {
+    }
+}
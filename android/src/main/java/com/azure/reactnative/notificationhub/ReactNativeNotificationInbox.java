@@ -0,0 +1,230 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.INBOX_MAX_PAGE_SIZE;
+
+/**
+ * Append-only local store of received notifications, so JS can read what arrived while the app
+ * was not running. Rows are keyed by an auto-increment id, which doubles as the paging cursor:
+ * reading the latest N entries is a reverse scan of the primary key.
+ */
+public class ReactNativeNotificationInbox extends SQLiteOpenHelper {
+
+    public static final String TAG = "ReactNativeNotificationInbox";
+
+    private static final String DATABASE_NAME = "com.azure.reactnative.notificationhub.inbox.db";
+    private static final int DATABASE_VERSION = 1;
+
+    private static final String TABLE_INBOX = "inbox";
+    private static final String COLUMN_ID = "_id";
+    private static final String COLUMN_MESSAGE_ID = "message_id";
+    private static final String COLUMN_RECEIVED_AT = "received_at";
+    private static final String COLUMN_READ = "read";
+    private static final String COLUMN_SIZE = "size";
+    private static final String COLUMN_PAYLOAD = "payload";
+
+    // Rows read per step when trimming to the byte budget
+    private static final int PRUNE_BATCH_SIZE = 32;
+
+    private static ReactNativeNotificationInbox sharedInboxInstance = null;
+
+    // Sum of the size column, loaded on the first append and kept in step with every insert and
+    // delete so the byte budget never needs a full scan. Guarded by the instance lock.
+    private long mTotalBytes = -1;
+
+    public static class Entry {
+        public final long id;
+        public final String messageId;
+        public final long receivedAt;
+        public final boolean read;
+        public final String payload;
+
+        public Entry(long id, String messageId, long receivedAt, boolean read, String payload) {
+            this.id = id;
+            this.messageId = messageId;
+            this.receivedAt = receivedAt;
+            this.read = read;
+            this.payload = payload;
+        }
+    }
+
+    public static synchronized ReactNativeNotificationInbox getInstance(Context context) {
+        if (sharedInboxInstance == null) {
+            sharedInboxInstance = new ReactNativeNotificationInbox(context.getApplicationContext());
+        }
+        return sharedInboxInstance;
+    }
+
+    private ReactNativeNotificationInbox(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+
+        // Lets cold-start reads proceed while a push is being appended
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_INBOX + " ("
+                + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COLUMN_MESSAGE_ID + " TEXT, "
+                + COLUMN_RECEIVED_AT + " INTEGER NOT NULL, "
+                + COLUMN_READ + " INTEGER NOT NULL DEFAULT 0, "
+                + COLUMN_SIZE + " INTEGER NOT NULL, "
+                + COLUMN_PAYLOAD + " TEXT NOT NULL)");
+        db.execSQL("CREATE INDEX " + TABLE_INBOX + "_" + COLUMN_RECEIVED_AT
+                + " ON " + TABLE_INBOX + " (" + COLUMN_RECEIVED_AT + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+    }
+
+    /**
+     * Appends a notification and applies the retention limits. Sizes are UTF-8 byte lengths.
+     */
+    public synchronized void append(String messageId, long receivedAt, String payload,
+                                    int maxCount, long maxAge, long maxBytes) {
+        SQLiteDatabase db = getWritableDatabase();
+        long size = payload.getBytes(StandardCharsets.UTF_8).length;
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_MESSAGE_ID, messageId);
+        values.put(COLUMN_RECEIVED_AT, receivedAt);
+        values.put(COLUMN_SIZE, size);
+        values.put(COLUMN_PAYLOAD, payload);
+
+        if (mTotalBytes < 0) {
+            mTotalBytes = sumSize(db, null, null);
+        }
+
+        long totalBytes = mTotalBytes;
+        db.beginTransaction();
+        try {
+            if (db.insert(TABLE_INBOX, null, values) >= 0) {
+                totalBytes += size;
+            }
+            totalBytes = prune(db, totalBytes, receivedAt, maxCount, maxAge, maxBytes);
+            db.setTransactionSuccessful();
+            mTotalBytes = totalBytes;
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} entries older than {@code cursor}, newest first. A null cursor
+     * starts from the most recent entry. The limit is clamped to [1, {@code INBOX_MAX_PAGE_SIZE}],
+     * as SQLite treats a negative LIMIT as no limit at all.
+     */
+    public List<Entry> query(Long cursor, int limit) {
+        limit = Math.max(1, Math.min(limit, INBOX_MAX_PAGE_SIZE));
+        SQLiteDatabase db = getReadableDatabase();
+        String selection = cursor != null ? COLUMN_ID + " < ?" : null;
+        String[] selectionArgs = cursor != null ? new String[]{String.valueOf(cursor)} : null;
+
+        List<Entry> entries = new ArrayList<>();
+        try (Cursor c = db.query(TABLE_INBOX,
+                new String[]{COLUMN_ID, COLUMN_MESSAGE_ID, COLUMN_RECEIVED_AT, COLUMN_READ, COLUMN_PAYLOAD},
+                selection, selectionArgs, null, null,
+                COLUMN_ID + " DESC", String.valueOf(limit))) {
+            while (c.moveToNext()) {
+                entries.add(new Entry(
+                        c.getLong(0),
+                        c.getString(1),
+                        c.getLong(2),
+                        c.getInt(3) != 0,
+                        c.getString(4)));
+            }
+        }
+
+        return entries;
+    }
+
+    public void markRead(long[] ids) {
+        if (ids.length == 0) {
+            return;
+        }
+
+        StringBuilder placeholders = new StringBuilder();
+        String[] args = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            placeholders.append(i == 0 ? "?" : ",?");
+            args[i] = String.valueOf(ids[i]);
+        }
+
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_READ, 1);
+        getWritableDatabase().update(TABLE_INBOX, values,
+                COLUMN_ID + " IN (" + placeholders + ")", args);
+    }
+
+    /**
+     * Deletes entries past the age, count and byte limits and returns the new total size. Each
+     * step only touches the rows it removes, plus at most one batch when trimming to the byte
+     * budget, so the cost does not grow with the size of the inbox.
+     */
+    private long prune(SQLiteDatabase db, long totalBytes, long now,
+                       int maxCount, long maxAge, long maxBytes) {
+        if (maxAge > 0) {
+            totalBytes -= delete(db, COLUMN_RECEIVED_AT + " < ?",
+                    new String[]{String.valueOf(now - maxAge)});
+        }
+
+        if (maxCount > 0) {
+            // The id of the newest entry past the limit, null while the inbox is within it
+            totalBytes -= delete(db, COLUMN_ID + " <= (SELECT " + COLUMN_ID + " FROM " + TABLE_INBOX
+                            + " ORDER BY " + COLUMN_ID + " DESC LIMIT 1 OFFSET ?)",
+                    new String[]{String.valueOf(maxCount)});
+        }
+
+        if (maxBytes > 0 && totalBytes > maxBytes) {
+            // Walk from the oldest entry until enough has been freed
+            long excess = totalBytes - maxBytes;
+            long freed = 0;
+            long cutoffId = -1;
+            boolean more = true;
+            while (freed < excess && more) {
+                try (Cursor c = db.query(TABLE_INBOX, new String[]{COLUMN_ID, COLUMN_SIZE},
+                        COLUMN_ID + " > ?", new String[]{String.valueOf(cutoffId)}, null, null,
+                        COLUMN_ID + " ASC", String.valueOf(PRUNE_BATCH_SIZE))) {
+                    more = c.getCount() == PRUNE_BATCH_SIZE;
+                    while (freed < excess && c.moveToNext()) {
+                        cutoffId = c.getLong(0);
+                        freed += c.getLong(1);
+                    }
+                }
+            }
+
+            if (cutoffId >= 0) {
+                db.delete(TABLE_INBOX, COLUMN_ID + " <= ?", new String[]{String.valueOf(cutoffId)});
+                totalBytes -= freed;
+            }
+        }
+
+        return totalBytes;
+    }
+
+    /**
+     * Deletes the matching entries and returns their total size.
+     */
+    private static long delete(SQLiteDatabase db, String selection, String[] selectionArgs) {
+        long bytes = sumSize(db, selection, selectionArgs);
+        db.delete(TABLE_INBOX, selection, selectionArgs);
+        return bytes;
+    }
+
+    private static long sumSize(SQLiteDatabase db, String selection, String[] selectionArgs) {
+        try (Cursor c = db.query(TABLE_INBOX, new String[]{"TOTAL(" + COLUMN_SIZE + ")"},
+                selection, selectionArgs, null, null, null)) {
+            return c.moveToFirst() ? c.getLong(0) : 0;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.azure.reactnative.notificationhub;
+
+import android.graphics.Color;
+import android.os.Bundle;
+import android.util.Log;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Immutable, validated view of a remote notification payload. The bundle is read once when the
+ * message arrives; rendering and the stores downstream consume this object instead of
+ * re-reading keys from the bundle. Malformed values fall back to their defaults and are logged
+ * here rather than failing the whole render. The spec keeps its own copy of the bundle, so the
+ * caller may go on changing and broadcasting the original while the spec renders on a worker.
+ */
+public final class ReactNativeNotificationSpec {
+
+    public static final String TAG = "ReactNativeNotificationSpec";
+
+    private static final long DEFAULT_VIBRATION = 300L;
+
+    /**
+     * Never returned by {@link #getContentHash()}, used for notifications of unknown content.
+     */
+    public static final long NO_CONTENT_HASH = ReactNativeContentHash.NONE;
+
+    private final Bundle mBundle;
+    private final String mMessageId;
+    private final String mNotificationKey;
+    private final String mMessage;
+    private final String mTitle;
+    private final String mTicker;
+    private final int mPriority;
+    private final boolean mAutoCancel;
+    private final String mGroup;
+    private final String mTag;
+    private final String mSubText;
+    private final Integer mNumber;
+    private final String mSmallIcon;
+    private final String mBigText;
+    private final String mAvatarUrl;
+    private final String mImageUrl;
+    private final boolean mPlaySound;
+    private final String mSoundName;
+    private final Boolean mOngoing;
+    private final int mColor;
+    private final boolean mVibrate;
+    private final long mVibration;
+    private final String mActions;
+    private final long mContentHash;
+    private final long mAlertHash;
+    private final ReactNativeMessageTrace mTrace;
+
+    private ReactNativeNotificationSpec(Bundle bundle, String message, ReactNativeMessageTrace trace) {
+        mBundle = ReactNativeNotificationHubUtil.BundleFactory.createBundle(bundle);
+        mMessage = message;
+        mTrace = trace;
+        mMessageId = bundle.getString(KEY_REMOTE_NOTIFICATION_ID);
+        mNotificationKey = bundle.getString(KEY_REMOTE_NOTIFICATION_KEY);
+        mTitle = bundle.getString(KEY_REMOTE_NOTIFICATION_TITLE);
+        mTicker = bundle.getString(KEY_REMOTE_NOTIFICATION_TICKER);
+        mPriority = ReactNativeUtil.getNotificationCompatPriority(
+                bundle.getString(KEY_REMOTE_NOTIFICATION_PRIORITY));
+        mAutoCancel = ReactNativePayloadValues.parseBoolean(bundle.get(KEY_REMOTE_NOTIFICATION_AUTO_CANCEL), true);
+        mGroup = bundle.getString(KEY_REMOTE_NOTIFICATION_GROUP);
+        mTag = bundle.getString(KEY_REMOTE_NOTIFICATION_TAG);
+        mSubText = bundle.getString(KEY_REMOTE_NOTIFICATION_SUB_TEXT);
+        mNumber = parseInteger(KEY_REMOTE_NOTIFICATION_NUMBER, bundle.get(KEY_REMOTE_NOTIFICATION_NUMBER));
+        mSmallIcon = bundle.getString(KEY_REMOTE_NOTIFICATION_SMALL_ICON);
+        String bigText = bundle.getString(KEY_REMOTE_NOTIFICATION_BIG_TEXT);
+        mBigText = bigText != null ? bigText : message;
+        mAvatarUrl = bundle.getString(KEY_REMOTE_NOTIFICATION_AVATAR_URL);
+        mImageUrl = bundle.getString(KEY_REMOTE_NOTIFICATION_IMAGE_URL);
+        mPlaySound = ReactNativePayloadValues.parseBoolean(bundle.get(KEY_REMOTE_NOTIFICATION_PLAY_SOUND), true);
+        mSoundName = bundle.getString(KEY_REMOTE_NOTIFICATION_SOUND_NAME);
+        Object ongoing = bundle.get(KEY_REMOTE_NOTIFICATION_ONGOING);
+        mOngoing = ongoing != null ? ReactNativePayloadValues.parseBoolean(ongoing, false) : null;
+        mColor = parseColor(bundle.getString(KEY_REMOTE_NOTIFICATION_COLOR));
+        mVibrate = ReactNativePayloadValues.parseBoolean(bundle.get(KEY_REMOTE_NOTIFICATION_VIBRATE), true);
+        long vibration = parseLong(KEY_REMOTE_NOTIFICATION_VIBRATION, bundle.get(KEY_REMOTE_NOTIFICATION_VIBRATION));
+        mVibration = vibration > 0 ? vibration : DEFAULT_VIBRATION;
+        mActions = bundle.getString(KEY_REMOTE_NOTIFICATION_ACTIONS);
+
+        // Only the fields that end up in the rendered notification, the message id and other
+        // payload extras are left out so a resend of the same content hashes the same
+        long alertHash = ReactNativeContentHash.OFFSET_BASIS;
+        alertHash = ReactNativeContentHash.hash(alertHash, mTitle);
+        alertHash = ReactNativeContentHash.hash(alertHash, mMessage);
+        alertHash = ReactNativeContentHash.hash(alertHash, mBigText);
+        alertHash = ReactNativeContentHash.hash(alertHash, mAvatarUrl);
+        alertHash = ReactNativeContentHash.hash(alertHash, mImageUrl);
+        alertHash = ReactNativeContentHash.hash(alertHash, mActions);
+        mAlertHash = ReactNativeContentHash.finish(alertHash);
+
+        long contentHash = alertHash;
+        contentHash = ReactNativeContentHash.hash(contentHash, mTicker);
+        contentHash = ReactNativeContentHash.hash(contentHash, mPriority);
+        contentHash = ReactNativeContentHash.hash(contentHash, mAutoCancel);
+        contentHash = ReactNativeContentHash.hash(contentHash, mGroup);
+        contentHash = ReactNativeContentHash.hash(contentHash, mSubText);
+        contentHash = ReactNativeContentHash.hash(contentHash, mNumber);
+        contentHash = ReactNativeContentHash.hash(contentHash, mSmallIcon);
+        contentHash = ReactNativeContentHash.hash(contentHash, mPlaySound);
+        contentHash = ReactNativeContentHash.hash(contentHash, mSoundName);
+        contentHash = ReactNativeContentHash.hash(contentHash, mOngoing);
+        contentHash = ReactNativeContentHash.hash(contentHash, mColor);
+        contentHash = ReactNativeContentHash.hash(contentHash, mVibrate);
+        contentHash = ReactNativeContentHash.hash(contentHash, mVibration);
+        mContentHash = ReactNativeContentHash.finish(contentHash);
+    }
+
+    /**
+     * Parses the payload, or returns null if it carries no message to display.
+     */
+    public static ReactNativeNotificationSpec fromBundle(Bundle bundle) {
+        return fromBundle(bundle, null);
+    }
+
+    /**
+     * Parses the payload of a remote message, stamping the trace once it is parsed. The trace is
+     * carried along to the render path.
+     */
+    public static ReactNativeNotificationSpec fromBundle(Bundle bundle, ReactNativeMessageTrace trace) {
+        if (bundle == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        String message = bundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE);
+        if (message == null) {
+            message = bundle.getString(KEY_REMOTE_NOTIFICATION_BODY);
+        }
+
+        ReactNativeNotificationSpec spec = null;
+        if (message != null) {
+            spec = new ReactNativeNotificationSpec(bundle, message, trace);
+        }
+
+        ReactNativeMetrics.recordStage(RENDER_STAGE_PARSE, start);
+        ReactNativeMetrics.recordMilestone(trace, ReactNativeMessageTrace.PARSED);
+        return spec;
+    }
+
+    /**
+     * A copy of the payload this spec was parsed from, forwarded to JS and attached to intents.
+     * Shared by every reader of the spec, so it must not be modified.
+     */
+    public Bundle getBundle() {
+        return mBundle;
+    }
+
+    /**
+     * Milestones of the remote message this spec was parsed from, or null for other sources.
+     */
+    public ReactNativeMessageTrace getTrace() {
+        return mTrace;
+    }
+
+    public String getMessageId() {
+        return mMessageId;
+    }
+
+    /**
+     * The sender's logical id for the notification. Unlike the message id, which FCM assigns anew
+     * on every send, it stays the same when the backend resends or updates a notification.
+     */
+    public String getNotificationKey() {
+        return mNotificationKey;
+    }
+
+    public String getMessage() {
+        return mMessage;
+    }
+
+    public String getTitle() {
+        return mTitle;
+    }
+
+    public String getTicker() {
+        return mTicker;
+    }
+
+    public int getPriority() {
+        return mPriority;
+    }
+
+    public boolean isAutoCancel() {
+        return mAutoCancel;
+    }
+
+    public String getGroup() {
+        return mGroup;
+    }
+
+    public String getTag() {
+        return mTag;
+    }
+
+    public String getSubText() {
+        return mSubText;
+    }
+
+    public Integer getNumber() {
+        return mNumber;
+    }
+
+    public String getSmallIcon() {
+        return mSmallIcon;
+    }
+
+    public String getBigText() {
+        return mBigText;
+    }
+
+    public String getAvatarUrl() {
+        return mAvatarUrl;
+    }
+
+    public String getImageUrl() {
+        return mImageUrl;
+    }
+
+    public boolean isPlaySound() {
+        return mPlaySound;
+    }
+
+    public String getSoundName() {
+        return mSoundName;
+    }
+
+    public Boolean getOngoing() {
+        return mOngoing;
+    }
+
+    public int getColor() {
+        return mColor;
+    }
+
+    public boolean isVibrate() {
+        return mVibrate;
+    }
+
+    public long getVibration() {
+        return mVibration;
+    }
+
+    public String getActions() {
+        return mActions;
+    }
+
+    /**
+     * Hash over everything that affects the rendered notification. Two specs with the same
+     * content hash render identically.
+     */
+    public long getContentHash() {
+        return mContentHash;
+    }
+
+    /**
+     * Hash over the user-visible text and media. When only the fields outside of it change, an
+     * update does not need to alert the user again.
+     */
+    public long getAlertHash() {
+        return mAlertHash;
+    }
+
+    private static Integer parseInteger(String key, Object value) {
+        try {
+            return ReactNativePayloadValues.parseInteger(value);
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Ignoring malformed " + key + ": " + value);
+            return null;
+        }
+    }
+
+    private static long parseLong(String key, Object value) {
+        try {
+            return ReactNativePayloadValues.parseLong(value, 0);
+        } catch (NumberFormatException e) {
+            Log.w(TAG, "Ignoring malformed " + key + ": " + value);
+            return 0;
+        }
+    }
+
+    private static int parseColor(String color) {
+        if (color != null) {
+            try {
+                return Color.parseColor(color);
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Ignoring malformed " + KEY_REMOTE_NOTIFICATION_COLOR + ": " + color);
+            }
+        }
+
+        return Color.parseColor(RESOURCE_NOTIFICATION_COLOR);
+    }
+}
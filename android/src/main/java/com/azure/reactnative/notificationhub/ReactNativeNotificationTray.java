@@ -0,0 +1,221 @@
+package com.azure.reactnative.notificationhub;
+
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+import android.service.notification.StatusBarNotification;
+
+import androidx.core.app.NotificationCompat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * In-memory index of the notifications posted by the library, kept up to date from
+ * {@link ReactNativeNotificationsHandler#sendNotification} and the cancel paths. Entries are
+ * ordered by post time, so listing and evicting do not need a getActiveNotifications() binder
+ * call. The index is seeded once from the notification manager after process start.
+ */
+public final class ReactNativeNotificationTray {
+
+    public static final String TAG = "ReactNativeNotificationTray";
+
+    private static final Object mLock = new Object();
+    private static final ReactNativeTrayIndex mIndex = new ReactNativeTrayIndex();
+
+    private static boolean mSeeded = false;
+
+    public static void record(Context context, ReactNativeTrayIndex.Entry entry) {
+        synchronized (mLock) {
+            seed(context);
+            onRemovedLocked(mIndex.put(entry));
+        }
+    }
+
+    /**
+     * Drops an entry from the index without touching the tray, e.g. after the user dismissed it.
+     */
+    public static void remove(String tag, int id) {
+        synchronized (mLock) {
+            onRemovedLocked(mIndex.remove(tag, id));
+        }
+    }
+
+    /**
+     * Whether the notification is still in the tray, as far as the index knows.
+     */
+    public static boolean contains(Context context, String tag, int id) {
+        return get(context, tag, id) != null;
+    }
+
+    public static ReactNativeTrayIndex.Entry get(Context context, String tag, int id) {
+        synchronized (mLock) {
+            seed(context);
+            return mIndex.get(tag, id);
+        }
+    }
+
+    /**
+     * Asks the notification manager whether the notification is actually showing, dropping it from
+     * the index if not. Clicked auto-cancel notifications leave the tray without passing through
+     * the dismiss receiver, so callers about to rely on an entry being posted can confirm here.
+     */
+    public static boolean confirmActive(Context context, String tag, int id) {
+        NotificationManager notificationManager = getNotificationManager(context);
+        if (notificationManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return contains(context, tag, id);
+        }
+
+        StatusBarNotification[] active = notificationManager.getActiveNotifications();
+        if (active != null) {
+            for (StatusBarNotification sbn : active) {
+                if (sbn.getId() == id && (tag != null ? tag.equals(sbn.getTag()) : sbn.getTag() == null)) {
+                    return true;
+                }
+            }
+        }
+
+        remove(tag, id);
+        return false;
+    }
+
+    public static List<ReactNativeTrayIndex.Entry> getDelivered(Context context) {
+        synchronized (mLock) {
+            seed(context);
+            return mIndex.getEntries();
+        }
+    }
+
+    public static void cancelByMessageId(Context context, String messageId) {
+        List<ReactNativeTrayIndex.Entry> canceled = new ArrayList<>();
+        synchronized (mLock) {
+            seed(context);
+            ReactNativeTrayIndex.Entry entry = mIndex.removeByMessageId(messageId);
+            if (entry != null) {
+                onRemovedLocked(entry);
+                canceled.add(entry);
+            }
+        }
+        cancel(context, canceled);
+    }
+
+    public static void cancelByTag(Context context, String tag) {
+        List<ReactNativeTrayIndex.Entry> canceled;
+        synchronized (mLock) {
+            seed(context);
+            canceled = mIndex.removeByTag(tag);
+            onRemovedLocked(canceled);
+        }
+        cancel(context, canceled);
+    }
+
+    public static void cancelByGroup(Context context, String group) {
+        List<ReactNativeTrayIndex.Entry> canceled;
+        synchronized (mLock) {
+            seed(context);
+            canceled = mIndex.removeByGroup(group);
+            onRemovedLocked(canceled);
+        }
+        cancel(context, canceled);
+
+        Integer summaryID = ReactNativeNotificationIds.lookupGroup(context, group);
+        NotificationManager notificationManager = getNotificationManager(context);
+        if (summaryID != null && notificationManager != null) {
+            notificationManager.cancel(summaryID);
+        }
+    }
+
+    public static void cancelAll(Context context) {
+        synchronized (mLock) {
+            mIndex.clear();
+            mSeeded = true;
+        }
+        ReactNativeGroupSummaries.clear();
+
+        NotificationManager notificationManager = getNotificationManager(context);
+        if (notificationManager != null) {
+            notificationManager.cancelAll();
+        }
+    }
+
+    private static void cancel(Context context, List<ReactNativeTrayIndex.Entry> entries) {
+        NotificationManager notificationManager = getNotificationManager(context);
+        if (notificationManager == null) {
+            return;
+        }
+
+        for (ReactNativeTrayIndex.Entry entry : entries) {
+            notificationManager.cancel(entry.tag, entry.id);
+        }
+    }
+
+    private static NotificationManager getNotificationManager(Context context) {
+        return (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+    }
+
+    private static void seed(Context context) {
+        if (mSeeded) {
+            return;
+        }
+        mSeeded = true;
+
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return;
+        }
+
+        NotificationManager notificationManager = getNotificationManager(context);
+        if (notificationManager == null) {
+            return;
+        }
+
+        StatusBarNotification[] active = notificationManager.getActiveNotifications();
+        if (active == null) {
+            return;
+        }
+
+        List<StatusBarNotification> sorted = new ArrayList<>();
+        for (StatusBarNotification sbn : active) {
+            Notification notification = sbn.getNotification();
+            if ((notification.flags & Notification.FLAG_GROUP_SUMMARY) == 0) {
+                sorted.add(sbn);
+            }
+        }
+        Collections.sort(sorted, (o1, o2) -> Long.compare(o1.getPostTime(), o2.getPostTime()));
+
+        for (StatusBarNotification sbn : sorted) {
+            Notification notification = sbn.getNotification();
+            CharSequence title = notification.extras.getCharSequence(NotificationCompat.EXTRA_TITLE);
+            CharSequence body = notification.extras.getCharSequence(NotificationCompat.EXTRA_TEXT);
+            mIndex.put(new ReactNativeTrayIndex.Entry(
+                    sbn.getId(),
+                    sbn.getTag(),
+                    notification.getGroup(),
+                    null,
+                    title != null ? title.toString() : null,
+                    body != null ? body.toString() : null,
+                    sbn.getPostTime()));
+        }
+    }
+
+    // Keeps the group summaries in step with children leaving the tray
+    private static void onRemovedLocked(ReactNativeTrayIndex.Entry entry) {
+        if (entry != null && entry.group != null) {
+            ReactNativeGroupSummaries.remove(entry.group, ReactNativeTrayIndex.keyOf(entry.tag, entry.id));
+        }
+    }
+
+    private static void onRemovedLocked(List<ReactNativeTrayIndex.Entry> entries) {
+        for (ReactNativeTrayIndex.Entry entry : entries) {
+            onRemovedLocked(entry);
+        }
+    }
+
+    static String keyOf(String tag, int id) {
+        return ReactNativeTrayIndex.keyOf(tag, id);
+    }
+
+    private ReactNativeNotificationTray() {
+    }
+}
@@ -6,10 +6,8 @@ import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
-import android.content.pm.ApplicationInfo;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
-import android.graphics.Color;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
@@ -25,8 +23,6 @@ public final class ReactNativeNotificationsHandler {
 
     public static final String TAG = "ReactNativeNotification";
 
-    private static final long DEFAULT_VIBRATION = 300L;
-
     /**
      * Used for both "notification" and "data" payload types in order to notify a running ReactJS app.
      *
@@ -35,17 +31,17 @@ public final class ReactNativeNotificationsHandler {
      *  {"notification":{"body":"Notification Hub test notification"}} // notification
      */
     public static void sendBroadcast(final Context context, final Intent intent, final long delay) {
-        ReactNativeUtil.runInWorkerThread(new Runnable() {
+        runAfter(new Runnable() {
             public void run() {
                 try {
-                    Thread.currentThread().sleep(delay);
+                    ReactNativeNotificationHubModule.prepareForEvents();
                     LocalBroadcastManager localBroadcastManager = LocalBroadcastManager.getInstance(context);
                     localBroadcastManager.sendBroadcast(intent);
                 } catch (Exception e) {
                     Log.e(TAG, e.toString());
                 }
             }
-        });
+        }, delay);
     }
 
     /**
@@ -56,18 +52,42 @@ public final class ReactNativeNotificationsHandler {
      *  {"notification":{"body":"Notification Hub test notification"}} // notification
      */
     public static void sendBroadcast(final Context context, final Bundle bundle, final long delay) {
-        ReactNativeUtil.runInWorkerThread(new Runnable() {
+        sendBroadcast(context, bundle, delay, null);
+    }
+
+    /**
+     * Broadcasts a remote message to the running ReactJS app, stamping its trace once the
+     * broadcast is sent. The trace travels with the intent so the module can stamp the emit.
+     */
+    public static void sendBroadcast(final Context context,
+                                     final Bundle bundle,
+                                     final long delay,
+                                     final ReactNativeMessageTrace trace) {
+        runAfter(new Runnable() {
             public void run() {
                 try {
-                    Thread.currentThread().sleep(delay);
                     Intent intent = ReactNativeUtil.createBroadcastIntent(TAG, bundle);
+                    if (trace != null) {
+                        ReactNativeMetrics.recordMilestone(trace, ReactNativeMessageTrace.BROADCAST);
+                        intent.putExtra(KEY_INTENT_MESSAGE_TRACE, trace.toArray());
+                    }
+                    ReactNativeNotificationHubModule.prepareForEvents();
                     LocalBroadcastManager localBroadcastManager = LocalBroadcastManager.getInstance(context);
                     localBroadcastManager.sendBroadcast(intent);
                 } catch (Exception e) {
                     Log.e(TAG, e.toString());
                 }
             }
-        });
+        }, delay);
+    }
+
+    // Delayed broadcasts wait on the scheduler rather than sleeping on a worker thread
+    private static void runAfter(Runnable runnable, long delay) {
+        if (delay > 0) {
+            ReactNativeUtil.runInWorkerThreadDelayed(runnable, delay);
+        } else {
+            ReactNativeUtil.runInWorkerThread(runnable);
+        }
     }
 
     /**
@@ -76,185 +96,360 @@ public final class ReactNativeNotificationsHandler {
      *
      * Example: {"data":{"message":"Notification Hub test notification"}}
      */
-    @SuppressLint("UnspecifiedImmutableFlag")
     public static void sendNotification(final Context context,
                                         final Bundle bundle,
                                         final String notificationChannelID) {
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(bundle);
+        if (spec == null) {
+            Log.e(TAG, ERROR_NO_MESSAGE);
+            return;
+        }
+
+        sendNotification(context, spec, notificationChannelID);
+    }
+
+    /**
+     * Renders and posts a notification from an already parsed payload. Rendering runs as a
+     * sequence of stages (resolve, fetch media, build, post, summary), each timed into
+     * {@link ReactNativeMetrics} and traced as a {@link ReactNativeTrace} section. With
+     * progressive rendering enabled, media is fetched after the text notification has been
+     * posted and applied with a silent update.
+     */
+    public static void sendNotification(final Context context,
+                                        final ReactNativeNotificationSpec spec,
+                                        final String notificationChannelID) {
         ReactNativeUtil.runInWorkerThread(new Runnable() {
             public void run() {
+                boolean traced = ReactNativeTrace.begin(TRACE_SEND_NOTIFICATION);
+                boolean section = ReactNativeTrace.begin(TRACE_RENDER_RESOLVE);
                 try {
-                    Class intentClass = ReactNativeUtil.getMainActivityClass(context);
-                    if (intentClass == null) {
-                        Log.e(TAG, ERROR_NO_ACTIVITY_CLASS);
+                    RenderState state = new RenderState();
+                    long start = System.nanoTime();
+
+                    if (!resolveResources(context, spec, state)) {
                         return;
                     }
+                    start = ReactNativeMetrics.recordStage(RENDER_STAGE_RESOLVE, start);
 
-                    String message = bundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE);
-                    if (message == null) {
-                        message = bundle.getString(KEY_REMOTE_NOTIFICATION_BODY);
+                    section = ReactNativeTrace.next(section, TRACE_RENDER_DIFF);
+                    if (!diffContent(context, spec, state)) {
+                        return;
                     }
 
-                    Resources res = context.getResources();
-                    String packageName = context.getPackageName();
+                    ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+                    boolean progressive = hasMedia(spec)
+                            && notificationHubUtil.isProgressiveRenderingEnabled(context);
 
-                    int smallIconResId = ReactNativeUtil.getSmallIcon(bundle, res, packageName);
+                    if (!progressive) {
+                        section = ReactNativeTrace.next(section, TRACE_RENDER_FETCH_MEDIA);
+                        fetchMedia(context, spec, state);
+                        start = ReactNativeMetrics.recordStage(RENDER_STAGE_FETCH_MEDIA, start);
+                    }
 
-                    String title = bundle.getString(KEY_REMOTE_NOTIFICATION_TITLE);
-                    if (title == null) {
-                        ApplicationInfo appInfo = context.getApplicationInfo();
-                        title = context.getPackageManager().getApplicationLabel(appInfo).toString();
+                    section = ReactNativeTrace.next(section, TRACE_RENDER_BUILD);
+                    build(context, spec, state, notificationChannelID);
+                    start = ReactNativeMetrics.recordStage(RENDER_STAGE_BUILD, start);
+                    ReactNativeMetrics.recordMilestone(spec.getTrace(), ReactNativeMessageTrace.RENDERED);
+
+                    section = ReactNativeTrace.next(section, TRACE_RENDER_POST);
+                    post(context, spec, state);
+                    start = ReactNativeMetrics.recordStage(RENDER_STAGE_POST, start);
+                    ReactNativeMetrics.recordMilestone(spec.getTrace(), ReactNativeMessageTrace.POSTED);
+                    ReactNativeMetrics.increment(METRIC_RENDERS);
+
+                    if (spec.getGroup() != null) {
+                        section = ReactNativeTrace.next(section, TRACE_RENDER_SUMMARY);
+                        postSummary(context, spec, state, notificationChannelID);
+                        start = ReactNativeMetrics.recordStage(RENDER_STAGE_SUMMARY, start);
                     }
 
-                    int priority = ReactNativeUtil.getNotificationCompatPriority(
-                            bundle.getString(KEY_REMOTE_NOTIFICATION_PRIORITY));
-                    NotificationCompat.Builder notificationBuilder = ReactNativeUtil.initNotificationCompatBuilder(
-                            context,
-                            notificationChannelID,
-                            title,
-                            bundle.getString(KEY_REMOTE_NOTIFICATION_TICKER),
-                            NotificationCompat.VISIBILITY_PRIVATE,
-                            priority,
-                            bundle.getBoolean(KEY_REMOTE_NOTIFICATION_AUTO_CANCEL, true));
+                    if (progressive) {
+                        section = ReactNativeTrace.next(section, TRACE_RENDER_FETCH_MEDIA);
+                        fetchMedia(context, spec, state);
+                        start = ReactNativeMetrics.recordStage(RENDER_STAGE_FETCH_MEDIA, start);
+
+                        section = ReactNativeTrace.next(section, TRACE_RENDER_MEDIA_UPDATE);
+                        if (postMediaUpdate(context, spec, state)) {
+                            ReactNativeMetrics.recordStage(RENDER_STAGE_MEDIA_UPDATE, start);
+                        }
+                    }
+                } catch (Exception e) {
+                    Log.e(TAG, ERROR_SEND_PUSH_NOTIFICATION, e);
+                    ReactNativeMetrics.increment(METRIC_RENDER_FAILURES);
+                } finally {
+                    ReactNativeTrace.end(section);
+                    ReactNativeTrace.end(traced);
+                }
+            }
+        });
+    }
+
+    // Intermediate results handed from one render stage to the next
+    private static final class RenderState {
+        Class intentClass;
+        String title;
+        int smallIconResId;
+        int notificationID;
+        boolean silentUpdate;
+        Bitmap avatar;
+        Bitmap picture;
+        NotificationCompat.Builder builder;
+        NotificationManager notificationManager;
+    }
+
+    private static boolean resolveResources(Context context,
+                                            ReactNativeNotificationSpec spec,
+                                            RenderState state) {
+        state.intentClass = ReactNativeUtil.getMainActivityClass(context);
+        if (state.intentClass == null) {
+            Log.e(TAG, ERROR_NO_ACTIVITY_CLASS);
+            return false;
+        }
+
+        ReactNativeResourceResolver.init(context);
+        Resources res = context.getResources();
+        String packageName = context.getPackageName();
+
+        state.smallIconResId = ReactNativeUtil.getSmallIcon(spec.getSmallIcon(), res, packageName);
+
+        state.title = spec.getTitle();
+        if (state.title == null) {
+            state.title = ReactNativeUtil.getApplicationLabel(context);
+        }
+
+        // FCM gives every send a new message id, so only a notification key lets a resend find
+        // the notification it updates
+        state.notificationID = spec.getNotificationKey() != null ?
+                ReactNativeNotificationIds.forNotificationKey(context, spec.getNotificationKey()) :
+                ReactNativeNotificationIds.forMessage(context, spec.getMessageId());
+
+        return true;
+    }
+
+    /**
+     * Compares the spec against what is already posted under the same tag and id. Returns false
+     * if it is identical, so the render can be skipped; marks the update silent if only fields
+     * outside the alert hash changed. Backend resends only match when they carry the same
+     * notification key, see {@link ReactNativeNotificationSpec#getNotificationKey()}.
+     */
+    private static boolean diffContent(Context context,
+                                       ReactNativeNotificationSpec spec,
+                                       RenderState state) {
+        ReactNativeTrayIndex.Entry posted =
+                ReactNativeNotificationTray.get(context, spec.getTag(), state.notificationID);
+        if (posted == null) {
+            return true;
+        }
+
+        switch (ReactNativeContentHash.diff(posted.contentHash, posted.alertHash,
+                spec.getContentHash(), spec.getAlertHash())) {
+            case ReactNativeContentHash.UNCHANGED:
+                // Only pay for the binder call on the skip path
+                if (ReactNativeNotificationTray.confirmActive(context, spec.getTag(), state.notificationID)) {
+                    ReactNativeMetrics.increment(METRIC_DUPLICATES_DROPPED);
+                    return false;
+                }
+                return true;
+            case ReactNativeContentHash.SILENT_UPDATE:
+                state.silentUpdate = true;
+                return true;
+            default:
+                return true;
+        }
+    }
 
+    private static boolean hasMedia(ReactNativeNotificationSpec spec) {
+        return spec.getAvatarUrl() != null || spec.getImageUrl() != null;
+    }
 
-                    NotificationCompat.Builder summaryNotificationBuilder = null;
+    private static void fetchMedia(Context context,
+                                   ReactNativeNotificationSpec spec,
+                                   RenderState state) {
+        if (spec.getAvatarUrl() != null) {
+            state.avatar = ReactNativeUtil.fetchImage(spec.getAvatarUrl());
+        }
+
+        String imageUrl = spec.getImageUrl();
+        if (imageUrl != null && ReactNativeUtil.isConnectedToWiFi(context)) {
+            state.picture = ReactNativeUtil.fetchImage(imageUrl);
+        }
+    }
 
-                    String group = bundle.getString(KEY_REMOTE_NOTIFICATION_GROUP);
+    @SuppressLint("UnspecifiedImmutableFlag")
+    private static void build(Context context,
+                              ReactNativeNotificationSpec spec,
+                              RenderState state,
+                              String notificationChannelID) {
+        final Bundle bundle = spec.getBundle();
+        final String title = state.title;
 
-                    if (group != null) {
-                        notificationBuilder.setGroup(group);
+        NotificationCompat.Builder notificationBuilder = ReactNativeUtil.initNotificationCompatBuilder(
+                context,
+                notificationChannelID,
+                title,
+                spec.getTicker(),
+                NotificationCompat.VISIBILITY_PRIVATE,
+                spec.getPriority(),
+                spec.isAutoCancel());
 
-                        summaryNotificationBuilder = ReactNativeUtil.initNotificationCompatBuilder(
-                                context,
-                                notificationChannelID,
-                                title,
-                                bundle.getString(KEY_REMOTE_NOTIFICATION_TICKER),
-                                NotificationCompat.VISIBILITY_PRIVATE,
-                                priority,
-                                bundle.getBoolean(KEY_REMOTE_NOTIFICATION_AUTO_CANCEL, true));
+        String group = spec.getGroup();
 
+        if (group != null) {
+            notificationBuilder.setGroup(group);
+        }
 
-                        summaryNotificationBuilder
-                                .setSmallIcon(smallIconResId)
-                                .setStyle(ReactNativeUtil.getInboxStyle(title))
-                                .setGroup(group)
-                                .setGroupSummary(true);
-                    }
+        notificationBuilder.setContentText(spec.getMessage());
 
-                    notificationBuilder.setContentText(message);
+        if (spec.getSubText() != null) {
+            notificationBuilder.setSubText(spec.getSubText());
+        }
 
-                    String subText = bundle.getString(KEY_REMOTE_NOTIFICATION_SUB_TEXT);
-                    if (subText != null) {
-                        notificationBuilder.setSubText(subText);
-                    }
+        if (spec.getNumber() != null) {
+            notificationBuilder.setNumber(spec.getNumber());
+        }
 
-                    String numberString = bundle.getString(KEY_REMOTE_NOTIFICATION_NUMBER);
-                    if (numberString != null) {
-                        notificationBuilder.setNumber(Integer.parseInt(numberString));
-                    }
+        notificationBuilder.setSmallIcon(state.smallIconResId);
 
-                    notificationBuilder.setSmallIcon(smallIconResId);
+        notificationBuilder.setStyle(ReactNativeUtil.getBigTextStyle(spec.getBigText()));
 
-                    if (bundle.getString(KEY_REMOTE_NOTIFICATION_AVATAR_URL) != null) {
-                        Bitmap avatar = ReactNativeUtil.fetchImage(
-                                bundle.getString(KEY_REMOTE_NOTIFICATION_AVATAR_URL));
-                        if (avatar != null) {
-                            notificationBuilder.setLargeIcon(avatar);
-                        }
-                    }
+        applyMedia(notificationBuilder, state);
 
-                    String bigText = bundle.getString(KEY_REMOTE_NOTIFICATION_BIG_TEXT);
-                    if (bigText == null) {
-                        bigText = message;
-                    }
-                    notificationBuilder.setStyle(ReactNativeUtil.getBigTextStyle(bigText));
-
-                    String imageUrl = bundle.getString(KEY_REMOTE_NOTIFICATION_IMAGE_URL);
-
-                    if (imageUrl != null && ReactNativeUtil.isConnectedToWiFi(context)) {
-                        Bitmap bitmap = ReactNativeUtil.fetchImage(imageUrl);
-                        if (bitmap != null) {
-                            notificationBuilder
-                                    .setLargeIcon(bitmap)
-                                    .setStyle(new NotificationCompat.BigPictureStyle()
-                                            .bigPicture(bitmap)
-                                            .bigLargeIcon(null));
-                        }
-                    }
+        // Create notification intent
+        Intent intent = ReactNativeUtil.createNotificationIntent(context, bundle, state.intentClass);
 
-                    // Create notification intent
-                    Intent intent = ReactNativeUtil.createNotificationIntent(context, bundle, intentClass);
+        if (spec.isPlaySound()) {
+            Uri soundUri = ReactNativeUtil.getSoundUri(context, spec.getSoundName());
+            notificationBuilder.setSound(soundUri);
+        }
 
-                    if (!bundle.containsKey(KEY_REMOTE_NOTIFICATION_PLAY_SOUND) || bundle.getBoolean(KEY_REMOTE_NOTIFICATION_PLAY_SOUND)) {
-                        Uri soundUri = ReactNativeUtil.getSoundUri(context, bundle);
-                        notificationBuilder.setSound(soundUri);
-                    }
+        if (spec.getOngoing() != null) {
+            notificationBuilder.setOngoing(spec.getOngoing());
+        }
 
-                    if (bundle.containsKey(KEY_REMOTE_NOTIFICATION_ONGOING)) {
-                        notificationBuilder.setOngoing(bundle.getBoolean(KEY_REMOTE_NOTIFICATION_ONGOING));
-                    }
+        notificationBuilder.setCategory(NotificationCompat.CATEGORY_CALL);
 
-                    notificationBuilder.setCategory(NotificationCompat.CATEGORY_CALL);
+        notificationBuilder.setColor(spec.getColor());
 
-                    String color = bundle.getString(KEY_REMOTE_NOTIFICATION_COLOR);
-                    if (color != null) {
-                        notificationBuilder.setColor(Color.parseColor(color));
-                    } else {
-                        notificationBuilder.setColor(Color.parseColor(RESOURCE_NOTIFICATION_COLOR));
-                    }
+        int notificationID = state.notificationID;
+        final PendingIntent pendingIntent;
 
-                    String notificationIDStr = bundle.getString(KEY_REMOTE_NOTIFICATION_ID);
-                    int notificationID = -1;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            pendingIntent = PendingIntent.getActivity(context, notificationID, intent,
+                    PendingIntent.FLAG_IMMUTABLE);
+        } else {
+            pendingIntent = PendingIntent.getActivity(context, notificationID, intent,
+                    PendingIntent.FLAG_UPDATE_CURRENT);
+        }
 
-                    if (notificationIDStr != null) {
-                        notificationID = notificationIDStr.hashCode();
-                    }
+        notificationBuilder.setContentIntent(pendingIntent);
 
-                    final PendingIntent pendingIntent;
+        notificationBuilder.setDeleteIntent(
+                ReactNativeUtil.createDismissPendingIntent(context, spec.getTag(), notificationID));
 
-                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-                        pendingIntent = PendingIntent.getActivity(context, notificationID, intent,
-                                PendingIntent.FLAG_IMMUTABLE);
-                    } else {
-                        pendingIntent = PendingIntent.getActivity(context, notificationID, intent,
-                                PendingIntent.FLAG_UPDATE_CURRENT);
-                    }
+        if (spec.isVibrate()) {
+            notificationBuilder.setVibrate(new long[]{0, spec.getVibration()});
+        }
 
-                    notificationBuilder.setContentIntent(pendingIntent);
+        // Process notification's actions
+        ReactNativeUtil.processNotificationActions(
+                context, bundle, spec.getActions(), notificationBuilder, notificationID);
 
-                    if (!bundle.containsKey(KEY_REMOTE_NOTIFICATION_VIBRATE) || bundle.getBoolean(KEY_REMOTE_NOTIFICATION_VIBRATE)) {
-                        long vibration = bundle.containsKey(KEY_REMOTE_NOTIFICATION_VIBRATION) ?
-                                (long) bundle.getDouble(KEY_REMOTE_NOTIFICATION_VIBRATION) : DEFAULT_VIBRATION;
-                        if (vibration == 0)
-                            vibration = DEFAULT_VIBRATION;
-                        notificationBuilder.setVibrate(new long[]{0, vibration});
-                    }
+        notificationBuilder.setPriority(2);
 
-                    // Process notification's actions
-                    ReactNativeUtil.processNotificationActions(context, bundle, notificationBuilder, notificationID);
+        if (state.silentUpdate) {
+            notificationBuilder.setOnlyAlertOnce(true);
+        }
 
-                    notificationBuilder.setPriority(2);
+        state.builder = notificationBuilder;
+    }
 
-                    Notification notification = notificationBuilder.build();
-                    NotificationManager notificationManager = (NotificationManager) context.getSystemService(
-                            Context.NOTIFICATION_SERVICE);
-                    if (bundle.containsKey(KEY_REMOTE_NOTIFICATION_TAG)) {
-                        String tag = bundle.getString(KEY_REMOTE_NOTIFICATION_TAG);
-                        notificationManager.notify(tag, notificationID, notification);
-                    } else {
-                        notificationManager.notify(notificationID, notification);
-                    }
+    private static void applyMedia(NotificationCompat.Builder notificationBuilder, RenderState state) {
+        if (state.avatar != null) {
+            notificationBuilder.setLargeIcon(state.avatar);
+        }
+
+        if (state.picture != null) {
+            notificationBuilder
+                    .setLargeIcon(state.picture)
+                    .setStyle(new NotificationCompat.BigPictureStyle()
+                            .bigPicture(state.picture)
+                            .bigLargeIcon(null));
+        }
+    }
 
-                    if (summaryNotificationBuilder != null) {
-                        Notification summaryNotification = summaryNotificationBuilder.build();
-                        notificationManager.notify(group.hashCode(), summaryNotification);
-                    }
+    /**
+     * Re-posts the notification with the downloaded media under the same tag and id. The update
+     * does not alert again, and is skipped if nothing was fetched or the notification has been
+     * dismissed in the meantime.
+     */
+    private static boolean postMediaUpdate(Context context,
+                                           ReactNativeNotificationSpec spec,
+                                           RenderState state) {
+        if (state.avatar == null && state.picture == null) {
+            return false;
+        }
+
+        String tag = spec.getTag();
+        if (!ReactNativeNotificationTray.contains(context, tag, state.notificationID)) {
+            return false;
+        }
+
+        applyMedia(state.builder, state);
+        state.builder.setOnlyAlertOnce(true);
+
+        Notification notification = state.builder.build();
+        if (tag != null) {
+            state.notificationManager.notify(tag, state.notificationID, notification);
+        } else {
+            state.notificationManager.notify(state.notificationID, notification);
+        }
+
+        return true;
+    }
 
-                } catch (Exception e) {
-                    Log.e(TAG, ERROR_SEND_PUSH_NOTIFICATION, e);
-                }
-            }
-        });
+    private static void post(Context context,
+                             ReactNativeNotificationSpec spec,
+                             RenderState state) {
+        Notification notification = state.builder.build();
+        state.notificationManager = (NotificationManager) context.getSystemService(
+                Context.NOTIFICATION_SERVICE);
+
+        String tag = spec.getTag();
+        if (tag != null) {
+            state.notificationManager.notify(tag, state.notificationID, notification);
+        } else {
+            state.notificationManager.notify(state.notificationID, notification);
+        }
+
+        ReactNativeNotificationTray.record(context, new ReactNativeTrayIndex.Entry(
+                state.notificationID,
+                tag,
+                spec.getGroup(),
+                spec.getMessageId(),
+                state.title,
+                spec.getMessage(),
+                System.currentTimeMillis(),
+                spec.getContentHash(),
+                spec.getAlertHash()));
+    }
+
+    /**
+     * Adds the notification to its group's summary model; the summary itself is posted by
+     * {@link ReactNativeGroupSummaries} once the burst of updates settles.
+     */
+    private static void postSummary(Context context,
+                                    ReactNativeNotificationSpec spec,
+                                    RenderState state,
+                                    String notificationChannelID) {
+        ReactNativeGroupSummaries.add(
+                context,
+                spec.getGroup(),
+                ReactNativeNotificationTray.keyOf(spec.getTag(), state.notificationID),
+                state.title,
+                spec.getMessage(),
+                notificationChannelID,
+                state.smallIconResId,
+                spec.getColor());
     }
 
     private ReactNativeNotificationsHandler() {
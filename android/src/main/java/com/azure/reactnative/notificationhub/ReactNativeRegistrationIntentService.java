@@ -8,19 +8,44 @@ import androidx.core.app.JobIntentService;
 
 import android.util.Log;
 
+import com.google.android.gms.tasks.Task;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.microsoft.windowsazure.messaging.NotificationHub;
+import com.microsoft.windowsazure.messaging.NotificationHubException;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Registers the FCM token with Azure Notification Hub. Registrations run one at a time on a
+ * dedicated thread: requests arriving while one runs are folded into a single rerun with the
+ * latest configuration, a registration identical to the current one is skipped until it is due
+ * for a refresh, and throttled or failed calls are retried with backoff. A registration lost on
+ * the hub's side therefore goes unnoticed for at most
+ * {@link ReactNativeConstants#REGISTRATION_REFRESH_INTERVAL_MS}. Without a stored registration
+ * id, e.g. after unregistering, the call is never skipped.
+ */
 public class ReactNativeRegistrationIntentService extends JobIntentService {
 
     public static final String TAG = "ReactNativeRegistration";
 
     private static final int JOB_ID = 1000;
 
-    private final ExecutorService mPool = Executors.newFixedThreadPool(1);
+    private static final ReactNativeMonitoredExecutor mPool = new ReactNativeMonitoredExecutor(
+            REGISTRATION_POOL_NAME, 1, REGISTRATION_POOL_QUEUE_CAPACITY,
+            REGISTRATION_POOL_SLOW_TASK_MS, SLOW_TASK_MAX_SAMPLES);
+
+    private static final ReactNativeCoalescer mCoalescer = new ReactNativeCoalescer();
+
+    private static volatile ReactNativeRetryPolicy mRetryPolicy = new ReactNativeRetryPolicy(
+            REGISTRATION_MAX_ATTEMPTS, REGISTRATION_RETRY_BASE_DELAY_MS, REGISTRATION_RETRY_MAX_DELAY_MS);
+
+    static {
+        ReactNativeMetrics.registerPool(mPool);
+    }
 
     /**
      * Convenience method for enqueuing work in to this service.
@@ -29,89 +54,217 @@ public class ReactNativeRegistrationIntentService extends JobIntentService {
         enqueueWork(context, ReactNativeRegistrationIntentService.class, JOB_ID, work);
     }
 
+    public static void setRetryPolicy(ReactNativeRetryPolicy retryPolicy) {
+        mRetryPolicy = retryPolicy;
+    }
+
+    public static ReactNativeRetryPolicy getRetryPolicy() {
+        return mRetryPolicy;
+    }
+
+    /**
+     * Whether a registration, or the rerun of one, is in progress.
+     */
+    public static boolean isRegistering() {
+        return mCoalescer.isRunning();
+    }
+
     @Override
     protected void onHandleWork(@NonNull Intent intent) {
-        final Intent event = ReactNativeNotificationHubUtil.IntentFactory.createIntent(TAG);
-        final ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
-        final String connectionString = notificationHubUtil.getConnectionString(this);
-        final String hubName = notificationHubUtil.getHubName(this);
-        final String[] tags = notificationHubUtil.getTags(this);
-        final boolean isTemplated = notificationHubUtil.isTemplated(this);
-        final String templateName = notificationHubUtil.getTemplateName(this);
-        final String template = notificationHubUtil.getTemplate(this);
+        requestRegistration(getApplicationContext());
+    }
 
-        if (connectionString == null || hubName == null) {
+    /**
+     * Registers with the hub stored in preferences. If a registration is already running, it runs
+     * once more when done instead, picking up whatever changed in the meantime.
+     */
+    public static void requestRegistration(final Context context) {
+        final ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        if (notificationHubUtil.getConnectionString(context) == null
+                || notificationHubUtil.getHubName(context) == null) {
             // The intent was triggered when no connection string has been set.
             // This is likely due to an InstanceID refresh occurring while no user
             // registration is active for Azure Notification Hub.
             return;
         }
 
-        FirebaseMessaging.getInstance().getToken()
-                .addOnCompleteListener(mPool, task -> {
+        if (!mCoalescer.request()) {
+            ReactNativeMetrics.increment(METRIC_REGISTRATIONS_COALESCED);
+            return;
+        }
 
-                    if (!task.isSuccessful()) {
-                        Log.w(TAG, "Fetching FCM registration token failed", task.getException());
-                        return;
-                    }
+        fetchTokenAndRegister(context);
+    }
 
-                    try {
+    private static void fetchTokenAndRegister(final Context context) {
+        Task<String> token;
+        try {
+            token = FirebaseMessaging.getInstance().getToken();
+        } catch (RuntimeException e) {
+            // E.g. Firebase is not initialized. The run ends here, or later requests would only
+            // ever be coalesced into it.
+            Log.w(TAG, ERROR_FETCH_TOKEN, e);
+            ReactNativeMetrics.increment(METRIC_REGISTRATION_FAILURES);
+            if (mCoalescer.finish()) {
+                fetchTokenAndRegister(context);
+            }
+            return;
+        }
 
-                        // Get new FCM registration token
-                        String token = task.getResult();
+        token.addOnCompleteListener(mPool, task -> {
+            try {
+                if (!task.isSuccessful()) {
+                    Log.w(TAG, ERROR_FETCH_TOKEN, task.getException());
+                    ReactNativeMetrics.increment(METRIC_REGISTRATION_FAILURES);
+                    return;
+                }
 
-                        // Storing the registration ID indicates whether the generated token has been
-                        // sent to your server. If it is not stored, send the token to your server.
-                        // Also check if the token has been compromised and needs refreshing.
+                // Get new FCM registration token
+                boolean section = ReactNativeTrace.begin(TRACE_REGISTRATION);
+                try {
+                    register(context, task.getResult());
+                } finally {
+                    ReactNativeTrace.end(section);
+                }
+            } finally {
+                if (mCoalescer.finish()) {
+                    fetchTokenAndRegister(context);
+                }
+            }
+        });
+    }
+
+    private static void register(Context context, String token) {
+        final Intent event = ReactNativeNotificationHubUtil.IntentFactory.createIntent(TAG);
+        final ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+        final String connectionString = notificationHubUtil.getConnectionString(context);
+        final String hubName = notificationHubUtil.getHubName(context);
+        final String[] tags = notificationHubUtil.getTags(context);
+        final boolean isTemplated = notificationHubUtil.isTemplated(context);
+        final String templateName = notificationHubUtil.getTemplateName(context);
+        final String template = notificationHubUtil.getTemplate(context);
+
+        if (connectionString == null || hubName == null) {
+            // Unregistered while the token was being fetched
+            return;
+        }
+
+        // Storing the registration ID indicates whether the generated token has been
+        // sent to your server. If it is not stored, send the token to your server.
+        // Also skip the call if neither the token nor the registration changed recently.
+        long fingerprint = getFingerprint(
+                token, connectionString, hubName, tags, isTemplated, templateName, template);
+        String registrationId = notificationHubUtil.getRegistrationID(context);
+        if (registrationId != null
+                && fingerprint == notificationHubUtil.getRegistrationFingerprint(context)
+                && System.currentTimeMillis() - notificationHubUtil.getRegistrationTime(context)
+                < REGISTRATION_REFRESH_INTERVAL_MS) {
+            Log.d(TAG, "NH Registration unchanged - RegId : " + registrationId);
+            ReactNativeMetrics.increment(METRIC_REGISTRATIONS_SKIPPED);
+            broadcastRegistered(context, event, registrationId);
+            return;
+        }
+
+        final ReactNativeRetryPolicy retryPolicy = mRetryPolicy;
+        final long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            ReactNativeMetrics.increment(METRIC_REGISTRATION_ATTEMPTS);
+            try {
+                NotificationHub hub = ReactNativeUtil.createNotificationHub(hubName, connectionString, context);
 
-                        NotificationHub hub = ReactNativeUtil.createNotificationHub(hubName, connectionString,
-                                ReactNativeRegistrationIntentService.this);
+                Log.d(TAG, "NH Registration refreshing with token : " + token);
 
-                        Log.d(TAG, "NH Registration refreshing with token : " + token);
+                String regID;
 
-                        String regID;
+                if (isTemplated) {
+                    regID = hub.registerTemplate(
+                            token, templateName, template, tags).getRegistrationId();
+                } else {
+                    regID = hub.register(token, tags).getRegistrationId();
+                }
 
-                        if (isTemplated) {
-                            regID = hub.registerTemplate(
-                                    token, templateName, template, tags).getRegistrationId();
-                        } else {
-                            regID = hub.register(token, tags).getRegistrationId();
-                        }
+                Log.d(TAG, "New NH Registration Successfully - RegId : " + regID);
 
-                        Log.d(TAG, "New NH Registration Successfully - RegId : " + regID);
+                notificationHubUtil.setRegistrationID(context, regID);
+                notificationHubUtil.setFCMToken(context, token);
+                notificationHubUtil.setRegistrationFingerprint(context, fingerprint);
+                notificationHubUtil.setRegistrationTime(context, System.currentTimeMillis());
+                ReactNativeMetrics.increment(METRIC_REGISTRATION_SUCCESSES);
+                ReactNativeMetrics.recordOperation(METRIC_OPERATION_REGISTRATION, start);
 
-                        notificationHubUtil.setRegistrationID(ReactNativeRegistrationIntentService.this, regID);
-                        notificationHubUtil.setFCMToken(ReactNativeRegistrationIntentService.this, token);
+                broadcastRegistered(context, event, regID);
 
-                        event.putExtra(
-                                ReactNativeConstants.KEY_INTENT_EVENT_NAME,
-                                ReactNativeConstants.EVENT_AZURE_NOTIFICATION_HUB_REGISTERED);
-                        event.putExtra(
-                                ReactNativeConstants.KEY_INTENT_EVENT_TYPE,
-                                ReactNativeConstants.INTENT_EVENT_TYPE_STRING);
-                        event.putExtra(
-                                ReactNativeConstants.KEY_INTENT_EVENT_STRING_DATA, regID);
+                // Create notification handler
+                ReactNativeFirebaseMessagingService.createNotificationChannel(context);
+                return;
+            } catch (Exception e) {
+                int statusCode = getStatusCode(e);
+                if (!retryPolicy.shouldRetry(attempt, statusCode) || !sleep(
+                        retryPolicy.getDelayMillis(attempt, ThreadLocalRandom.current().nextDouble()))) {
+                    Log.e(TAG, "Failed to complete token refresh", e);
+                    ReactNativeMetrics.increment(METRIC_REGISTRATION_FAILURES);
+                    ReactNativeMetrics.recordOperation(METRIC_OPERATION_REGISTRATION, start);
 
-                        ReactNativeNotificationsHandler.sendBroadcast(
-                                ReactNativeRegistrationIntentService.this, event, 0);
+                    event.putExtra(KEY_INTENT_EVENT_NAME, EVENT_AZURE_NOTIFICATION_HUB_REGISTERED_ERROR);
+                    event.putExtra(KEY_INTENT_EVENT_TYPE, INTENT_EVENT_TYPE_STRING);
+                    event.putExtra(KEY_INTENT_EVENT_STRING_DATA, e.getMessage());
+                    ReactNativeNotificationsHandler.sendBroadcast(context, event, 0);
+                    return;
+                }
 
-                        // Create notification handler
-                        ReactNativeFirebaseMessagingService.createNotificationChannel(
-                                ReactNativeRegistrationIntentService.this);
+                Log.w(TAG, "NH Registration failed with status " + statusCode + ", retrying", e);
+                ReactNativeMetrics.increment(METRIC_REGISTRATION_RETRIES);
+            }
+        }
+    }
+
+    private static void broadcastRegistered(Context context, Intent event, String registrationId) {
+        event.putExtra(KEY_INTENT_EVENT_NAME, EVENT_AZURE_NOTIFICATION_HUB_REGISTERED);
+        event.putExtra(KEY_INTENT_EVENT_TYPE, INTENT_EVENT_TYPE_STRING);
+        event.putExtra(KEY_INTENT_EVENT_STRING_DATA, registrationId);
+        ReactNativeNotificationsHandler.sendBroadcast(context, event, 0);
+    }
+
+    // Tags are stored as a set, sort them so their order does not change the fingerprint
+    private static long getFingerprint(String token, String connectionString, String hubName, String[] tags,
+                                       boolean isTemplated, String templateName, String template) {
+        long h = ReactNativeContentHash.OFFSET_BASIS;
+        h = ReactNativeContentHash.hash(h, token);
+        h = ReactNativeContentHash.hash(h, connectionString);
+        h = ReactNativeContentHash.hash(h, hubName);
+        h = ReactNativeContentHash.hash(h, isTemplated);
+        h = ReactNativeContentHash.hash(h, templateName);
+        h = ReactNativeContentHash.hash(h, template);
+        if (tags != null) {
+            String[] sorted = tags.clone();
+            Arrays.sort(sorted);
+            for (String tag : sorted) {
+                h = ReactNativeContentHash.hash(h, tag);
+            }
+        }
 
-                    } catch (Exception e) {
-                        Log.e(TAG, "Failed to complete token refresh", e);
+        return ReactNativeContentHash.finish(h);
+    }
+
+    // HTTP status the hub answered a failed call with, or no response for network errors
+    private static int getStatusCode(Exception e) {
+        if (e instanceof NotificationHubException) {
+            return ((NotificationHubException) e).getStatusCode();
+        } else if (e instanceof IOException) {
+            return ReactNativeRetryPolicy.STATUS_NO_RESPONSE;
+        }
 
-                        event.putExtra(
-                                ReactNativeConstants.KEY_INTENT_EVENT_NAME,
-                                ReactNativeConstants.EVENT_AZURE_NOTIFICATION_HUB_REGISTERED_ERROR);
-                        event.putExtra(
-                                ReactNativeConstants.KEY_INTENT_EVENT_TYPE,
-                                ReactNativeConstants.INTENT_EVENT_TYPE_STRING);
-                        event.putExtra(ReactNativeConstants.KEY_INTENT_EVENT_STRING_DATA, e.getMessage());
-                        ReactNativeNotificationsHandler.sendBroadcast(
-                                ReactNativeRegistrationIntentService.this, event, 0);
-                    }
-                });
+        return -1;
+    }
+
+    // Waits out a retry delay on the registration thread, false if interrupted
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
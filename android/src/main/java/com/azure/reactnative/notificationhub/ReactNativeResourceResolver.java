@@ -0,0 +1,111 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Process-wide cache for {@link Resources#getIdentifier} lookups and the resource Uris built from
+ * them. Misses are cached as 0 so absent icons and sounds are not looked up again on every
+ * notification. Names come from the payload, so each cache keeps only the
+ * {@link ReactNativeConstants#RESOURCE_CACHE_MAX_SIZE} most recently used entries. The cache is
+ * dropped on configuration change, since qualifiers may resolve differently afterwards.
+ */
+public final class ReactNativeResourceResolver {
+
+    public static final String TAG = "ReactNativeResourceResolver";
+
+    private static final LinkedHashMap<String, Integer> mIdentifiers =
+            new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                    return size() > RESOURCE_CACHE_MAX_SIZE;
+                }
+            };
+
+    private static final LinkedHashMap<Integer, Uri> mResourceUris =
+            new LinkedHashMap<Integer, Uri>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Uri> eldest) {
+                    return size() > RESOURCE_CACHE_MAX_SIZE;
+                }
+            };
+    private static final AtomicBoolean mCallbacksRegistered = new AtomicBoolean(false);
+
+    /**
+     * Registers for configuration changes so the cache can be invalidated. Cheap to call
+     * repeatedly; only the first call with an application context registers.
+     */
+    public static void init(Context context) {
+        Context appContext = context.getApplicationContext();
+        if (appContext == null || !mCallbacksRegistered.compareAndSet(false, true)) {
+            return;
+        }
+
+        appContext.registerComponentCallbacks(new ComponentCallbacks() {
+            @Override
+            public void onConfigurationChanged(@NonNull Configuration newConfig) {
+                invalidate();
+            }
+
+            @Override
+            public void onLowMemory() {
+            }
+        });
+    }
+
+    public static int getIdentifier(Resources res, String name, String defType, String packageName) {
+        String key = defType + "/" + name;
+        synchronized (mIdentifiers) {
+            Integer resId = mIdentifiers.get(key);
+            if (resId != null) {
+                return resId;
+            }
+        }
+
+        int resId = res.getIdentifier(name, defType, packageName);
+        synchronized (mIdentifiers) {
+            mIdentifiers.put(key, resId);
+        }
+
+        return resId;
+    }
+
+    public static Uri getResourceUri(String packageName, int resId) {
+        synchronized (mResourceUris) {
+            Uri uri = mResourceUris.get(resId);
+            if (uri != null) {
+                return uri;
+            }
+        }
+
+        Uri uri = Uri.parse("android.resource://" + packageName + "/" + resId);
+        synchronized (mResourceUris) {
+            mResourceUris.put(resId, uri);
+        }
+
+        return uri;
+    }
+
+    public static void invalidate() {
+        synchronized (mIdentifiers) {
+            mIdentifiers.clear();
+        }
+        synchronized (mResourceUris) {
+            mResourceUris.clear();
+        }
+    }
+
+    private ReactNativeResourceResolver() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.Intent;
+import android.os.Bundle;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.HeadlessJsTaskService;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.jstasks.HeadlessJsTaskConfig;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Runs the {@link ReactNativeConstants#SILENT_HEADLESS_TASK_KEY} headless task with the payload
+ * of a silent message that arrived while the app was in the background.
+ */
+public class ReactNativeSilentMessageTaskService extends HeadlessJsTaskService {
+
+    @Override
+    protected @Nullable HeadlessJsTaskConfig getTaskConfig(Intent intent) {
+        Bundle payload = intent != null ? intent.getBundleExtra(KEY_NOTIFICATION_PAYLOAD_TYPE) : null;
+        if (payload == null) {
+            return null;
+        }
+
+        return new HeadlessJsTaskConfig(
+                SILENT_HEADLESS_TASK_KEY,
+                Arguments.fromBundle(payload),
+                SILENT_HEADLESS_TASK_TIMEOUT_MS,
+                true);
+    }
+}
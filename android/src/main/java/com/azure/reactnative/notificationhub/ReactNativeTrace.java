@@ -0,0 +1,86 @@
+package com.azure.reactnative.notificationhub;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.os.Trace;
+
+/**
+ * Named sections around the library's hot paths, visible in system traces (Perfetto, systrace).
+ * Tracing is on by default when the app is debuggable and can be switched at runtime, so a
+ * release build can be traced on demand. While off, a section costs a volatile read.
+ *
+ * Sections must end on the thread that began them. {@link #begin(String)} returns whether it
+ * opened one, and that value is what {@link #end(boolean)} closes, so switching tracing while a
+ * section is open never unbalances the thread's section stack:
+ *
+ * <pre>
+ * boolean section = ReactNativeTrace.begin(TRACE_SECTION);
+ * try {
+ *     ...
+ * } finally {
+ *     ReactNativeTrace.end(section);
+ * }
+ * </pre>
+ */
+public final class ReactNativeTrace {
+
+    private static volatile boolean mEnabled;
+
+    // Whether tracing was switched explicitly, which wins over the debuggable default
+    private static volatile boolean mConfigured;
+
+    /**
+     * Turns tracing on if the app is debuggable, unless it was already switched explicitly.
+     */
+    public static void initialize(Context context) {
+        if (mConfigured) {
+            return;
+        }
+
+        ApplicationInfo applicationInfo = context.getApplicationInfo();
+        mEnabled = applicationInfo != null && (applicationInfo.flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        mConfigured = true;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+        mConfigured = true;
+    }
+
+    public static boolean isEnabled() {
+        return mEnabled;
+    }
+
+    /**
+     * Begins a section if tracing is on, returning whether it did.
+     */
+    public static boolean begin(String section) {
+        if (!mEnabled) {
+            return false;
+        }
+
+        Trace.beginSection(section);
+        return true;
+    }
+
+    /**
+     * Ends the section opened by {@link #begin(String)} if it returned true.
+     */
+    public static void end(boolean begun) {
+        if (begun) {
+            Trace.endSection();
+        }
+    }
+
+    /**
+     * Ends the current section, if open, and begins the next one. For sequential stages that share
+     * a single try/finally.
+     */
+    public static boolean next(boolean begun, String section) {
+        end(begun);
+        return begin(section);
+    }
+
+    private ReactNativeTrace() {
+    }
+}
@@ -4,6 +4,7 @@ import android.annotation.SuppressLint;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
@@ -15,6 +16,7 @@ import android.net.NetworkInfo;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Looper;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
@@ -27,25 +29,103 @@ import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.microsoft.windowsazure.messaging.NotificationHub;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
 
 public final class ReactNativeUtil {
     public static final String TAG = "ReactNativeUtil";
 
-    private static final ExecutorService mPool = Executors.newFixedThreadPool(2);
+    private static final ReactNativeMonitoredExecutor mPool = new ReactNativeMonitoredExecutor(
+            WORKER_POOL_NAME, WORKER_POOL_THREADS, WORKER_POOL_QUEUE_CAPACITY,
+            WORKER_POOL_SLOW_TASK_MS, SLOW_TASK_MAX_SAMPLES);
+    private static final ScheduledExecutorService mScheduler = Executors.newSingleThreadScheduledExecutor();
 
-    public static void runInWorkerThread(Runnable runnable) {
-        mPool.execute(runnable);
+    private static volatile Class mMainActivityClass;
+    private static volatile String mApplicationLabel;
+
+    private static final LinkedHashMap<String, ActionSet> mActionSets =
+            new LinkedHashMap<String, ActionSet>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ActionSet> eldest) {
+                    return size() > ACTION_SET_CACHE_MAX_SIZE;
+                }
+            };
+
+    // Mirrors the type handling of convertBundleToMap
+    private static final ReactNativeJson.Adapter<Bundle> BUNDLE_ADAPTER = new ReactNativeJson.Adapter<Bundle>() {
+        @Override
+        public Iterable<String> keys(Bundle payload) {
+            return payload.keySet();
+        }
+
+        @Override
+        public Object get(Bundle payload, String key) {
+            return payload.get(key);
+        }
+
+        @Override
+        public Bundle asPayload(Object value) {
+            return value instanceof Bundle ? (Bundle) value : null;
+        }
+    };
+
+    static {
+        // A full queue must not push blocking work onto the main thread
+        mPool.setCallerPolicy(() -> Looper.myLooper() != Looper.getMainLooper());
+        ReactNativeMetrics.registerPool(mPool);
+    }
+
+    /**
+     * Runs the task on one of the worker threads. When the worker queue is full the task runs on
+     * the calling thread instead, or is dropped if that is the main thread, see
+     * {@link ReactNativeMonitoredExecutor}.
+     *
+     * @return false if the task was dropped and will never run
+     */
+    public static boolean runInWorkerThread(Runnable runnable) {
+        try {
+            mPool.execute(runnable);
+            return true;
+        } catch (RejectedExecutionException e) {
+            Log.w(TAG, ERROR_WORKER_TASK_DROPPED, e);
+            return false;
+        }
+    }
+
+    /**
+     * Number of tasks waiting for a worker thread.
+     */
+    public static int getWorkerQueueSize() {
+        return mPool.getQueue().size();
+    }
+
+    /**
+     * Whether no task is queued or running on the worker threads. Racy by nature, callers waiting
+     * for the pool to drain should see it idle more than once.
+     */
+    public static boolean isWorkerPoolIdle() {
+        return mPool.getQueue().isEmpty() && mPool.getActiveCount() == 0;
+    }
+
+    public static void runInWorkerThreadDelayed(Runnable runnable, long delayMillis) {
+        mScheduler.schedule(runnable, delayMillis, TimeUnit.MILLISECONDS);
     }
 
     public static NotificationHub createNotificationHub(String hubName, String connectionString, Context context) {
@@ -53,6 +133,15 @@ public final class ReactNativeUtil {
     }
 
     public static WritableMap convertBundleToMap(Bundle bundle) {
+        boolean section = ReactNativeTrace.begin(TRACE_CONVERT_BUNDLE);
+        try {
+            return convertBundle(bundle);
+        } finally {
+            ReactNativeTrace.end(section);
+        }
+    }
+
+    private static WritableMap convertBundle(Bundle bundle) {
         WritableMap map = Arguments.createMap();
         if (bundle == null) {
             return map;
@@ -66,7 +155,7 @@ public final class ReactNativeUtil {
                 if (o == null) {
                     map.putNull(key);
                 } else if (o instanceof Bundle) {
-                    map.putMap(key, convertBundleToMap((Bundle) o));
+                    map.putMap(key, convertBundle((Bundle) o));
                 } else if (o instanceof String) {
                     map.putString(key, (String) o);
                 } else if (o instanceof Float) {
@@ -94,6 +183,15 @@ public final class ReactNativeUtil {
         return map;
     }
 
+    /**
+     * Serializes the bundle into a compact JSON string in a single pass. Used instead of
+     * {@link #convertBundleToMap(Bundle)} when raw JSON payload delivery is enabled, so a large
+     * payload crosses the bridge as one string rather than a map built key by key.
+     */
+    public static String convertBundleToJsonString(Bundle bundle) {
+        return ReactNativeJson.toJson(bundle, BUNDLE_ADAPTER);
+    }
+
     public static Intent createBroadcastIntent(String action, Bundle bundle) {
         Intent intent = ReactNativeNotificationHubUtil.IntentFactory.createIntent(action);
         intent.putExtra(KEY_INTENT_EVENT_NAME, EVENT_REMOTE_NOTIFICATION_RECEIVED);
@@ -110,71 +208,156 @@ public final class ReactNativeUtil {
             reactContext
                     .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
                     .emit(eventName, params);
+            ReactNativeMetrics.increment(METRIC_BRIDGE_EMITS);
+        } else {
+            ReactNativeMetrics.increment(METRIC_EVENTS_DROPPED);
         }
     }
 
     public static void emitIntent(ReactContext reactContext,
                                   Intent intent) {
+        boolean section = ReactNativeTrace.begin(TRACE_EMIT_INTENT);
+        try {
+            emitIntentEvent(reactContext, intent);
+        } finally {
+            ReactNativeTrace.end(section);
+        }
+    }
+
+    private static void emitIntentEvent(ReactContext reactContext,
+                                        Intent intent) {
         String eventName = intent.getStringExtra(KEY_INTENT_EVENT_NAME);
         String eventType = intent.getStringExtra(KEY_INTENT_EVENT_TYPE);
         if (eventType.equals(INTENT_EVENT_TYPE_BUNDLE)) {
-            WritableMap map = convertBundleToMap(intent.getExtras());
-            emitEvent(reactContext, eventName, map);
+            ReactNativeNotificationHubUtil notificationHubUtil = ReactNativeNotificationHubUtil.getInstance();
+            Bundle extras = intent.getExtras();
+            ReactNativeMessageTrace trace = null;
+            if (extras != null && intent.hasExtra(KEY_INTENT_MESSAGE_TRACE)) {
+                trace = ReactNativeMessageTrace.fromArray(intent.getLongArrayExtra(KEY_INTENT_MESSAGE_TRACE));
+                extras.remove(KEY_INTENT_MESSAGE_TRACE);
+            }
+
+            if (notificationHubUtil.isRawJsonPayloadEnabled()) {
+                String json;
+                if (trace != null && isSampled(notificationHubUtil.getEventTimingsSampleRate())) {
+                    // The timings are written in the same pass as the payload, so the emitted
+                    // stamp has to come first and leaves the encoding out for sampled events
+                    ReactNativeMetrics.recordMilestone(trace, ReactNativeMessageTrace.EMITTED);
+                    json = ReactNativeJson.toJson(extras, BUNDLE_ADAPTER,
+                            KEY_REMOTE_NOTIFICATION_TIMINGS, trace.getTimingsMillis());
+                } else {
+                    json = convertBundleToJsonString(extras);
+                    ReactNativeMetrics.recordMilestone(trace, ReactNativeMessageTrace.EMITTED);
+                }
+                emitEvent(reactContext, eventName, json);
+            } else {
+                WritableMap map = convertBundleToMap(extras);
+                ReactNativeMetrics.recordMilestone(trace, ReactNativeMessageTrace.EMITTED);
+                if (trace != null && isSampled(notificationHubUtil.getEventTimingsSampleRate())) {
+                    WritableMap timings = Arguments.createMap();
+                    for (Map.Entry<String, Double> timing : trace.getTimingsMillis().entrySet()) {
+                        timings.putDouble(timing.getKey(), timing.getValue());
+                    }
+                    map.putMap(KEY_REMOTE_NOTIFICATION_TIMINGS, timings);
+                }
+                emitEvent(reactContext, eventName, map);
+            }
         } else {
             String data = intent.getStringExtra(KEY_INTENT_EVENT_STRING_DATA);
             emitEvent(reactContext, eventName, data);
         }
     }
 
+    private static boolean isSampled(double sampleRate) {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Overrides the activity opened by notifications. Skips the launch intent lookup entirely;
+     * pass null to go back to resolving the launch activity.
+     */
+    public static void setMainActivityClass(Class activityClass) {
+        synchronized (ReactNativeUtil.class) {
+            mMainActivityClass = activityClass;
+        }
+    }
+
+    /**
+     * Resolves the activity opened by notifications once per process. A class name set through
+     * the registration config takes precedence over the package's launch activity, which is also
+     * used when the configured class cannot be loaded.
+     */
     public static Class getMainActivityClass(Context context) {
+        Class activityClass = mMainActivityClass;
+        if (activityClass == null) {
+            synchronized (ReactNativeUtil.class) {
+                if (mMainActivityClass == null) {
+                    mMainActivityClass = resolveMainActivityClass(context);
+                }
+                activityClass = mMainActivityClass;
+            }
+        }
+
+        return activityClass;
+    }
+
+    private static Class resolveMainActivityClass(Context context) {
+        // A configured class that cannot be loaded, say after a rename, falls back to the launch activity
+        String className = ReactNativeNotificationHubUtil.getInstance().getNotificationActivityClass(context);
+        if (className != null) {
+            Class activityClass = loadClass(className);
+            if (activityClass != null) {
+                return activityClass;
+            }
+        }
+
         String packageName = context.getPackageName();
         Intent launchIntent = context.getPackageManager().getLaunchIntentForPackage(packageName);
-        String className = launchIntent.getComponent().getClassName();
+        return loadClass(launchIntent.getComponent().getClassName());
+    }
+
+    private static Class loadClass(String className) {
         try {
             return Class.forName(className);
         } catch (ClassNotFoundException e) {
-            Log.e(TAG, ERROR_ACTIVITY_CLASS_NOT_FOUND, e);
+            Log.e(TAG, ERROR_ACTIVITY_CLASS_NOT_FOUND + ": " + className, e);
             return null;
         }
     }
 
-    public static int getNotificationCompatPriority(String priorityString) {
-        int priority = NotificationCompat.PRIORITY_DEFAULT;
-        if (priorityString != null) {
-            switch (priorityString.toLowerCase()) {
-                case REMOTE_NOTIFICATION_PRIORITY_MAX:
-                    priority = NotificationCompat.PRIORITY_MAX;
-                    break;
-                case REMOTE_NOTIFICATION_PRIORITY_HIGH:
-                    priority = NotificationCompat.PRIORITY_HIGH;
-                    break;
-                case REMOTE_NOTIFICATION_PRIORITY_LOW:
-                    priority = NotificationCompat.PRIORITY_LOW;
-                    break;
-                case REMOTE_NOTIFICATION_PRIORITY_MIN:
-                    priority = NotificationCompat.PRIORITY_MIN;
-                    break;
-                case REMOTE_NOTIFICATION_PRIORITY_NORMAL:
-                    priority = NotificationCompat.PRIORITY_DEFAULT;
-                    break;
-            }
+    public static String getApplicationLabel(Context context) {
+        String applicationLabel = mApplicationLabel;
+        if (applicationLabel == null) {
+            ApplicationInfo appInfo = context.getApplicationInfo();
+            applicationLabel = context.getPackageManager().getApplicationLabel(appInfo).toString();
+            mApplicationLabel = applicationLabel;
         }
 
-        return priority;
+        return applicationLabel;
+    }
+
+    public static int getNotificationCompatPriority(String priorityString) {
+        return ReactNativeNotificationPriority.fromString(priorityString);
     }
 
     public static int getSmallIcon(Bundle bundle, Resources res, String packageName) {
+        return getSmallIcon(bundle.getString(KEY_REMOTE_NOTIFICATION_SMALL_ICON), res, packageName);
+    }
+
+    public static int getSmallIcon(String smallIcon, Resources res, String packageName) {
         int smallIconResId;
-        String smallIcon = bundle.getString(KEY_REMOTE_NOTIFICATION_SMALL_ICON);
 
         if (smallIcon != null) {
-            smallIconResId = res.getIdentifier(smallIcon, RESOURCE_DEF_TYPE_MIPMAP, packageName);
+            smallIconResId = ReactNativeResourceResolver.getIdentifier(
+                    res, smallIcon, RESOURCE_DEF_TYPE_MIPMAP, packageName);
         } else {
-            smallIconResId = res.getIdentifier(RESOURCE_NAME_VECTOR_ICON, RESOURCE_DEF_TYPE_DRAWABLE, packageName);
+            smallIconResId = ReactNativeResourceResolver.getIdentifier(
+                    res, RESOURCE_NAME_VECTOR_ICON, RESOURCE_DEF_TYPE_DRAWABLE, packageName);
         }
 
         if (smallIconResId == 0) {
-            smallIconResId = res.getIdentifier(RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName);
+            smallIconResId = ReactNativeResourceResolver.getIdentifier(
+                    res, RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName);
 
             if (smallIconResId == 0) {
                 smallIconResId = android.R.drawable.ic_dialog_info;
@@ -188,17 +371,24 @@ public final class ReactNativeUtil {
         int largeIconResId;
 
         if (largeIcon != null) {
-            largeIconResId = res.getIdentifier(largeIcon, RESOURCE_DEF_TYPE_MIPMAP, packageName);
+            largeIconResId = ReactNativeResourceResolver.getIdentifier(
+                    res, largeIcon, RESOURCE_DEF_TYPE_MIPMAP, packageName);
         } else {
-            largeIconResId = res.getIdentifier(RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName);
+            largeIconResId = ReactNativeResourceResolver.getIdentifier(
+                    res, RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName);
         }
 
         return largeIconResId;
     }
 
     public static Uri getSoundUri(Context context, Bundle bundle) {
+        return getSoundUri(context, bundle.getString(KEY_REMOTE_NOTIFICATION_SOUND_NAME));
+    }
+
+    public static Uri getSoundUri(Context context, String soundName) {
         Uri soundUri = RingtoneManager.getDefaultUri(RingtoneManager.TYPE_NOTIFICATION);
-        String soundName = bundle.getString(KEY_REMOTE_NOTIFICATION_SOUND_NAME);
+        Resources res = context.getResources();
+        String packageName = context.getPackageName();
         if (soundName != null) {
             if (!"default".equalsIgnoreCase(soundName)) {
 
@@ -206,87 +396,158 @@ public final class ReactNativeUtil {
                 // So the strings 'my_sound.mp3' AND 'my_sound' are accepted
                 // The reason is to make the iOS and android javascript interfaces compatible
 
-                int resId = context.getResources().getIdentifier(soundName, RESOURCE_DEF_TYPE_RAW, context.getPackageName());
-                if (resId == 0) {
+                int resId = ReactNativeResourceResolver.getIdentifier(
+                        res, soundName, RESOURCE_DEF_TYPE_RAW, packageName);
+                if (resId == 0 && soundName.lastIndexOf('.') > 0) {
                     soundName = soundName.substring(0, soundName.lastIndexOf('.'));
-                    resId = context.getResources().getIdentifier(soundName, RESOURCE_DEF_TYPE_RAW, context.getPackageName());
+                    resId = ReactNativeResourceResolver.getIdentifier(
+                            res, soundName, RESOURCE_DEF_TYPE_RAW, packageName);
                 }
 
-                soundUri = Uri.parse("android.resource://" + context.getPackageName() + "/" + resId);
+                soundUri = ReactNativeResourceResolver.getResourceUri(packageName, resId);
             }
         } else {
-            int resId = context
-                    .getResources()
-                    .getIdentifier(
-                            RESOURCE_NAME_NOTIFICATION_SOUND,
-                            RESOURCE_DEF_TYPE_RAW,
-                            context.getPackageName()
-                    );
-            
-            soundUri = Uri.parse("android.resource://" + context.getPackageName() + "/" + resId);
+            int resId = ReactNativeResourceResolver.getIdentifier(
+                    res, RESOURCE_NAME_NOTIFICATION_SOUND, RESOURCE_DEF_TYPE_RAW, packageName);
+
+            soundUri = ReactNativeResourceResolver.getResourceUri(packageName, resId);
         }
 
         return soundUri;
     }
 
+    /**
+     * Creates the intent that opens the app from a notification. The flags go into a copy of the
+     * bundle, which may be a spec's payload and must stay untouched.
+     */
     public static Intent createNotificationIntent(Context context, Bundle bundle, Class intentClass) {
         Intent intent = ReactNativeNotificationHubUtil.IntentFactory.createIntent(context, intentClass);
         intent.addFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP);
-        bundle.putBoolean(KEY_REMOTE_NOTIFICATION_FOREGROUND, true);
-        bundle.putBoolean(KEY_REMOTE_NOTIFICATION_USER_INTERACTION, false);
-        bundle.putBoolean(KEY_REMOTE_NOTIFICATION_COLDSTART, false);
-        intent.putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, bundle);
+        Bundle payload = ReactNativeNotificationHubUtil.BundleFactory.createBundle(bundle);
+        payload.putBoolean(KEY_REMOTE_NOTIFICATION_FOREGROUND, true);
+        payload.putBoolean(KEY_REMOTE_NOTIFICATION_USER_INTERACTION, false);
+        payload.putBoolean(KEY_REMOTE_NOTIFICATION_COLDSTART, false);
+        intent.putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, payload);
 
         return intent;
     }
 
+    /**
+     * The action names the notification, so notifications sharing an id under different tags get
+     * distinct PendingIntents instead of one whose extras point at whichever was posted first.
+     */
+    @SuppressLint("UnspecifiedImmutableFlag")
+    public static PendingIntent createDismissPendingIntent(Context context, String tag, int notificationID) {
+        Intent intent = ReactNativeNotificationHubUtil.IntentFactory.createIntent(
+                context, ReactNativeNotificationDismissedReceiver.class);
+        intent.setAction(INTENT_ACTION_NOTIFICATION_DISMISSED + "/" + notificationID +
+                (tag != null ? "/" + tag : ""));
+        intent.putExtra(KEY_INTENT_NOTIFICATION_ID, notificationID);
+        intent.putExtra(KEY_INTENT_NOTIFICATION_TAG, tag);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            return PendingIntent.getBroadcast(context, notificationID, intent,
+                    PendingIntent.FLAG_IMMUTABLE);
+        } else {
+            return PendingIntent.getBroadcast(context, notificationID, intent,
+                    PendingIntent.FLAG_UPDATE_CURRENT);
+        }
+    }
+
     @SuppressLint("UnspecifiedImmutableFlag")
     public static void processNotificationActions(Context context, Bundle bundle,
                                            NotificationCompat.Builder notification,
                                            int notificationID) {
-        JSONArray actionsArray = null;
-        try {
-            actionsArray = bundle.getString(KEY_REMOTE_NOTIFICATION_ACTIONS) != null ?
-                    new JSONArray(bundle.getString(KEY_REMOTE_NOTIFICATION_ACTIONS)) : null;
-        } catch (JSONException e) {
-            Log.e(TAG, ERROR_COVERT_ACTIONS, e);
-        }
-
-        if (actionsArray != null) {
-            // No icon for now. The icon value of 0 shows no icon.
-            int icon = 0;
-
-            // Add button for each actions.
-            for (int i = 0; i < actionsArray.length(); i++) {
-                String action;
-                try {
-                    action = actionsArray.getString(i);
-                } catch (JSONException e) {
-                    Log.e(TAG, ERROR_GET_ACTIONS_ARRAY, e);
-                    continue;
-                }
+        processNotificationActions(context, bundle, bundle.getString(KEY_REMOTE_NOTIFICATION_ACTIONS),
+                notification, notificationID);
+    }
 
-                Intent actionIntent = ReactNativeNotificationHubUtil.IntentFactory.createIntent();
-                actionIntent.setAction(context.getPackageName() + "." + action);
-                // Add "action" for later identifying which button gets pressed.
-                bundle.putString(KEY_REMOTE_NOTIFICATION_ACTION, action);
-                actionIntent.putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, bundle);
+    /**
+     * Adds a button per action. Each action's broadcast carries its own copy of the payload with
+     * the action name set, so one button's intent never sees another's action.
+     */
+    @SuppressLint("UnspecifiedImmutableFlag")
+    public static void processNotificationActions(Context context, Bundle bundle, String actions,
+                                           NotificationCompat.Builder notification,
+                                           int notificationID) {
+        ActionSet actionSet = getActionSet(context, actions);
+        if (actionSet == null) {
+            return;
+        }
 
-                final PendingIntent pendingActionIntent;
+        // No icon for now. The icon value of 0 shows no icon.
+        int icon = 0;
+
+        // Add button for each actions.
+        for (int i = 0; i < actionSet.names.length; i++) {
+            String action = actionSet.names[i];
+
+            Intent actionIntent = ReactNativeNotificationHubUtil.IntentFactory.createIntent();
+            actionIntent.setClass(context, ReactNativeNotificationActionReceiver.class);
+            actionIntent.setAction(actionSet.intentActions[i]);
+            // Add "action" for later identifying which button gets pressed.
+            Bundle payload = ReactNativeNotificationHubUtil.BundleFactory.createBundle(bundle);
+            payload.putString(KEY_REMOTE_NOTIFICATION_ACTION, action);
+            actionIntent.putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, payload);
+
+            final PendingIntent pendingActionIntent;
+
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+                pendingActionIntent = PendingIntent.getBroadcast(context, notificationID, actionIntent,
+                        PendingIntent.FLAG_IMMUTABLE);
+            } else {
+                pendingActionIntent = PendingIntent.getBroadcast(context, notificationID, actionIntent,
+                        PendingIntent.FLAG_UPDATE_CURRENT);
+            }
 
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
-                    pendingActionIntent = PendingIntent.getBroadcast(context, notificationID, actionIntent,
-                            PendingIntent.FLAG_IMMUTABLE);
-                } else {
-                    pendingActionIntent = PendingIntent.getBroadcast(context, notificationID, actionIntent,
-                            PendingIntent.FLAG_UPDATE_CURRENT);
-                }
+            notification.addAction(icon, action, pendingActionIntent);
+        }
+    }
+
+    private static final class ActionSet {
+        final String[] names;
+        final String[] intentActions;
 
-                notification.addAction(icon, action, pendingActionIntent);
+        ActionSet(String[] names, String packageName) {
+            this.names = names;
+            this.intentActions = new String[names.length];
+            for (int i = 0; i < names.length; i++) {
+                intentActions[i] = packageName + "." + names[i];
             }
         }
     }
 
+    // Recurring action sets ("Accept/Decline") are parsed once per process
+    private static ActionSet getActionSet(Context context, String actions) {
+        if (actions == null) {
+            return null;
+        }
+
+        synchronized (mActionSets) {
+            ActionSet actionSet = mActionSets.get(actions);
+            if (actionSet != null) {
+                return actionSet;
+            }
+        }
+
+        // Elements that are not strings are logged and skipped
+        List<String> names;
+        try {
+            names = ReactNativeActionsParser.parse(actions, position -> Log.e(TAG, ERROR_GET_ACTIONS_ARRAY,
+                    new JSONException("Action at character " + position + " is not a string")));
+        } catch (ParseException e) {
+            Log.e(TAG, ERROR_COVERT_ACTIONS, new JSONException(e.getMessage()));
+            return null;
+        }
+
+        ActionSet actionSet = new ActionSet(names.toArray(new String[0]), context.getPackageName());
+        synchronized (mActionSets) {
+            mActionSets.put(actions, actionSet);
+        }
+
+        return actionSet;
+    }
+
     public static NotificationCompat.Builder initNotificationCompatBuilder(Context context,
                                                                     String notificationChannelID,
                                                                     String title,
@@ -337,15 +598,70 @@ public final class ReactNativeUtil {
     }
 
     public static Bitmap fetchImage(String urlString) {
+        boolean section = ReactNativeTrace.begin(TRACE_FETCH_IMAGE);
+        long start = System.nanoTime();
+        CountingInputStream input = null;
+        ReactNativeMetrics.increment(METRIC_IMAGE_FETCHES);
         try {
             HttpURLConnection connection = UrlWrapper.openConnection(urlString);
             connection.setDoInput(true);
+            connection.setConnectTimeout(IMAGE_FETCH_CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(IMAGE_FETCH_READ_TIMEOUT_MS);
             connection.connect();
-            InputStream input = connection.getInputStream();
-            return BitmapFactory.decodeStream(input);
+            input = new CountingInputStream(connection.getInputStream());
+            Bitmap bitmap = BitmapFactory.decodeStream(input);
+            if (bitmap == null) {
+                ReactNativeMetrics.increment(METRIC_IMAGE_FETCH_FAILURES);
+            }
+            return bitmap;
         } catch (Exception e) {
             Log.e(TAG, ERROR_FETCH_IMAGE, e);
+            ReactNativeMetrics.increment(METRIC_IMAGE_FETCH_FAILURES);
             return null;
+        } finally {
+            if (input != null) {
+                ReactNativeMetrics.add(METRIC_IMAGE_FETCH_BYTES, input.getCount());
+            }
+            ReactNativeMetrics.recordOperation(METRIC_OPERATION_IMAGE_FETCH, start);
+            ReactNativeTrace.end(section);
+        }
+    }
+
+    // Counts the bytes actually read off the network, the content length header is often absent
+    private static final class CountingInputStream extends FilterInputStream {
+        private long mCount;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return mCount;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                mCount++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                mCount += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            mCount += skipped;
+            return skipped;
         }
     }
 
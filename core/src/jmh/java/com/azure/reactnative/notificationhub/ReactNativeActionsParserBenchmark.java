@@ -0,0 +1,44 @@
+package com.azure.reactnative.notificationhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ReactNativeActionsParserBenchmark {
+
+    // Escape-free names hit the substring fast path, the mixed set has escapes and a non-string
+    @Param({"plain", "mixed"})
+    public String shape;
+
+    private String mActions;
+
+    @Setup
+    public void setUp() {
+        mActions = "plain".equals(shape) ?
+                "[\"Accept\",\"Decline\"]" :
+                "[\"Reply\", \"Mark as \\\"read\\\"\", 42, \"Archive\"]";
+    }
+
+    @Benchmark
+    public List<String> parse() throws ParseException {
+        return ReactNativeActionsParser.parse(mActions, null);
+    }
+}
@@ -0,0 +1,167 @@
+package com.azure.reactnative.notificationhub;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH runs written with {@code -rf csv} and exits with status 1 if any benchmark
+ * regressed by more than the threshold. Error margins are taken into account, so only slowdowns
+ * beyond the noise of both runs count.
+ *
+ * <pre>
+ * ReactNativeBenchmarkCompare baseline.csv results.csv [threshold]
+ * </pre>
+ */
+public final class ReactNativeBenchmarkCompare {
+
+    private static final double DEFAULT_THRESHOLD = 0.25;
+
+    private static final class Result {
+        final String mode;
+        final double score;
+        final double error;
+        final String unit;
+
+        Result(String mode, double score, double error, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = unit;
+        }
+
+        // Throughput modes report operations per time unit, all others time per operation
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReactNativeBenchmarkCompare <baseline.csv> <results.csv> [threshold]");
+            System.exit(2);
+        }
+
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        Map<String, Result> baseline = read(args[0]);
+        Map<String, Result> results = read(args[1]);
+
+        int regressions = 0;
+        for (Map.Entry<String, Result> entry : results.entrySet()) {
+            Result base = baseline.get(entry.getKey());
+            Result result = entry.getValue();
+            if (base == null || !base.mode.equals(result.mode) || !base.unit.equals(result.unit)) {
+                System.out.printf("NEW         %s: %.3f %s%n", entry.getKey(), result.score, result.unit);
+                continue;
+            }
+
+            boolean regressed;
+            if (result.higherIsBetter()) {
+                regressed = (result.score + result.error) * (1 + threshold) < base.score - base.error;
+            } else {
+                regressed = result.score - result.error > (base.score + base.error) * (1 + threshold);
+            }
+
+            double change = (result.score - base.score) / base.score * 100;
+            System.out.printf("%-11s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                    regressed ? "REGRESSION" : "ok", entry.getKey(), base.score, result.score, result.unit, change);
+            if (regressed) {
+                regressions++;
+            }
+        }
+
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                System.out.printf("MISSING     %s%n", key);
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark name plus its parameters, e.g. "...ReactNativeJsonBenchmark.toJson messageLength=64"
+    private static Map<String, Result> read(String path) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null) {
+                return results;
+            }
+
+            List<String> header = split(line);
+            int benchmark = header.indexOf("Benchmark");
+            int mode = header.indexOf("Mode");
+            int score = header.indexOf("Score");
+            int unit = header.indexOf("Unit");
+            int error = -1;
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Score Error")) {
+                    error = i;
+                }
+            }
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                List<String> fields = split(line);
+                StringBuilder key = new StringBuilder(fields.get(benchmark));
+                for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                    if (header.get(i).startsWith("Param: ") && !fields.get(i).isEmpty()) {
+                        key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                    }
+                }
+
+                results.put(key.toString(), new Result(
+                        fields.get(mode),
+                        Double.parseDouble(fields.get(score)),
+                        error >= 0 ? Double.parseDouble(fields.get(error)) : 0,
+                        fields.get(unit)));
+            }
+        }
+
+        return results;
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    private ReactNativeBenchmarkCompare() {
+    }
+}
@@ -0,0 +1,54 @@
+package com.azure.reactnative.notificationhub;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Payloads shaped like the data messages delivered by the notification hub, where every value
+ * arrives as a string.
+ */
+final class ReactNativeBenchmarkPayloads {
+
+    static Map<String, Object> dataMessage(int messageLength) {
+        return dataMessage(messageLength, 0);
+    }
+
+    /**
+     * A data message with {@code customKeys} additional top-level fields, as senders that flatten
+     * their own data into the payload produce.
+     */
+    static Map<String, Object> dataMessage(int messageLength, int customKeys) {
+        StringBuilder message = new StringBuilder(messageLength);
+        while (message.length() < messageLength) {
+            message.append("Your order \"#1234\" has shipped.\n");
+        }
+        message.setLength(messageLength);
+
+        Map<String, Object> extras = new LinkedHashMap<>();
+        extras.put("orderId", "1234");
+        extras.put("deepLink", "app://orders/1234");
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put(KEY_REMOTE_NOTIFICATION_ID, "0:1697712345678%abcdef");
+        payload.put(KEY_REMOTE_NOTIFICATION_TITLE, "Order update");
+        payload.put(KEY_REMOTE_NOTIFICATION_MESSAGE, message.toString());
+        payload.put(KEY_REMOTE_NOTIFICATION_PRIORITY, "high");
+        payload.put(KEY_REMOTE_NOTIFICATION_AUTO_CANCEL, "true");
+        payload.put(KEY_REMOTE_NOTIFICATION_GROUP, "orders");
+        payload.put(KEY_REMOTE_NOTIFICATION_NUMBER, "3");
+        payload.put(KEY_REMOTE_NOTIFICATION_PLAY_SOUND, "false");
+        payload.put(KEY_REMOTE_NOTIFICATION_VIBRATION, "250");
+        payload.put(KEY_REMOTE_NOTIFICATION_ACTIONS, "[\"Track\",\"Dismiss\"]");
+        payload.put("google.sent_time", 1697712345678L);
+        payload.put("extras", extras);
+        for (int i = 0; i < customKeys; i++) {
+            payload.put("custom" + i, "value " + i);
+        }
+        return payload;
+    }
+
+    private ReactNativeBenchmarkPayloads() {
+    }
+}
@@ -0,0 +1,49 @@
+package com.azure.reactnative.notificationhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ReactNativeEvictionPolicyBenchmark {
+
+    private static final int LIMIT = 15;
+
+    @Param({"16", "50"})
+    public int visible;
+
+    private long[] mPostTimes;
+    private boolean[] mExempt;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        mPostTimes = new long[visible];
+        mExempt = new boolean[visible];
+        for (int i = 0; i < visible; i++) {
+            mPostTimes[i] = 1697712345678L + random.nextInt(86400000);
+            mExempt[i] = i % 10 == 0;
+        }
+    }
+
+    @Benchmark
+    public int selectOldest() {
+        return ReactNativeEvictionPolicy.selectOldest(mPostTimes, mExempt, LIMIT);
+    }
+}
@@ -0,0 +1,45 @@
+package com.azure.reactnative.notificationhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of timing a render stage, uncontended and with the worker pool's two threads recording
+ * into the same histogram.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class ReactNativeHistogramBenchmark {
+
+    private final ReactNativeHistogram mHistogram = new ReactNativeHistogram();
+
+    @Benchmark
+    public void record() {
+        mHistogram.record(1234567);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void recordContended() {
+        mHistogram.record(1234567);
+    }
+
+    @Benchmark
+    public double percentile() {
+        return mHistogram.getPercentileMillis(99);
+    }
+}
@@ -0,0 +1,47 @@
+package com.azure.reactnative.notificationhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw JSON payload delivery across payload sizes: a typical data message and one with a large
+ * body, each with and without a batch of custom top-level fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ReactNativeJsonBenchmark {
+
+    @Param({"64", "4096"})
+    public int messageLength;
+
+    @Param({"0", "32"})
+    public int customKeys;
+
+    private Map<String, Object> mPayload;
+
+    @Setup
+    public void setUp() {
+        mPayload = ReactNativeBenchmarkPayloads.dataMessage(messageLength, customKeys);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return ReactNativeJson.toJson(mPayload, ReactNativeJson.MAP_ADAPTER);
+    }
+}
@@ -0,0 +1,103 @@
+package com.azure.reactnative.notificationhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * The per-message work of parsing a notification spec: coercing the string values of a data
+ * payload, mapping the priority and hashing the rendered content, then deciding whether an update
+ * to a posted notification needs to be rendered and alert again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ReactNativePayloadBenchmark {
+
+    private Map<String, Object> mPayload;
+    private long mPostedContentHash;
+    private long mPostedAlertHash;
+
+    @Setup
+    public void setUp() {
+        mPayload = ReactNativeBenchmarkPayloads.dataMessage(64);
+        mPostedContentHash = contentHash(mPayload, alertHash(mPayload));
+        mPostedAlertHash = alertHash(mPayload);
+    }
+
+    @Benchmark
+    public void parseValues(Blackhole blackhole) {
+        blackhole.consume(ReactNativeNotificationPriority.fromString(
+                (String) mPayload.get(KEY_REMOTE_NOTIFICATION_PRIORITY)));
+        blackhole.consume(ReactNativePayloadValues.parseBoolean(
+                mPayload.get(KEY_REMOTE_NOTIFICATION_AUTO_CANCEL), true));
+        blackhole.consume(ReactNativePayloadValues.parseBoolean(
+                mPayload.get(KEY_REMOTE_NOTIFICATION_PLAY_SOUND), true));
+        blackhole.consume(ReactNativePayloadValues.parseInteger(
+                mPayload.get(KEY_REMOTE_NOTIFICATION_NUMBER)));
+        blackhole.consume(ReactNativePayloadValues.parseLong(
+                mPayload.get(KEY_REMOTE_NOTIFICATION_VIBRATION), 0));
+    }
+
+    @Benchmark
+    public long contentHash() {
+        return contentHash(mPayload, alertHash(mPayload));
+    }
+
+    @Benchmark
+    public int diff() {
+        long alertHash = alertHash(mPayload);
+        return ReactNativeContentHash.diff(mPostedContentHash, mPostedAlertHash,
+                contentHash(mPayload, alertHash), alertHash);
+    }
+
+    // Same fields and order as ReactNativeNotificationSpec
+    private static long alertHash(Map<String, Object> payload) {
+        long h = ReactNativeContentHash.OFFSET_BASIS;
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_TITLE));
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_MESSAGE));
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_BIG_TEXT));
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_AVATAR_URL));
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_IMAGE_URL));
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_ACTIONS));
+        return ReactNativeContentHash.finish(h);
+    }
+
+    private static long contentHash(Map<String, Object> payload, long alertHash) {
+        long h = alertHash;
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_TICKER));
+        h = ReactNativeContentHash.hash(h, priority(payload));
+        h = ReactNativeContentHash.hash(h, true);
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_GROUP));
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_SUB_TEXT));
+        h = ReactNativeContentHash.hash(h, (Object) 3);
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_SMALL_ICON));
+        h = ReactNativeContentHash.hash(h, false);
+        h = ReactNativeContentHash.hash(h, payload.get(KEY_REMOTE_NOTIFICATION_SOUND_NAME));
+        h = ReactNativeContentHash.hash(h, (Object) null);
+        h = ReactNativeContentHash.hash(h, 0xff1e88e5L);
+        h = ReactNativeContentHash.hash(h, true);
+        h = ReactNativeContentHash.hash(h, 250L);
+        return ReactNativeContentHash.finish(h);
+    }
+
+    private static int priority(Map<String, Object> payload) {
+        return ReactNativeNotificationPriority.fromString((String) payload.get(KEY_REMOTE_NOTIFICATION_PRIORITY));
+    }
+}
@@ -0,0 +1,77 @@
+package com.azure.reactnative.notificationhub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Steady state of a full tray: every message records a new entry and evicts the oldest, and
+ * cancelling a group removes its children through the group index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class ReactNativeTrayIndexBenchmark {
+
+    private static final int GROUPS = 4;
+
+    @Param({"15", "50"})
+    public int traySize;
+
+    private ReactNativeTrayIndex mIndex;
+    private int mNextId;
+    private int mNextGroup;
+
+    @Setup
+    public void setUp() {
+        mIndex = new ReactNativeTrayIndex();
+        mNextId = 0;
+        mNextGroup = 0;
+        while (mIndex.size() < traySize) {
+            mIndex.put(entry(mNextId++));
+        }
+    }
+
+    @Benchmark
+    public ReactNativeTrayIndex.Entry recordAndEvict() {
+        ReactNativeTrayIndex.Entry entry = entry(mNextId++);
+        mIndex.put(entry);
+
+        ReactNativeTrayIndex.Entry oldest = mIndex.getOldest();
+        return mIndex.remove(oldest.tag, oldest.id);
+    }
+
+    @Benchmark
+    public List<ReactNativeTrayIndex.Entry> cancelAndRefillGroup() {
+        // Refill into the cancelled group so every group keeps its share of the tray
+        String group = "group" + (mNextGroup++ % GROUPS);
+        List<ReactNativeTrayIndex.Entry> removed = mIndex.removeByGroup(group);
+        for (int i = 0; i < removed.size(); i++) {
+            mIndex.put(entry(mNextId++, group));
+        }
+
+        return removed;
+    }
+
+    private static ReactNativeTrayIndex.Entry entry(int id) {
+        return entry(id, "group" + (id % GROUPS));
+    }
+
+    private static ReactNativeTrayIndex.Entry entry(int id, String group) {
+        return new ReactNativeTrayIndex.Entry(id, null, group, "message" + id, "Title", "Body", id, id, id);
+    }
+}
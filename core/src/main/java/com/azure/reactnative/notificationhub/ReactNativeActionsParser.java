@@ -0,0 +1,190 @@
+package com.azure.reactnative.notificationhub;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams over the JSON array of action names carried by a notification payload, without building
+ * a JSON tree. Elements that are not strings are skipped and reported to the listener.
+ */
+public final class ReactNativeActionsParser {
+
+    public interface Listener {
+        /**
+         * Called for each array element that is not a string, with its character offset.
+         */
+        void onInvalidAction(int position);
+    }
+
+    public static List<String> parse(String json, Listener listener) throws ParseException {
+        Reader reader = new Reader(json);
+        List<String> names = new ArrayList<>();
+
+        reader.skipWhitespace();
+        reader.expect('[');
+        reader.skipWhitespace();
+        if (reader.peek() == ']') {
+            reader.next();
+        } else {
+            while (true) {
+                reader.skipWhitespace();
+                if (reader.peek() == '"') {
+                    names.add(reader.readString());
+                } else {
+                    int position = reader.position();
+                    reader.skipValue();
+                    if (listener != null) {
+                        listener.onInvalidAction(position);
+                    }
+                }
+
+                reader.skipWhitespace();
+                char c = reader.next();
+                if (c == ']') {
+                    break;
+                } else if (c != ',') {
+                    throw reader.syntaxError("Expected ',' or ']'");
+                }
+            }
+        }
+
+        reader.skipWhitespace();
+        if (!reader.isAtEnd()) {
+            throw reader.syntaxError("Unexpected trailing data");
+        }
+
+        return names;
+    }
+
+    private static final class Reader {
+        private final String mJson;
+        private int mPosition;
+
+        Reader(String json) {
+            mJson = json;
+        }
+
+        int position() {
+            return mPosition;
+        }
+
+        boolean isAtEnd() {
+            return mPosition >= mJson.length();
+        }
+
+        char peek() throws ParseException {
+            if (isAtEnd()) {
+                throw syntaxError("Unexpected end of input");
+            }
+            return mJson.charAt(mPosition);
+        }
+
+        char next() throws ParseException {
+            char c = peek();
+            mPosition++;
+            return c;
+        }
+
+        void expect(char expected) throws ParseException {
+            if (next() != expected) {
+                throw syntaxError("Expected '" + expected + "'");
+            }
+        }
+
+        void skipWhitespace() {
+            while (!isAtEnd() && Character.isWhitespace(mJson.charAt(mPosition))) {
+                mPosition++;
+            }
+        }
+
+        String readString() throws ParseException {
+            expect('"');
+            StringBuilder sb = null;
+            int start = mPosition;
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    String chunk = mJson.substring(start, mPosition - 1);
+                    return sb != null ? sb.append(chunk).toString() : chunk;
+                } else if (c == '\\') {
+                    if (sb == null) {
+                        sb = new StringBuilder();
+                    }
+                    sb.append(mJson, start, mPosition - 1).append(readEscape());
+                    start = mPosition;
+                }
+            }
+        }
+
+        private char readEscape() throws ParseException {
+            char c = next();
+            switch (c) {
+                case 'b':
+                    return '\b';
+                case 'f':
+                    return '\f';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 't':
+                    return '\t';
+                case 'u':
+                    if (mPosition + 4 > mJson.length()) {
+                        throw syntaxError("Unterminated escape sequence");
+                    }
+                    try {
+                        char unicode = (char) Integer.parseInt(mJson.substring(mPosition, mPosition + 4), 16);
+                        mPosition += 4;
+                        return unicode;
+                    } catch (NumberFormatException e) {
+                        throw syntaxError("Invalid escape sequence");
+                    }
+                case '"':
+                case '\\':
+                case '/':
+                    return c;
+                default:
+                    throw syntaxError("Invalid escape sequence");
+            }
+        }
+
+        void skipValue() throws ParseException {
+            char c = peek();
+            if (c == '"') {
+                readString();
+            } else if (c == '[' || c == '{') {
+                int depth = 0;
+                do {
+                    c = peek();
+                    if (c == '"') {
+                        readString();
+                        continue;
+                    }
+                    mPosition++;
+                    if (c == '[' || c == '{') {
+                        depth++;
+                    } else if (c == ']' || c == '}') {
+                        depth--;
+                    }
+                } while (depth > 0);
+            } else {
+                int start = mPosition;
+                while (!isAtEnd() && ",]} \t\r\n".indexOf(mJson.charAt(mPosition)) < 0) {
+                    mPosition++;
+                }
+                if (mPosition == start) {
+                    throw syntaxError("Expected a value");
+                }
+            }
+        }
+
+        ParseException syntaxError(String message) {
+            return new ParseException(message + " at character " + mPosition, mPosition);
+        }
+    }
+
+    private ReactNativeActionsParser() {
+    }
+}
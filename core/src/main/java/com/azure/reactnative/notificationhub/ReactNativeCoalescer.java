@@ -0,0 +1,44 @@
+package com.azure.reactnative.notificationhub;
+
+/**
+ * Folds requests for a task that arrive while it is running into a single rerun, for tasks where
+ * only the latest state matters such as a registration. Callers start the task when
+ * {@link #request()} says so, and run it again for as long as {@link #finish()} says so.
+ */
+public final class ReactNativeCoalescer {
+
+    private boolean mRunning;
+    private boolean mPending;
+
+    /**
+     * Returns true if the caller should run the task now, false if it is already running and will
+     * run once more when done.
+     */
+    public synchronized boolean request() {
+        if (mRunning) {
+            mPending = true;
+            return false;
+        }
+
+        mRunning = true;
+        return true;
+    }
+
+    /**
+     * Called when a run ends. Returns true if requests arrived during the run and the caller should
+     * run the task again, still counting as running.
+     */
+    public synchronized boolean finish() {
+        if (mPending) {
+            mPending = false;
+            return true;
+        }
+
+        mRunning = false;
+        return false;
+    }
+
+    public synchronized boolean isRunning() {
+        return mRunning;
+    }
+}
@@ -0,0 +1,336 @@
+package com.azure.reactnative.notificationhub;
+
+public final class ReactNativeConstants {
+    // Notification
+    public static final String AZURE_NOTIFICATION_HUB_NAME = "AzureNotificationHub";
+    public static final String NOTIFICATION_CHANNEL_ID = "rn-push-notification-channel-id";
+    public static final String KEY_NOTIFICATION_PAYLOAD_TYPE = "notification";
+    public static final String KEY_DATA_PAYLOAD_TYPE = "data";
+
+    // Notification hub events
+    public static final String EVENT_REMOTE_NOTIFICATION_RECEIVED = "remoteNotificationReceived";
+    public static final String EVENT_AZURE_NOTIFICATION_HUB_REGISTERED = "azureNotificationHubRegistered";
+    public static final String EVENT_AZURE_NOTIFICATION_HUB_REGISTERED_ERROR = "azureNotificationHubRegisteredError";
+
+    // Registration's keys
+    public static final String KEY_REGISTRATION_CONNECTIONSTRING = "connectionString";
+    public static final String KEY_REGISTRATION_HUBNAME = "hubName";
+    public static final String KEY_REGISTRATION_SENDERID = "senderID";
+    public static final String KEY_REGISTRATION_TAGS = "tags";
+    public static final String KEY_REGISTRATION_CHANNEL_ID = "channelId";
+    public static final String KEY_REGISTRATION_CHANNELNAME = "channelName";
+    public static final String KEY_REGISTRATION_CHANNELDESCRIPTION = "channelDescription";
+    public static final String KEY_REGISTRATION_CHANNELIMPORTANCE = "channelImportance";
+    public static final String KEY_REGISTRATION_CHANNELSHOWBADGE = "channelShowBadge";
+    public static final String KEY_REGISTRATION_CHANNELENABLELIGHTS = "channelEnableLights";
+    public static final String KEY_REGISTRATION_CHANNELENABLEVIBRATION = "channelEnableVibration";
+    public static final String KEY_REGISTRATION_TEMPLATENAME = "templateName";
+    public static final String KEY_REGISTRATION_TEMPLATE = "template";
+    public static final String KEY_REGISTRATION_ISTEMPLATE = "isTemplate";
+    public static final String KEY_REGISTRATION_NOTIFICATION_ACTIVITY = "notificationActivityClass";
+
+    // Inbox's keys
+    public static final String KEY_INBOX_ENABLED = "enabled";
+    public static final String KEY_INBOX_MAX_COUNT = "maxCount";
+    public static final String KEY_INBOX_MAX_AGE = "maxAge";
+    public static final String KEY_INBOX_MAX_BYTES = "maxBytes";
+    public static final String KEY_INBOX_ITEMS = "items";
+    public static final String KEY_INBOX_NEXT_CURSOR = "nextCursor";
+    public static final String KEY_INBOX_ITEM_ID = "id";
+    public static final String KEY_INBOX_ITEM_MESSAGE_ID = "messageId";
+    public static final String KEY_INBOX_ITEM_RECEIVED_AT = "receivedAt";
+    public static final String KEY_INBOX_ITEM_READ = "read";
+    public static final String KEY_INBOX_ITEM_PAYLOAD = "payload";
+    public static final int INBOX_DEFAULT_MAX_COUNT = 100;
+    public static final long INBOX_DEFAULT_MAX_AGE = 7L * 24 * 60 * 60 * 1000;
+    public static final long INBOX_DEFAULT_MAX_BYTES = 256 * 1024;
+    public static final int INBOX_DEFAULT_PAGE_SIZE = 20;
+    public static final int INBOX_MAX_PAGE_SIZE = 100;
+
+    // Shared prefs used in NotificationHubUtil
+    public static final String SHARED_PREFS_NAME = "com.azure.reactnative.notificationhub.NotificationHubUtil";
+    public static final String KEY_FOR_PREFS_REGISTRATIONID = "AzureNotificationHub_registrationID";
+    public static final String KEY_FOR_PREFS_CONNECTIONSTRING = "AzureNotificationHub_connectionString";
+    public static final String KEY_FOR_PREFS_HUBNAME = "AzureNotificationHub_hubName";
+    public static final String KEY_FOR_PREFS_FCMTOKEN = "AzureNotificationHub_FCMToken";
+    public static final String KEY_FOR_PREFS_TAGS = "AzureNotificationHub_Tags";
+    public static final String KEY_FOR_PREFS_SENDERID = "AzureNotificationHub_senderID";
+    public static final String KEY_FOR_PREFS_CHANNEL_ID = "AzureNotificationHub_channelId";
+    public static final String KEY_FOR_PREFS_CHANNELNAME = "AzureNotificationHub_channelName";
+    public static final String KEY_FOR_PREFS_CHANNELDESCRIPTION = "AzureNotificationHub_channelDescription";
+    public static final String KEY_FOR_PREFS_CHANNELIMPORTANCE = "AzureNotificationHub_channelImportance";
+    public static final String KEY_FOR_PREFS_CHANNELSHOWBADGE = "AzureNotificationHub_channelShowBadge";
+    public static final String KEY_FOR_PREFS_CHANNELENABLELIGHTS = "AzureNotificationHub_channelEnableLights";
+    public static final String KEY_FOR_PREFS_CHANNELENABLEVIBRATION = "AzureNotificationHub_channelEnableVibration";
+    public static final String KEY_FOR_PREFS_TEMPLATENAME = "AzureNotificationHub_templateName";
+    public static final String KEY_FOR_PREFS_TEMPLATE = "AzureNotificationHub_template";
+    public static final String KEY_FOR_PREFS_ISTEMPLATE = "AzureNotificationHub_isTemplate";
+    public static final String KEY_FOR_PREFS_UUID = "AzureNotificationHub_UUID";
+    public static final String KEY_FOR_PREFS_NOTIFICATION_ACTIVITY = "AzureNotificationHub_notificationActivityClass";
+    public static final String KEY_FOR_PREFS_INBOX_ENABLED = "AzureNotificationHub_inboxEnabled";
+    public static final String KEY_FOR_PREFS_INBOX_MAX_COUNT = "AzureNotificationHub_inboxMaxCount";
+    public static final String KEY_FOR_PREFS_INBOX_MAX_AGE = "AzureNotificationHub_inboxMaxAge";
+    public static final String KEY_FOR_PREFS_INBOX_MAX_BYTES = "AzureNotificationHub_inboxMaxBytes";
+    public static final String KEY_FOR_PREFS_PROGRESSIVE_RENDERING = "AzureNotificationHub_progressiveRendering";
+    public static final String KEY_FOR_PREFS_ACTION_HEADLESS_TASK = "AzureNotificationHub_actionHeadlessTask";
+    public static final String KEY_FOR_PREFS_SILENT_MESSAGE_KEY = "AzureNotificationHub_silentMessageKey";
+    public static final String KEY_FOR_PREFS_SILENT_HEADLESS_TASK = "AzureNotificationHub_silentHeadlessTask";
+    public static final String KEY_FOR_PREFS_NOTIFICATION_ID_COUNTER = "AzureNotificationHub_notificationIdCounter";
+    public static final String KEY_FOR_PREFS_NOTIFICATION_ID_TABLE = "AzureNotificationHub_notificationIdTable";
+    public static final String KEY_FOR_PREFS_REGISTRATION_FINGERPRINT = "AzureNotificationHub_registrationFingerprint";
+    public static final String KEY_FOR_PREFS_REGISTRATION_TIME = "AzureNotificationHub_registrationTime";
+
+    // Remote notification payload
+    public static final String KEY_REMOTE_NOTIFICATION_MESSAGE = "message";
+    public static final String KEY_REMOTE_NOTIFICATION_BODY = "body";
+    public static final String KEY_REMOTE_NOTIFICATION_ID = "google.message_id";
+    public static final String KEY_REMOTE_NOTIFICATION_KEY = "notificationKey";
+    public static final String KEY_REMOTE_NOTIFICATION_TITLE = "title";
+    public static final String KEY_REMOTE_NOTIFICATION_PRIORITY = "google.original_priority";
+    public static final String KEY_REMOTE_GCM_NOTIFICATION_BODY = "gcm.notification.body";
+    public static final String KEY_REMOTE_GCM_NOTIFICATION_TITLE = "gcm.notification.title";
+    public static final String KEY_REMOTE_NOTIFICATION_TICKER = "ticker";
+    public static final String KEY_REMOTE_NOTIFICATION_AUTO_CANCEL = "autoCancel";
+    public static final String KEY_REMOTE_NOTIFICATION_GROUP = "group";
+    public static final String KEY_REMOTE_NOTIFICATION_LARGE_ICON = "largeIcon";
+    public static final String KEY_REMOTE_NOTIFICATION_SUB_TEXT = "subText";
+    public static final String KEY_REMOTE_NOTIFICATION_NUMBER = "number";
+    public static final String KEY_REMOTE_NOTIFICATION_SMALL_ICON = "smallIcon";
+    public static final String KEY_REMOTE_NOTIFICATION_BIG_TEXT = "bigText";
+    public static final String KEY_REMOTE_NOTIFICATION_PLAY_SOUND = "playSound";
+    public static final String KEY_REMOTE_NOTIFICATION_SOUND_NAME = "soundName";
+    public static final String KEY_REMOTE_NOTIFICATION_ONGOING = "ongoing";
+    public static final String KEY_REMOTE_NOTIFICATION_COLOR = "color";
+    public static final String KEY_REMOTE_NOTIFICATION_VIBRATE = "vibrate";
+    public static final String KEY_REMOTE_NOTIFICATION_VIBRATION = "vibration";
+    public static final String KEY_REMOTE_NOTIFICATION_FOREGROUND = "foreground";
+    public static final String KEY_REMOTE_NOTIFICATION_ACTIONS = "actions";
+    public static final String KEY_REMOTE_NOTIFICATION_ACTION = "action";
+    public static final String KEY_REMOTE_NOTIFICATION_TAG = "tag";
+    public static final String KEY_REMOTE_NOTIFICATION_USER_INTERACTION = "userInteraction";
+    public static final String KEY_REMOTE_NOTIFICATION_COLDSTART = "coldstart";
+    public static final String KEY_REMOTE_NOTIFICATION_AVATAR_URL = "avatarUrl";
+    public static final String KEY_REMOTE_NOTIFICATION_IMAGE_URL = "imageUrl";
+
+
+    // Remote notification payload's priority
+    public static final String REMOTE_NOTIFICATION_PRIORITY_MAX = "max";
+    public static final String REMOTE_NOTIFICATION_PRIORITY_HIGH = "high";
+    public static final String REMOTE_NOTIFICATION_PRIORITY_LOW = "low";
+    public static final String REMOTE_NOTIFICATION_PRIORITY_MIN = "min";
+    public static final String REMOTE_NOTIFICATION_PRIORITY_NORMAL = "normal";
+
+    // Intent
+    public static final String KEY_INTENT_EVENT_NAME = "eventName";
+    public static final String KEY_INTENT_EVENT_TYPE = "eventType";
+    public static final String KEY_INTENT_EVENT_STRING_DATA = "eventStringData";
+    public static final String INTENT_EVENT_TYPE_STRING = "eventTypeString";
+    public static final String INTENT_EVENT_TYPE_BUNDLE = "eventTypeBundle";
+    public static final String KEY_INTENT_NOTIFICATION_ID = "notificationId";
+    public static final String KEY_INTENT_NOTIFICATION_TAG = "notificationTag";
+    public static final String KEY_INTENT_ACTION_RECEIVED_AT = "actionReceivedAt";
+    public static final String INTENT_ACTION_NOTIFICATION_DISMISSED = "com.azure.reactnative.notificationhub.NOTIFICATION_DISMISSED";
+
+    // Delivered notifications
+    public static final String KEY_DELIVERED_NOTIFICATION_ID = "id";
+    public static final String KEY_DELIVERED_NOTIFICATION_TAG = "tag";
+    public static final String KEY_DELIVERED_NOTIFICATION_GROUP = "group";
+    public static final String KEY_DELIVERED_NOTIFICATION_TITLE = "title";
+    public static final String KEY_DELIVERED_NOTIFICATION_BODY = "body";
+    public static final String KEY_DELIVERED_NOTIFICATION_POST_TIME = "postTime";
+
+    // Event filters
+    public static final String KEY_EVENT_FILTER_TYPE = "type";
+    public static final String KEY_EVENT_FILTER_KEY = "key";
+    public static final String KEY_EVENT_FILTER_VALUE = "value";
+    public static final String EVENT_FILTER_TYPE_KEY_PRESENT = "keyPresent";
+    public static final String EVENT_FILTER_TYPE_KEY_EQUALS = "keyEquals";
+    public static final String EVENT_FILTER_TYPE_GROUP = "group";
+    public static final String EVENT_FILTER_TYPE_TAG = "tag";
+    public static final String KEY_EVENT_FILTER_STATS_ACTIVE = "activeFilters";
+    public static final String KEY_EVENT_FILTER_STATS_PASSED = "passed";
+    public static final String KEY_EVENT_FILTER_STATS_FILTERED = "filtered";
+
+    // Render pipeline stages
+    public static final String RENDER_STAGE_PARSE = "parse";
+    public static final String RENDER_STAGE_RESOLVE = "resolve";
+    public static final String RENDER_STAGE_FETCH_MEDIA = "fetchMedia";
+    public static final String RENDER_STAGE_BUILD = "build";
+    public static final String RENDER_STAGE_POST = "post";
+    public static final String RENDER_STAGE_SUMMARY = "summary";
+    public static final String RENDER_STAGE_MEDIA_UPDATE = "mediaUpdate";
+
+    // Trace sections
+    public static final String TRACE_HANDLE_INTENT = "AzureNH.handleIntent";
+    public static final String TRACE_MESSAGE_RECEIVED = "AzureNH.onMessageReceived";
+    public static final String TRACE_CANCEL_OLDEST = "AzureNH.cancelOldestVisibleNotification";
+    public static final String TRACE_SEND_NOTIFICATION = "AzureNH.sendNotification";
+    public static final String TRACE_RENDER_RESOLVE = "AzureNH.render.resolve";
+    public static final String TRACE_RENDER_DIFF = "AzureNH.render.diff";
+    public static final String TRACE_RENDER_FETCH_MEDIA = "AzureNH.render.fetchMedia";
+    public static final String TRACE_RENDER_BUILD = "AzureNH.render.build";
+    public static final String TRACE_RENDER_POST = "AzureNH.render.post";
+    public static final String TRACE_RENDER_SUMMARY = "AzureNH.render.summary";
+    public static final String TRACE_RENDER_MEDIA_UPDATE = "AzureNH.render.mediaUpdate";
+    public static final String TRACE_FETCH_IMAGE = "AzureNH.fetchImage";
+    public static final String TRACE_CONVERT_BUNDLE = "AzureNH.convertBundleToMap";
+    public static final String TRACE_EMIT_INTENT = "AzureNH.emitIntent";
+    public static final String TRACE_REGISTRATION = "AzureNH.registration";
+
+    // Message milestones, in the order a message reaches them
+    public static final String MESSAGE_MILESTONE_RECEIVED = "received";
+    public static final String MESSAGE_MILESTONE_PARSED = "parsed";
+    public static final String MESSAGE_MILESTONE_RENDERED = "rendered";
+    public static final String MESSAGE_MILESTONE_POSTED = "posted";
+    public static final String MESSAGE_MILESTONE_BROADCAST = "broadcast";
+    public static final String MESSAGE_MILESTONE_EMITTED = "emitted";
+    public static final String KEY_INTENT_MESSAGE_TRACE = "messageTrace";
+    public static final String KEY_REMOTE_NOTIFICATION_TIMINGS = "timings";
+
+    // Metrics registry counters and operation timers
+    public static final String METRIC_MESSAGES_RECEIVED = "messagesReceived";
+    public static final String METRIC_DUPLICATES_DROPPED = "duplicatesDropped";
+    public static final String METRIC_RENDERS = "renders";
+    public static final String METRIC_RENDER_FAILURES = "renderFailures";
+    public static final String METRIC_IMAGE_FETCHES = "imageFetches";
+    public static final String METRIC_IMAGE_FETCH_FAILURES = "imageFetchFailures";
+    public static final String METRIC_IMAGE_FETCH_BYTES = "imageFetchBytes";
+    public static final String METRIC_BRIDGE_EMITS = "bridgeEmits";
+    public static final String METRIC_EVENTS_DROPPED = "eventsDropped";
+    public static final String METRIC_REGISTRATION_ATTEMPTS = "registrationAttempts";
+    public static final String METRIC_REGISTRATION_SUCCESSES = "registrationSuccesses";
+    public static final String METRIC_REGISTRATION_FAILURES = "registrationFailures";
+    public static final String METRIC_REGISTRATION_RETRIES = "registrationRetries";
+    public static final String METRIC_REGISTRATIONS_COALESCED = "registrationsCoalesced";
+    public static final String METRIC_REGISTRATIONS_SKIPPED = "registrationsSkipped";
+    public static final String METRIC_SILENT_MESSAGES = "silentMessages";
+    public static final String METRIC_OPERATION_IMAGE_FETCH = "imageFetch";
+    public static final String METRIC_OPERATION_REGISTRATION = "registration";
+    public static final String METRIC_OPERATION_MODULE_CREATE = "moduleCreate";
+    public static final String METRIC_OPERATION_MODULE_INIT = "moduleInit";
+    public static final String METRIC_OPERATION_PREFS_WARMUP = "prefsWarmup";
+    public static final String KEY_METRICS_COUNTERS = "counters";
+    public static final String KEY_METRICS_TIMINGS = "timings";
+    public static final String KEY_METRICS_POOLS = "pools";
+
+    // Worker pool stats
+    public static final String KEY_POOL_QUEUE_SIZE = "queueSize";
+    public static final String KEY_POOL_MAX_QUEUE_SIZE = "maxQueueSize";
+    public static final String KEY_POOL_ACTIVE_COUNT = "activeCount";
+    public static final String KEY_POOL_COMPLETED = "completed";
+    public static final String KEY_POOL_REJECTED = "rejected";
+    public static final String KEY_POOL_DROPPED = "dropped";
+    public static final String KEY_POOL_SLOW_TASK_COUNT = "slowTaskCount";
+    public static final String KEY_POOL_WAIT = "wait";
+    public static final String KEY_POOL_RUN = "run";
+    public static final String KEY_POOL_SLOW_TASKS = "slowTasks";
+    public static final String KEY_SLOW_TASK_NAME = "task";
+    public static final String KEY_SLOW_TASK_THREAD = "thread";
+    public static final String KEY_SLOW_TASK_ELAPSED = "elapsedMs";
+    public static final String KEY_SLOW_TASK_STACK = "stack";
+
+    // Latency histograms
+    public static final String KEY_HISTOGRAM_COUNT = "count";
+    public static final String KEY_HISTOGRAM_MEAN = "meanMs";
+    public static final String KEY_HISTOGRAM_MAX = "maxMs";
+    public static final String KEY_HISTOGRAM_P50 = "p50Ms";
+    public static final String KEY_HISTOGRAM_P90 = "p90Ms";
+    public static final String KEY_HISTOGRAM_P99 = "p99Ms";
+
+    // Resources
+    public static final String RESOURCE_DEF_TYPE_MIPMAP = "mipmap";
+    public static final String RESOURCE_DEF_TYPE_RAW = "raw";
+    public static final String RESOURCE_DEF_TYPE_DRAWABLE = "drawable";
+    public static final String RESOURCE_NAME_NOTIFICATION = "ic_notification";
+    public static final String RESOURCE_NAME_LAUNCHER = "ic_launcher";
+    public static final String RESOURCE_NAME_VECTOR_ICON = "ic_vector";
+    public static final String RESOURCE_NAME_NOTIFICATION_SOUND = "sound_notification";
+    public static final String RESOURCE_NOTIFICATION_COLOR = "#D32528";
+
+    // Worker pools
+    public static final String WORKER_POOL_NAME = "worker";
+    public static final int WORKER_POOL_THREADS = 2;
+    public static final int WORKER_POOL_QUEUE_CAPACITY = 256;
+    public static final long WORKER_POOL_SLOW_TASK_MS = 5000;
+    public static final String REGISTRATION_POOL_NAME = "registration";
+    public static final int REGISTRATION_POOL_QUEUE_CAPACITY = 16;
+    public static final long REGISTRATION_POOL_SLOW_TASK_MS = 60000;
+    public static final int SLOW_TASK_MAX_SAMPLES = 8;
+    public static final int IMAGE_FETCH_CONNECT_TIMEOUT_MS = 10000;
+    public static final int IMAGE_FETCH_READ_TIMEOUT_MS = 15000;
+
+    // Registration
+    public static final int REGISTRATION_MAX_ATTEMPTS = 4;
+    public static final long REGISTRATION_RETRY_BASE_DELAY_MS = 1000;
+    public static final long REGISTRATION_RETRY_MAX_DELAY_MS = 30000;
+    public static final long REGISTRATION_REFRESH_INTERVAL_MS = 24 * 60 * 60 * 1000L;
+
+    // Notification ids
+    public static final int NOTIFICATION_ID_TABLE_MAX_SIZE = 256;
+    public static final long NOTIFICATION_ID_TABLE_FLUSH_DELAY_MS = 5000;
+
+    // Resource lookups
+    public static final int RESOURCE_CACHE_MAX_SIZE = 64;
+
+    // Notification actions
+    public static final int ACTION_SET_CACHE_MAX_SIZE = 32;
+    public static final String ACTION_HEADLESS_TASK_KEY = "AzureNotificationHubAction";
+    public static final long ACTION_HEADLESS_TASK_TIMEOUT_MS = 30000;
+    public static final String ACTION_DISPATCH_NATIVE = "native";
+    public static final String ACTION_DISPATCH_JS = "js";
+    public static final String ACTION_DISPATCH_HEADLESS = "headless";
+    public static final String ACTION_DISPATCH_LEGACY = "legacy";
+
+    // Silent data messages
+    public static final String SILENT_HEADLESS_TASK_KEY = "AzureNotificationHubSilentMessage";
+    public static final long SILENT_HEADLESS_TASK_TIMEOUT_MS = 30000;
+
+    // Group summaries
+    public static final int GROUP_SUMMARY_MAX_LINES = 5;
+    public static final long GROUP_SUMMARY_DEBOUNCE_MS = 300;
+    public static final String GROUP_SUMMARY_CONTENT_TEXT = "%d new notifications";
+
+    // Promise
+    public static final String KEY_PROMISE_RESOLVE_UUID = "uuid";
+    public static final String AZURE_NOTIFICATION_HUB_UNREGISTERED = "Unregistered successfully";
+
+    // Errors
+    public static final String ERROR_NO_ACTIVITY_CLASS = "No activity class found for the notification";
+    public static final String ERROR_NO_MESSAGE = "No message specified for the notification";
+    public static final String ERROR_COVERT_ACTIONS = "Exception while converting actions to JSON object.";
+    public static final String ERROR_GET_ACTIONS_ARRAY = "Exception while getting action from actionsArray.";
+    public static final String ERROR_SEND_PUSH_NOTIFICATION = "failed to send push notification";
+    public static final String ERROR_ACTIVITY_CLASS_NOT_FOUND = "Activity class not found";
+    public static final String ERROR_INVALID_ARGUMENTS = "E_INVALID_ARGUMENTS";
+    public static final String ERROR_INVALID_CONNECTION_STRING = "Connection string cannot be null.";
+    public static final String ERROR_INVALID_HUBNAME = "Hub name cannot be null.";
+    public static final String ERROR_INVALID_SENDER_ID = "Sender ID cannot be null.";
+    public static final String ERROR_INVALID_TEMPLATE_NAME = "Template Name cannot be null.";
+    public static final String ERROR_INVALID_TEMPLATE = "Template cannot be null.";
+    public static final String ERROR_PLAY_SERVICES = "E_PLAY_SERVICES";
+    public static final String ERROR_PLAY_SERVICES_DISABLED = "User must enable Google Play Services.";
+    public static final String ERROR_PLAY_SERVICES_UNSUPPORTED = "This device is not supported by Google Play Services.";
+    public static final String ERROR_NOTIFICATION_HUB = "E_NOTIFICATION_HUB";
+    public static final String ERROR_NOT_REGISTERED = "E_NOT_REGISTERED";
+    public static final String ERROR_NOT_REGISTERED_DESC = "No registration to Azure Notification Hub.";
+    public static final String ERROR_FETCH_IMAGE = "Error while fetching image.";
+    public static final String ERROR_GET_INIT_NOTIFICATION = "E_GET_INIT_NOTIF";
+    public static final String ERROR_ACTIVITY_IS_NULL = "Current activity is null";
+    public static final String ERROR_INTENT_EXTRAS_IS_NULL = "Intent get extras is null";
+    public static final String ERROR_ACTIVITY_INTENT_IS_NULL = "Activity intent is null";
+    public static final String ERROR_GET_UUID = "E_GET_UUID";
+    public static final String ERROR_NO_UUID_SET = "No uuid set";
+    public static final String ERROR_INBOX = "E_INBOX";
+    public static final String ERROR_ACTION_HANDLER = "Notification action handler failed.";
+    public static final String ERROR_NOTIFICATION_ID_TABLE = "Could not write the notification id table.";
+    public static final String ERROR_ACTION_HANDLER_DROPPED = "Notification action handler dropped, the worker queue is full";
+    public static final String ERROR_ACTION_HEADLESS_TASK = "Could not start the notification action headless task.";
+    public static final String ERROR_FETCH_TOKEN = "Fetching FCM registration token failed";
+    public static final String ERROR_SILENT_HEADLESS_TASK = "Could not start the silent message headless task.";
+    public static final String ERROR_SLOW_TASK = "Slow task on the %s pool: %s running for %dms on %s";
+    public static final String ERROR_WORKER_TASK_DROPPED = "Worker task dropped, the queue is full.";
+    public static final String ERROR_INVALID_EVENT_FILTER = "Event filter requires a known type and its key or value.";
+
+    private ReactNativeConstants() {
+    }
+}
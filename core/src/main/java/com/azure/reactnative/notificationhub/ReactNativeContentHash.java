@@ -0,0 +1,105 @@
+package com.azure.reactnative.notificationhub;
+
+/**
+ * 64-bit FNV-1a hashing of notification content, and the dedup decision made by comparing the
+ * hashes of a posted notification with those of an update to it. Fields are folded in one at a
+ * time with a separator, so adjacent fields cannot run into each other:
+ *
+ * <pre>
+ * long h = ReactNativeContentHash.OFFSET_BASIS;
+ * h = ReactNativeContentHash.hash(h, title);
+ * h = ReactNativeContentHash.hash(h, priority);
+ * long contentHash = ReactNativeContentHash.finish(h);
+ * </pre>
+ */
+public final class ReactNativeContentHash {
+
+    /**
+     * Never returned by {@link #finish(long)}, used for notifications of unknown content.
+     */
+    public static final long NONE = 0;
+
+    public static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    // The update renders exactly like the posted notification
+    public static final int UNCHANGED = 0;
+
+    // Only fields outside the alert hash changed, the update should not alert again
+    public static final int SILENT_UPDATE = 1;
+
+    // User-visible content changed, or nothing is known about the posted notification
+    public static final int ALERTING_UPDATE = 2;
+
+    public static long hash(long h, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= PRIME;
+            }
+        }
+
+        return separate(h, value != null);
+    }
+
+    public static long hash(long h, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            h ^= (value >>> shift) & 0xff;
+            h *= PRIME;
+        }
+
+        return separate(h, true);
+    }
+
+    public static long hash(long h, boolean value) {
+        h ^= value ? 1 : 0;
+        h *= PRIME;
+        return separate(h, true);
+    }
+
+    /**
+     * Hashes boxed optional values; strings, numbers and booleans hash like their unboxed
+     * overloads and null hashes differently from any value.
+     */
+    public static long hash(long h, Object value) {
+        if (value == null || value instanceof String) {
+            return hash(h, (String) value);
+        } else if (value instanceof Boolean) {
+            return hash(h, ((Boolean) value).booleanValue());
+        } else if (value instanceof Number) {
+            return hash(h, ((Number) value).longValue());
+        }
+
+        return hash(h, value.toString());
+    }
+
+    public static long finish(long h) {
+        return h != NONE ? h : 1;
+    }
+
+    /**
+     * Classifies an update against the hashes the notification was posted with; posted hashes of
+     * {@link #NONE} always give {@link #ALERTING_UPDATE}.
+     */
+    public static int diff(long postedContentHash, long postedAlertHash, long contentHash, long alertHash) {
+        if (postedContentHash == NONE) {
+            return ALERTING_UPDATE;
+        } else if (postedContentHash == contentHash) {
+            return UNCHANGED;
+        } else if (postedAlertHash == alertHash) {
+            return SILENT_UPDATE;
+        }
+
+        return ALERTING_UPDATE;
+    }
+
+    private static long separate(long h, boolean present) {
+        h ^= present ? 0x1f : 0x1e;
+        h *= PRIME;
+        return h;
+    }
+
+    private ReactNativeContentHash() {
+    }
+}
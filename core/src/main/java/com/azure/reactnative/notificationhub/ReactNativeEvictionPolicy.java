@@ -0,0 +1,36 @@
+package com.azure.reactnative.notificationhub;
+
+/**
+ * Chooses which notification to cancel once more than a limit are visible: the one posted
+ * longest ago, ignoring exempt notifications such as system ranker groups. A single linear pass,
+ * so eviction does not sort the tray on every message.
+ */
+public final class ReactNativeEvictionPolicy {
+
+    /**
+     * Returns the index of the oldest non-exempt notification if more than {@code limit} of them
+     * are visible, or -1 if nothing needs to be evicted. Ties go to the lower index.
+     *
+     * @param postTimes post time of each visible notification
+     * @param exempt    whether each notification is excluded from the limit, or null if none are
+     */
+    public static int selectOldest(long[] postTimes, boolean[] exempt, int limit) {
+        int count = 0;
+        int oldest = -1;
+        for (int i = 0; i < postTimes.length; i++) {
+            if (exempt != null && exempt[i]) {
+                continue;
+            }
+
+            count++;
+            if (oldest < 0 || postTimes[i] < postTimes[oldest]) {
+                oldest = i;
+            }
+        }
+
+        return count > limit ? oldest : -1;
+    }
+
+    private ReactNativeEvictionPolicy() {
+    }
+}
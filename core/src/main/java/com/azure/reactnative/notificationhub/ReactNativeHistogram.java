@@ -0,0 +1,104 @@
+package com.azure.reactnative.notificationhub;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed, roughly logarithmic buckets from 50us to 10s.
+ * Recording is a bucket search plus a few atomic adds, so it is cheap enough for the render
+ * path. Percentiles are reported as the upper bound of the bucket the rank falls into.
+ */
+public final class ReactNativeHistogram {
+
+    // Bucket upper bounds in microseconds, the last bucket is unbounded
+    private static final long[] BUCKET_BOUNDS_US = {
+            50, 100, 250, 500,
+            1000, 2500, 5000, 10000, 25000, 50000,
+            100000, 250000, 500000,
+            1000000, 2500000, 5000000, 10000000
+    };
+
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_BOUNDS_US.length + 1);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mSumNanos = new AtomicLong();
+    private final AtomicLong mMaxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        mBuckets.incrementAndGet(bucketOf(nanos / 1000));
+        mCount.incrementAndGet();
+        mSumNanos.addAndGet(nanos);
+
+        long max;
+        do {
+            max = mMaxNanos.get();
+        } while (nanos > max && !mMaxNanos.compareAndSet(max, nanos));
+    }
+
+    public long getCount() {
+        return mCount.get();
+    }
+
+    public double getMeanMillis() {
+        long count = mCount.get();
+        return count > 0 ? mSumNanos.get() / 1e6 / count : 0;
+    }
+
+    public double getMaxMillis() {
+        return mMaxNanos.get() / 1e6;
+    }
+
+    /**
+     * Returns the upper bound in milliseconds of the bucket holding the given percentile (0-100),
+     * or the observed maximum if it falls into the unbounded bucket.
+     */
+    public double getPercentileMillis(double percentile) {
+        long count = 0;
+        long[] buckets = new long[mBuckets.length()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = mBuckets.get(i);
+            count += buckets[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * percentile / 100.0);
+        if (rank < 1) {
+            rank = 1;
+        }
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_BOUNDS_US.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS_US[i] / 1000.0, getMaxMillis());
+            }
+        }
+
+        return getMaxMillis();
+    }
+
+    public void reset() {
+        for (int i = 0; i < mBuckets.length(); i++) {
+            mBuckets.set(i, 0);
+        }
+        mCount.set(0);
+        mSumNanos.set(0);
+        mMaxNanos.set(0);
+    }
+
+    private static int bucketOf(long micros) {
+        for (int i = 0; i < BUCKET_BOUNDS_US.length; i++) {
+            if (micros <= BUCKET_BOUNDS_US[i]) {
+                return i;
+            }
+        }
+
+        return BUCKET_BOUNDS_US.length;
+    }
+}
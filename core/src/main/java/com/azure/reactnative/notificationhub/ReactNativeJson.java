@@ -0,0 +1,174 @@
+package com.azure.reactnative.notificationhub;
+
+import java.util.Map;
+
+/**
+ * Single-pass JSON encoder for notification payloads. The payload container is read through an
+ * {@link Adapter}, so the same encoder serves Android bundles and plain maps, and output goes
+ * straight into one StringBuilder without an intermediate writer.
+ */
+public final class ReactNativeJson {
+
+    /**
+     * Read access to a payload container of type {@code T}.
+     */
+    public interface Adapter<T> {
+        Iterable<String> keys(T payload);
+
+        Object get(T payload, String key);
+
+        /**
+         * Returns the value as a nested payload, or null if it is not one.
+         */
+        T asPayload(Object value);
+    }
+
+    public static final Adapter<Map<String, ?>> MAP_ADAPTER = new Adapter<Map<String, ?>>() {
+        @Override
+        public Iterable<String> keys(Map<String, ?> payload) {
+            return payload.keySet();
+        }
+
+        @Override
+        public Object get(Map<String, ?> payload, String key) {
+            return payload.get(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<String, ?> asPayload(Object value) {
+            return value instanceof Map ? (Map<String, ?>) value : null;
+        }
+    };
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Encodes the payload as a compact JSON object; a null payload encodes as "{}". Floating point
+     * values are written as doubles and integral values as longs, nested payloads as objects and
+     * anything else, including NaN and infinities, as null.
+     */
+    public static <T> String toJson(T payload, Adapter<T> adapter) {
+        StringBuilder out = new StringBuilder(256);
+        writeObject(out, payload, adapter);
+        return out.toString();
+    }
+
+    /**
+     * Encodes the payload as {@link #toJson(Object, Adapter)} does, followed by one more member
+     * whose value is a map. Lets callers attach metadata to the event without copying the payload.
+     */
+    public static <T> String toJson(T payload, Adapter<T> adapter, String key, Map<String, ?> value) {
+        StringBuilder out = new StringBuilder(256);
+        out.append('{');
+        if (writeMembers(out, payload, adapter)) {
+            out.append(',');
+        }
+        writeString(out, key);
+        out.append(':');
+        writeObject(out, value, MAP_ADAPTER);
+        out.append('}');
+        return out.toString();
+    }
+
+    private static <T> void writeObject(StringBuilder out, T payload, Adapter<T> adapter) {
+        out.append('{');
+        writeMembers(out, payload, adapter);
+        out.append('}');
+    }
+
+    /**
+     * Writes the members of the payload without the enclosing braces, returning whether any were
+     * written.
+     */
+    private static <T> boolean writeMembers(StringBuilder out, T payload, Adapter<T> adapter) {
+        boolean first = true;
+        if (payload != null) {
+            for (String key : adapter.keys(payload)) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+
+                writeString(out, key);
+                out.append(':');
+                writeValue(out, adapter.get(payload, key), adapter);
+            }
+        }
+        return !first;
+    }
+
+    private static <T> void writeValue(StringBuilder out, Object value, Adapter<T> adapter) {
+        if (value instanceof String) {
+            writeString(out, (String) value);
+        } else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            out.append(((Number) value).longValue());
+        } else if (value instanceof Float || value instanceof Double) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                out.append("null");
+            } else {
+                out.append(d);
+            }
+        } else if (value instanceof Boolean) {
+            out.append(((Boolean) value).booleanValue());
+        } else {
+            T nested = value != null ? adapter.asPayload(value) : null;
+            if (nested != null) {
+                writeObject(out, nested, adapter);
+            } else {
+                out.append("null");
+            }
+        }
+    }
+
+    private static void writeString(StringBuilder out, String value) {
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+
+            out.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                default:
+                    out.append("\\u")
+                            .append(HEX_DIGITS[(c >> 12) & 0xf])
+                            .append(HEX_DIGITS[(c >> 8) & 0xf])
+                            .append(HEX_DIGITS[(c >> 4) & 0xf])
+                            .append(HEX_DIGITS[c & 0xf]);
+                    break;
+            }
+        }
+        out.append(value, start, value.length());
+        out.append('"');
+    }
+
+    private ReactNativeJson() {
+    }
+}
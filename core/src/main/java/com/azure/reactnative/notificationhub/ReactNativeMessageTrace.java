@@ -0,0 +1,113 @@
+package com.azure.reactnative.notificationhub;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Monotonic timestamps of one remote message as it passes each milestone, from the moment it is
+ * received to the notification being posted and the event being emitted to JS. The render and
+ * broadcast paths stamp the same trace from different threads; each milestone is stamped once.
+ * Crosses process-local intents as a long array, see {@link #toArray()}.
+ */
+public final class ReactNativeMessageTrace {
+
+    public static final int RECEIVED = 0;
+    public static final int PARSED = 1;
+    public static final int RENDERED = 2;
+    public static final int POSTED = 3;
+    public static final int BROADCAST = 4;
+    public static final int EMITTED = 5;
+
+    private static final String[] MILESTONE_NAMES = {
+            MESSAGE_MILESTONE_RECEIVED,
+            MESSAGE_MILESTONE_PARSED,
+            MESSAGE_MILESTONE_RENDERED,
+            MESSAGE_MILESTONE_POSTED,
+            MESSAGE_MILESTONE_BROADCAST,
+            MESSAGE_MILESTONE_EMITTED
+    };
+
+    public static final int MILESTONE_COUNT = MILESTONE_NAMES.length;
+
+    // 0 for milestones not reached yet, System.nanoTime() never returns it in practice
+    private final AtomicLongArray mStamps = new AtomicLongArray(MILESTONE_COUNT);
+
+    private ReactNativeMessageTrace(long receivedAtNanos) {
+        mStamps.set(RECEIVED, receivedAtNanos);
+    }
+
+    public static ReactNativeMessageTrace start(long receivedAtNanos) {
+        return new ReactNativeMessageTrace(receivedAtNanos);
+    }
+
+    /**
+     * Restores a trace from {@link #toArray()}, or returns null if the array is not one.
+     */
+    public static ReactNativeMessageTrace fromArray(long[] stamps) {
+        if (stamps == null || stamps.length != MILESTONE_COUNT || stamps[RECEIVED] == 0) {
+            return null;
+        }
+
+        ReactNativeMessageTrace trace = new ReactNativeMessageTrace(stamps[RECEIVED]);
+        for (int i = RECEIVED + 1; i < MILESTONE_COUNT; i++) {
+            trace.mStamps.set(i, stamps[i]);
+        }
+
+        return trace;
+    }
+
+    public static String getName(int milestone) {
+        return MILESTONE_NAMES[milestone];
+    }
+
+    /**
+     * Stamps the milestone with the current time and returns the nanoseconds elapsed since the
+     * message was received, or -1 if the milestone was already stamped; it keeps its first time.
+     */
+    public long stamp(int milestone) {
+        if (!mStamps.compareAndSet(milestone, 0, System.nanoTime())) {
+            return -1;
+        }
+
+        return getElapsedNanos(milestone);
+    }
+
+    public boolean has(int milestone) {
+        return mStamps.get(milestone) != 0;
+    }
+
+    /**
+     * Nanoseconds from receipt to the milestone, or -1 if it has not been reached.
+     */
+    public long getElapsedNanos(int milestone) {
+        long stamp = mStamps.get(milestone);
+        return stamp != 0 ? stamp - mStamps.get(RECEIVED) : -1;
+    }
+
+    /**
+     * Milliseconds from receipt to each milestone reached after it, in milestone order.
+     */
+    public Map<String, Double> getTimingsMillis() {
+        Map<String, Double> timings = new LinkedHashMap<>();
+        for (int i = RECEIVED + 1; i < MILESTONE_COUNT; i++) {
+            long elapsed = getElapsedNanos(i);
+            if (elapsed >= 0) {
+                timings.put(MILESTONE_NAMES[i], elapsed / 1e6);
+            }
+        }
+
+        return timings;
+    }
+
+    public long[] toArray() {
+        long[] stamps = new long[MILESTONE_COUNT];
+        for (int i = 0; i < MILESTONE_COUNT; i++) {
+            stamps[i] = mStamps.get(i);
+        }
+
+        return stamps;
+    }
+}
@@ -0,0 +1,290 @@
+package com.azure.reactnative.notificationhub;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size thread pool with a bounded queue that reports how it copes with its load: how long
+ * tasks wait for a thread and how long they run, the deepest the queue got, and how many tasks
+ * were rejected because it was full. Rejected tasks run on the submitting thread, which slows
+ * producers down instead of dropping work, unless the {@link CallerPolicy} says the submitting
+ * thread must not block (e.g. the main thread); those tasks are counted as dropped and
+ * {@link #execute} throws a {@link RejectedExecutionException} so the caller can clean up.
+ *
+ * A task still running after the slow task threshold gets one stack sample of its thread, taken
+ * by a watchdog thread shared by all pools so that a hung pool cannot delay its own report. The
+ * most recent samples are kept and handed to the {@link SlowTaskListener}.
+ */
+public final class ReactNativeMonitoredExecutor extends ThreadPoolExecutor {
+
+    public interface SlowTaskListener {
+        void onSlowTask(ReactNativeMonitoredExecutor executor, SlowTask task);
+    }
+
+    public interface CallerPolicy {
+        /**
+         * Whether a rejected task may run on the current, submitting thread.
+         */
+        boolean canRunOnCaller();
+    }
+
+    public static final class SlowTask {
+        public final String name;
+        public final String thread;
+        public final long elapsedNanos;
+        public final StackTraceElement[] stack;
+
+        SlowTask(String name, String thread, long elapsedNanos, StackTraceElement[] stack) {
+            this.name = name;
+            this.thread = thread;
+            this.elapsedNanos = elapsedNanos;
+            this.stack = stack;
+        }
+    }
+
+    private final String mName;
+    private final long mSlowTaskThresholdNanos;
+    private final int mMaxSlowTasks;
+    private final RejectionCounter mRejections;
+    private final ReactNativeHistogram mWaitHistogram = new ReactNativeHistogram();
+    private final ReactNativeHistogram mRunHistogram = new ReactNativeHistogram();
+    private final AtomicInteger mMaxQueueSize = new AtomicInteger();
+    private final AtomicLong mSlowTaskCount = new AtomicLong();
+
+    // Most recent samples first, guarded by itself
+    private final ArrayDeque<SlowTask> mSlowTasks = new ArrayDeque<>();
+
+    private volatile SlowTaskListener mSlowTaskListener;
+    private volatile CallerPolicy mCallerPolicy;
+
+    public ReactNativeMonitoredExecutor(String name, int threads, int queueCapacity,
+                                        long slowTaskThresholdMillis, int maxSlowTasks) {
+        this(name, threads, queueCapacity, slowTaskThresholdMillis, maxSlowTasks, new RejectionCounter());
+    }
+
+    private ReactNativeMonitoredExecutor(String name, int threads, int queueCapacity,
+                                         long slowTaskThresholdMillis, int maxSlowTasks,
+                                         RejectionCounter rejections) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity), new NamedThreadFactory(name), rejections);
+        mName = name;
+        mSlowTaskThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowTaskThresholdMillis);
+        mMaxSlowTasks = maxSlowTasks;
+        mRejections = rejections;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+
+        super.execute(new Task(command));
+
+        int size = getQueue().size();
+        int max;
+        do {
+            max = mMaxQueueSize.get();
+        } while (size > max && !mMaxQueueSize.compareAndSet(max, size));
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public void setSlowTaskListener(SlowTaskListener listener) {
+        mSlowTaskListener = listener;
+    }
+
+    public void setCallerPolicy(CallerPolicy policy) {
+        mCallerPolicy = policy;
+    }
+
+    /**
+     * Time from submitting a task to it starting to run.
+     */
+    public ReactNativeHistogram getWaitHistogram() {
+        return mWaitHistogram;
+    }
+
+    public ReactNativeHistogram getRunHistogram() {
+        return mRunHistogram;
+    }
+
+    public int getQueueSize() {
+        return getQueue().size();
+    }
+
+    public int getMaxQueueSize() {
+        return mMaxQueueSize.get();
+    }
+
+    public long getRejectedCount() {
+        return mRejections.mCount.get();
+    }
+
+    /**
+     * Rejected tasks that were dropped because the caller could not run them.
+     */
+    public long getDroppedCount() {
+        return mRejections.mDropped.get();
+    }
+
+    public long getSlowTaskCount() {
+        return mSlowTaskCount.get();
+    }
+
+    /**
+     * Returns the most recent slow task samples, newest first.
+     */
+    public List<SlowTask> getSlowTasks() {
+        synchronized (mSlowTasks) {
+            return new ArrayList<>(mSlowTasks);
+        }
+    }
+
+    public void resetStats() {
+        mWaitHistogram.reset();
+        mRunHistogram.reset();
+        mMaxQueueSize.set(0);
+        mRejections.mCount.set(0);
+        mRejections.mDropped.set(0);
+        mSlowTaskCount.set(0);
+        synchronized (mSlowTasks) {
+            mSlowTasks.clear();
+        }
+    }
+
+    private void reportSlowTask(SlowTask task) {
+        mSlowTaskCount.incrementAndGet();
+        synchronized (mSlowTasks) {
+            mSlowTasks.addFirst(task);
+            while (mSlowTasks.size() > mMaxSlowTasks) {
+                mSlowTasks.removeLast();
+            }
+        }
+
+        SlowTaskListener listener = mSlowTaskListener;
+        if (listener != null) {
+            listener.onSlowTask(this, task);
+        }
+    }
+
+    private final class Task implements Runnable {
+        private final Runnable mDelegate;
+        private final long mSubmittedAt = System.nanoTime();
+
+        // Set while the task runs, read by the watchdog
+        private volatile Thread mRunner;
+        private volatile long mStartedAt;
+
+        Task(Runnable delegate) {
+            mDelegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            mStartedAt = System.nanoTime();
+            mWaitHistogram.record(mStartedAt - mSubmittedAt);
+            mRunner = Thread.currentThread();
+            ScheduledFuture<?> watchdog = Watchdog.INSTANCE.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    sample();
+                }
+            }, mSlowTaskThresholdNanos, TimeUnit.NANOSECONDS);
+            try {
+                mDelegate.run();
+            } finally {
+                mRunner = null;
+                watchdog.cancel(false);
+                mRunHistogram.record(System.nanoTime() - mStartedAt);
+            }
+        }
+
+        // Best effort: the task may finish while its stack is being sampled
+        private void sample() {
+            Thread runner = mRunner;
+            if (runner == null) {
+                return;
+            }
+
+            StackTraceElement[] stack = runner.getStackTrace();
+            if (mRunner == null) {
+                return;
+            }
+
+            reportSlowTask(new SlowTask(mDelegate.getClass().getName(), runner.getName(),
+                    System.nanoTime() - mStartedAt, stack));
+        }
+    }
+
+    // Counts rejected tasks, then runs them on the caller like CallerRunsPolicy if it may, or
+    // aborts like AbortPolicy if it may not
+    private static final class RejectionCounter implements RejectedExecutionHandler {
+        private final AtomicLong mCount = new AtomicLong();
+        private final AtomicLong mDropped = new AtomicLong();
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            mCount.incrementAndGet();
+            if (executor.isShutdown()) {
+                return;
+            }
+
+            CallerPolicy policy = ((ReactNativeMonitoredExecutor) executor).mCallerPolicy;
+            if (policy != null && !policy.canRunOnCaller()) {
+                mDropped.incrementAndGet();
+                throw new RejectedExecutionException("Task dropped, the "
+                        + ((ReactNativeMonitoredExecutor) executor).mName + " queue is full");
+            }
+
+            r.run();
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String mPrefix;
+        private final AtomicInteger mNextId = new AtomicInteger(1);
+
+        NamedThreadFactory(String name) {
+            mPrefix = "ReactNative-" + name + "-";
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            return new Thread(r, mPrefix + mNextId.getAndIncrement());
+        }
+    }
+
+    // Created on first use, a daemon so it never keeps the process alive
+    private static final class Watchdog {
+        static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor watchdog = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "ReactNative-watchdog");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+            // Most tasks finish well within the threshold, drop their checks right away
+            watchdog.setRemoveOnCancelPolicy(true);
+            return watchdog;
+        }
+    }
+}
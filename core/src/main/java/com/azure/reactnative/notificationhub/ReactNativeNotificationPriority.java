@@ -0,0 +1,40 @@
+package com.azure.reactnative.notificationhub;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Maps the priority of a remote notification payload to the NotificationCompat priority levels.
+ * The values mirror NotificationCompat.PRIORITY_* so the mapping does not depend on Android.
+ */
+public final class ReactNativeNotificationPriority {
+
+    public static final int PRIORITY_MIN = -2;
+    public static final int PRIORITY_LOW = -1;
+    public static final int PRIORITY_DEFAULT = 0;
+    public static final int PRIORITY_HIGH = 1;
+    public static final int PRIORITY_MAX = 2;
+
+    /**
+     * Case-insensitive, unknown and null values map to {@link #PRIORITY_DEFAULT}. Compares in
+     * place rather than lower-casing, so the lookup does not allocate and is not affected by the
+     * default locale.
+     */
+    public static int fromString(String priority) {
+        if (priority == null) {
+            return PRIORITY_DEFAULT;
+        } else if (REMOTE_NOTIFICATION_PRIORITY_MAX.equalsIgnoreCase(priority)) {
+            return PRIORITY_MAX;
+        } else if (REMOTE_NOTIFICATION_PRIORITY_HIGH.equalsIgnoreCase(priority)) {
+            return PRIORITY_HIGH;
+        } else if (REMOTE_NOTIFICATION_PRIORITY_LOW.equalsIgnoreCase(priority)) {
+            return PRIORITY_LOW;
+        } else if (REMOTE_NOTIFICATION_PRIORITY_MIN.equalsIgnoreCase(priority)) {
+            return PRIORITY_MIN;
+        }
+
+        return PRIORITY_DEFAULT;
+    }
+
+    private ReactNativeNotificationPriority() {
+    }
+}
@@ -0,0 +1,69 @@
+package com.azure.reactnative.notificationhub;
+
+/**
+ * Coerces remote notification payload values. Data payloads deliver every value as a string,
+ * notification extras use typed values, so each parser accepts both.
+ */
+public final class ReactNativePayloadValues {
+
+    public static boolean parseBoolean(Object value, boolean defaultValue) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof String) {
+            return Boolean.parseBoolean((String) value);
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * For presence flags such as content-available, which senders set as 1, "1" or "true". False
+     * if the value is missing or of an unsupported type.
+     */
+    public static boolean parseFlag(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
+        } else if (value instanceof String) {
+            String flag = ((String) value).trim();
+            return flag.equals("1") || flag.equalsIgnoreCase("true");
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns null if the value is missing or of an unsupported type.
+     *
+     * @throws NumberFormatException if the value is a malformed string
+     */
+    public static Integer parseInteger(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        } else if (value instanceof String) {
+            return Integer.parseInt((String) value);
+        }
+
+        return null;
+    }
+
+    /**
+     * Accepts decimal strings, truncating the fraction. Returns the default if the value is
+     * missing or of an unsupported type.
+     *
+     * @throws NumberFormatException if the value is a malformed string
+     */
+    public static long parseLong(Object value, long defaultValue) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value instanceof String) {
+            return (long) Double.parseDouble((String) value);
+        }
+
+        return defaultValue;
+    }
+
+    private ReactNativePayloadValues() {
+    }
+}
@@ -0,0 +1,61 @@
+package com.azure.reactnative.notificationhub;
+
+/**
+ * Decides whether a failed hub call is retried and how long to wait first: exponential backoff
+ * from a base delay, capped, with jitter so clients throttled together do not retry together.
+ * Only failures that may succeed later are retried: no response at all, timeouts, throttling and
+ * server errors.
+ */
+public final class ReactNativeRetryPolicy {
+
+    // Status of a call that failed without a response, e.g. on a network error
+    public static final int STATUS_NO_RESPONSE = 0;
+
+    private final int mMaxAttempts;
+    private final long mBaseDelayMillis;
+    private final long mMaxDelayMillis;
+
+    public ReactNativeRetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        if (maxAttempts < 1 || baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("Invalid retry policy");
+        }
+
+        mMaxAttempts = maxAttempts;
+        mBaseDelayMillis = baseDelayMillis;
+        mMaxDelayMillis = maxDelayMillis;
+    }
+
+    public int getMaxAttempts() {
+        return mMaxAttempts;
+    }
+
+    public static boolean isRetryable(int statusCode) {
+        return statusCode == STATUS_NO_RESPONSE
+                || statusCode == 408
+                || statusCode == 429
+                || statusCode >= 500;
+    }
+
+    /**
+     * Whether to try again after the given attempt, counted from 1, failed with the status.
+     */
+    public boolean shouldRetry(int attempt, int statusCode) {
+        return attempt < mMaxAttempts && isRetryable(statusCode);
+    }
+
+    /**
+     * Returns the delay before the attempt following the given one, between half and all of the
+     * backoff for that attempt.
+     *
+     * @param random uniformly distributed in [0, 1)
+     */
+    public long getDelayMillis(int attempt, double random) {
+        long backoff = mBaseDelayMillis;
+        for (int i = 1; i < attempt && backoff < mMaxDelayMillis; i++) {
+            backoff *= 2;
+        }
+        backoff = Math.min(backoff, mMaxDelayMillis);
+
+        return backoff / 2 + (long) (backoff / 2.0 * random);
+    }
+}
@@ -0,0 +1,176 @@
+package com.azure.reactnative.notificationhub;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of posted notifications keyed by (tag, id), with secondary indexes by tag, group and
+ * message id so the cancel paths do not scan the whole tray. Iteration order is post order: an
+ * entry recorded again moves to the end. Not thread-safe, callers hold their own lock.
+ */
+public final class ReactNativeTrayIndex {
+
+    public static final class Entry {
+        public final int id;
+        public final String tag;
+        public final String group;
+        public final String messageId;
+        public final String title;
+        public final String body;
+        public final long postTime;
+        public final long contentHash;
+        public final long alertHash;
+
+        public Entry(int id, String tag, String group, String messageId,
+                     String title, String body, long postTime) {
+            this(id, tag, group, messageId, title, body, postTime,
+                    ReactNativeContentHash.NONE, ReactNativeContentHash.NONE);
+        }
+
+        public Entry(int id, String tag, String group, String messageId,
+                     String title, String body, long postTime,
+                     long contentHash, long alertHash) {
+            this.id = id;
+            this.tag = tag;
+            this.group = group;
+            this.messageId = messageId;
+            this.title = title;
+            this.body = body;
+            this.postTime = postTime;
+            this.contentHash = contentHash;
+            this.alertHash = alertHash;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>();
+    private final Map<String, Set<String>> mKeysByTag = new HashMap<>();
+    private final Map<String, Set<String>> mKeysByGroup = new HashMap<>();
+    private final Map<String, String> mKeysByMessageId = new HashMap<>();
+
+    /**
+     * Adds the entry as the most recently posted, returning the entry it replaced if any.
+     */
+    public Entry put(Entry entry) {
+        String key = keyOf(entry.tag, entry.id);
+        Entry replaced = remove(key);
+        mEntries.put(key, entry);
+        index(mKeysByTag, entry.tag, key);
+        index(mKeysByGroup, entry.group, key);
+        if (entry.messageId != null) {
+            mKeysByMessageId.put(entry.messageId, key);
+        }
+
+        return replaced;
+    }
+
+    public Entry get(String tag, int id) {
+        return mEntries.get(keyOf(tag, id));
+    }
+
+    public Entry remove(String tag, int id) {
+        return remove(keyOf(tag, id));
+    }
+
+    public Entry removeByMessageId(String messageId) {
+        String key = mKeysByMessageId.get(messageId);
+        return key != null ? remove(key) : null;
+    }
+
+    public List<Entry> removeByTag(String tag) {
+        return removeAll(mKeysByTag.get(tag));
+    }
+
+    public List<Entry> removeByGroup(String group) {
+        return removeAll(mKeysByGroup.get(group));
+    }
+
+    /**
+     * Returns the least recently posted entry, or null if the index is empty.
+     */
+    public Entry getOldest() {
+        return mEntries.isEmpty() ? null : mEntries.values().iterator().next();
+    }
+
+    /**
+     * Returns the entries in post order.
+     */
+    public List<Entry> getEntries() {
+        return new ArrayList<>(mEntries.values());
+    }
+
+    public int size() {
+        return mEntries.size();
+    }
+
+    public void clear() {
+        mEntries.clear();
+        mKeysByTag.clear();
+        mKeysByGroup.clear();
+        mKeysByMessageId.clear();
+    }
+
+    public static String keyOf(String tag, int id) {
+        return (tag != null ? tag : "") + ":" + id;
+    }
+
+    private List<Entry> removeAll(Set<String> keys) {
+        List<Entry> removed = new ArrayList<>();
+        if (keys == null) {
+            return removed;
+        }
+
+        for (String key : new ArrayList<>(keys)) {
+            Entry entry = remove(key);
+            if (entry != null) {
+                removed.add(entry);
+            }
+        }
+
+        return removed;
+    }
+
+    private Entry remove(String key) {
+        Entry entry = mEntries.remove(key);
+        if (entry != null) {
+            unindex(mKeysByTag, entry.tag, key);
+            unindex(mKeysByGroup, entry.group, key);
+            if (entry.messageId != null && key.equals(mKeysByMessageId.get(entry.messageId))) {
+                mKeysByMessageId.remove(entry.messageId);
+            }
+        }
+
+        return entry;
+    }
+
+    private static void index(Map<String, Set<String>> index, String value, String key) {
+        if (value == null) {
+            return;
+        }
+
+        Set<String> keys = index.get(value);
+        if (keys == null) {
+            keys = new HashSet<>();
+            index.put(value, keys);
+        }
+        keys.add(key);
+    }
+
+    private static void unindex(Map<String, Set<String>> index, String value, String key) {
+        if (value == null) {
+            return;
+        }
+
+        Set<String> keys = index.get(value);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                index.remove(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for ReactNativeActionsParser.
+ */
+public class ReactNativeActionsParserTest {
+
+    @Test
+    public void testParse() throws ParseException {
+        Assert.assertEquals(ReactNativeActionsParser.parse(" [ \"Accept\" , \"Decline\" ] ", null),
+                Arrays.asList("Accept", "Decline"));
+        Assert.assertEquals(ReactNativeActionsParser.parse("[]", null), Collections.emptyList());
+    }
+
+    @Test
+    public void testParseEscapes() throws ParseException {
+        Assert.assertEquals(ReactNativeActionsParser.parse("[\"Say \\\"hi\\\"\\u0021\"]", null),
+                Collections.singletonList("Say \"hi\"!"));
+    }
+
+    @Test
+    public void testParseSkipsInvalidActions() throws ParseException {
+        final List<Integer> invalid = new ArrayList<>();
+        List<String> names = ReactNativeActionsParser.parse("[1,\"Reply\",{\"a\":[\"]\"]},null]", invalid::add);
+
+        Assert.assertEquals(names, Collections.singletonList("Reply"));
+        Assert.assertEquals(invalid, Arrays.asList(1, 11, 23));
+    }
+
+    @Test
+    public void testParseMalformed() {
+        String[] malformed = {"", "{}", "[\"Reply\"", "[\"Reply\"] x", "[\"\\x\"]", "[,]"};
+        for (String json : malformed) {
+            try {
+                ReactNativeActionsParser.parse(json, null);
+                Assert.fail(json);
+            } catch (ParseException e) {
+                // Expected
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for ReactNativeCoalescer.
+ */
+public class ReactNativeCoalescerTest {
+
+    @Test
+    public void testSingleRun() {
+        ReactNativeCoalescer coalescer = new ReactNativeCoalescer();
+
+        Assert.assertTrue(coalescer.request());
+        Assert.assertTrue(coalescer.isRunning());
+        Assert.assertFalse(coalescer.finish());
+        Assert.assertFalse(coalescer.isRunning());
+    }
+
+    @Test
+    public void testRequestsDuringRunFoldIntoOneRerun() {
+        ReactNativeCoalescer coalescer = new ReactNativeCoalescer();
+
+        Assert.assertTrue(coalescer.request());
+        Assert.assertFalse(coalescer.request());
+        Assert.assertFalse(coalescer.request());
+        Assert.assertFalse(coalescer.request());
+
+        Assert.assertTrue(coalescer.finish());
+        Assert.assertTrue(coalescer.isRunning());
+        Assert.assertFalse(coalescer.finish());
+        Assert.assertTrue(coalescer.request());
+    }
+}
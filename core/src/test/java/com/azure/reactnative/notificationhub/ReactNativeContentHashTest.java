@@ -0,0 +1,38 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeContentHash.*;
+
+/**
+ * Unit tests for ReactNativeContentHash.
+ */
+public class ReactNativeContentHashTest {
+
+    @Test
+    public void testHashSeparatesFields() {
+        Assert.assertNotEquals(hash(hash(OFFSET_BASIS, "ab"), "c"), hash(hash(OFFSET_BASIS, "a"), "bc"));
+        Assert.assertNotEquals(hash(OFFSET_BASIS, (String) null), hash(OFFSET_BASIS, ""));
+    }
+
+    @Test
+    public void testHashBoxedMatchesUnboxed() {
+        Assert.assertEquals(hash(OFFSET_BASIS, (Object) 3), hash(OFFSET_BASIS, 3L));
+        Assert.assertEquals(hash(OFFSET_BASIS, (Object) Boolean.TRUE), hash(OFFSET_BASIS, true));
+        Assert.assertEquals(hash(OFFSET_BASIS, (Object) "title"), hash(OFFSET_BASIS, "title"));
+    }
+
+    @Test
+    public void testFinishNeverReturnsNone() {
+        Assert.assertNotEquals(finish(NONE), NONE);
+    }
+
+    @Test
+    public void testDiff() {
+        Assert.assertEquals(diff(10, 20, 10, 20), UNCHANGED);
+        Assert.assertEquals(diff(10, 20, 11, 20), SILENT_UPDATE);
+        Assert.assertEquals(diff(10, 20, 11, 21), ALERTING_UPDATE);
+        Assert.assertEquals(diff(NONE, NONE, 11, 21), ALERTING_UPDATE);
+    }
+}
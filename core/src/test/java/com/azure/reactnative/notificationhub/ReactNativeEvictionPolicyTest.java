@@ -0,0 +1,35 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for ReactNativeEvictionPolicy.
+ */
+public class ReactNativeEvictionPolicyTest {
+
+    @Test
+    public void testWithinLimit() {
+        Assert.assertEquals(ReactNativeEvictionPolicy.selectOldest(new long[]{3, 1, 2}, null, 3), -1);
+        Assert.assertEquals(ReactNativeEvictionPolicy.selectOldest(new long[0], null, 0), -1);
+    }
+
+    @Test
+    public void testSelectsOldest() {
+        Assert.assertEquals(ReactNativeEvictionPolicy.selectOldest(new long[]{3, 1, 2}, null, 2), 1);
+    }
+
+    @Test
+    public void testLargePostTimes() {
+        long now = 1697712345678L;
+        Assert.assertEquals(ReactNativeEvictionPolicy.selectOldest(
+                new long[]{now, now - Integer.MAX_VALUE - 1L}, null, 1), 1);
+    }
+
+    @Test
+    public void testSkipsExempt() {
+        boolean[] exempt = {false, true, false};
+        Assert.assertEquals(ReactNativeEvictionPolicy.selectOldest(new long[]{3, 1, 2}, exempt, 2), -1);
+        Assert.assertEquals(ReactNativeEvictionPolicy.selectOldest(new long[]{3, 1, 2}, exempt, 1), 2);
+    }
+}
@@ -0,0 +1,80 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for ReactNativeJson.
+ */
+public class ReactNativeJsonTest {
+
+    @Test
+    public void testToJsonTypes() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("id", "1234");
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("message", "Hello");
+        payload.put("int", 42);
+        payload.put("long", 7L);
+        payload.put("double", 1.5);
+        payload.put("bool", true);
+        payload.put("null", null);
+        payload.put("nan", Double.NaN);
+        payload.put("array", new int[]{1});
+        payload.put("nested", nested);
+
+        Assert.assertEquals(ReactNativeJson.toJson(payload, ReactNativeJson.MAP_ADAPTER),
+                "{\"message\":\"Hello\",\"int\":42,\"long\":7,\"double\":1.5,\"bool\":true,"
+                        + "\"null\":null,\"nan\":null,\"array\":null,\"nested\":{\"id\":\"1234\"}}");
+    }
+
+    @Test
+    public void testToJsonLong() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("google.sent_time", 1697712345678L);
+        payload.put("min", Long.MIN_VALUE);
+
+        Assert.assertEquals(ReactNativeJson.toJson(payload, ReactNativeJson.MAP_ADAPTER),
+                "{\"google.sent_time\":1697712345678,\"min\":-9223372036854775808}");
+    }
+
+    @Test
+    public void testToJsonEscapes() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("a\"b", "line\n\"quoted\" \\ \u0001 \u2028");
+
+        Assert.assertEquals(ReactNativeJson.toJson(payload, ReactNativeJson.MAP_ADAPTER),
+                "{\"a\\\"b\":\"line\\n\\\"quoted\\\" \\\\ \\u0001 \\u2028\"}");
+    }
+
+    @Test
+    public void testToJsonWithMember() {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("message", "Hello");
+        Map<String, Object> timings = new LinkedHashMap<>();
+        timings.put("parsed", 0.5);
+
+        Assert.assertEquals(ReactNativeJson.toJson(payload, ReactNativeJson.MAP_ADAPTER, "timings", timings),
+                "{\"message\":\"Hello\",\"timings\":{\"parsed\":0.5}}");
+    }
+
+    @Test
+    public void testToJsonWithMemberEmptyPayload() {
+        Map<String, Object> timings = new LinkedHashMap<>();
+        timings.put("parsed", 0.5);
+
+        Assert.assertEquals(ReactNativeJson.toJson(null, ReactNativeJson.MAP_ADAPTER, "timings", timings),
+                "{\"timings\":{\"parsed\":0.5}}");
+        Assert.assertEquals(ReactNativeJson.toJson(new LinkedHashMap<String, Object>(), ReactNativeJson.MAP_ADAPTER,
+                "timings", timings), "{\"timings\":{\"parsed\":0.5}}");
+    }
+
+    @Test
+    public void testToJsonNull() {
+        Assert.assertEquals(ReactNativeJson.toJson(null, ReactNativeJson.MAP_ADAPTER), "{}");
+    }
+}
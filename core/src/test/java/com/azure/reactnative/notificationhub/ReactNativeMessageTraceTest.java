@@ -0,0 +1,54 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Unit tests for ReactNativeMessageTrace.
+ */
+public class ReactNativeMessageTraceTest {
+
+    @Test
+    public void testStamp() {
+        ReactNativeMessageTrace trace = ReactNativeMessageTrace.start(System.nanoTime());
+
+        Assert.assertFalse(trace.has(ReactNativeMessageTrace.POSTED));
+        Assert.assertEquals(trace.getElapsedNanos(ReactNativeMessageTrace.POSTED), -1);
+        Assert.assertTrue(trace.stamp(ReactNativeMessageTrace.POSTED) >= 0);
+        Assert.assertEquals(trace.stamp(ReactNativeMessageTrace.POSTED), -1);
+        Assert.assertTrue(trace.has(ReactNativeMessageTrace.POSTED));
+    }
+
+    @Test
+    public void testTimingsMillis() {
+        ReactNativeMessageTrace trace = ReactNativeMessageTrace.fromArray(new long[]{
+                1_000_000L, 3_000_000L, 0, 0, 4_500_000L, 0});
+
+        Map<String, Double> timings = trace.getTimingsMillis();
+        Assert.assertEquals(timings.size(), 2);
+        Assert.assertEquals(timings.get(MESSAGE_MILESTONE_PARSED), 2, 0);
+        Assert.assertEquals(timings.get(MESSAGE_MILESTONE_BROADCAST), 3.5, 0);
+    }
+
+    @Test
+    public void testArrayRoundTrip() {
+        ReactNativeMessageTrace trace = ReactNativeMessageTrace.start(System.nanoTime());
+        trace.stamp(ReactNativeMessageTrace.PARSED);
+        trace.stamp(ReactNativeMessageTrace.BROADCAST);
+
+        ReactNativeMessageTrace restored = ReactNativeMessageTrace.fromArray(trace.toArray());
+        Assert.assertArrayEquals(restored.toArray(), trace.toArray());
+        Assert.assertEquals(ReactNativeMessageTrace.getName(ReactNativeMessageTrace.EMITTED), MESSAGE_MILESTONE_EMITTED);
+    }
+
+    @Test
+    public void testFromArrayInvalid() {
+        Assert.assertNull(ReactNativeMessageTrace.fromArray(null));
+        Assert.assertNull(ReactNativeMessageTrace.fromArray(new long[2]));
+        Assert.assertNull(ReactNativeMessageTrace.fromArray(new long[ReactNativeMessageTrace.MILESTONE_COUNT]));
+    }
+}
@@ -0,0 +1,249 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unit tests for ReactNativeMonitoredExecutor.
+ */
+public class ReactNativeMonitoredExecutorTest {
+
+    private ReactNativeMonitoredExecutor mExecutor;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        mExecutor.shutdownNow();
+        mExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRecordsWaitAndRunTimes() throws InterruptedException {
+        mExecutor = new ReactNativeMonitoredExecutor("test", 1, 8, 10000, 4);
+        final CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    sleep(20);
+                    done.countDown();
+                }
+            });
+        }
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        awaitCompleted(3);
+
+        Assert.assertEquals(mExecutor.getRunHistogram().getCount(), 3);
+        Assert.assertEquals(mExecutor.getWaitHistogram().getCount(), 3);
+        Assert.assertTrue(mExecutor.getRunHistogram().getMaxMillis() >= 20);
+
+        // The last task waited for the two before it
+        Assert.assertTrue(mExecutor.getWaitHistogram().getMaxMillis() >= 40);
+        Assert.assertTrue(mExecutor.getMaxQueueSize() >= 1);
+        Assert.assertEquals(mExecutor.getRejectedCount(), 0);
+        Assert.assertEquals(mExecutor.getSlowTaskCount(), 0);
+    }
+
+    @Test
+    public void testRejectedTasksRunOnCaller() throws InterruptedException {
+        mExecutor = new ReactNativeMonitoredExecutor("test", 1, 1, 10000, 4);
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = new Runnable() {
+            @Override
+            public void run() {
+                await(release);
+            }
+        };
+        final AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        // One running, one queued, the third does not fit
+        mExecutor.execute(blocker);
+        mExecutor.execute(blocker);
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                ranOn.set(Thread.currentThread());
+            }
+        });
+
+        Assert.assertEquals(ranOn.get(), Thread.currentThread());
+        Assert.assertEquals(mExecutor.getRejectedCount(), 1);
+        Assert.assertEquals(mExecutor.getMaxQueueSize(), 1);
+        release.countDown();
+    }
+
+    @Test
+    public void testRejectedTasksDroppedWhenCallerMayNotRun() throws InterruptedException {
+        mExecutor = new ReactNativeMonitoredExecutor("test", 1, 1, 10000, 4);
+        mExecutor.setCallerPolicy(new ReactNativeMonitoredExecutor.CallerPolicy() {
+            @Override
+            public boolean canRunOnCaller() {
+                return false;
+            }
+        });
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = new Runnable() {
+            @Override
+            public void run() {
+                await(release);
+            }
+        };
+        final AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        mExecutor.execute(blocker);
+        mExecutor.execute(blocker);
+        try {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    ranOn.set(Thread.currentThread());
+                }
+            });
+            Assert.fail("Dropped task was not reported");
+        } catch (RejectedExecutionException e) {
+            // Expected, the caller learns that its task will never run
+        }
+
+        Assert.assertNull(ranOn.get());
+        Assert.assertEquals(mExecutor.getRejectedCount(), 1);
+        Assert.assertEquals(mExecutor.getDroppedCount(), 1);
+        release.countDown();
+    }
+
+    @Test
+    public void testSamplesSlowTask() throws InterruptedException {
+        mExecutor = new ReactNativeMonitoredExecutor("test", 1, 8, 50, 4);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch reported = new CountDownLatch(1);
+        final AtomicReference<ReactNativeMonitoredExecutor.SlowTask> listened = new AtomicReference<>();
+        mExecutor.setSlowTaskListener(new ReactNativeMonitoredExecutor.SlowTaskListener() {
+            @Override
+            public void onSlowTask(ReactNativeMonitoredExecutor executor,
+                                   ReactNativeMonitoredExecutor.SlowTask task) {
+                listened.set(task);
+                reported.countDown();
+            }
+        });
+
+        mExecutor.execute(new HungTask(release));
+        Assert.assertTrue(reported.await(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        ReactNativeMonitoredExecutor.SlowTask task = listened.get();
+        Assert.assertEquals(task.name, HungTask.class.getName());
+        Assert.assertEquals(task.thread, "ReactNative-test-1");
+        Assert.assertTrue(task.elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertTrue(containsFrame(task.stack, HungTask.class.getName()));
+        Assert.assertEquals(mExecutor.getSlowTaskCount(), 1);
+        Assert.assertEquals(mExecutor.getSlowTasks().get(0), task);
+    }
+
+    @Test
+    public void testFastTasksAreNotSampled() throws InterruptedException {
+        mExecutor = new ReactNativeMonitoredExecutor("test", 2, 64, 200, 4);
+        for (int i = 0; i < 50; i++) {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+        }
+        awaitCompleted(50);
+        sleep(300);
+
+        Assert.assertEquals(mExecutor.getSlowTaskCount(), 0);
+        Assert.assertTrue(mExecutor.getSlowTasks().isEmpty());
+    }
+
+    @Test
+    public void testKeepsMostRecentSlowTasks() throws InterruptedException {
+        mExecutor = new ReactNativeMonitoredExecutor("test", 1, 8, 10, 2);
+        for (int i = 0; i < 3; i++) {
+            final CountDownLatch release = new CountDownLatch(1);
+            mExecutor.execute(new HungTask(release));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (mExecutor.getSlowTaskCount() <= i && System.nanoTime() < deadline) {
+                sleep(5);
+            }
+            release.countDown();
+        }
+
+        List<ReactNativeMonitoredExecutor.SlowTask> tasks = mExecutor.getSlowTasks();
+        Assert.assertEquals(mExecutor.getSlowTaskCount(), 3);
+        Assert.assertEquals(tasks.size(), 2);
+    }
+
+    @Test
+    public void testResetStats() throws InterruptedException {
+        mExecutor = new ReactNativeMonitoredExecutor("test", 1, 8, 10, 4);
+        final CountDownLatch release = new CountDownLatch(1);
+        mExecutor.execute(new HungTask(release));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mExecutor.getSlowTaskCount() == 0 && System.nanoTime() < deadline) {
+            sleep(5);
+        }
+        release.countDown();
+        awaitCompleted(1);
+
+        mExecutor.resetStats();
+
+        Assert.assertEquals(mExecutor.getRunHistogram().getCount(), 0);
+        Assert.assertEquals(mExecutor.getWaitHistogram().getCount(), 0);
+        Assert.assertEquals(mExecutor.getSlowTaskCount(), 0);
+        Assert.assertEquals(mExecutor.getMaxQueueSize(), 0);
+        Assert.assertTrue(mExecutor.getSlowTasks().isEmpty());
+    }
+
+    private void awaitCompleted(long tasks) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (mExecutor.getRunHistogram().getCount() < tasks && System.nanoTime() < deadline) {
+            sleep(1);
+        }
+    }
+
+    private static boolean containsFrame(StackTraceElement[] stack, String className) {
+        for (StackTraceElement frame : stack) {
+            if (className.equals(frame.getClassName())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class HungTask implements Runnable {
+        private final CountDownLatch mRelease;
+
+        HungTask(CountDownLatch release) {
+            mRelease = release;
+        }
+
+        @Override
+        public void run() {
+            await(mRelease);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for ReactNativeNotificationPriority.
+ */
+public class ReactNativeNotificationPriorityTest {
+
+    @Test
+    public void testFromString() {
+        Assert.assertEquals(ReactNativeNotificationPriority.fromString("max"), ReactNativeNotificationPriority.PRIORITY_MAX);
+        Assert.assertEquals(ReactNativeNotificationPriority.fromString("High"), ReactNativeNotificationPriority.PRIORITY_HIGH);
+        Assert.assertEquals(ReactNativeNotificationPriority.fromString("LOW"), ReactNativeNotificationPriority.PRIORITY_LOW);
+        Assert.assertEquals(ReactNativeNotificationPriority.fromString("min"), ReactNativeNotificationPriority.PRIORITY_MIN);
+        Assert.assertEquals(ReactNativeNotificationPriority.fromString("normal"), ReactNativeNotificationPriority.PRIORITY_DEFAULT);
+        Assert.assertEquals(ReactNativeNotificationPriority.fromString("urgent"), ReactNativeNotificationPriority.PRIORITY_DEFAULT);
+        Assert.assertEquals(ReactNativeNotificationPriority.fromString(null), ReactNativeNotificationPriority.PRIORITY_DEFAULT);
+    }
+}
@@ -0,0 +1,55 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for ReactNativePayloadValues.
+ */
+public class ReactNativePayloadValuesTest {
+
+    @Test
+    public void testParseBoolean() {
+        Assert.assertFalse(ReactNativePayloadValues.parseBoolean(false, true));
+        Assert.assertFalse(ReactNativePayloadValues.parseBoolean("false", true));
+        Assert.assertTrue(ReactNativePayloadValues.parseBoolean("TRUE", false));
+        Assert.assertTrue(ReactNativePayloadValues.parseBoolean(null, true));
+        Assert.assertTrue(ReactNativePayloadValues.parseBoolean(1, true));
+    }
+
+    @Test
+    public void testParseFlag() {
+        Assert.assertTrue(ReactNativePayloadValues.parseFlag("1"));
+        Assert.assertTrue(ReactNativePayloadValues.parseFlag("True"));
+        Assert.assertTrue(ReactNativePayloadValues.parseFlag(1));
+        Assert.assertTrue(ReactNativePayloadValues.parseFlag(true));
+        Assert.assertFalse(ReactNativePayloadValues.parseFlag("0"));
+        Assert.assertFalse(ReactNativePayloadValues.parseFlag(""));
+        Assert.assertFalse(ReactNativePayloadValues.parseFlag(0));
+        Assert.assertFalse(ReactNativePayloadValues.parseFlag(null));
+    }
+
+    @Test
+    public void testParseInteger() {
+        Assert.assertEquals(ReactNativePayloadValues.parseInteger(3), Integer.valueOf(3));
+        Assert.assertEquals(ReactNativePayloadValues.parseInteger("3"), Integer.valueOf(3));
+        Assert.assertNull(ReactNativePayloadValues.parseInteger(null));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testParseIntegerMalformed() {
+        ReactNativePayloadValues.parseInteger("three");
+    }
+
+    @Test
+    public void testParseLong() {
+        Assert.assertEquals(ReactNativePayloadValues.parseLong(250L, 0), 250);
+        Assert.assertEquals(ReactNativePayloadValues.parseLong("250.9", 0), 250);
+        Assert.assertEquals(ReactNativePayloadValues.parseLong(null, 300), 300);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testParseLongMalformed() {
+        ReactNativePayloadValues.parseLong("long", 0);
+    }
+}
@@ -0,0 +1,49 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for ReactNativeRetryPolicy.
+ */
+public class ReactNativeRetryPolicyTest {
+
+    @Test
+    public void testIsRetryable() {
+        Assert.assertTrue(ReactNativeRetryPolicy.isRetryable(ReactNativeRetryPolicy.STATUS_NO_RESPONSE));
+        Assert.assertTrue(ReactNativeRetryPolicy.isRetryable(408));
+        Assert.assertTrue(ReactNativeRetryPolicy.isRetryable(429));
+        Assert.assertTrue(ReactNativeRetryPolicy.isRetryable(503));
+        Assert.assertFalse(ReactNativeRetryPolicy.isRetryable(400));
+        Assert.assertFalse(ReactNativeRetryPolicy.isRetryable(401));
+        Assert.assertFalse(ReactNativeRetryPolicy.isRetryable(404));
+        Assert.assertFalse(ReactNativeRetryPolicy.isRetryable(-1));
+    }
+
+    @Test
+    public void testShouldRetry() {
+        ReactNativeRetryPolicy policy = new ReactNativeRetryPolicy(3, 100, 1000);
+
+        Assert.assertTrue(policy.shouldRetry(1, 429));
+        Assert.assertTrue(policy.shouldRetry(2, 500));
+        Assert.assertFalse(policy.shouldRetry(3, 500));
+        Assert.assertFalse(policy.shouldRetry(1, 401));
+    }
+
+    @Test
+    public void testDelayBacksOffWithinJitter() {
+        ReactNativeRetryPolicy policy = new ReactNativeRetryPolicy(10, 100, 1000);
+
+        Assert.assertEquals(policy.getDelayMillis(1, 0), 50);
+        Assert.assertEquals(policy.getDelayMillis(1, 0.999), 99);
+        Assert.assertEquals(policy.getDelayMillis(2, 0), 100);
+        Assert.assertEquals(policy.getDelayMillis(3, 0), 200);
+        Assert.assertEquals(policy.getDelayMillis(8, 0), 500);
+        Assert.assertEquals(policy.getDelayMillis(Integer.MAX_VALUE, 0.999), 999);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPolicy() {
+        new ReactNativeRetryPolicy(0, 100, 1000);
+    }
+}
@@ -0,0 +1,78 @@
+package com.azure.reactnative.notificationhub;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for ReactNativeTrayIndex.
+ */
+public class ReactNativeTrayIndexTest {
+
+    @Test
+    public void testPutOrdersByPost() {
+        ReactNativeTrayIndex index = new ReactNativeTrayIndex();
+        index.put(entry(1, null, "group", "m1"));
+        index.put(entry(2, null, "group", "m2"));
+        ReactNativeTrayIndex.Entry replaced = index.put(entry(1, null, "group", "m1"));
+
+        Assert.assertNotNull(replaced);
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertEquals(index.getOldest().id, 2);
+        Assert.assertEquals(index.getEntries().get(1).id, 1);
+    }
+
+    @Test
+    public void testTagIsPartOfKey() {
+        ReactNativeTrayIndex index = new ReactNativeTrayIndex();
+        index.put(entry(1, null, null, null));
+        index.put(entry(1, "tag", null, null));
+
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertNotNull(index.remove("tag", 1));
+        Assert.assertNull(index.get("tag", 1));
+        Assert.assertNotNull(index.get(null, 1));
+    }
+
+    @Test
+    public void testRemoveByGroupAndTag() {
+        ReactNativeTrayIndex index = new ReactNativeTrayIndex();
+        index.put(entry(1, "tag", "group", null));
+        index.put(entry(2, null, "group", null));
+        index.put(entry(3, "tag", null, null));
+
+        List<ReactNativeTrayIndex.Entry> removed = index.removeByGroup("group");
+        Assert.assertEquals(removed.size(), 2);
+
+        removed = index.removeByTag("tag");
+        Assert.assertEquals(removed.size(), 1);
+        Assert.assertEquals(removed.get(0).id, 3);
+        Assert.assertEquals(index.size(), 0);
+        Assert.assertTrue(index.removeByGroup("group").isEmpty());
+    }
+
+    @Test
+    public void testRemoveByMessageId() {
+        ReactNativeTrayIndex index = new ReactNativeTrayIndex();
+        index.put(entry(1, null, null, "m1"));
+
+        Assert.assertEquals(index.removeByMessageId("m1").id, 1);
+        Assert.assertNull(index.removeByMessageId("m1"));
+        Assert.assertNull(index.getOldest());
+    }
+
+    @Test
+    public void testMessageIdFollowsLatestEntry() {
+        ReactNativeTrayIndex index = new ReactNativeTrayIndex();
+        index.put(entry(1, null, null, "m1"));
+        index.put(entry(2, null, null, "m1"));
+        index.remove(null, 1);
+
+        Assert.assertEquals(index.removeByMessageId("m1").id, 2);
+    }
+
+    private static ReactNativeTrayIndex.Entry entry(int id, String tag, String group, String messageId) {
+        return new ReactNativeTrayIndex.Entry(id, tag, group, messageId, "Title", "Body", id);
+    }
+}
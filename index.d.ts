@@ -10,6 +10,7 @@ declare namespace AzureNotificationHub {
         channelShowBadge: boolean;
         channelEnableLights: boolean;
         channelEnableVibration: boolean;
+        notificationActivityClass?: string; // Android only: activity opened by notifications
     }
 
     export interface TemplateRegistrationConfig extends RegistrationConfig {
@@ -20,6 +21,116 @@ declare namespace AzureNotificationHub {
     export interface RegistrationResponse {
         uuid: string;
     }
+
+    export interface InboxConfig {
+        enabled?: boolean;
+        maxCount?: number;
+        maxAge?: number;    // milliseconds
+        maxBytes?: number;
+    }
+
+    export interface InboxItem {
+        id: number;
+        messageId: string | null;
+        receivedAt: number;
+        read: boolean;
+        payload: string;    // JSON-encoded notification payload
+    }
+
+    export interface InboxPage {
+        items: InboxItem[];
+        nextCursor: number | null;
+    }
+
+    export interface DeliveredNotification {
+        id: string | null;      // google.message_id of the originating push
+        tag: string | null;
+        group: string | null;
+        title: string | null;
+        body: string | null;
+        postTime: number;
+    }
+
+    export interface EventFilter {
+        type: 'keyPresent' | 'keyEquals' | 'group' | 'tag';
+        key?: string;
+        value?: string;
+    }
+
+    export interface EventFilterStats {
+        activeFilters: number;
+        passed: number;
+        filtered: number;
+    }
+
+    export interface LatencyStats {
+        count: number;
+        meanMs: number;
+        maxMs: number;
+        p50Ms: number;
+        p90Ms: number;
+        p99Ms: number;
+    }
+
+    export interface Metrics {
+        counters: {
+            messagesReceived: number;
+            duplicatesDropped: number;
+            renders: number;
+            renderFailures: number;
+            imageFetches: number;
+            imageFetchFailures: number;
+            imageFetchBytes: number;
+            bridgeEmits: number;
+            eventsDropped: number;
+            registrationAttempts: number;
+            registrationSuccesses: number;
+            registrationFailures: number;
+            registrationRetries: number;
+            registrationsCoalesced: number;
+            registrationsSkipped: number;
+            silentMessages: number;
+        };
+        // moduleCreate and moduleInit measure the module's startup cost, prefsWarmup the
+        // preferences load it moves to a worker thread
+        timings: {
+            [operation in 'imageFetch' | 'registration' | 'moduleCreate' | 'moduleInit' | 'prefsWarmup']?: LatencyStats
+        };
+        pools: { [pool in 'worker' | 'registration']?: PoolStats };
+    }
+
+    export interface SlowTask {
+        task: string;
+        thread: string;
+        elapsedMs: number;
+        stack: string[];
+    }
+
+    export interface PoolStats {
+        queueSize: number;
+        maxQueueSize: number;
+        activeCount: number;
+        completed: number;
+        // Tasks that found the queue full and ran on the submitting thread
+        rejected: number;
+        // Rejected tasks submitted from the main thread, dropped instead of blocking it
+        dropped: number;
+        slowTaskCount: number;
+        wait: LatencyStats;
+        run: LatencyStats;
+        // Most recent first
+        slowTasks: SlowTask[];
+    }
+
+    export type ActionDispatchPath = 'native' | 'js' | 'headless' | 'legacy';
+
+    export type RenderStage = 'parse' | 'resolve' | 'fetchMedia' | 'build' | 'post' | 'summary' | 'mediaUpdate';
+
+    // Milestones of a remote message, measured from its receipt
+    export type MessageMilestone = 'parsed' | 'rendered' | 'posted' | 'broadcast' | 'emitted';
+
+    // Attached to sampled events under 'timings', milliseconds since receipt
+    export type MessageTimings = { [milestone in MessageMilestone]?: number };
 }
 
 declare class AzureNotificationHub {
@@ -30,6 +141,58 @@ declare class AzureNotificationHub {
     static getUUID(autoGen: boolean): Promise<string>;
     static getInitialNotification<T>(): Promise<T>;
     static isNotificationEnabledOnOSLevel(): Promise<boolean>;
+    static setRawJsonPayloadEnabled(enabled: boolean): void; // Android only
+    static setProgressiveRenderingEnabled(enabled: boolean): void; // Android only
+
+    // Native-side event filters (Android only)
+    static addEventFilter(filter: AzureNotificationHub.EventFilter): Promise<number>;
+    static removeEventFilter(filterId: number): void;
+    static clearEventFilters(): void;
+    static getEventFilterStats(): Promise<AzureNotificationHub.EventFilterStats>;
+
+    // Notification inbox (Android only)
+    static configureInbox(config: AzureNotificationHub.InboxConfig): void;
+    static getInbox(cursor: number | null, limit: number | null): Promise<AzureNotificationHub.InboxPage>;
+    static markRead(ids: number[]): Promise<void>;
+
+    // Notification tray (Android only)
+    static getDeliveredNotifications(): Promise<AzureNotificationHub.DeliveredNotification[]>;
+    static cancelById(id: string): void;
+    static cancelByTag(tag: string): void;
+    static cancelByGroup(group: string): void;
+    static cancelAll(): void;
+
+    // Render pipeline metrics (Android only)
+    static getRenderStats(): Promise<{ [stage in AzureNotificationHub.RenderStage]?: AzureNotificationHub.LatencyStats }>;
+    static resetRenderStats(): void;
+    static getActionStats(): Promise<{ [path in AzureNotificationHub.ActionDispatchPath]?: AzureNotificationHub.LatencyStats }>;
+    static resetActionStats(): void;
+    static getPerformanceStats(): Promise<{ [milestone in AzureNotificationHub.MessageMilestone]?: AzureNotificationHub.LatencyStats }>;
+    static resetPerformanceStats(): void;
+    static setEventTimingsSampleRate(sampleRate: number): void; // 0 (default) to 1
+    static getMetrics(): Promise<AzureNotificationHub.Metrics>;
+    static resetMetrics(): void;
+
+    // System trace sections (Android only), on by default in debuggable builds
+    static setTracingEnabled(enabled: boolean): void;
+    static isTracingEnabled(): Promise<boolean>;
+
+    // Notification actions (Android only). Background actions are delivered to the
+    // 'AzureNotificationHubAction' headless task when enabled.
+    static setActionHeadlessTaskEnabled(enabled: boolean): void;
+
+    // Silent data messages (Android only), off until a key is set, e.g. 'content-available'.
+    // Messages with a truthy value under the key are never rendered. They are delivered as
+    // notification events, which only reach a foreground app, or to the
+    // 'AzureNotificationHubSilentMessage' headless task in the background when enabled.
+    static setSilentMessageKey(key: string | null): void;
+    static setSilentHeadlessTaskEnabled(enabled: boolean): void;
+
+    // Synchronous accessors (Android only)
+    static getUUIDSync(): string | null;
+    static getRegistrationIdSync(): string | null;
+    static getInitialNotificationSync<T>(): T | null;
+    static isNotificationEnabledOnOSLevelSync(): boolean;
 }
 
 export = AzureNotificationHub;
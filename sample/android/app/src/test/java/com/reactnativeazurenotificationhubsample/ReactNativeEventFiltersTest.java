@@ -0,0 +1,142 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.content.Intent;
+import android.os.Bundle;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.azure.reactnative.notificationhub.ReactNativeEventFilters;
+
+/**
+ * Unit tests for ReactNativeEventFilters.
+ */
+@RunWith(PowerMockRunner.class)
+public class ReactNativeEventFiltersTest {
+
+    @Mock
+    Intent mIntent;
+
+    @Mock
+    Bundle mBundle;
+
+    @Before
+    public void setUp() {
+        ReactNativeEventFilters.clear();
+
+        when(mIntent.getStringExtra(KEY_INTENT_EVENT_TYPE)).thenReturn(INTENT_EVENT_TYPE_BUNDLE);
+        when(mIntent.getExtras()).thenReturn(mBundle);
+    }
+
+    @Test
+    public void testAcceptWithoutFilters() {
+        Assert.assertTrue(ReactNativeEventFilters.accept(mIntent));
+    }
+
+    @Test
+    public void testAcceptStringEvent() {
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_GROUP, null, "group");
+        when(mIntent.getStringExtra(KEY_INTENT_EVENT_TYPE)).thenReturn(INTENT_EVENT_TYPE_STRING);
+
+        Assert.assertTrue(ReactNativeEventFilters.accept(mIntent));
+    }
+
+    @Test
+    public void testAddInvalidFilter() {
+        Assert.assertEquals(ReactNativeEventFilters.add(null, "key", "value"), -1);
+        Assert.assertEquals(ReactNativeEventFilters.add("unknown", "key", "value"), -1);
+        Assert.assertEquals(ReactNativeEventFilters.add(EVENT_FILTER_TYPE_KEY_PRESENT, null, null), -1);
+        Assert.assertEquals(ReactNativeEventFilters.add(EVENT_FILTER_TYPE_KEY_EQUALS, "key", null), -1);
+        Assert.assertEquals(ReactNativeEventFilters.add(EVENT_FILTER_TYPE_TAG, null, null), -1);
+        Assert.assertEquals(ReactNativeEventFilters.getActiveFilterCount(), 0);
+    }
+
+    @Test
+    public void testKeyPresentFilter() {
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_KEY_PRESENT, "orderId", null);
+
+        when(mBundle.containsKey("orderId")).thenReturn(false);
+        Assert.assertFalse(ReactNativeEventFilters.accept(mIntent));
+
+        when(mBundle.containsKey("orderId")).thenReturn(true);
+        Assert.assertTrue(ReactNativeEventFilters.accept(mIntent));
+    }
+
+    @Test
+    public void testKeyEqualsFilter() {
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_KEY_EQUALS, "type", "chat");
+
+        when(mBundle.get("type")).thenReturn("order");
+        Assert.assertFalse(ReactNativeEventFilters.accept(mIntent));
+
+        when(mBundle.get("type")).thenReturn("chat");
+        Assert.assertTrue(ReactNativeEventFilters.accept(mIntent));
+    }
+
+    @Test
+    public void testGroupAndTagFilters() {
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_GROUP, null, "group");
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_TAG, null, "tag");
+
+        Assert.assertFalse(ReactNativeEventFilters.accept(mIntent));
+
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_TAG)).thenReturn("tag");
+        Assert.assertTrue(ReactNativeEventFilters.accept(mIntent));
+    }
+
+    @Test
+    public void testExtrasFetchedOnce() {
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_GROUP, null, "group");
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_TAG, null, "tag");
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_KEY_EQUALS, "type", "chat");
+
+        Assert.assertFalse(ReactNativeEventFilters.accept(mIntent));
+
+        verify(mIntent, times(1)).getExtras();
+    }
+
+    @Test
+    public void testNoExtras() {
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_KEY_PRESENT, "orderId", null);
+        when(mIntent.getExtras()).thenReturn(null);
+
+        Assert.assertFalse(ReactNativeEventFilters.accept(mIntent));
+    }
+
+    @Test
+    public void testRemoveFilter() {
+        int filterId = ReactNativeEventFilters.add(EVENT_FILTER_TYPE_GROUP, null, "group");
+        Assert.assertFalse(ReactNativeEventFilters.accept(mIntent));
+
+        ReactNativeEventFilters.remove(filterId);
+
+        Assert.assertEquals(ReactNativeEventFilters.getActiveFilterCount(), 0);
+        Assert.assertTrue(ReactNativeEventFilters.accept(mIntent));
+    }
+
+    @Test
+    public void testCounts() {
+        long passed = ReactNativeEventFilters.getPassedCount();
+        long filtered = ReactNativeEventFilters.getFilteredCount();
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_KEY_EQUALS, "type", "chat");
+
+        when(mBundle.get("type")).thenReturn("order");
+        ReactNativeEventFilters.accept(mIntent);
+        ReactNativeEventFilters.accept(mIntent);
+        when(mBundle.get("type")).thenReturn("chat");
+        ReactNativeEventFilters.accept(mIntent);
+
+        Assert.assertEquals(ReactNativeEventFilters.getPassedCount(), passed + 1);
+        Assert.assertEquals(ReactNativeEventFilters.getFilteredCount(), filtered + 2);
+    }
+}
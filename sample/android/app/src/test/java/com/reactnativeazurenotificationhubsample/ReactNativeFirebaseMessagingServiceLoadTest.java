@@ -0,0 +1,121 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.app.Application;
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.azure.reactnative.notificationhub.ReactNativeFirebaseMessagingService;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Throughput of the notification pipeline for several payload mixes, driven by
+ * ReactNativeLoadHarness. Excluded from the regular unit test run, see the sample app's
+ * build.gradle:
+ *
+ * <pre>
+ * ./gradlew testDebugUnitTest -PloadTest -Pload.messages=5000 -Pload.rate=500 -Pload.mixes=plain,grouped
+ * </pre>
+ *
+ * Results are printed and written to build/reports/load/results.csv.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class ReactNativeFirebaseMessagingServiceLoadTest {
+
+    private static final int MESSAGES = Integer.getInteger("load.messages", 2000);
+    private static final int WARMUP_MESSAGES = Integer.getInteger("load.warmup", 200);
+
+    // Messages per second, 0 injects as fast as possible
+    private static final int RATE = Integer.getInteger("load.rate", 0);
+
+    private static final String MIXES = System.getProperty("load.mixes", "plain,grouped,actions,updates,mixed");
+    private static final String SOURCES = System.getProperty("load.sources", "remoteMessage,intent");
+
+    private static final String REPORT_PATH = "build/reports/load/results.csv";
+
+    private ReactNativeLoadHarness mHarness;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        mHarness = new ReactNativeLoadHarness(
+                context, Robolectric.setupService(ReactNativeFirebaseMessagingService.class));
+    }
+
+    @After
+    public void tearDown() {
+        mHarness.close();
+    }
+
+    @Test
+    public void testThroughput() throws IOException {
+        List<ReactNativeLoadHarness.Result> results = new ArrayList<>();
+        for (String sourceName : SOURCES.split(",")) {
+            ReactNativeLoadHarness.Source source = parseSource(sourceName.trim());
+            for (String mixName : MIXES.split(",")) {
+                ReactNativeLoadHarness.PayloadMix mix =
+                        ReactNativeLoadHarness.PayloadMix.valueOf(mixName.trim().toUpperCase(Locale.ROOT));
+
+                mHarness.run(mix, source, WARMUP_MESSAGES, 0);
+                ReactNativeLoadHarness.Result result = mHarness.run(mix, source, MESSAGES, RATE);
+                results.add(result);
+
+                // Every message is broadcast, and either posted or skipped as a duplicate
+                Assert.assertEquals(result.broadcasts, MESSAGES);
+                Assert.assertEquals(result.renderFailures, 0);
+                Assert.assertEquals(result.renders + result.duplicatesDropped, MESSAGES);
+            }
+        }
+
+        report(results);
+    }
+
+    private static ReactNativeLoadHarness.Source parseSource(String name) {
+        return "intent".equals(name)
+                ? ReactNativeLoadHarness.Source.INTENT
+                : ReactNativeLoadHarness.Source.REMOTE_MESSAGE;
+    }
+
+    private static void report(List<ReactNativeLoadHarness.Result> results) throws IOException {
+        System.out.printf(Locale.ROOT, "%-8s %-15s %8s %6s %10s %9s %9s %10s %8s %10s%n",
+                "mix", "source", "messages", "rate", "msg/s", "maxQueue", "endQueue", "bytes/msg",
+                "renders", "duplicates");
+        for (ReactNativeLoadHarness.Result result : results) {
+            System.out.printf(Locale.ROOT, "%-8s %-15s %8d %6d %10.1f %9d %9d %10.0f %8d %10d%n",
+                    result.mix, result.source, result.messages, result.rate,
+                    result.getMessagesPerSecond(), result.maxQueueSize, result.injectedQueueSize,
+                    result.getBytesPerMessage(), result.renders, result.duplicatesDropped);
+        }
+
+        File file = new File(REPORT_PATH);
+        file.getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+            writer.println("mix,source,messages,rate,messagesPerSecond,maxQueueSize,endQueueSize,"
+                    + "bytesPerMessage,renders,renderFailures,duplicatesDropped,broadcasts");
+            for (ReactNativeLoadHarness.Result result : results) {
+                writer.printf(Locale.ROOT, "%s,%s,%d,%d,%.1f,%d,%d,%.0f,%d,%d,%d,%d%n",
+                        result.mix, result.source, result.messages, result.rate,
+                        result.getMessagesPerSecond(), result.maxQueueSize, result.injectedQueueSize,
+                        result.getBytesPerMessage(), result.renders, result.renderFailures,
+                        result.duplicatesDropped, result.broadcasts);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.reactnativeazurenotificationhubsample;
 
 import android.app.NotificationChannel;
 import android.app.NotificationManager;
+import android.content.ComponentName;
 import android.content.Context;
 import android.content.Intent;
 import android.os.Build;
@@ -11,8 +12,13 @@ import android.util.Log;
 import com.azure.reactnative.notificationhub.ReactNativeNotificationChannelBuilder;
 import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
 import com.azure.reactnative.notificationhub.ReactNativeFirebaseMessagingService;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationInbox;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationSpec;
 import com.azure.reactnative.notificationhub.ReactNativeNotificationsHandler;
 import com.azure.reactnative.notificationhub.ReactNativeRegistrationIntentService;
+import com.azure.reactnative.notificationhub.ReactNativeSilentMessageTaskService;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+import com.facebook.react.HeadlessJsTaskService;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
@@ -20,6 +26,7 @@ import com.google.firebase.messaging.RemoteMessage;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -30,8 +37,10 @@ import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -49,12 +58,17 @@ import static org.powermock.api.support.membermodification.MemberMatcher.methods
         ReactNativeRegistrationIntentService.class,
         ReactNativeNotificationChannelBuilder.Factory.class,
         ReactNativeNotificationHubUtil.IntentFactory.class,
+        ReactNativeNotificationInbox.class,
+        ReactNativeUtil.class,
+        HeadlessJsTaskService.class,
         Build.VERSION.class,
         FirebaseMessagingService.class,
         RemoteMessage.class,
         Log.class
 })
 public class ReactNativeFirebaseMessagingServiceTest {
+    private final static String SILENT_MESSAGE_KEY = "content-available";
+
     @Mock
     ReactApplicationContext mReactApplicationContext;
 
@@ -66,6 +80,8 @@ public class ReactNativeFirebaseMessagingServiceTest {
 
     ReactNativeFirebaseMessagingService mMessagingService;
 
+    RemoteMessage mSilentMessage;
+
     @Before
     public void setUp() {
         // Reset mocks
@@ -224,7 +240,7 @@ public class ReactNativeFirebaseMessagingServiceTest {
         verify(bundle, times(1)).putBoolean(
                 KEY_REMOTE_NOTIFICATION_COLDSTART, false);
         PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class);
-        ReactNativeNotificationsHandler.sendBroadcast(any(), eq(bundle), eq((long)0));
+        ReactNativeNotificationsHandler.sendBroadcast(any(), eq(bundle), eq((long)0), any());
     }
 
     @Test
@@ -249,6 +265,121 @@ public class ReactNativeFirebaseMessagingServiceTest {
         PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class);
         ReactNativeNotificationsHandler.sendNotification(any(), eq(bundle), any());
         PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class);
-        ReactNativeNotificationsHandler.sendBroadcast(any(), eq(bundle), eq((long)0));
+        ReactNativeNotificationsHandler.sendBroadcast(any(), eq(bundle), eq((long)0), any());
+    }
+
+    @Test
+    public void testOnMessageReceivedSilentForeground() {
+        Bundle bundle = prepareSilentMessage();
+        when(mHubUtil.getAppIsForeground()).thenReturn(true);
+
+        mMessagingService.onMessageReceived(mSilentMessage);
+
+        verify(bundle, times(1)).putBoolean(
+                KEY_REMOTE_NOTIFICATION_FOREGROUND, true);
+        PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class);
+        ReactNativeNotificationsHandler.sendBroadcast(any(), eq(bundle), eq((long)0), any());
+        PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class, times(0));
+        ReactNativeNotificationsHandler.sendNotification(any(), any(ReactNativeNotificationSpec.class), any());
+        verify(mHubUtil, times(0)).isInboxEnabled(any());
+    }
+
+    @Test
+    public void testOnMessageReceivedSilentBackground() {
+        Bundle bundle = prepareSilentMessage();
+        when(mHubUtil.getAppIsForeground()).thenReturn(false);
+
+        mMessagingService.onMessageReceived(mSilentMessage);
+
+        PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class);
+        ReactNativeNotificationsHandler.sendBroadcast(any(), eq(bundle), eq((long)0), any());
+        PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class, times(0));
+        ReactNativeNotificationsHandler.sendNotification(any(), any(ReactNativeNotificationSpec.class), any());
+        verify(bundle, times(0)).putBoolean(KEY_REMOTE_NOTIFICATION_FOREGROUND, true);
+    }
+
+    @Test
+    public void testOnMessageReceivedSilentHeadlessTask() {
+        Bundle bundle = prepareSilentMessage();
+        Intent service = PowerMockito.mock(Intent.class);
+        when(mHubUtil.getAppIsForeground()).thenReturn(false);
+        when(mHubUtil.isSilentHeadlessTaskEnabled(any())).thenReturn(true);
+        when(ReactNativeNotificationHubUtil.IntentFactory.createIntent(
+                any(), eq(ReactNativeSilentMessageTaskService.class))).thenReturn(service);
+        PowerMockito.mockStatic(HeadlessJsTaskService.class);
+        ReactNativeFirebaseMessagingService messagingService = PowerMockito.spy(mMessagingService);
+        doReturn(PowerMockito.mock(ComponentName.class)).when(messagingService).startService(service);
+
+        messagingService.onMessageReceived(mSilentMessage);
+
+        verify(service, times(1)).putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, bundle);
+        PowerMockito.verifyStatic(HeadlessJsTaskService.class);
+        HeadlessJsTaskService.acquireWakeLockNow(messagingService);
+        PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class, times(0));
+        ReactNativeNotificationsHandler.sendBroadcast(any(), any(Bundle.class), anyLong(), any());
+    }
+
+    @Test
+    public void testOnMessageReceivedNotSilent() {
+        Bundle bundle = prepareSilentMessage();
+        when(bundle.get(SILENT_MESSAGE_KEY)).thenReturn("0");
+        when(mHubUtil.getAppIsForeground()).thenReturn(true);
+
+        mMessagingService.onMessageReceived(mSilentMessage);
+
+        // Parsed for rendering instead
+        verify(bundle, times(1)).getString(KEY_REMOTE_NOTIFICATION_MESSAGE);
+        verify(mHubUtil, times(0)).isSilentHeadlessTaskEnabled(any());
+    }
+
+    @Test
+    public void testOnMessageReceivedSilentKeyUnset() {
+        Bundle bundle = prepareSilentMessage();
+        when(mHubUtil.getSilentMessageKey(any())).thenReturn(null);
+        when(mHubUtil.getAppIsForeground()).thenReturn(true);
+
+        mMessagingService.onMessageReceived(mSilentMessage);
+
+        // Rendered as before the key existed
+        verify(bundle, times(1)).getString(KEY_REMOTE_NOTIFICATION_MESSAGE);
+        verify(bundle, times(0)).get(SILENT_MESSAGE_KEY);
+    }
+
+    private Bundle prepareSilentMessage() {
+        mSilentMessage = PowerMockito.mock(RemoteMessage.class);
+        Intent intent = PowerMockito.mock(Intent.class);
+        Bundle bundle = PowerMockito.mock(Bundle.class);
+        when(mSilentMessage.toIntent()).thenReturn(intent);
+        when(intent.getExtras()).thenReturn(bundle);
+        when(mHubUtil.getSilentMessageKey(any())).thenReturn(SILENT_MESSAGE_KEY);
+        when(bundle.get(SILENT_MESSAGE_KEY)).thenReturn("1");
+        return bundle;
+    }
+
+    @Test
+    public void testOnMessageReceivedDataOnlyInbox() throws Exception {
+        RemoteMessage remoteMessage = PowerMockito.mock(RemoteMessage.class);
+        Intent intent = PowerMockito.mock(Intent.class);
+        Bundle bundle = PowerMockito.mock(Bundle.class);
+        when(remoteMessage.toIntent()).thenReturn(intent);
+        when(intent.getExtras()).thenReturn(bundle);
+        when(bundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn("Message ID");
+        when(mHubUtil.isInboxEnabled(any())).thenReturn(true);
+        when(mHubUtil.getInboxMaxCount(any())).thenReturn(10);
+        PowerMockito.mockStatic(ReactNativeUtil.class);
+        when(ReactNativeUtil.convertBundleToJsonString(bundle)).thenReturn("{}");
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        PowerMockito.doReturn(true).when(ReactNativeUtil.class, "runInWorkerThread", task.capture());
+        ReactNativeNotificationInbox inbox = PowerMockito.mock(ReactNativeNotificationInbox.class);
+        PowerMockito.mockStatic(ReactNativeNotificationInbox.class);
+        when(ReactNativeNotificationInbox.getInstance(any())).thenReturn(inbox);
+
+        mMessagingService.onMessageReceived(remoteMessage);
+        task.getValue().run();
+
+        // No message to render, but the payload is kept
+        verify(inbox, times(1)).append(eq("Message ID"), anyLong(), eq("{}"), eq(10), eq(0L), eq(0L));
+        PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class, times(0));
+        ReactNativeNotificationsHandler.sendNotification(any(), any(ReactNativeNotificationSpec.class), any());
     }
 }
@@ -0,0 +1,131 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.app.NotificationManager;
+import android.content.Context;
+import android.util.Log;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.azure.reactnative.notificationhub.ReactNativeGroupSummaries;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for ReactNativeGroupSummaries.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        ReactNativeNotificationHubUtil.class,
+        ReactNativeUtil.class,
+        Log.class
+})
+public class ReactNativeGroupSummariesTest {
+    private final static String GROUP = "Notification Group";
+    private final static String CHANNEL_ID = "Channel ID";
+    private final static String NOTIFICATION_TITLE = "Notification Title";
+
+    @Mock
+    Context mContext;
+
+    @Mock
+    NotificationManager mNotificationManager;
+
+    @Mock
+    ReactNativeNotificationHubUtil mNotificationHubUtil;
+
+    private ArgumentCaptor<Runnable> mScheduledTask;
+
+    @Before
+    public void setUp() throws Exception {
+        reset(mContext);
+        reset(mNotificationManager);
+        ReactNativeGroupSummaries.clear();
+
+        PowerMockito.mockStatic(ReactNativeNotificationHubUtil.class);
+        when(ReactNativeNotificationHubUtil.getInstance()).thenReturn(mNotificationHubUtil);
+        PowerMockito.mockStatic(ReactNativeUtil.class);
+        PowerMockito.mockStatic(Log.class);
+        when(mContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(mNotificationManager);
+        mScheduledTask = ArgumentCaptor.forClass(Runnable.class);
+        PowerMockito.doNothing().when(
+                ReactNativeUtil.class, "runInWorkerThreadDelayed", mScheduledTask.capture(), anyLong());
+    }
+
+    @Test
+    public void testAddBoundsLines() {
+        for (int i = 0; i < GROUP_SUMMARY_MAX_LINES + 2; i++) {
+            add(":" + i, "Message " + i);
+        }
+
+        Assert.assertEquals(ReactNativeGroupSummaries.getCount(GROUP), GROUP_SUMMARY_MAX_LINES + 2);
+        Assert.assertEquals(ReactNativeGroupSummaries.getLines(GROUP).size(), GROUP_SUMMARY_MAX_LINES);
+        Assert.assertEquals(ReactNativeGroupSummaries.getLines(GROUP).get(0),
+                "Message " + (GROUP_SUMMARY_MAX_LINES + 1));
+    }
+
+    @Test
+    public void testAddReplacesChild() {
+        add(":1", "Message 1");
+        add(":2", "Message 2");
+        add(":1", "Message 1 updated");
+
+        Assert.assertEquals(ReactNativeGroupSummaries.getCount(GROUP), 2);
+        Assert.assertEquals(ReactNativeGroupSummaries.getLines(GROUP),
+                Arrays.asList("Message 1 updated", "Message 2"));
+    }
+
+    @Test
+    public void testUpdatesDebounced() {
+        add(":1", "Message 1");
+        add(":2", "Message 2");
+        add(":3", "Message 3");
+
+        PowerMockito.verifyStatic(ReactNativeUtil.class, times(1));
+        ReactNativeUtil.runInWorkerThreadDelayed(mScheduledTask.getValue(), GROUP_SUMMARY_DEBOUNCE_MS);
+    }
+
+    @Test
+    public void testRemove() {
+        add(":1", "Message 1");
+        add(":2", "Message 2");
+        ReactNativeGroupSummaries.remove(GROUP, ":1");
+        ReactNativeGroupSummaries.remove(GROUP, ":unknown");
+
+        Assert.assertEquals(ReactNativeGroupSummaries.getCount(GROUP), 1);
+        Assert.assertEquals(ReactNativeGroupSummaries.getLines(GROUP), Arrays.asList("Message 2"));
+    }
+
+    @Test
+    public void testEmptyGroupCancelsSummary() {
+        add(":1", "Message 1");
+        ReactNativeGroupSummaries.remove(GROUP, ":1");
+        mScheduledTask.getValue().run();
+
+        verify(mNotificationManager, times(1)).cancel(anyInt());
+        Assert.assertEquals(ReactNativeGroupSummaries.getCount(GROUP), 0);
+    }
+
+    private void add(String childKey, String message) {
+        ReactNativeGroupSummaries.add(
+                mContext, GROUP, childKey, NOTIFICATION_TITLE, message, CHANNEL_ID, 1, 1);
+    }
+}
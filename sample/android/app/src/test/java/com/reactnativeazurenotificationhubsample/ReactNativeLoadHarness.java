@@ -0,0 +1,274 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+
+import androidx.localbroadcastmanager.content.LocalBroadcastManager;
+
+import com.azure.reactnative.notificationhub.ReactNativeFirebaseMessagingService;
+import com.azure.reactnative.notificationhub.ReactNativeGroupSummaries;
+import com.azure.reactnative.notificationhub.ReactNativeMetrics;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationTray;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationsHandler;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+import com.google.firebase.messaging.RemoteMessage;
+
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Feeds synthetic remote messages into ReactNativeFirebaseMessagingService at a configurable rate
+ * and measures the real rendering pipeline against Robolectric's shadow NotificationManager and
+ * LocalBroadcastManager: throughput, worker queue growth and bytes allocated per message.
+ *
+ * Must be driven from the Robolectric main thread, local broadcasts are delivered whenever the
+ * harness idles the main looper.
+ */
+public class ReactNativeLoadHarness {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    // How often the pool has to be seen idle in a row before it counts as drained
+    private static final int DRAIN_IDLE_CHECKS = 3;
+
+    public enum Source {
+        // onMessageReceived with a RemoteMessage, as delivered by Firebase
+        REMOTE_MESSAGE,
+        // handleIntent with the raw message extras
+        INTENT
+    }
+
+    public enum PayloadMix {
+        // Unique messages with a title and body
+        PLAIN,
+        // Unique messages spread over a few groups and tags, exercising the group summaries
+        GROUPED,
+        // Unique messages with action buttons
+        ACTIONS,
+        // The same few messages over and over, exercising the content diff
+        UPDATES,
+        // All of the above in turn
+        MIXED;
+
+        Map<String, String> create(int index) {
+            PayloadMix mix = this == MIXED ? values()[index % MIXED.ordinal()] : this;
+            Map<String, String> data = new LinkedHashMap<>();
+            data.put(KEY_REMOTE_NOTIFICATION_TITLE, "Load test");
+            switch (mix) {
+                case GROUPED:
+                    data.put(KEY_REMOTE_NOTIFICATION_ID, "grouped-" + index);
+                    data.put(KEY_REMOTE_NOTIFICATION_MESSAGE, "Grouped message " + index);
+                    data.put(KEY_REMOTE_NOTIFICATION_GROUP, "group-" + (index % 5));
+                    data.put(KEY_REMOTE_NOTIFICATION_TAG, "tag-" + (index % 3));
+                    break;
+                case ACTIONS:
+                    data.put(KEY_REMOTE_NOTIFICATION_ID, "actions-" + index);
+                    data.put(KEY_REMOTE_NOTIFICATION_MESSAGE, "Message with actions " + index);
+                    data.put(KEY_REMOTE_NOTIFICATION_ACTIONS, "[\"Reply\",\"Archive\",\"Snooze\"]");
+                    break;
+                case UPDATES:
+                    data.put(KEY_REMOTE_NOTIFICATION_ID, "update-" + (index % 10));
+                    data.put(KEY_REMOTE_NOTIFICATION_MESSAGE, "Unchanged message " + (index % 10));
+                    break;
+                default:
+                    data.put(KEY_REMOTE_NOTIFICATION_ID, "plain-" + index);
+                    data.put(KEY_REMOTE_NOTIFICATION_MESSAGE, "Plain message " + index);
+                    break;
+            }
+
+            return data;
+        }
+    }
+
+    public static final class Result {
+        public final PayloadMix mix;
+        public final Source source;
+        public final int messages;
+        public final int rate;
+        public final long elapsedNanos;
+        public final int maxQueueSize;
+        public final int injectedQueueSize;
+        public final long allocatedBytes;
+        public final long renders;
+        public final long renderFailures;
+        public final long duplicatesDropped;
+        public final int broadcasts;
+
+        Result(PayloadMix mix, Source source, int messages, int rate, long elapsedNanos,
+               int maxQueueSize, int injectedQueueSize, long allocatedBytes,
+               long renders, long renderFailures, long duplicatesDropped, int broadcasts) {
+            this.mix = mix;
+            this.source = source;
+            this.messages = messages;
+            this.rate = rate;
+            this.elapsedNanos = elapsedNanos;
+            this.maxQueueSize = maxQueueSize;
+            this.injectedQueueSize = injectedQueueSize;
+            this.allocatedBytes = allocatedBytes;
+            this.renders = renders;
+            this.renderFailures = renderFailures;
+            this.duplicatesDropped = duplicatesDropped;
+            this.broadcasts = broadcasts;
+        }
+
+        public double getMessagesPerSecond() {
+            return messages * 1e9 / elapsedNanos;
+        }
+
+        public double getBytesPerMessage() {
+            return allocatedBytes < 0 ? -1 : (double) allocatedBytes / messages;
+        }
+    }
+
+    private final Context mContext;
+    private final ReactNativeFirebaseMessagingService mService;
+    private final BroadcastReceiver mReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            mBroadcasts++;
+        }
+    };
+
+    // Only touched on the main thread
+    private int mBroadcasts;
+    private int mMaxQueueSize;
+
+    public ReactNativeLoadHarness(Context context, ReactNativeFirebaseMessagingService service) {
+        mContext = context;
+        mService = service;
+        LocalBroadcastManager.getInstance(context).registerReceiver(
+                mReceiver, new IntentFilter(ReactNativeNotificationsHandler.TAG));
+        ReactNativeNotificationHubUtil.getInstance().setAppIsForeground(false);
+    }
+
+    public void close() {
+        LocalBroadcastManager.getInstance(mContext).unregisterReceiver(mReceiver);
+    }
+
+    /**
+     * Injects {@code messages} messages of the mix, at most {@code rate} per second or as fast as
+     * possible if the rate is 0, then waits for the pipeline to drain. Each run starts from an
+     * empty tray.
+     */
+    public Result run(PayloadMix mix, Source source, int messages, int rate) {
+        reset();
+
+        long renders = ReactNativeMetrics.getCounter(METRIC_RENDERS).get();
+        long renderFailures = ReactNativeMetrics.getCounter(METRIC_RENDER_FAILURES).get();
+        long duplicatesDropped = ReactNativeMetrics.getCounter(METRIC_DUPLICATES_DROPPED).get();
+        long interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+
+        long allocated = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            long due = start + i * interval;
+            while (System.nanoTime() < due) {
+                ShadowLooper.idleMainLooper();
+                LockSupport.parkNanos(Math.min(due - System.nanoTime(), 100_000L));
+            }
+
+            inject(source, mix.create(i));
+            ShadowLooper.idleMainLooper();
+            sampleQueue();
+        }
+        int injectedQueueSize = ReactNativeUtil.getWorkerQueueSize();
+
+        awaitDrained();
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = getAllocatedBytes();
+
+        return new Result(mix, source, messages, rate, elapsed,
+                mMaxQueueSize, injectedQueueSize,
+                allocated >= 0 && allocatedAfter >= 0 ? allocatedAfter - allocated : -1,
+                ReactNativeMetrics.getCounter(METRIC_RENDERS).get() - renders,
+                ReactNativeMetrics.getCounter(METRIC_RENDER_FAILURES).get() - renderFailures,
+                ReactNativeMetrics.getCounter(METRIC_DUPLICATES_DROPPED).get() - duplicatesDropped,
+                mBroadcasts);
+    }
+
+    private void inject(Source source, Map<String, String> data) {
+        if (source == Source.INTENT) {
+            Intent intent = new Intent();
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                intent.putExtra(entry.getKey(), entry.getValue());
+            }
+            mService.handleIntent(intent);
+        } else {
+            RemoteMessage.Builder builder = new RemoteMessage.Builder(ReactNativeLoadHarness.class.getSimpleName());
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                builder.addData(entry.getKey(), entry.getValue());
+            }
+            mService.onMessageReceived(builder.build());
+        }
+    }
+
+    private void reset() {
+        awaitDrained();
+
+        // Let pending group summary refreshes land before clearing the tray under them
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(GROUP_SUMMARY_DEBOUNCE_MS * 2));
+        ReactNativeNotificationTray.cancelAll(mContext);
+        ReactNativeGroupSummaries.clear();
+        ShadowLooper.idleMainLooper();
+        mBroadcasts = 0;
+        mMaxQueueSize = 0;
+    }
+
+    private void awaitDrained() {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        int idleChecks = 0;
+        while (idleChecks < DRAIN_IDLE_CHECKS) {
+            ShadowLooper.idleMainLooper();
+            sampleQueue();
+            idleChecks = ReactNativeUtil.isWorkerPoolIdle() ? idleChecks + 1 : 0;
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Worker pool did not drain within "
+                        + TimeUnit.NANOSECONDS.toSeconds(DRAIN_TIMEOUT_NANOS) + "s");
+            }
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        // Broadcasts sent by the last tasks
+        ShadowLooper.idleMainLooper();
+    }
+
+    private void sampleQueue() {
+        mMaxQueueSize = Math.max(mMaxQueueSize, ReactNativeUtil.getWorkerQueueSize());
+    }
+
+    /**
+     * Bytes allocated so far by all live threads, or -1 if the JVM cannot tell. The worker threads
+     * outlive a run, so the difference across a run covers the whole pipeline.
+     */
+    private static long getAllocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return -1;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+
+        return total;
+    }
+}
@@ -0,0 +1,143 @@
+package com.reactnativeazurenotificationhubsample;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+import com.azure.reactnative.notificationhub.ReactNativeHistogram;
+import com.azure.reactnative.notificationhub.ReactNativeMessageTrace;
+import com.azure.reactnative.notificationhub.ReactNativeMetrics;
+import com.azure.reactnative.notificationhub.ReactNativeMonitoredExecutor;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for ReactNativeMetrics and ReactNativeHistogram.
+ */
+public class ReactNativeMetricsTest {
+
+    @Before
+    public void setUp() {
+        ReactNativeMetrics.resetStages();
+        ReactNativeMetrics.resetMilestones();
+        ReactNativeMetrics.resetCounters();
+        ReactNativeMetrics.resetOperations();
+    }
+
+    @Test
+    public void testHistogramEmpty() {
+        ReactNativeHistogram histogram = new ReactNativeHistogram();
+
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getMeanMillis(), 0, 0);
+        Assert.assertEquals(histogram.getPercentileMillis(99), 0, 0);
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        ReactNativeHistogram histogram = new ReactNativeHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(800_000L);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(40_000_000L);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 1, 0);
+        Assert.assertEquals(histogram.getPercentileMillis(90), 1, 0);
+        Assert.assertEquals(histogram.getPercentileMillis(99), 40, 0);
+        Assert.assertEquals(histogram.getMaxMillis(), 40, 0);
+        Assert.assertEquals(histogram.getMeanMillis(), 4.72, 0.001);
+    }
+
+    @Test
+    public void testHistogramUnboundedBucket() {
+        ReactNativeHistogram histogram = new ReactNativeHistogram();
+        histogram.record(30_000_000_000L);
+
+        Assert.assertEquals(histogram.getPercentileMillis(50), 30000, 0);
+    }
+
+    @Test
+    public void testHistogramReset() {
+        ReactNativeHistogram histogram = new ReactNativeHistogram();
+        histogram.record(1_000_000L);
+        histogram.reset();
+
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getMaxMillis(), 0, 0);
+    }
+
+    @Test
+    public void testRecordStage() {
+        long start = System.nanoTime();
+        long next = ReactNativeMetrics.recordStage(RENDER_STAGE_BUILD, start);
+
+        Assert.assertTrue(next >= start);
+        Assert.assertEquals(ReactNativeMetrics.getStageHistogram(RENDER_STAGE_BUILD).getCount(), 1);
+        Assert.assertTrue(ReactNativeMetrics.getStageHistograms().containsKey(RENDER_STAGE_BUILD));
+    }
+
+    @Test
+    public void testRecordMilestone() {
+        ReactNativeMessageTrace trace = ReactNativeMessageTrace.start(System.nanoTime());
+        ReactNativeMetrics.recordMilestone(trace, ReactNativeMessageTrace.PARSED);
+        ReactNativeMetrics.recordMilestone(trace, ReactNativeMessageTrace.PARSED);
+        ReactNativeMetrics.recordMilestone(null, ReactNativeMessageTrace.POSTED);
+
+        Assert.assertTrue(trace.has(ReactNativeMessageTrace.PARSED));
+        Assert.assertEquals(ReactNativeMetrics.getMilestoneHistogram(MESSAGE_MILESTONE_PARSED).getCount(), 1);
+        Assert.assertFalse(ReactNativeMetrics.getMilestoneHistograms().containsKey(MESSAGE_MILESTONE_POSTED));
+    }
+
+    @Test
+    public void testCounters() {
+        ReactNativeMetrics.increment(METRIC_MESSAGES_RECEIVED);
+        ReactNativeMetrics.increment(METRIC_MESSAGES_RECEIVED);
+        ReactNativeMetrics.add(METRIC_IMAGE_FETCH_BYTES, 2048);
+
+        Map<String, Long> counters = ReactNativeMetrics.getCounters();
+        Assert.assertEquals((long) counters.get(METRIC_MESSAGES_RECEIVED), 2);
+        Assert.assertEquals((long) counters.get(METRIC_IMAGE_FETCH_BYTES), 2048);
+        Assert.assertEquals((long) counters.get(METRIC_REGISTRATION_FAILURES), 0);
+    }
+
+    @Test
+    public void testResetCounters() {
+        ReactNativeMetrics.increment(METRIC_RENDERS);
+        ReactNativeMetrics.resetCounters();
+
+        Assert.assertEquals(ReactNativeMetrics.getCounter(METRIC_RENDERS).get(), 0);
+        Assert.assertTrue(ReactNativeMetrics.getCounters().containsKey(METRIC_RENDERS));
+    }
+
+    @Test
+    public void testRecordOperation() {
+        ReactNativeMetrics.recordOperation(METRIC_OPERATION_IMAGE_FETCH, System.nanoTime());
+
+        Assert.assertEquals(ReactNativeMetrics.getOperationHistogram(METRIC_OPERATION_IMAGE_FETCH).getCount(), 1);
+        Assert.assertTrue(ReactNativeMetrics.getOperationHistograms().containsKey(METRIC_OPERATION_IMAGE_FETCH));
+    }
+
+    @Test
+    public void testRegisterPool() throws Exception {
+        ReactNativeMonitoredExecutor pool = new ReactNativeMonitoredExecutor("metricsTest", 1, 4, 10000, 2);
+        ReactNativeMetrics.registerPool(pool);
+        pool.execute(() -> {
+        });
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        Assert.assertEquals(ReactNativeMetrics.getPools().get("metricsTest"), pool);
+        Assert.assertEquals(pool.getRunHistogram().getCount(), 1);
+
+        ReactNativeMetrics.resetPools();
+
+        Assert.assertEquals(pool.getRunHistogram().getCount(), 0);
+        Assert.assertEquals(pool.getWaitHistogram().getCount(), 0);
+    }
+}
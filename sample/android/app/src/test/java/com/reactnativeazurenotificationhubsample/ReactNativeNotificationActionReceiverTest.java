@@ -0,0 +1,208 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.content.BroadcastReceiver;
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil.IntentFactory;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.azure.reactnative.notificationhub.ReactNativeMetrics;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationActionReceiver;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+import com.facebook.react.HeadlessJsTaskService;
+
+/**
+ * Unit tests for ReactNativeNotificationActionReceiver.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        ReactNativeNotificationHubUtil.class,
+        ReactNativeUtil.class,
+        IntentFactory.class,
+        HeadlessJsTaskService.class,
+        Log.class
+})
+public class ReactNativeNotificationActionReceiverTest {
+    private final static String ACTION = "MarkAsRead";
+    private final static String PACKAGE_NAME = "com.reactnativeazurenotificationhubsample";
+
+    @Mock
+    Context mContext;
+
+    @Mock
+    Intent mIntent;
+
+    @Mock
+    Intent mCreatedIntent;
+
+    @Mock
+    Bundle mPayload;
+
+    @Mock
+    ReactNativeNotificationHubUtil mNotificationHubUtil;
+
+    @Mock
+    BroadcastReceiver.PendingResult mPendingResult;
+
+    private ReactNativeNotificationActionReceiver mReceiver;
+    private ArgumentCaptor<Runnable> mWorkerTask;
+
+    @Before
+    public void setUp() throws Exception {
+        reset(mContext);
+        reset(mNotificationHubUtil);
+        ReactNativeMetrics.resetActions();
+
+        PowerMockito.mockStatic(ReactNativeNotificationHubUtil.class);
+        when(ReactNativeNotificationHubUtil.getInstance()).thenReturn(mNotificationHubUtil);
+        PowerMockito.mockStatic(ReactNativeUtil.class);
+        PowerMockito.mockStatic(IntentFactory.class);
+        PowerMockito.mockStatic(HeadlessJsTaskService.class);
+        PowerMockito.mockStatic(Log.class);
+
+        when(mContext.getPackageName()).thenReturn(PACKAGE_NAME);
+        when(mIntent.getBundleExtra(KEY_NOTIFICATION_PAYLOAD_TYPE)).thenReturn(mPayload);
+        when(mPayload.getString(KEY_REMOTE_NOTIFICATION_ACTION)).thenReturn(ACTION);
+        when(IntentFactory.createIntent(any(String.class))).thenReturn(mCreatedIntent);
+        when(IntentFactory.createIntent(any(Context.class), any(Class.class))).thenReturn(mCreatedIntent);
+
+        mWorkerTask = ArgumentCaptor.forClass(Runnable.class);
+        PowerMockito.doReturn(true).when(
+                ReactNativeUtil.class, "runInWorkerThread", mWorkerTask.capture());
+
+        mReceiver = PowerMockito.spy(new ReactNativeNotificationActionReceiver());
+        doReturn(mPendingResult).when(mReceiver).goAsync();
+    }
+
+    @After
+    public void tearDown() {
+        ReactNativeNotificationActionReceiver.unregisterHandler(ACTION);
+    }
+
+    @Test
+    public void testNoPayload() {
+        when(mIntent.getBundleExtra(KEY_NOTIFICATION_PAYLOAD_TYPE)).thenReturn(null);
+
+        mReceiver.onReceive(mContext, mIntent);
+
+        verify(mContext, times(0)).sendBroadcast(any());
+        verify(mContext, times(0)).startService(any());
+    }
+
+    @Test
+    public void testNativeHandler() {
+        ReactNativeNotificationActionReceiver.Handler handler =
+                PowerMockito.mock(ReactNativeNotificationActionReceiver.Handler.class);
+        ReactNativeNotificationActionReceiver.registerHandler(ACTION, handler);
+
+        mReceiver.onReceive(mContext, mIntent);
+        mWorkerTask.getValue().run();
+
+        verify(handler, times(1)).onAction(mContext, ACTION, mPayload);
+        verify(mPendingResult, times(1)).finish();
+        verify(mContext, times(0)).sendBroadcast(any());
+        Assert.assertEquals(ReactNativeMetrics.getActionHistogram(ACTION_DISPATCH_NATIVE).getCount(), 1);
+    }
+
+    @Test
+    public void testNativeHandlerThrows() {
+        ReactNativeNotificationActionReceiver.registerHandler(ACTION, (context, action, payload) -> {
+            throw new IllegalStateException();
+        });
+
+        mReceiver.onReceive(mContext, mIntent);
+        mWorkerTask.getValue().run();
+
+        verify(mPendingResult, times(1)).finish();
+        PowerMockito.verifyStatic(Log.class);
+        Log.e(eq(ReactNativeNotificationActionReceiver.TAG), eq(ERROR_ACTION_HANDLER), any(IllegalStateException.class));
+    }
+
+    @Test
+    public void testNativeHandlerDropped() throws Exception {
+        ReactNativeNotificationActionReceiver.Handler handler =
+                PowerMockito.mock(ReactNativeNotificationActionReceiver.Handler.class);
+        ReactNativeNotificationActionReceiver.registerHandler(ACTION, handler);
+        PowerMockito.doReturn(false).when(ReactNativeUtil.class, "runInWorkerThread", any(Runnable.class));
+
+        mReceiver.onReceive(mContext, mIntent);
+
+        verify(handler, times(0)).onAction(any(), any(), any());
+        verify(mPendingResult, times(1)).finish();
+        PowerMockito.verifyStatic(Log.class);
+        Log.e(ReactNativeNotificationActionReceiver.TAG, ERROR_ACTION_HANDLER_DROPPED + ": " + ACTION);
+    }
+
+    @Test
+    public void testForegroundDispatchedToJS() {
+        when(mNotificationHubUtil.getAppIsForeground()).thenReturn(true);
+        when(ReactNativeUtil.createBroadcastIntent(any(), eq(mPayload))).thenReturn(mCreatedIntent);
+
+        mReceiver.onReceive(mContext, mIntent);
+
+        verify(mCreatedIntent, times(1)).putExtra(eq(KEY_INTENT_ACTION_RECEIVED_AT), anyLong());
+        verify(mContext, times(0)).sendBroadcast(any());
+        verify(mContext, times(0)).startService(any());
+    }
+
+    @Test
+    public void testBackgroundHeadlessTask() {
+        when(mNotificationHubUtil.isActionHeadlessTaskEnabled(mContext)).thenReturn(true);
+        when(mContext.startService(mCreatedIntent)).thenReturn(
+                PowerMockito.mock(ComponentName.class));
+
+        mReceiver.onReceive(mContext, mIntent);
+
+        verify(mCreatedIntent, times(1)).putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, mPayload);
+        PowerMockito.verifyStatic(HeadlessJsTaskService.class);
+        HeadlessJsTaskService.acquireWakeLockNow(mContext);
+        verify(mContext, times(0)).sendBroadcast(any());
+    }
+
+    @Test
+    public void testBackgroundHeadlessTaskNotStarted() {
+        when(mNotificationHubUtil.isActionHeadlessTaskEnabled(mContext)).thenReturn(true);
+        when(mContext.startService(mCreatedIntent)).thenThrow(new IllegalStateException());
+
+        mReceiver.onReceive(mContext, mIntent);
+
+        verify(mContext, times(1)).sendBroadcast(mCreatedIntent);
+    }
+
+    @Test
+    public void testLegacyBroadcast() {
+        mReceiver.onReceive(mContext, mIntent);
+
+        PowerMockito.verifyStatic(IntentFactory.class);
+        IntentFactory.createIntent(PACKAGE_NAME + "." + ACTION);
+        verify(mCreatedIntent, times(1)).setPackage(PACKAGE_NAME);
+        verify(mCreatedIntent, times(1)).putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, mPayload);
+        verify(mContext, times(1)).sendBroadcast(mCreatedIntent);
+        Assert.assertEquals(ReactNativeMetrics.getActionHistogram(ACTION_DISPATCH_LEGACY).getCount(), 1);
+    }
+}
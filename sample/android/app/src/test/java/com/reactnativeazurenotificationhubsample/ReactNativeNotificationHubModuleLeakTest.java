@@ -0,0 +1,138 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.Intent;
+
+import androidx.localbroadcastmanager.content.LocalBroadcastManager;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.azure.reactnative.notificationhub.ReactNativeMetrics;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubModule;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationsHandler;
+import com.azure.reactnative.notificationhub.ReactNativeRegistrationIntentService;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+
+/**
+ * Reloads the module the way a JS reload does, a new ReactApplicationContext and module each
+ * time with the old module destroyed, against the real LocalBroadcastManager. Checks that every
+ * event still reaches exactly one receiver and that destroyed contexts can be collected.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class ReactNativeNotificationHubModuleLeakTest {
+
+    private static final int RELOADS = 50;
+
+    // Contexts still reachable after a full GC, besides the live one
+    private static final int MAX_RETAINED_CONTEXTS = 0;
+
+    private Context mContext;
+
+    @Before
+    public void setUp() {
+        mContext = ApplicationProvider.getApplicationContext();
+    }
+
+    @Test
+    public void testReloadDoesNotLeak() {
+        List<WeakReference<ReactApplicationContext>> contexts = new ArrayList<>();
+        ReactNativeNotificationHubModule module = null;
+
+        for (int i = 0; i < RELOADS; i++) {
+            if (module != null) {
+                module.onCatalystInstanceDestroy();
+            }
+
+            ReactApplicationContext reactContext = new ReactApplicationContext(mContext);
+            contexts.add(new WeakReference<>(reactContext));
+            module = new ReactNativeNotificationHubModule(reactContext);
+
+            // As the first push after the reload would
+            ReactNativeNotificationHubModule.prepareForEvents();
+
+            Assert.assertEquals(getReceiverCount(ReactNativeNotificationsHandler.TAG), 1);
+            Assert.assertEquals(getReceiverCount(ReactNativeRegistrationIntentService.TAG), 1);
+        }
+
+        Assert.assertEquals(getRetainedCount(contexts) - 1, MAX_RETAINED_CONTEXTS);
+
+        module.invalidate();
+        Assert.assertEquals(getReceiverCount(ReactNativeNotificationsHandler.TAG), 0);
+        Assert.assertEquals(getReceiverCount(ReactNativeRegistrationIntentService.TAG), 0);
+    }
+
+    @Test
+    public void testReloadBeforeFirstEvent() {
+        List<WeakReference<ReactApplicationContext>> contexts = new ArrayList<>();
+        ReactNativeNotificationHubModule module = null;
+
+        // Modules that never saw push used register nothing, and still let go of their context
+        for (int i = 0; i < RELOADS; i++) {
+            if (module != null) {
+                module.invalidate();
+            }
+
+            ReactApplicationContext reactContext = new ReactApplicationContext(mContext);
+            contexts.add(new WeakReference<>(reactContext));
+            module = new ReactNativeNotificationHubModule(reactContext);
+        }
+
+        Assert.assertEquals(getReceiverCount(ReactNativeNotificationsHandler.TAG), 0);
+        Assert.assertEquals(getRetainedCount(contexts) - 1, MAX_RETAINED_CONTEXTS);
+
+        module.invalidate();
+    }
+
+    /**
+     * Sends a string event and counts how many receivers handled it. Each module receiver either
+     * emits or drops the event, counting it in both cases.
+     */
+    private int getReceiverCount(String action) {
+        long before = getHandledCount();
+
+        Intent event = new Intent(action);
+        event.putExtra(KEY_INTENT_EVENT_NAME, EVENT_AZURE_NOTIFICATION_HUB_REGISTERED);
+        event.putExtra(KEY_INTENT_EVENT_TYPE, INTENT_EVENT_TYPE_STRING);
+        event.putExtra(KEY_INTENT_EVENT_STRING_DATA, "leak-test");
+        LocalBroadcastManager.getInstance(mContext).sendBroadcastSync(event);
+
+        return (int) (getHandledCount() - before);
+    }
+
+    private static long getHandledCount() {
+        return ReactNativeMetrics.getCounter(METRIC_BRIDGE_EMITS).get()
+                + ReactNativeMetrics.getCounter(METRIC_EVENTS_DROPPED).get();
+    }
+
+    // Counts the contexts still reachable once the collector had a few chances to clear them
+    private static int getRetainedCount(List<WeakReference<ReactApplicationContext>> contexts) {
+        int retained = contexts.size();
+        for (int attempt = 0; attempt < 10 && retained > 1; attempt++) {
+            System.gc();
+            System.runFinalization();
+
+            retained = 0;
+            for (WeakReference<ReactApplicationContext> context : contexts) {
+                if (context.get() != null) {
+                    retained++;
+                }
+            }
+        }
+
+        return retained;
+    }
+}
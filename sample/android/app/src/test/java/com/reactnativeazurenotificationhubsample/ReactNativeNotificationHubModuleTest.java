@@ -26,15 +26,21 @@ import static org.mockito.Mockito.any;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.azure.reactnative.notificationhub.ReactNativeEventFilters;
 import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
 import com.azure.reactnative.notificationhub.ReactNativeNotificationHubModule;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationInbox;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationTray;
 import com.azure.reactnative.notificationhub.ReactNativeNotificationsHandler;
 import com.azure.reactnative.notificationhub.ReactNativeRegistrationIntentService;
+import com.azure.reactnative.notificationhub.ReactNativeTrace;
+import com.azure.reactnative.notificationhub.ReactNativeTrayIndex;
 import com.azure.reactnative.notificationhub.ReactNativeUtil;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
@@ -42,11 +48,14 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.google.android.gms.common.ConnectionResult;
 import com.google.android.gms.common.GoogleApiAvailability;
 import com.microsoft.windowsazure.messaging.NotificationHub;
 
+import java.util.Arrays;
+
 /**
  * Unit tests for ReactNativeNotificationHubModule.
  */
@@ -57,6 +66,9 @@ import com.microsoft.windowsazure.messaging.NotificationHub;
         ReactNativeUtil.class,
         ReactNativeNotificationsHandler.class,
         ReactNativeRegistrationIntentService.class,
+        ReactNativeTrace.class,
+        ReactNativeNotificationTray.class,
+        ReactNativeNotificationInbox.class,
         GoogleApiAvailability.class,
         Arguments.class,
         NotificationManagerCompat.class
@@ -108,6 +120,7 @@ public class ReactNativeNotificationHubModuleTest {
         PowerMockito.mockStatic(ReactNativeUtil.class);
         PowerMockito.mockStatic(ReactNativeNotificationsHandler.class);
         PowerMockito.mockStatic(ReactNativeRegistrationIntentService.class);
+        PowerMockito.mockStatic(ReactNativeTrace.class);
         PowerMockito.mockStatic(GoogleApiAvailability.class);
         when(GoogleApiAvailability.getInstance()).thenReturn(mGoogleApiAvailability);
         PowerMockito.mockStatic(Arguments.class);
@@ -120,10 +133,105 @@ public class ReactNativeNotificationHubModuleTest {
     @Test
     public void testInitialization() {
         Assert.assertNotNull(mHubModule);
+        verify(mReactApplicationContext, times(1)).addLifecycleEventListener(mHubModule);
+        verify(mReactApplicationContext, times(1)).addActivityEventListener(mHubModule);
+        verify(mNotificationHubUtil, times(1)).warmPreferences(mReactApplicationContext);
+        PowerMockito.verifyStatic(ReactNativeTrace.class);
+        ReactNativeTrace.initialize(mReactApplicationContext);
+
+        // Receivers wait for push to be used
+        verify(mLocalBroadcastManager, times(0)).registerReceiver(
+                any(BroadcastReceiver.class), any(IntentFilter.class));
+    }
+
+    @Test
+    public void testInitializeIfNeeded() {
+        mHubModule.initializeIfNeeded();
+        mHubModule.initializeIfNeeded();
+
+        verify(mLocalBroadcastManager, times(2)).registerReceiver(
+                any(BroadcastReceiver.class), any(IntentFilter.class));
+    }
+
+    @Test
+    public void testPrepareForEventsInitializes() {
+        ReactNativeNotificationHubModule.prepareForEvents();
+
+        verify(mLocalBroadcastManager, times(2)).registerReceiver(
+                any(BroadcastReceiver.class), any(IntentFilter.class));
+    }
+
+    @Test
+    public void testOnCatalystInstanceDestroy() {
+        mHubModule.initializeIfNeeded();
+
+        mHubModule.onCatalystInstanceDestroy();
+
+        verify(mLocalBroadcastManager, times(1)).unregisterReceiver(any(BroadcastReceiver.class));
+        verify(mReactApplicationContext, times(1)).removeLifecycleEventListener(mHubModule);
+        verify(mReactApplicationContext, times(1)).removeActivityEventListener(mHubModule);
+    }
+
+    @Test
+    public void testTearDownClearsEventFilters() {
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_GROUP, null, "group");
+
+        mHubModule.invalidate();
+
+        Assert.assertEquals(ReactNativeEventFilters.getActiveFilterCount(), 0);
+    }
+
+    @Test
+    public void testTearDownKeepsFiltersOfNewerModule() {
+        ReactNativeNotificationHubModule newModule = new ReactNativeNotificationHubModule(mReactApplicationContext);
+        ReactNativeEventFilters.add(EVENT_FILTER_TYPE_GROUP, null, "group");
+
+        // The old module is destroyed after the reload created the new one
+        mHubModule.invalidate();
+
+        Assert.assertEquals(ReactNativeEventFilters.getActiveFilterCount(), 1);
+        newModule.invalidate();
+        Assert.assertEquals(ReactNativeEventFilters.getActiveFilterCount(), 0);
+    }
+
+    @Test
+    public void testInvalidateAfterDestroy() {
+        mHubModule.initializeIfNeeded();
+
+        mHubModule.onCatalystInstanceDestroy();
+        mHubModule.invalidate();
+
+        verify(mLocalBroadcastManager, times(1)).unregisterReceiver(any(BroadcastReceiver.class));
+        verify(mReactApplicationContext, times(1)).removeLifecycleEventListener(mHubModule);
+    }
+
+    @Test
+    public void testDestroyBeforeInitialization() {
+        mHubModule.invalidate();
+
+        verify(mLocalBroadcastManager, times(0)).unregisterReceiver(any(BroadcastReceiver.class));
+        verify(mReactApplicationContext, times(1)).removeLifecycleEventListener(mHubModule);
+    }
+
+    @Test
+    public void testNoInitializationAfterDestroy() {
+        mHubModule.invalidate();
+
+        mHubModule.initializeIfNeeded();
+        ReactNativeNotificationHubModule.prepareForEvents();
+
+        verify(mLocalBroadcastManager, times(0)).registerReceiver(
+                any(BroadcastReceiver.class), any(IntentFilter.class));
+    }
+
+    @Test
+    public void testRegisterInitializes() {
+        when(mConfig.getString(KEY_REGISTRATION_CONNECTIONSTRING)).thenReturn(null);
+
+        mHubModule.register(mConfig, mPromise);
+
         verify(mLocalBroadcastManager, times(2)).registerReceiver(
                 any(BroadcastReceiver.class), any(IntentFilter.class));
-        verify(mReactApplicationContext, times(1)).addLifecycleEventListener(
-                any(ReactNativeNotificationHubModule.class));
     }
 
     @Test
@@ -727,6 +835,71 @@ public class ReactNativeNotificationHubModuleTest {
         verify(mPromise, times(1)).resolve(areNotificationsEnabled);
     }
 
+    @Test
+    public void testIsNotificationEnabledOnOSLevelSyncCached() {
+        NotificationManagerCompat manager = PowerMockito.mock(NotificationManagerCompat.class);
+        when(NotificationManagerCompat.from(mReactApplicationContext)).thenReturn(manager);
+        when(manager.areNotificationsEnabled()).thenReturn(true);
+
+        Assert.assertTrue(mHubModule.isNotificationEnabledOnOSLevelSync());
+        Assert.assertTrue(mHubModule.isNotificationEnabledOnOSLevelSync());
+
+        verify(manager, times(1)).areNotificationsEnabled();
+    }
+
+    @Test
+    public void testIsNotificationEnabledOnOSLevelSyncRefreshedOnResume() {
+        NotificationManagerCompat manager = PowerMockito.mock(NotificationManagerCompat.class);
+        when(NotificationManagerCompat.from(mReactApplicationContext)).thenReturn(manager);
+        when(manager.areNotificationsEnabled()).thenReturn(true);
+
+        Assert.assertTrue(mHubModule.isNotificationEnabledOnOSLevelSync());
+        when(manager.areNotificationsEnabled()).thenReturn(false);
+        mHubModule.onHostResume();
+
+        Assert.assertFalse(mHubModule.isNotificationEnabledOnOSLevelSync());
+        verify(manager, times(2)).areNotificationsEnabled();
+    }
+
+    @Test
+    public void testGetUUIDSync() {
+        final String uuid = "uuid";
+
+        when(mNotificationHubUtil.getUUID(mReactApplicationContext)).thenReturn(uuid);
+
+        Assert.assertEquals(mHubModule.getUUIDSync(), uuid);
+    }
+
+    @Test
+    public void testGetRegistrationIdSync() {
+        final String registrationId = "registrationId";
+
+        when(mNotificationHubUtil.getRegistrationID(mReactApplicationContext)).thenReturn(registrationId);
+
+        Assert.assertEquals(mHubModule.getRegistrationIdSync(), registrationId);
+    }
+
+    @Test
+    public void testGetInitialNotificationSyncNullActivity() {
+        when(mReactApplicationContext.getCurrentActivity()).thenReturn(null);
+
+        Assert.assertNull(mHubModule.getInitialNotificationSync());
+    }
+
+    @Test
+    public void testGetInitialNotificationSync() {
+        Activity activity = PowerMockito.mock(Activity.class);
+        when(mReactApplicationContext.getCurrentActivity()).thenReturn(activity);
+        Intent intent = PowerMockito.mock(Intent.class);
+        when(activity.getIntent()).thenReturn(intent);
+        when(intent.getAction()).thenReturn(PowerMockito.mock(String.class));
+        when(intent.getExtras()).thenReturn(PowerMockito.mock(Bundle.class));
+        WritableMap map = PowerMockito.mock(WritableMap.class);
+        when(ReactNativeUtil.convertBundleToMap(any())).thenReturn(map);
+
+        Assert.assertEquals(mHubModule.getInitialNotificationSync(), map);
+    }
+
     @Test
     public void testOnHostResumeNoNotification() {
         Activity activity = PowerMockito.mock(Activity.class);
@@ -802,4 +975,179 @@ public class ReactNativeNotificationHubModuleTest {
         PowerMockito.verifyStatic(ReactNativeNotificationsHandler.class);
         ReactNativeNotificationsHandler.sendBroadcast(eq(mReactApplicationContext), eq(bundle), anyLong());
     }
+
+    @Test
+    public void testSetTracingEnabled() {
+        mHubModule.setTracingEnabled(true);
+
+        PowerMockito.verifyStatic(ReactNativeTrace.class);
+        ReactNativeTrace.setEnabled(true);
+    }
+
+    @Test
+    public void testIsTracingEnabled() {
+        when(ReactNativeTrace.isEnabled()).thenReturn(true);
+
+        mHubModule.isTracingEnabled(mPromise);
+
+        verify(mPromise, times(1)).resolve(true);
+    }
+
+    @Test
+    public void testGetDeliveredNotifications() {
+        WritableArray delivered = PowerMockito.mock(WritableArray.class);
+        when(Arguments.createArray()).thenReturn(delivered);
+        PowerMockito.mockStatic(ReactNativeNotificationTray.class);
+        when(ReactNativeNotificationTray.getDelivered(mReactApplicationContext)).thenReturn(Arrays.asList(
+                new ReactNativeTrayIndex.Entry(1, "Tag", "Group", "Message ID", "Title", "Body", 1000)));
+
+        mHubModule.getDeliveredNotifications(mPromise);
+
+        verify(mRes, times(1)).putString(KEY_DELIVERED_NOTIFICATION_ID, "Message ID");
+        verify(mRes, times(1)).putString(KEY_DELIVERED_NOTIFICATION_TAG, "Tag");
+        verify(mRes, times(1)).putString(KEY_DELIVERED_NOTIFICATION_GROUP, "Group");
+        verify(mRes, times(1)).putString(KEY_DELIVERED_NOTIFICATION_TITLE, "Title");
+        verify(mRes, times(1)).putString(KEY_DELIVERED_NOTIFICATION_BODY, "Body");
+        verify(mRes, times(1)).putDouble(KEY_DELIVERED_NOTIFICATION_POST_TIME, 1000);
+        verify(delivered, times(1)).pushMap(mRes);
+        verify(mPromise, times(1)).resolve(delivered);
+    }
+
+    @Test
+    public void testCancelNotifications() {
+        PowerMockito.mockStatic(ReactNativeNotificationTray.class);
+
+        mHubModule.cancelById("Message ID");
+        mHubModule.cancelByTag("Tag");
+        mHubModule.cancelByGroup("Group");
+        mHubModule.cancelAll();
+
+        PowerMockito.verifyStatic(ReactNativeNotificationTray.class);
+        ReactNativeNotificationTray.cancelByMessageId(mReactApplicationContext, "Message ID");
+        PowerMockito.verifyStatic(ReactNativeNotificationTray.class);
+        ReactNativeNotificationTray.cancelByTag(mReactApplicationContext, "Tag");
+        PowerMockito.verifyStatic(ReactNativeNotificationTray.class);
+        ReactNativeNotificationTray.cancelByGroup(mReactApplicationContext, "Group");
+        PowerMockito.verifyStatic(ReactNativeNotificationTray.class);
+        ReactNativeNotificationTray.cancelAll(mReactApplicationContext);
+    }
+
+    @Test
+    public void testConfigureInbox() {
+        when(mConfig.hasKey(KEY_INBOX_ENABLED)).thenReturn(true);
+        when(mConfig.getBoolean(KEY_INBOX_ENABLED)).thenReturn(true);
+        when(mConfig.hasKey(KEY_INBOX_MAX_COUNT)).thenReturn(true);
+        when(mConfig.getInt(KEY_INBOX_MAX_COUNT)).thenReturn(50);
+        when(mConfig.hasKey(KEY_INBOX_MAX_AGE)).thenReturn(true);
+        when(mConfig.getDouble(KEY_INBOX_MAX_AGE)).thenReturn(86400000.0);
+
+        mHubModule.configureInbox(mConfig);
+
+        verify(mNotificationHubUtil, times(1)).setInboxEnabled(mReactApplicationContext, true);
+        verify(mNotificationHubUtil, times(1)).setInboxMaxCount(mReactApplicationContext, 50);
+        verify(mNotificationHubUtil, times(1)).setInboxMaxAge(mReactApplicationContext, 86400000L);
+        verify(mNotificationHubUtil, times(0)).setInboxMaxBytes(any(), anyLong());
+    }
+
+    @Test
+    public void testGetInbox() throws Exception {
+        WritableArray items = PowerMockito.mock(WritableArray.class);
+        when(Arguments.createArray()).thenReturn(items);
+        ReactNativeNotificationInbox inbox = prepareInbox();
+        when(inbox.query(9L, 1)).thenReturn(Arrays.asList(
+                new ReactNativeNotificationInbox.Entry(7, "Message ID", 1000, true, "{}")));
+        ArgumentCaptor<Runnable> task = captureWorkerTask();
+
+        mHubModule.getInbox(9.0, 1.0, mPromise);
+        task.getValue().run();
+
+        verify(mRes, times(1)).putDouble(KEY_INBOX_ITEM_ID, 7);
+        verify(mRes, times(1)).putString(KEY_INBOX_ITEM_MESSAGE_ID, "Message ID");
+        verify(mRes, times(1)).putDouble(KEY_INBOX_ITEM_RECEIVED_AT, 1000);
+        verify(mRes, times(1)).putBoolean(KEY_INBOX_ITEM_READ, true);
+        verify(mRes, times(1)).putString(KEY_INBOX_ITEM_PAYLOAD, "{}");
+        verify(items, times(1)).pushMap(mRes);
+        verify(mRes, times(1)).putArray(KEY_INBOX_ITEMS, items);
+        // A full page has a next cursor
+        verify(mRes, times(1)).putDouble(KEY_INBOX_NEXT_CURSOR, 7);
+        verify(mPromise, times(1)).resolve(mRes);
+    }
+
+    @Test
+    public void testGetInboxLastPage() throws Exception {
+        when(Arguments.createArray()).thenReturn(PowerMockito.mock(WritableArray.class));
+        ReactNativeNotificationInbox inbox = prepareInbox();
+        when(inbox.query(null, INBOX_DEFAULT_PAGE_SIZE)).thenReturn(
+                Arrays.<ReactNativeNotificationInbox.Entry>asList());
+        ArgumentCaptor<Runnable> task = captureWorkerTask();
+
+        mHubModule.getInbox(null, null, mPromise);
+        task.getValue().run();
+
+        verify(mRes, times(1)).putNull(KEY_INBOX_NEXT_CURSOR);
+        verify(mPromise, times(1)).resolve(mRes);
+    }
+
+    @Test
+    public void testGetInboxClampsLimit() throws Exception {
+        when(Arguments.createArray()).thenReturn(PowerMockito.mock(WritableArray.class));
+        ReactNativeNotificationInbox inbox = prepareInbox();
+        ArgumentCaptor<Runnable> task = captureWorkerTask();
+
+        mHubModule.getInbox(null, 0.0, mPromise);
+        mHubModule.getInbox(null, -1.0, mPromise);
+        mHubModule.getInbox(null, 1e9, mPromise);
+        for (Runnable runnable : task.getAllValues()) {
+            runnable.run();
+        }
+
+        verify(inbox, times(2)).query(null, 1);
+        verify(inbox, times(1)).query(null, INBOX_MAX_PAGE_SIZE);
+        verify(inbox, times(0)).query(any(), eq(0));
+        verify(inbox, times(0)).query(any(), eq(-1));
+    }
+
+    @Test
+    public void testGetInboxFailed() throws Exception {
+        ReactNativeNotificationInbox inbox = prepareInbox();
+        RuntimeException error = new RuntimeException();
+        when(inbox.query(null, INBOX_DEFAULT_PAGE_SIZE)).thenThrow(error);
+        ArgumentCaptor<Runnable> task = captureWorkerTask();
+
+        mHubModule.getInbox(null, null, mPromise);
+        task.getValue().run();
+
+        verify(mPromise, times(1)).reject(ERROR_INBOX, error);
+    }
+
+    @Test
+    public void testMarkRead() throws Exception {
+        ReactNativeNotificationInbox inbox = prepareInbox();
+        ReadableArray ids = PowerMockito.mock(ReadableArray.class);
+        when(ids.size()).thenReturn(2);
+        when(ids.getDouble(0)).thenReturn(3.0);
+        when(ids.getDouble(1)).thenReturn(5.0);
+        ArgumentCaptor<Runnable> task = captureWorkerTask();
+
+        mHubModule.markRead(ids, mPromise);
+        task.getValue().run();
+
+        ArgumentCaptor<long[]> entryIds = ArgumentCaptor.forClass(long[].class);
+        verify(inbox, times(1)).markRead(entryIds.capture());
+        Assert.assertArrayEquals(entryIds.getValue(), new long[]{3, 5});
+        verify(mPromise, times(1)).resolve(null);
+    }
+
+    private ReactNativeNotificationInbox prepareInbox() {
+        ReactNativeNotificationInbox inbox = PowerMockito.mock(ReactNativeNotificationInbox.class);
+        PowerMockito.mockStatic(ReactNativeNotificationInbox.class);
+        when(ReactNativeNotificationInbox.getInstance(mReactApplicationContext)).thenReturn(inbox);
+        return inbox;
+    }
+
+    private ArgumentCaptor<Runnable> captureWorkerTask() throws Exception {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        PowerMockito.doReturn(true).when(ReactNativeUtil.class, "runInWorkerThread", task.capture());
+        return task;
+    }
 }
@@ -0,0 +1,498 @@
+package com.reactnativeazurenotificationhubsample;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Azure Notification Hubs REST endpoints the SDK calls to register and
+ * unregister a device: registration ids, registrations and installations. Responses can be
+ * delayed, failed at random or on demand, and throttled, and every request is counted by
+ * operation and response status.
+ *
+ * <pre>
+ * POST   /{hub}/registrationIDs        createRegistrationId  201, Location of the new registration
+ * PUT    /{hub}/registrations/{id}     upsertRegistration    200
+ * GET    /{hub}/registrations/{id}     getRegistration       200 or 404
+ * GET    /{hub}/registrations          listRegistrations     200, $filter matched against the body
+ * DELETE /{hub}/registrations/{id}     deleteRegistration    200 or 404
+ * PUT    /{hub}/installations/{id}     upsertInstallation    200
+ * PATCH  /{hub}/installations/{id}     patchInstallation     200 or 404
+ * GET    /{hub}/installations/{id}     getInstallation       200 or 404
+ * DELETE /{hub}/installations/{id}     deleteInstallation    204
+ * </pre>
+ *
+ * Requests without an Authorization header are answered with 401.
+ */
+public class ReactNativeNotificationHubStandIn implements Closeable {
+
+    public static final String API_VERSION = "2015-01";
+
+    public static final String OP_CREATE_REGISTRATION_ID = "createRegistrationId";
+    public static final String OP_UPSERT_REGISTRATION = "upsertRegistration";
+    public static final String OP_GET_REGISTRATION = "getRegistration";
+    public static final String OP_LIST_REGISTRATIONS = "listRegistrations";
+    public static final String OP_DELETE_REGISTRATION = "deleteRegistration";
+    public static final String OP_UPSERT_INSTALLATION = "upsertInstallation";
+    public static final String OP_PATCH_INSTALLATION = "patchInstallation";
+    public static final String OP_GET_INSTALLATION = "getInstallation";
+    public static final String OP_DELETE_INSTALLATION = "deleteInstallation";
+    public static final String OP_UNKNOWN = "unknown";
+
+    private static final String CONTENT_TYPE_ATOM = "application/atom+xml;type=entry;charset=utf-8";
+    private static final String CONTENT_TYPE_JSON = "application/json";
+
+    private final String mHubName;
+    private final HttpServer mServer;
+    private final ExecutorService mExecutor = Executors.newCachedThreadPool();
+    private final Random mRandom;
+
+    private final ConcurrentHashMap<String, String> mRegistrations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> mInstallations = new ConcurrentHashMap<>();
+    private final AtomicLong mNextRegistrationId = new AtomicLong(1);
+
+    private final ConcurrentHashMap<String, AtomicInteger> mRequests = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, AtomicInteger> mResponses = new ConcurrentHashMap<>();
+    private final AtomicInteger mInFlight = new AtomicInteger();
+    private final AtomicInteger mMaxInFlight = new AtomicInteger();
+
+    // Statuses to answer the next requests with, ahead of the random faults
+    private final ConcurrentLinkedQueue<Integer> mScriptedStatuses = new ConcurrentLinkedQueue<>();
+
+    private volatile long mLatencyMillis;
+    private volatile double mErrorRate;
+    private volatile double mThrottleRate;
+    private volatile int mRetryAfterSeconds = 1;
+
+    public ReactNativeNotificationHubStandIn(String hubName, long seed) throws IOException {
+        mHubName = hubName;
+        mRandom = new Random(seed);
+        mServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        mServer.createContext("/", this::handle);
+        mServer.setExecutor(mExecutor);
+        mServer.start();
+    }
+
+    @Override
+    public void close() {
+        mServer.stop(0);
+        mExecutor.shutdownNow();
+    }
+
+    public String getHubName() {
+        return mHubName;
+    }
+
+    public String getEndpoint() {
+        return "http://" + mServer.getAddress().getHostString() + ":" + mServer.getAddress().getPort() + "/";
+    }
+
+    public String getConnectionString() {
+        return "Endpoint=sb://" + mServer.getAddress().getHostString() + ":" + mServer.getAddress().getPort()
+                + "/;SharedAccessKeyName=DefaultListenSharedAccessSignature;SharedAccessKey=c3RhbmQtaW4=";
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        mLatencyMillis = latencyMillis;
+    }
+
+    /**
+     * Fraction of requests answered with 500.
+     */
+    public void setErrorRate(double errorRate) {
+        mErrorRate = errorRate;
+    }
+
+    /**
+     * Fraction of requests answered with 429 and a Retry-After header.
+     */
+    public void setThrottleRate(double throttleRate, int retryAfterSeconds) {
+        mThrottleRate = throttleRate;
+        mRetryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Answers the next requests with these statuses, one each, before any other fault applies.
+     */
+    public void failNext(int... statuses) {
+        for (int status : statuses) {
+            mScriptedStatuses.add(status);
+        }
+    }
+
+    public int getRequestCount(String operation) {
+        AtomicInteger count = mRequests.get(operation);
+        return count != null ? count.get() : 0;
+    }
+
+    public int getResponseCount(int status) {
+        AtomicInteger count = mResponses.get(status);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Requests per operation, sorted by operation.
+     */
+    public Map<String, Integer> getRequestCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (Map.Entry<String, AtomicInteger> entry : mRequests.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().get());
+        }
+
+        return counts;
+    }
+
+    public int getMaxInFlight() {
+        return mMaxInFlight.get();
+    }
+
+    public int getRegistrationCount() {
+        return mRegistrations.size();
+    }
+
+    public String getRegistration(String registrationId) {
+        return mRegistrations.get(registrationId);
+    }
+
+    /**
+     * Drops every registration, as the hub does when they expire or are deleted server-side.
+     */
+    public void expireRegistrations() {
+        mRegistrations.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int inFlight = mInFlight.incrementAndGet();
+        mMaxInFlight.accumulateAndGet(inFlight, Math::max);
+        try {
+            String body = read(exchange.getRequestBody());
+            String[] segments = exchange.getRequestURI().getPath().substring(1).split("/");
+            String operation = route(exchange.getRequestMethod(), segments);
+            increment(mRequests, operation);
+
+            if (mLatencyMillis > 0) {
+                try {
+                    Thread.sleep(mLatencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            Integer fault = nextFault();
+            if (exchange.getRequestHeaders().getFirst("Authorization") == null) {
+                respond(exchange, 401, null, null);
+            } else if (fault != null) {
+                if (fault == 429) {
+                    exchange.getResponseHeaders().set("Retry-After", String.valueOf(mRetryAfterSeconds));
+                }
+                respond(exchange, fault, null, null);
+            } else {
+                dispatch(exchange, operation, segments, body);
+            }
+        } finally {
+            mInFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private String route(String method, String[] segments) {
+        if (segments.length < 2 || !mHubName.equalsIgnoreCase(segments[0])) {
+            return OP_UNKNOWN;
+        }
+
+        String collection = segments[1].toLowerCase();
+        boolean hasId = segments.length > 2 && !segments[2].isEmpty();
+        if ("registrationids".equals(collection) && "POST".equals(method)) {
+            return OP_CREATE_REGISTRATION_ID;
+        } else if ("registrations".equals(collection)) {
+            if (!hasId) {
+                return "GET".equals(method) ? OP_LIST_REGISTRATIONS : OP_UNKNOWN;
+            }
+            switch (method) {
+                case "PUT":
+                    return OP_UPSERT_REGISTRATION;
+                case "GET":
+                    return OP_GET_REGISTRATION;
+                case "DELETE":
+                    return OP_DELETE_REGISTRATION;
+                default:
+                    return OP_UNKNOWN;
+            }
+        } else if ("installations".equals(collection) && hasId) {
+            switch (method) {
+                case "PUT":
+                    return OP_UPSERT_INSTALLATION;
+                case "PATCH":
+                    return OP_PATCH_INSTALLATION;
+                case "GET":
+                    return OP_GET_INSTALLATION;
+                case "DELETE":
+                    return OP_DELETE_INSTALLATION;
+                default:
+                    return OP_UNKNOWN;
+            }
+        }
+
+        return OP_UNKNOWN;
+    }
+
+    private void dispatch(HttpExchange exchange, String operation, String[] segments, String body)
+            throws IOException {
+        String id = segments.length > 2 ? segments[2] : null;
+        switch (operation) {
+            case OP_CREATE_REGISTRATION_ID: {
+                String registrationId = String.valueOf(mNextRegistrationId.getAndIncrement());
+                exchange.getResponseHeaders().set("Location", getEndpoint() + mHubName
+                        + "/registrations/" + registrationId + "?api-version=" + API_VERSION);
+                respond(exchange, 201, null, null);
+                break;
+            }
+            case OP_UPSERT_REGISTRATION:
+                mRegistrations.put(id, body);
+                exchange.getResponseHeaders().set("ETag", "\"" + body.hashCode() + "\"");
+                respond(exchange, 200, CONTENT_TYPE_ATOM, body);
+                break;
+            case OP_GET_REGISTRATION:
+                respondIfFound(exchange, CONTENT_TYPE_ATOM, mRegistrations.get(id));
+                break;
+            case OP_LIST_REGISTRATIONS:
+                respond(exchange, 200, CONTENT_TYPE_ATOM, listRegistrations(exchange.getRequestURI().getQuery()));
+                break;
+            case OP_DELETE_REGISTRATION:
+                respond(exchange, mRegistrations.remove(id) != null ? 200 : 404, null, null);
+                break;
+            case OP_UPSERT_INSTALLATION:
+                mInstallations.put(id, body);
+                respond(exchange, 200, null, null);
+                break;
+            case OP_PATCH_INSTALLATION:
+                respond(exchange, mInstallations.containsKey(id) ? 200 : 404, null, null);
+                break;
+            case OP_GET_INSTALLATION:
+                respondIfFound(exchange, CONTENT_TYPE_JSON, mInstallations.get(id));
+                break;
+            case OP_DELETE_INSTALLATION:
+                mInstallations.remove(id);
+                respond(exchange, 204, null, null);
+                break;
+            default:
+                respond(exchange, 404, null, null);
+                break;
+        }
+    }
+
+    // A feed of the registrations whose body contains the quoted value of an "eq" filter
+    private String listRegistrations(String query) {
+        String value = null;
+        if (query != null) {
+            int start = query.indexOf('\'');
+            int end = query.lastIndexOf('\'');
+            if (start >= 0 && end > start) {
+                value = query.substring(start + 1, end);
+            }
+        }
+
+        StringBuilder feed = new StringBuilder("<feed xmlns=\"http://www.w3.org/2005/Atom\">");
+        for (String registration : mRegistrations.values()) {
+            if (value == null || registration.contains(value)) {
+                feed.append(registration);
+            }
+        }
+
+        return feed.append("</feed>").toString();
+    }
+
+    private Integer nextFault() {
+        Integer scripted = mScriptedStatuses.poll();
+        if (scripted != null) {
+            return scripted;
+        }
+
+        double roll;
+        synchronized (mRandom) {
+            roll = mRandom.nextDouble();
+        }
+        if (roll < mThrottleRate) {
+            return 429;
+        } else if (roll < mThrottleRate + mErrorRate) {
+            return 500;
+        }
+
+        return null;
+    }
+
+    private void respondIfFound(HttpExchange exchange, String contentType, String body) throws IOException {
+        if (body != null) {
+            respond(exchange, 200, contentType, body);
+        } else {
+            respond(exchange, 404, null, null);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        increment(mResponses, status);
+        byte[] bytes = body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, bytes != null ? bytes.length : -1);
+        if (bytes != null) {
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static <K> void increment(ConcurrentHashMap<K, AtomicInteger> counts, K key) {
+        AtomicInteger count = counts.get(key);
+        if (count == null) {
+            AtomicInteger created = new AtomicInteger();
+            count = counts.putIfAbsent(key, created);
+            if (count == null) {
+                count = created;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = input.read(buffer)) > 0) {
+            bytes.write(buffer, 0, n);
+        }
+
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Failed call, with the status the hub answered.
+     */
+    public static class StatusException extends IOException {
+        private final int mStatusCode;
+
+        StatusException(String operation, int statusCode) {
+            super(operation + " failed with status " + statusCode);
+            mStatusCode = statusCode;
+        }
+
+        public int getStatusCode() {
+            return mStatusCode;
+        }
+    }
+
+    /**
+     * Makes the calls the SDK makes for a registration: create a registration id, then put the
+     * registration description under it.
+     */
+    public static class Client {
+        private static final int TIMEOUT_MS = (int) TimeUnit.SECONDS.toMillis(10);
+
+        private final String mHubUrl;
+
+        public Client(ReactNativeNotificationHubStandIn standIn) {
+            mHubUrl = standIn.getEndpoint() + standIn.getHubName();
+        }
+
+        public String register(String token, String[] tags) throws IOException {
+            return upsert("<GcmRegistrationDescription xmlns:i=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xmlns=\"http://schemas.microsoft.com/netservices/2010/10/servicebus/connect\">"
+                    + tagsElement(tags)
+                    + "<GcmRegistrationId>" + token + "</GcmRegistrationId>"
+                    + "</GcmRegistrationDescription>");
+        }
+
+        public String registerTemplate(String token, String templateName, String template, String[] tags)
+                throws IOException {
+            return upsert("<GcmTemplateRegistrationDescription xmlns:i=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xmlns=\"http://schemas.microsoft.com/netservices/2010/10/servicebus/connect\">"
+                    + tagsElement(tags)
+                    + "<GcmRegistrationId>" + token + "</GcmRegistrationId>"
+                    + "<BodyTemplate><![CDATA[" + template + "]]></BodyTemplate>"
+                    + "<TemplateName>" + templateName + "</TemplateName>"
+                    + "</GcmTemplateRegistrationDescription>");
+        }
+
+        public void unregister(String registrationId) throws IOException {
+            HttpURLConnection connection = open("/registrations/" + registrationId, "DELETE");
+            check(OP_DELETE_REGISTRATION, connection, 200);
+        }
+
+        private String upsert(String description) throws IOException {
+            HttpURLConnection create = open("/registrationIDs", "POST");
+            create.setDoOutput(true);
+            create.getOutputStream().close();
+            check(OP_CREATE_REGISTRATION_ID, create, 201);
+
+            String location = create.getHeaderField("Location");
+            String path = new URL(location).getPath();
+            String registrationId = path.substring(path.lastIndexOf('/') + 1);
+
+            HttpURLConnection put = open("/registrations/" + registrationId, "PUT");
+            put.setDoOutput(true);
+            put.setRequestProperty("Content-Type", CONTENT_TYPE_ATOM);
+            try (OutputStream output = put.getOutputStream()) {
+                output.write(("<entry xmlns=\"http://www.w3.org/2005/Atom\"><content type=\"application/xml\">"
+                        + description + "</content></entry>").getBytes(StandardCharsets.UTF_8));
+            }
+            check(OP_UPSERT_REGISTRATION, put, 200);
+
+            return registrationId;
+        }
+
+        private HttpURLConnection open(String path, String method) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(
+                    mHubUrl + path + "?api-version=" + API_VERSION).openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(TIMEOUT_MS);
+            connection.setReadTimeout(TIMEOUT_MS);
+            connection.setRequestProperty("Authorization", "SharedAccessSignature sr=stand-in&sig=stand-in");
+            return connection;
+        }
+
+        private static void check(String operation, HttpURLConnection connection, int expected) throws IOException {
+            try {
+                int status = connection.getResponseCode();
+                if (status != expected) {
+                    throw new StatusException(operation, status);
+                }
+            } finally {
+                connection.disconnect();
+            }
+        }
+
+        private static String tagsElement(String[] tags) {
+            if (tags == null || tags.length == 0) {
+                return "";
+            }
+
+            StringBuilder element = new StringBuilder("<Tags>");
+            for (int i = 0; i < tags.length; i++) {
+                element.append(i > 0 ? "," : "").append(tags[i]);
+            }
+
+            return element.append("</Tags>").toString();
+        }
+    }
+}
@@ -9,25 +9,38 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
 
 import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
 import com.facebook.react.bridge.ReactApplicationContext;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Unit tests for ReactNativeNotificationHubModule.
  */
 @RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        ReactNativeUtil.class
+})
 public class ReactNativeNotificationHubUtilTest {
 
     @Mock
@@ -425,4 +438,24 @@ public class ReactNativeNotificationHubUtilTest {
                 KEY_FOR_PREFS_UUID, uuid);
         verify(mEditor, times(1)).apply();
     }
+
+    @Test
+    public void testWarmPreferences() throws Exception {
+        Whitebox.setInternalState(mHubUtil, "mPrefsWarmed", new AtomicBoolean());
+        when(mReactApplicationContext.getApplicationContext()).thenReturn(mReactApplicationContext);
+        PowerMockito.mockStatic(ReactNativeUtil.class);
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        PowerMockito.doNothing().when(ReactNativeUtil.class, "runInWorkerThreadDelayed", task.capture(), eq(0L));
+
+        mHubUtil.warmPreferences(mReactApplicationContext);
+        mHubUtil.warmPreferences(mReactApplicationContext);
+        task.getValue().run();
+
+        verify(mSharedPreferences, times(1)).contains(KEY_FOR_PREFS_CONNECTIONSTRING);
+        // Scheduled once, and the worker pool is left alone until something else needs it
+        PowerMockito.verifyStatic(ReactNativeUtil.class, times(1));
+        ReactNativeUtil.runInWorkerThreadDelayed(any(Runnable.class), anyLong());
+        PowerMockito.verifyStatic(ReactNativeUtil.class, never());
+        ReactNativeUtil.runInWorkerThread(any(Runnable.class));
+    }
 }
@@ -0,0 +1,244 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.content.Context;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationIds;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unit tests for ReactNativeNotificationIds.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        ReactNativeNotificationHubUtil.class,
+        ReactNativeUtil.class
+})
+public class ReactNativeNotificationIdsTest {
+    private final static String MESSAGE_ID = "0:1578067246893942%ad9a0d8af9fd7ecd";
+
+    @Mock
+    Context mContext;
+
+    @Mock
+    ReactNativeNotificationHubUtil mNotificationHubUtil;
+
+    private ArgumentCaptor<Runnable> mFlushTask;
+
+    @Before
+    public void setUp() throws Exception {
+        reset(mNotificationHubUtil);
+        ReactNativeNotificationIds.invalidate();
+
+        PowerMockito.mockStatic(ReactNativeNotificationHubUtil.class);
+        when(ReactNativeNotificationHubUtil.getInstance()).thenReturn(mNotificationHubUtil);
+        PowerMockito.mockStatic(ReactNativeUtil.class);
+        mFlushTask = ArgumentCaptor.forClass(Runnable.class);
+        PowerMockito.doNothing().when(
+                ReactNativeUtil.class, "runInWorkerThreadDelayed", mFlushTask.capture(), anyLong());
+    }
+
+    @Test
+    public void testSameMessageIdSameId() {
+        int id = ReactNativeNotificationIds.forMessage(mContext, MESSAGE_ID);
+
+        Assert.assertEquals(ReactNativeNotificationIds.forMessage(mContext, MESSAGE_ID), id);
+        Assert.assertEquals(ReactNativeNotificationIds.getMessageId(id), MESSAGE_ID);
+    }
+
+    @Test
+    public void testHashCollisionsGetDistinctIds() {
+        Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        Assert.assertNotEquals(
+                ReactNativeNotificationIds.forMessage(mContext, "Aa"),
+                ReactNativeNotificationIds.forMessage(mContext, "BB"));
+    }
+
+    @Test
+    public void testGroupAndMessageDistinct() {
+        Assert.assertNotEquals(
+                ReactNativeNotificationIds.forMessage(mContext, "news"),
+                ReactNativeNotificationIds.forGroup(mContext, "news"));
+    }
+
+    @Test
+    public void testNotificationKeyStable() {
+        int id = ReactNativeNotificationIds.forNotificationKey(mContext, "order-42");
+
+        Assert.assertEquals(ReactNativeNotificationIds.forNotificationKey(mContext, "order-42"), id);
+        Assert.assertNotEquals(ReactNativeNotificationIds.forMessage(mContext, "order-42"), id);
+        Assert.assertNull(ReactNativeNotificationIds.getMessageId(id));
+    }
+
+    @Test
+    public void testNoMessageIdAlwaysFresh() {
+        int id = ReactNativeNotificationIds.forMessage(mContext, null);
+
+        Assert.assertNotEquals(ReactNativeNotificationIds.forMessage(mContext, null), id);
+        Assert.assertNull(ReactNativeNotificationIds.getMessageId(id));
+    }
+
+    @Test
+    public void testTableBounded() {
+        int first = ReactNativeNotificationIds.forMessage(mContext, "first");
+        for (int i = 0; i < NOTIFICATION_ID_TABLE_MAX_SIZE; i++) {
+            ReactNativeNotificationIds.forMessage(mContext, "message " + i);
+        }
+
+        Assert.assertNull(ReactNativeNotificationIds.getMessageId(first));
+        Assert.assertNotEquals(ReactNativeNotificationIds.forMessage(mContext, "first"), first);
+    }
+
+    @Test
+    public void testPersisted() {
+        int id = ReactNativeNotificationIds.forMessage(mContext, MESSAGE_ID);
+        mFlushTask.getValue().run();
+
+        ArgumentCaptor<Integer> counter = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<String> table = ArgumentCaptor.forClass(String.class);
+        verify(mNotificationHubUtil, atLeastOnce()).setNotificationIdCounter(any(), counter.capture());
+        verify(mNotificationHubUtil, times(1)).setNotificationIdTable(any(), table.capture());
+        when(mNotificationHubUtil.getNotificationIdCounter(mContext)).thenReturn(counter.getValue());
+        when(mNotificationHubUtil.getNotificationIdTable(mContext)).thenReturn(table.getValue());
+
+        ReactNativeNotificationIds.invalidate();
+
+        Assert.assertEquals(ReactNativeNotificationIds.forMessage(mContext, MESSAGE_ID), id);
+        Assert.assertNotEquals(ReactNativeNotificationIds.forMessage(mContext, "other"), id);
+    }
+
+    @Test
+    public void testPersistedWithoutMessageId() {
+        int id = ReactNativeNotificationIds.forMessage(mContext, null);
+
+        ArgumentCaptor<Integer> counter = ArgumentCaptor.forClass(Integer.class);
+        verify(mNotificationHubUtil, times(1)).setNotificationIdCounter(any(), counter.capture());
+        when(mNotificationHubUtil.getNotificationIdCounter(mContext)).thenReturn(counter.getValue());
+
+        // No mapping, so no table write
+        PowerMockito.verifyStatic(ReactNativeUtil.class, times(0));
+        ReactNativeUtil.runInWorkerThreadDelayed(any(Runnable.class), anyLong());
+
+        // As after a process restart
+        ReactNativeNotificationIds.invalidate();
+
+        Assert.assertNotEquals(ReactNativeNotificationIds.forMessage(mContext, null), id);
+    }
+
+    @Test
+    public void testTableWrittenInBatches() {
+        for (int i = 0; i < 10; i++) {
+            ReactNativeNotificationIds.forMessage(mContext, "message " + i);
+        }
+
+        verify(mNotificationHubUtil, times(0)).setNotificationIdTable(any(), anyString());
+        PowerMockito.verifyStatic(ReactNativeUtil.class, times(1));
+        ReactNativeUtil.runInWorkerThreadDelayed(mFlushTask.getValue(), NOTIFICATION_ID_TABLE_FLUSH_DELAY_MS);
+
+        mFlushTask.getValue().run();
+        ReactNativeNotificationIds.forMessage(mContext, "message 0");
+        ReactNativeNotificationIds.flush(mContext);
+
+        // A known message id adds no mapping, so there is nothing left to write
+        verify(mNotificationHubUtil, times(1)).setNotificationIdTable(any(), anyString());
+
+        ReactNativeNotificationIds.forMessage(mContext, "message 10");
+        PowerMockito.verifyStatic(ReactNativeUtil.class, times(2));
+        ReactNativeUtil.runInWorkerThreadDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void testLookupGroupDoesNotAllocate() {
+        Assert.assertNull(ReactNativeNotificationIds.lookupGroup(mContext, "news"));
+        verify(mNotificationHubUtil, times(0)).setNotificationIdCounter(any(), anyInt());
+
+        int id = ReactNativeNotificationIds.forGroup(mContext, "news");
+
+        Assert.assertEquals(ReactNativeNotificationIds.lookupGroup(mContext, "news"), Integer.valueOf(id));
+    }
+
+    @Test
+    public void testWrapAroundSkipsMappedIds() {
+        when(mNotificationHubUtil.getNotificationIdCounter(mContext)).thenReturn(Integer.MAX_VALUE - 1);
+        when(mNotificationHubUtil.getNotificationIdTable(mContext)).thenReturn("1\tm:live");
+
+        Assert.assertEquals(ReactNativeNotificationIds.forMessage(mContext, "a"), Integer.MAX_VALUE);
+        Assert.assertEquals(ReactNativeNotificationIds.forMessage(mContext, "b"), 2);
+        Assert.assertEquals(ReactNativeNotificationIds.forMessage(mContext, "live"), 1);
+    }
+
+    @Test
+    public void testConcurrentAllocationCollisionFree() throws Exception {
+        final int threads = 8;
+        final int perThread = 2000;
+        final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        final Set<String> failures = ConcurrentHashMap.newKeySet();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    // Every other message has no id, mixing both allocation paths
+                    String messageId = i % 2 == 0 ? "t" + thread + "-" + i : null;
+                    if (!ids.add(ReactNativeNotificationIds.forMessage(mContext, messageId))) {
+                        failures.add(String.valueOf(messageId));
+                    }
+                }
+            }));
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Assert.assertTrue(failures.isEmpty());
+        Assert.assertEquals(ids.size(), threads * perThread);
+
+        // Writes are ordered with allocations, so the last one persisted the newest counter
+        ArgumentCaptor<Integer> counter = ArgumentCaptor.forClass(Integer.class);
+        verify(mNotificationHubUtil, times(threads * perThread)).setNotificationIdCounter(
+                any(), counter.capture());
+        Assert.assertEquals(counter.getValue(), Collections.max(ids));
+
+        Set<Integer> summaries = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            summaries.add(ReactNativeNotificationIds.forGroup(mContext, "group " + i));
+        }
+        summaries.retainAll(ids);
+        Assert.assertTrue(summaries.isEmpty());
+    }
+}
@@ -0,0 +1,162 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.app.Application;
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.azure.reactnative.notificationhub.ReactNativeNotificationInbox;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.util.ReflectionHelpers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.INBOX_MAX_PAGE_SIZE;
+
+/**
+ * Unit tests for ReactNativeNotificationInbox, against a real SQLite database.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28, application = Application.class)
+public class ReactNativeNotificationInboxTest {
+    private static final long NOW = 1000000;
+
+    // Two bytes per character in UTF-8
+    private static final String WIDE_PAYLOAD = "{\"message\":\"ééééééééé\"}";
+
+    private ReactNativeNotificationInbox mInbox;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        mInbox = ReactNativeNotificationInbox.getInstance(context);
+    }
+
+    @After
+    public void tearDown() {
+        mInbox.close();
+        ReflectionHelpers.setStaticField(ReactNativeNotificationInbox.class, "sharedInboxInstance", null);
+    }
+
+    @Test
+    public void testQueryNewestFirst() {
+        append(3, 0, 0, 0);
+
+        List<ReactNativeNotificationInbox.Entry> entries = mInbox.query(null, 10);
+
+        Assert.assertEquals(entries.size(), 3);
+        Assert.assertEquals(entries.get(0).messageId, "Message 2");
+        Assert.assertEquals(entries.get(0).receivedAt, NOW + 2);
+        Assert.assertEquals(entries.get(0).payload, WIDE_PAYLOAD);
+        Assert.assertFalse(entries.get(0).read);
+        Assert.assertEquals(entries.get(2).messageId, "Message 0");
+    }
+
+    @Test
+    public void testQueryPages() {
+        append(5, 0, 0, 0);
+
+        List<ReactNativeNotificationInbox.Entry> first = mInbox.query(null, 2);
+        List<ReactNativeNotificationInbox.Entry> second = mInbox.query(first.get(1).id, 2);
+        List<ReactNativeNotificationInbox.Entry> last = mInbox.query(second.get(1).id, 2);
+
+        Assert.assertEquals(first.get(0).messageId, "Message 4");
+        Assert.assertEquals(second.get(0).messageId, "Message 2");
+        Assert.assertEquals(last.size(), 1);
+        Assert.assertEquals(last.get(0).messageId, "Message 0");
+    }
+
+    @Test
+    public void testQueryClampsLimit() {
+        append(INBOX_MAX_PAGE_SIZE + 5, 0, 0, 0);
+
+        // SQLite reads a negative LIMIT as unlimited
+        Assert.assertEquals(mInbox.query(null, 0).size(), 1);
+        Assert.assertEquals(mInbox.query(null, -1).size(), 1);
+        Assert.assertEquals(mInbox.query(null, Integer.MAX_VALUE).size(), INBOX_MAX_PAGE_SIZE);
+    }
+
+    @Test
+    public void testMarkRead() {
+        append(3, 0, 0, 0);
+        List<ReactNativeNotificationInbox.Entry> entries = mInbox.query(null, 10);
+
+        mInbox.markRead(new long[]{entries.get(0).id, entries.get(2).id});
+        mInbox.markRead(new long[0]);
+
+        entries = mInbox.query(null, 10);
+        Assert.assertTrue(entries.get(0).read);
+        Assert.assertFalse(entries.get(1).read);
+        Assert.assertTrue(entries.get(2).read);
+    }
+
+    @Test
+    public void testPruneByCount() {
+        append(10, 3, 0, 0);
+
+        List<ReactNativeNotificationInbox.Entry> entries = mInbox.query(null, 10);
+
+        Assert.assertEquals(entries.size(), 3);
+        Assert.assertEquals(entries.get(2).messageId, "Message 7");
+    }
+
+    @Test
+    public void testPruneByAge() {
+        append(10, 0, 5, 0);
+
+        List<ReactNativeNotificationInbox.Entry> entries = mInbox.query(null, 10);
+
+        // Entries received more than 5ms before the last append are gone
+        Assert.assertEquals(entries.size(), 6);
+        Assert.assertEquals(entries.get(5).messageId, "Message 4");
+    }
+
+    @Test
+    public void testPruneByUtf8Bytes() {
+        int size = WIDE_PAYLOAD.getBytes(StandardCharsets.UTF_8).length;
+        Assert.assertTrue(size > WIDE_PAYLOAD.length());
+
+        // Room for 3 entries by byte length, 4 if sized by characters
+        append(10, 0, 0, size * 3 + WIDE_PAYLOAD.length() / 2);
+
+        Assert.assertEquals(mInbox.query(null, 10).size(), 3);
+    }
+
+    @Test
+    public void testPruneByBytesSpansBatches() {
+        int size = WIDE_PAYLOAD.getBytes(StandardCharsets.UTF_8).length;
+        append(100, 0, 0, 0);
+
+        // Drops 90 of the oldest entries in one append
+        mInbox.append("Message 100", NOW + 100, WIDE_PAYLOAD, 0, 0, size * 11);
+
+        List<ReactNativeNotificationInbox.Entry> entries = mInbox.query(null, 100);
+        Assert.assertEquals(entries.size(), 11);
+        Assert.assertEquals(entries.get(10).messageId, "Message 90");
+    }
+
+    @Test
+    public void testPruneTracksBytesAcrossLimits() {
+        int size = WIDE_PAYLOAD.getBytes(StandardCharsets.UTF_8).length;
+        append(10, 4, 0, 0);
+
+        // The 6 entries pruned by count no longer count against the byte budget
+        mInbox.append("Message 10", NOW + 10, WIDE_PAYLOAD, 0, 0, size * 5);
+
+        Assert.assertEquals(mInbox.query(null, 10).size(), 5);
+    }
+
+    private void append(int count, int maxCount, long maxAge, long maxBytes) {
+        for (int i = 0; i < count; i++) {
+            mInbox.append("Message " + i, NOW + i, WIDE_PAYLOAD, maxCount, maxAge, maxBytes);
+        }
+    }
+}
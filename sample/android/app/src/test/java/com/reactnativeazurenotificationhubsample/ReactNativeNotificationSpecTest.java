@@ -0,0 +1,148 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.graphics.Color;
+import android.os.Bundle;
+import android.util.Log;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.reset;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationSpec;
+
+/**
+ * Unit tests for ReactNativeNotificationSpec.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        ReactNativeNotificationHubUtil.BundleFactory.class,
+        Color.class,
+        Log.class
+})
+public class ReactNativeNotificationSpecTest {
+    private final static String NOTIFICATION_MESSAGE = "Notification Message";
+    private final static int DEFAULT_COLOR = 1;
+
+    @Mock
+    Bundle mBundle;
+
+    @Before
+    public void setUp() {
+        reset(mBundle);
+
+        PowerMockito.mockStatic(Color.class);
+        PowerMockito.mockStatic(Log.class);
+        PowerMockito.mockStatic(ReactNativeNotificationHubUtil.BundleFactory.class);
+        when(ReactNativeNotificationHubUtil.BundleFactory.createBundle(any())).thenAnswer(
+                invocation -> invocation.getArgument(0));
+        when(Color.parseColor(RESOURCE_NOTIFICATION_COLOR)).thenReturn(DEFAULT_COLOR);
+    }
+
+    @Test
+    public void testFromBundleNoMessage() {
+        Assert.assertNull(ReactNativeNotificationSpec.fromBundle(null));
+        Assert.assertNull(ReactNativeNotificationSpec.fromBundle(mBundle));
+    }
+
+    @Test
+    public void testFromBundleBodyFallback() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_BODY)).thenReturn(NOTIFICATION_MESSAGE);
+
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        Assert.assertEquals(spec.getMessage(), NOTIFICATION_MESSAGE);
+        Assert.assertEquals(spec.getBigText(), NOTIFICATION_MESSAGE);
+    }
+
+    @Test
+    public void testFromBundleCopiesBundle() {
+        Bundle copy = PowerMockito.mock(Bundle.class);
+        when(ReactNativeNotificationHubUtil.BundleFactory.createBundle(mBundle)).thenReturn(copy);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        // Later changes to the caller's bundle do not reach the render path
+        Assert.assertSame(spec.getBundle(), copy);
+    }
+
+    @Test
+    public void testFromBundleDefaults() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        Assert.assertTrue(spec.isAutoCancel());
+        Assert.assertTrue(spec.isPlaySound());
+        Assert.assertTrue(spec.isVibrate());
+        Assert.assertEquals(spec.getVibration(), 300L);
+        Assert.assertNull(spec.getNumber());
+        Assert.assertNull(spec.getOngoing());
+        Assert.assertEquals(spec.getColor(), DEFAULT_COLOR);
+    }
+
+    @Test
+    public void testFromBundleStringValues() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_AUTO_CANCEL)).thenReturn("false");
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_ONGOING)).thenReturn("true");
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_NUMBER)).thenReturn("7");
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_VIBRATION)).thenReturn("500");
+
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        Assert.assertFalse(spec.isAutoCancel());
+        Assert.assertTrue(spec.getOngoing());
+        Assert.assertEquals(spec.getNumber(), Integer.valueOf(7));
+        Assert.assertEquals(spec.getVibration(), 500L);
+    }
+
+    @Test
+    public void testFromBundleMalformedValues() {
+        final String color = "not a color";
+
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_NUMBER)).thenReturn("seven");
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_COLOR)).thenReturn(color);
+        when(Color.parseColor(color)).thenThrow(new IllegalArgumentException());
+
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        Assert.assertNull(spec.getNumber());
+        Assert.assertEquals(spec.getColor(), DEFAULT_COLOR);
+    }
+
+    @Test
+    public void testContentHash() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn("1");
+        ReactNativeNotificationSpec spec = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn("2");
+        ReactNativeNotificationSpec resent = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_NUMBER)).thenReturn(3);
+        ReactNativeNotificationSpec minor = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn("Title");
+        ReactNativeNotificationSpec major = ReactNativeNotificationSpec.fromBundle(mBundle);
+
+        Assert.assertNotEquals(spec.getContentHash(), ReactNativeNotificationSpec.NO_CONTENT_HASH);
+        Assert.assertEquals(spec.getContentHash(), resent.getContentHash());
+        Assert.assertNotEquals(spec.getContentHash(), minor.getContentHash());
+        Assert.assertEquals(spec.getAlertHash(), minor.getAlertHash());
+        Assert.assertNotEquals(spec.getAlertHash(), major.getAlertHash());
+    }
+}
@@ -0,0 +1,194 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.Intent;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import com.azure.reactnative.notificationhub.ReactNativeGroupSummaries;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationDismissedReceiver;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationIds;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationTray;
+import com.azure.reactnative.notificationhub.ReactNativeTrayIndex;
+
+import java.util.List;
+
+/**
+ * Unit tests for ReactNativeNotificationTray.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        ReactNativeNotificationIds.class,
+        ReactNativeGroupSummaries.class
+})
+public class ReactNativeNotificationTrayTest {
+    private final static String TAG = "Tag";
+    private final static String GROUP = "Group";
+    private final static int SUMMARY_ID = 99;
+
+    @Mock
+    Context mContext;
+
+    @Mock
+    NotificationManager mNotificationManager;
+
+    @Mock
+    Intent mIntent;
+
+    @Before
+    public void setUp() {
+        reset(mContext);
+        reset(mNotificationManager);
+        reset(mIntent);
+
+        PowerMockito.mockStatic(ReactNativeNotificationIds.class);
+        PowerMockito.mockStatic(ReactNativeGroupSummaries.class);
+        when(mContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(mNotificationManager);
+
+        // Marks the index seeded and empty
+        ReactNativeNotificationTray.cancelAll(mContext);
+        reset(mNotificationManager);
+    }
+
+    @Test
+    public void testGetDeliveredInPostOrder() {
+        record(1, null, null, "m1");
+        record(2, TAG, null, "m2");
+        record(1, null, null, "m1");
+
+        List<ReactNativeTrayIndex.Entry> delivered = ReactNativeNotificationTray.getDelivered(mContext);
+
+        Assert.assertEquals(delivered.size(), 2);
+        Assert.assertEquals(delivered.get(0).messageId, "m2");
+        Assert.assertEquals(delivered.get(1).messageId, "m1");
+    }
+
+    @Test
+    public void testSameIdDifferentTagsAreDistinct() {
+        record(1, "a", null, "m1");
+        record(1, "b", null, "m2");
+
+        ReactNativeNotificationTray.remove("a", 1);
+
+        Assert.assertFalse(ReactNativeNotificationTray.contains(mContext, "a", 1));
+        Assert.assertTrue(ReactNativeNotificationTray.contains(mContext, "b", 1));
+    }
+
+    @Test
+    public void testCancelByMessageId() {
+        record(1, TAG, null, "m1");
+        record(2, TAG, null, "m2");
+
+        ReactNativeNotificationTray.cancelByMessageId(mContext, "m1");
+
+        verify(mNotificationManager, times(1)).cancel(TAG, 1);
+        verify(mNotificationManager, times(0)).cancel(TAG, 2);
+        Assert.assertEquals(ReactNativeNotificationTray.getDelivered(mContext).size(), 1);
+    }
+
+    @Test
+    public void testCancelByMessageIdUnknown() {
+        record(1, TAG, null, "m1");
+
+        ReactNativeNotificationTray.cancelByMessageId(mContext, "unknown");
+
+        verify(mNotificationManager, times(0)).cancel(anyString(), anyInt());
+    }
+
+    @Test
+    public void testCancelByTag() {
+        record(1, TAG, null, "m1");
+        record(2, TAG, null, "m2");
+        record(3, "Other", null, "m3");
+
+        ReactNativeNotificationTray.cancelByTag(mContext, TAG);
+
+        verify(mNotificationManager, times(1)).cancel(TAG, 1);
+        verify(mNotificationManager, times(1)).cancel(TAG, 2);
+        verify(mNotificationManager, times(0)).cancel("Other", 3);
+    }
+
+    @Test
+    public void testCancelByGroup() {
+        when(ReactNativeNotificationIds.lookupGroup(mContext, GROUP)).thenReturn(SUMMARY_ID);
+        record(1, null, GROUP, "m1");
+        record(2, null, "Other", "m2");
+
+        ReactNativeNotificationTray.cancelByGroup(mContext, GROUP);
+
+        verify(mNotificationManager, times(1)).cancel(null, 1);
+        verify(mNotificationManager, times(1)).cancel(SUMMARY_ID);
+        verify(mNotificationManager, times(0)).cancel(null, 2);
+        PowerMockito.verifyStatic(ReactNativeGroupSummaries.class);
+        ReactNativeGroupSummaries.remove(eq(GROUP), anyString());
+    }
+
+    @Test
+    public void testCancelByGroupWithoutSummary() {
+        ReactNativeNotificationTray.cancelByGroup(mContext, GROUP);
+
+        verify(mNotificationManager, times(0)).cancel(anyInt());
+        PowerMockito.verifyStatic(ReactNativeNotificationIds.class, times(0));
+        ReactNativeNotificationIds.forGroup(mContext, GROUP);
+    }
+
+    @Test
+    public void testCancelAll() {
+        record(1, TAG, GROUP, "m1");
+
+        ReactNativeNotificationTray.cancelAll(mContext);
+
+        verify(mNotificationManager, times(1)).cancelAll();
+        Assert.assertTrue(ReactNativeNotificationTray.getDelivered(mContext).isEmpty());
+        PowerMockito.verifyStatic(ReactNativeGroupSummaries.class, times(2));
+        ReactNativeGroupSummaries.clear();
+    }
+
+    @Test
+    public void testDismissedReceiverRemovesEntry() {
+        record(1, "a", null, "m1");
+        record(1, "b", null, "m2");
+        when(mIntent.hasExtra(KEY_INTENT_NOTIFICATION_ID)).thenReturn(true);
+        when(mIntent.getIntExtra(KEY_INTENT_NOTIFICATION_ID, 0)).thenReturn(1);
+        when(mIntent.getStringExtra(KEY_INTENT_NOTIFICATION_TAG)).thenReturn("b");
+
+        new ReactNativeNotificationDismissedReceiver().onReceive(mContext, mIntent);
+
+        Assert.assertTrue(ReactNativeNotificationTray.contains(mContext, "a", 1));
+        Assert.assertFalse(ReactNativeNotificationTray.contains(mContext, "b", 1));
+        verify(mNotificationManager, times(0)).cancel(anyString(), anyInt());
+    }
+
+    @Test
+    public void testDismissedReceiverIgnoresForeignIntent() {
+        record(1, null, null, "m1");
+        when(mIntent.hasExtra(KEY_INTENT_NOTIFICATION_ID)).thenReturn(false);
+
+        new ReactNativeNotificationDismissedReceiver().onReceive(mContext, mIntent);
+
+        Assert.assertTrue(ReactNativeNotificationTray.contains(mContext, null, 1));
+    }
+
+    private void record(int id, String tag, String group, String messageId) {
+        ReactNativeNotificationTray.record(mContext, new ReactNativeTrayIndex.Entry(
+                id, tag, group, messageId, "Title", "Body", System.currentTimeMillis()));
+    }
+}
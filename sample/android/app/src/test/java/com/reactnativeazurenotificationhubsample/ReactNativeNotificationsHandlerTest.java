@@ -5,8 +5,6 @@ import android.app.NotificationManager;
 import android.app.PendingIntent;
 import android.content.Context;
 import android.content.Intent;
-import android.content.pm.ApplicationInfo;
-import android.content.pm.PackageManager;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import android.graphics.Color;
@@ -41,6 +39,8 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationIds;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationTray;
 import com.azure.reactnative.notificationhub.ReactNativeUtil;
 import com.facebook.react.bridge.ReactApplicationContext;
 
@@ -49,6 +49,7 @@ import com.facebook.react.bridge.ReactApplicationContext;
  */
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({
+        ReactNativeNotificationHubUtil.BundleFactory.class,
         LocalBroadcastManager.class,
         ReactNativeNotificationHubUtil.class,
         ReactNativeUtil.class,
@@ -103,22 +104,26 @@ public class ReactNativeNotificationsHandlerTest {
         PowerMockito.mockStatic(Color.class);
         PowerMockito.mockStatic(PendingIntent.class);
         PowerMockito.mockStatic(Log.class);
+        PowerMockito.mockStatic(ReactNativeNotificationHubUtil.BundleFactory.class);
+        when(ReactNativeNotificationHubUtil.BundleFactory.createBundle(any())).thenAnswer(
+                invocation -> invocation.getArgument(0));
 
         mIntentClass = Class.forName("com.reactnativeazurenotificationhubsample.MainActivity");
         when(ReactNativeUtil.getMainActivityClass(mReactApplicationContext)).thenReturn(mIntentClass);
         mWorkerTask = ArgumentCaptor.forClass(Runnable.class);
-        PowerMockito.doNothing().when(
+        PowerMockito.doReturn(true).when(
                 ReactNativeUtil.class, "runInWorkerThread", mWorkerTask.capture());
         mNotificationBuilder = PowerMockito.mock(NotificationCompat.Builder.class);
         when(ReactNativeUtil.initNotificationCompatBuilder(
                 any(), any(), any(), any(), anyInt(), anyInt(), anyBoolean())).thenReturn(mNotificationBuilder);
         mNotification = PowerMockito.mock(Notification.class);
         when(mNotificationBuilder.build()).thenReturn(mNotification);
+        ReactNativeNotificationTray.cancelAll(mReactApplicationContext);
     }
 
     @Test
     public void testSendBroadcastIntent() throws Exception {
-        final int delay = 1000;
+        final int delay = 0;
 
         Intent intent = PowerMockito.mock(Intent.class);
 
@@ -137,10 +142,15 @@ public class ReactNativeNotificationsHandlerTest {
         Intent intent = PowerMockito.mock(Intent.class);
         when(ReactNativeUtil.createBroadcastIntent(TAG, mBundle)).thenReturn(intent);
 
+        ArgumentCaptor<Runnable> delayedTask = ArgumentCaptor.forClass(Runnable.class);
+        PowerMockito.doNothing().when(
+                ReactNativeUtil.class, "runInWorkerThreadDelayed", delayedTask.capture(), eq((long) delay));
+
         sendBroadcast(mReactApplicationContext, mBundle, delay);
-        mWorkerTask.getValue().run();
+        delayedTask.getValue().run();
 
-        PowerMockito.verifyStatic(ReactNativeUtil.class);
+        // Waits on the scheduler instead of sleeping on a worker thread
+        PowerMockito.verifyStatic(ReactNativeUtil.class, times(0));
         ReactNativeUtil.runInWorkerThread(any(Runnable.class));
         PowerMockito.verifyStatic(ReactNativeUtil.class);
         ReactNativeUtil.createBroadcastIntent(TAG, mBundle);
@@ -190,13 +200,7 @@ public class ReactNativeNotificationsHandlerTest {
     public void testSendNotificationNoTitle() {
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
 
-        ApplicationInfo appInfo = PowerMockito.mock(ApplicationInfo.class);
-        PackageManager packageManager = PowerMockito.mock(PackageManager.class);
-        CharSequence applicationLabel = PowerMockito.mock(CharSequence.class);
-        when(mReactApplicationContext.getApplicationInfo()).thenReturn(appInfo);
-        when(mReactApplicationContext.getPackageManager()).thenReturn(packageManager);
-        when(packageManager.getApplicationLabel(appInfo)).thenReturn(applicationLabel);
-        when(applicationLabel.toString()).thenReturn(NOTIFICATION_TITLE);
+        when(ReactNativeUtil.getApplicationLabel(mReactApplicationContext)).thenReturn(NOTIFICATION_TITLE);
 
         sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
         mWorkerTask.getValue().run();
@@ -311,7 +315,7 @@ public class ReactNativeNotificationsHandlerTest {
         mWorkerTask.getValue().run();
 
         PowerMockito.verifyStatic(ReactNativeUtil.class);
-        ReactNativeUtil.getSmallIcon(any(), any(), any());
+        ReactNativeUtil.getSmallIcon((String) any(), any(), any());
         verify(mNotificationBuilder, times(1)).setSmallIcon(anyInt());
     }
 
@@ -439,15 +443,15 @@ public class ReactNativeNotificationsHandlerTest {
 
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
-        when(mBundle.getBoolean(KEY_REMOTE_NOTIFICATION_PLAY_SOUND)).thenReturn(true);
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_PLAY_SOUND)).thenReturn(true);
         Uri soundUri = PowerMockito.mock(Uri.class);
-        when(ReactNativeUtil.getSoundUri(any(), any())).thenReturn(soundUri);
+        when(ReactNativeUtil.getSoundUri(any(), (String) any())).thenReturn(soundUri);
 
         sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
         mWorkerTask.getValue().run();
 
         PowerMockito.verifyStatic(ReactNativeUtil.class);
-        ReactNativeUtil.getSoundUri(any(), any());
+        ReactNativeUtil.getSoundUri(any(), (String) any());
         verify(mNotificationBuilder, times(1)).setSound(soundUri);
     }
 
@@ -456,13 +460,13 @@ public class ReactNativeNotificationsHandlerTest {
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
         when(mBundle.containsKey(KEY_REMOTE_NOTIFICATION_PLAY_SOUND)).thenReturn(true);
-        when(mBundle.getBoolean(KEY_REMOTE_NOTIFICATION_PLAY_SOUND)).thenReturn(false);
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_PLAY_SOUND)).thenReturn(false);
 
         sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
         mWorkerTask.getValue().run();
 
         PowerMockito.verifyStatic(ReactNativeUtil.class, times(0));
-        ReactNativeUtil.getSoundUri(any(), any());
+        ReactNativeUtil.getSoundUri(any(), (String) any());
     }
 
     @Test
@@ -472,7 +476,7 @@ public class ReactNativeNotificationsHandlerTest {
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
         when(mBundle.containsKey(KEY_REMOTE_NOTIFICATION_ONGOING)).thenReturn(true);
-        when(mBundle.getBoolean(KEY_REMOTE_NOTIFICATION_ONGOING)).thenReturn(ongoing);
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_ONGOING)).thenReturn(ongoing);
 
         sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
         mWorkerTask.getValue().run();
@@ -514,7 +518,7 @@ public class ReactNativeNotificationsHandlerTest {
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
         when(mBundle.containsKey(KEY_REMOTE_NOTIFICATION_VIBRATE)).thenReturn(true);
-        when(mBundle.getBoolean(KEY_REMOTE_NOTIFICATION_VIBRATE)).thenReturn(false);
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_VIBRATE)).thenReturn(false);
 
         sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
         mWorkerTask.getValue().run();
@@ -545,7 +549,7 @@ public class ReactNativeNotificationsHandlerTest {
         mWorkerTask.getValue().run();
 
         PowerMockito.verifyStatic(ReactNativeUtil.class);
-        ReactNativeUtil.processNotificationActions(any(), any(), any(), anyInt());
+        ReactNativeUtil.processNotificationActions(any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -561,7 +565,7 @@ public class ReactNativeNotificationsHandlerTest {
         mWorkerTask.getValue().run();
 
         PowerMockito.verifyStatic(ReactNativeUtil.class);
-        ReactNativeUtil.processNotificationActions(any(), any(), any(), anyInt());
+        ReactNativeUtil.processNotificationActions(any(), any(), any(), any(), anyInt());
         verify(notificationManager, times(1)).notify(anyInt(), eq(mNotification));
     }
 
@@ -582,7 +586,130 @@ public class ReactNativeNotificationsHandlerTest {
         mWorkerTask.getValue().run();
 
         PowerMockito.verifyStatic(ReactNativeUtil.class);
-        ReactNativeUtil.processNotificationActions(any(), any(), any(), anyInt());
+        ReactNativeUtil.processNotificationActions(any(), any(), any(), any(), anyInt());
         verify(notificationManager, times(1)).notify(eq(tags), anyInt(), eq(mNotification));
     }
+
+    @Test
+    public void testSendNotificationProgressive() {
+        final String url = "http://avatar.com/1.png";
+
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn(NOTIFICATION_ID);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_AVATAR_URL)).thenReturn(url);
+        when(mNotificationHubUtil.isProgressiveRenderingEnabled(mReactApplicationContext)).thenReturn(true);
+        Bitmap bitmap = PowerMockito.mock(Bitmap.class);
+        when(ReactNativeUtil.fetchImage(url)).thenReturn(bitmap);
+        NotificationManager notificationManager = PowerMockito.mock(NotificationManager.class);
+        when(mReactApplicationContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(
+                notificationManager);
+
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+
+        verify(mNotificationBuilder, times(1)).setLargeIcon(bitmap);
+        verify(mNotificationBuilder, times(1)).setOnlyAlertOnce(true);
+        verify(notificationManager, times(2)).notify(anyInt(), eq(mNotification));
+    }
+
+    @Test
+    public void testSendNotificationProgressiveDismissed() {
+        final String url = "http://avatar.com/1.png";
+
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn(NOTIFICATION_ID);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_AVATAR_URL)).thenReturn(url);
+        when(mNotificationHubUtil.isProgressiveRenderingEnabled(mReactApplicationContext)).thenReturn(true);
+        Bitmap bitmap = PowerMockito.mock(Bitmap.class);
+        when(ReactNativeUtil.fetchImage(url)).thenAnswer(invocation -> {
+            // User dismisses the text notification while the avatar is downloading
+            ReactNativeNotificationTray.remove(
+                    null, ReactNativeNotificationIds.forMessage(mReactApplicationContext, NOTIFICATION_ID));
+            return bitmap;
+        });
+        NotificationManager notificationManager = PowerMockito.mock(NotificationManager.class);
+        when(mReactApplicationContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(
+                notificationManager);
+
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+
+        verify(mNotificationBuilder, times(0)).setLargeIcon(any());
+        verify(notificationManager, times(1)).notify(anyInt(), eq(mNotification));
+    }
+
+    @Test
+    public void testSendNotificationIdenticalSkipped() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn(NOTIFICATION_ID);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
+        NotificationManager notificationManager = PowerMockito.mock(NotificationManager.class);
+        when(mReactApplicationContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(
+                notificationManager);
+
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+
+        verify(notificationManager, times(1)).notify(anyInt(), eq(mNotification));
+        verify(mNotificationBuilder, times(0)).setOnlyAlertOnce(true);
+    }
+
+    @Test
+    public void testSendNotificationMinorChangeSilent() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn(NOTIFICATION_ID);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
+        NotificationManager notificationManager = PowerMockito.mock(NotificationManager.class);
+        when(mReactApplicationContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(
+                notificationManager);
+
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+        when(mBundle.get(KEY_REMOTE_NOTIFICATION_NUMBER)).thenReturn(2);
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+
+        verify(notificationManager, times(2)).notify(anyInt(), eq(mNotification));
+        verify(mNotificationBuilder, times(1)).setOnlyAlertOnce(true);
+    }
+
+    @Test
+    public void testSendNotificationResendWithKeySkipped() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn(NOTIFICATION_ID, NOTIFICATION_ID + " resent");
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_KEY)).thenReturn("order-42");
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
+        NotificationManager notificationManager = PowerMockito.mock(NotificationManager.class);
+        when(mReactApplicationContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(
+                notificationManager);
+
+        // FCM assigns each send its own message id
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+
+        verify(notificationManager, times(1)).notify(anyInt(), eq(mNotification));
+    }
+
+    @Test
+    public void testSendNotificationResendWithoutKeyPosted() {
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ID)).thenReturn(NOTIFICATION_ID, NOTIFICATION_ID + " resent");
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_MESSAGE)).thenReturn(NOTIFICATION_MESSAGE);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_TITLE)).thenReturn(NOTIFICATION_TITLE);
+        NotificationManager notificationManager = PowerMockito.mock(NotificationManager.class);
+        when(mReactApplicationContext.getSystemService(Context.NOTIFICATION_SERVICE)).thenReturn(
+                notificationManager);
+
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+        sendNotification(mReactApplicationContext, mBundle, CHANNEL_ID);
+        mWorkerTask.getValue().run();
+
+        verify(notificationManager, times(2)).notify(anyInt(), eq(mNotification));
+    }
 }
@@ -0,0 +1,198 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import com.azure.reactnative.notificationhub.ReactNativeFirebaseMessagingService;
+import com.azure.reactnative.notificationhub.ReactNativeMetrics;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationsHandler;
+import com.azure.reactnative.notificationhub.ReactNativeRegistrationIntentService;
+import com.azure.reactnative.notificationhub.ReactNativeRetryPolicy;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+import com.google.android.gms.tasks.OnCompleteListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.microsoft.windowsazure.messaging.NotificationHub;
+import com.microsoft.windowsazure.messaging.NotificationHubException;
+import com.microsoft.windowsazure.messaging.Registration;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil.IntentFactory;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Shared setup for the registration tests: drives ReactNativeRegistrationIntentService against
+ * ReactNativeNotificationHubStandIn. The mocked NotificationHub makes the SDK's calls over HTTP,
+ * so retries, coalescing and skipped registrations show up as real requests to the stand-in.
+ */
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({"com.sun.net.httpserver.*", "javax.net.*"})
+@PrepareForTest({
+        ReactNativeNotificationHubUtil.class,
+        ReactNativeUtil.class,
+        ReactNativeNotificationsHandler.class,
+        ReactNativeFirebaseMessagingService.class,
+        IntentFactory.class,
+        FirebaseMessaging.class,
+        NotificationHubException.class,
+        Log.class
+})
+public abstract class ReactNativeRegistrationHarness {
+    final static String HUB_NAME = "stand-in-hub";
+    private final static long TIMEOUT_MS = 30000;
+
+    @Mock
+    Context mContext;
+
+    @Mock
+    Intent mEvent;
+
+    @Mock
+    ReactNativeNotificationHubUtil mNotificationHubUtil;
+
+    @Mock
+    FirebaseMessaging mFirebaseMessaging;
+
+    @Mock
+    Task<String> mTokenTask;
+
+    @Mock
+    NotificationHub mHub;
+
+    ReactNativeNotificationHubStandIn mStandIn;
+    ReactNativeNotificationHubStandIn.Client mClient;
+    final AtomicInteger mBroadcasts = new AtomicInteger();
+
+    // Preferences and token, read and written from the registration thread
+    volatile String mToken = "token-1";
+    volatile String[] mTags = {"news", "sports"};
+    volatile String mRegistrationId;
+    volatile long mFingerprint;
+    volatile long mRegistrationTime;
+
+    @Before
+    public void setUp() throws Exception {
+        reset(mNotificationHubUtil);
+        reset(mHub);
+        ReactNativeMetrics.resetCounters();
+        ReactNativeRegistrationIntentService.setRetryPolicy(new ReactNativeRetryPolicy(4, 1, 4));
+
+        mStandIn = new ReactNativeNotificationHubStandIn(HUB_NAME, 42);
+        mClient = new ReactNativeNotificationHubStandIn.Client(mStandIn);
+
+        PowerMockito.mockStatic(ReactNativeNotificationHubUtil.class);
+        when(ReactNativeNotificationHubUtil.getInstance()).thenReturn(mNotificationHubUtil);
+        PowerMockito.mockStatic(ReactNativeUtil.class);
+        PowerMockito.mockStatic(ReactNativeNotificationsHandler.class);
+        PowerMockito.mockStatic(ReactNativeFirebaseMessagingService.class);
+        PowerMockito.mockStatic(IntentFactory.class);
+        PowerMockito.mockStatic(FirebaseMessaging.class);
+        PowerMockito.mockStatic(Log.class);
+
+        when(IntentFactory.createIntent(any(String.class))).thenReturn(mEvent);
+        PowerMockito.doAnswer(invocation -> mBroadcasts.incrementAndGet()).when(
+                ReactNativeNotificationsHandler.class, "sendBroadcast", any(Context.class), any(Intent.class), anyLong());
+
+        // Token
+        when(FirebaseMessaging.getInstance()).thenReturn(mFirebaseMessaging);
+        when(mFirebaseMessaging.getToken()).thenReturn(mTokenTask);
+        when(mTokenTask.isSuccessful()).thenReturn(true);
+        when(mTokenTask.getResult()).thenAnswer(invocation -> mToken);
+        when(mTokenTask.addOnCompleteListener(any(Executor.class), any(OnCompleteListener.class))).thenAnswer(
+                invocation -> {
+                    Executor executor = invocation.getArgument(0);
+                    OnCompleteListener<String> listener = invocation.getArgument(1);
+                    executor.execute(() -> listener.onComplete(mTokenTask));
+                    return mTokenTask;
+                });
+
+        // Preferences
+        when(mNotificationHubUtil.getConnectionString(any())).thenReturn(mStandIn.getConnectionString());
+        when(mNotificationHubUtil.getHubName(any())).thenReturn(HUB_NAME);
+        when(mNotificationHubUtil.getTags(any())).thenAnswer(invocation -> mTags);
+        when(mNotificationHubUtil.getRegistrationID(any())).thenAnswer(invocation -> mRegistrationId);
+        when(mNotificationHubUtil.getRegistrationFingerprint(any())).thenAnswer(invocation -> mFingerprint);
+        when(mNotificationHubUtil.getRegistrationTime(any())).thenAnswer(invocation -> mRegistrationTime);
+        doAnswer(invocation -> mRegistrationId = invocation.getArgument(1))
+                .when(mNotificationHubUtil).setRegistrationID(any(), any());
+        doAnswer(invocation -> mFingerprint = invocation.getArgument(1))
+                .when(mNotificationHubUtil).setRegistrationFingerprint(any(), anyLong());
+        doAnswer(invocation -> mRegistrationTime = invocation.getArgument(1))
+                .when(mNotificationHubUtil).setRegistrationTime(any(), anyLong());
+
+        // Hub calls go to the stand-in
+        when(ReactNativeUtil.createNotificationHub(anyString(), anyString(), any())).thenReturn(mHub);
+        when(mHub.register(anyString(), any())).thenAnswer(invocation -> {
+            try {
+                return registration(mClient.register(invocation.getArgument(0), getTags(invocation)));
+            } catch (ReactNativeNotificationHubStandIn.StatusException e) {
+                throw hubException(e.getStatusCode());
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        awaitIdle();
+        mStandIn.close();
+        ReactNativeRegistrationIntentService.setRetryPolicy(new ReactNativeRetryPolicy(
+                REGISTRATION_MAX_ATTEMPTS, REGISTRATION_RETRY_BASE_DELAY_MS, REGISTRATION_RETRY_MAX_DELAY_MS));
+    }
+
+    void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (ReactNativeRegistrationIntentService.isRegistering()) {
+            if (System.currentTimeMillis() > deadline) {
+                Assert.fail("Registration did not finish within " + TIMEOUT_MS + "ms");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    static long counter(String name) {
+        return ReactNativeMetrics.getCounter(name).get();
+    }
+
+    // Varargs tags arrive as separate arguments after the token
+    private static String[] getTags(InvocationOnMock invocation) {
+        Object[] arguments = invocation.getArguments();
+        return Arrays.copyOfRange(arguments, 1, arguments.length, String[].class);
+    }
+
+    private static Registration registration(final String registrationId) {
+        return PowerMockito.mock(Registration.class, invocation ->
+                "getRegistrationId".equals(invocation.getMethod().getName())
+                        ? registrationId
+                        : RETURNS_DEFAULTS.answer(invocation));
+    }
+
+    private static NotificationHubException hubException(final int statusCode) {
+        return PowerMockito.mock(NotificationHubException.class, invocation ->
+                "getStatusCode".equals(invocation.getMethod().getName())
+                        ? statusCode
+                        : RETURNS_DEFAULTS.answer(invocation));
+    }
+}
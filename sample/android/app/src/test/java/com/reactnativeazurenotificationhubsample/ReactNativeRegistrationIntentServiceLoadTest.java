@@ -0,0 +1,91 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.util.Log;
+
+import com.azure.reactnative.notificationhub.ReactNativeFirebaseMessagingService;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationsHandler;
+import com.azure.reactnative.notificationhub.ReactNativeRegistrationIntentService;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.microsoft.windowsazure.messaging.NotificationHubException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.concurrent.CountDownLatch;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil.IntentFactory;
+
+/**
+ * Hammers ReactNativeRegistrationIntentService with concurrent requests while the stand-in
+ * injects errors and throttling. Timing dependent, so it is run on demand:
+ *
+ * ./gradlew testDebugUnitTest -PloadTest
+ */
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({"com.sun.net.httpserver.*", "javax.net.*"})
+@PrepareForTest({
+        ReactNativeNotificationHubUtil.class,
+        ReactNativeUtil.class,
+        ReactNativeNotificationsHandler.class,
+        ReactNativeFirebaseMessagingService.class,
+        IntentFactory.class,
+        FirebaseMessaging.class,
+        NotificationHubException.class,
+        Log.class
+})
+public class ReactNativeRegistrationIntentServiceLoadTest extends ReactNativeRegistrationHarness {
+
+    @Test
+    public void testCoalesceUnderLoadWithFaults() throws Exception {
+        final int threads = 8;
+        final int requestsPerThread = 50;
+        mStandIn.setLatencyMillis(5);
+        mStandIn.setErrorRate(0.2);
+        mStandIn.setThrottleRate(0.1, 1);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        // Tags change now and then, as when the app subscribes to topics
+                        if (i % 10 == 0) {
+                            mTags = new String[]{"news", "thread-" + thread + "-" + i};
+                        }
+                        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+                        Thread.sleep(1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        awaitIdle();
+
+        long requests = threads * requestsPerThread;
+        long runs = counter(METRIC_REGISTRATION_SUCCESSES) + counter(METRIC_REGISTRATION_FAILURES)
+                + counter(METRIC_REGISTRATIONS_SKIPPED);
+        // Every request either ran or was folded into a run, and runs never overlapped
+        Assert.assertEquals(runs + counter(METRIC_REGISTRATIONS_COALESCED), requests);
+        Assert.assertTrue(runs < requests / 4);
+        Assert.assertEquals(mStandIn.getMaxInFlight(), 1);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_ATTEMPTS),
+                counter(METRIC_REGISTRATION_SUCCESSES) + counter(METRIC_REGISTRATION_FAILURES)
+                        + counter(METRIC_REGISTRATION_RETRIES));
+    }
+}
@@ -0,0 +1,245 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.util.Log;
+
+import com.azure.reactnative.notificationhub.ReactNativeFirebaseMessagingService;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationsHandler;
+import com.azure.reactnative.notificationhub.ReactNativeRegistrationIntentService;
+import com.azure.reactnative.notificationhub.ReactNativeUtil;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.microsoft.windowsazure.messaging.NotificationHubException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PowerMockIgnore;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil.IntentFactory;
+import static org.mockito.ArgumentMatchers.any;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Unit tests for ReactNativeRegistrationIntentService, run against
+ * ReactNativeNotificationHubStandIn.
+ */
+@RunWith(PowerMockRunner.class)
+@PowerMockIgnore({"com.sun.net.httpserver.*", "javax.net.*"})
+@PrepareForTest({
+        ReactNativeNotificationHubUtil.class,
+        ReactNativeUtil.class,
+        ReactNativeNotificationsHandler.class,
+        ReactNativeFirebaseMessagingService.class,
+        IntentFactory.class,
+        FirebaseMessaging.class,
+        NotificationHubException.class,
+        Log.class
+})
+public class ReactNativeRegistrationIntentServiceTest extends ReactNativeRegistrationHarness {
+
+    @Test
+    public void testRegister() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertNotNull(mRegistrationId);
+        Assert.assertTrue(mStandIn.getRegistration(mRegistrationId).contains("token-1"));
+        Assert.assertEquals(mStandIn.getRequestCount(ReactNativeNotificationHubStandIn.OP_UPSERT_REGISTRATION), 1);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 1);
+        Assert.assertEquals(mBroadcasts.get(), 1);
+    }
+
+    @Test
+    public void testNotConfigured() throws Exception {
+        when(mNotificationHubUtil.getConnectionString(any())).thenReturn(null);
+
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertEquals(counter(METRIC_REGISTRATION_ATTEMPTS), 0);
+        Assert.assertEquals(mStandIn.getRequestCounts().size(), 0);
+    }
+
+    @Test
+    public void testSkipUnchanged() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+        String registrationId = mRegistrationId;
+
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertEquals(mRegistrationId, registrationId);
+        Assert.assertEquals(mStandIn.getRequestCount(ReactNativeNotificationHubStandIn.OP_UPSERT_REGISTRATION), 1);
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_SKIPPED), 1);
+
+        // The JS side still hears about its registration
+        Assert.assertEquals(mBroadcasts.get(), 2);
+    }
+
+    @Test
+    public void testSkipUnchangedIgnoresTagOrder() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        mTags = new String[]{"sports", "news"};
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_SKIPPED), 1);
+    }
+
+    @Test
+    public void testReregisterOnTokenChange() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        mToken = "token-2";
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertTrue(mStandIn.getRegistration(mRegistrationId).contains("token-2"));
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 2);
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_SKIPPED), 0);
+    }
+
+    @Test
+    public void testReregisterWhenDueForRefresh() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        mRegistrationTime -= REGISTRATION_REFRESH_INTERVAL_MS;
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 2);
+    }
+
+    @Test
+    public void testReregisterAfterInvalidated() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        // As unregister() leaves it
+        mRegistrationId = null;
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertNotNull(mRegistrationId);
+        Assert.assertEquals(mStandIn.getRequestCount(ReactNativeNotificationHubStandIn.OP_UPSERT_REGISTRATION), 2);
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_SKIPPED), 0);
+    }
+
+    @Test
+    public void testReregisterAfterStoredStateLost() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        // E.g. preferences restored from a backup without the fingerprint
+        mFingerprint = 0;
+        mRegistrationTime = 0;
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 2);
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_SKIPPED), 0);
+    }
+
+    @Test
+    public void testReregisterAfterServerExpiry() throws Exception {
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        // Lost server-side: unnoticed until the registration is due for a refresh
+        mStandIn.expireRegistrations();
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+        Assert.assertEquals(mStandIn.getRegistrationCount(), 0);
+
+        mRegistrationTime -= REGISTRATION_REFRESH_INTERVAL_MS;
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertEquals(mStandIn.getRegistrationCount(), 1);
+        Assert.assertTrue(mStandIn.getRegistration(mRegistrationId).contains("token-1"));
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 2);
+    }
+
+    @Test
+    public void testRetryThrottled() throws Exception {
+        mStandIn.failNext(429, 503);
+
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertNotNull(mRegistrationId);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_ATTEMPTS), 3);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_RETRIES), 2);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 1);
+        Assert.assertEquals(mStandIn.getResponseCount(429), 1);
+    }
+
+    @Test
+    public void testNoRetryOnUnauthorized() throws Exception {
+        mStandIn.failNext(401);
+
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertNull(mRegistrationId);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_ATTEMPTS), 1);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_FAILURES), 1);
+        Assert.assertEquals(mBroadcasts.get(), 1);
+    }
+
+    @Test
+    public void testGiveUpAfterMaxAttempts() throws Exception {
+        mStandIn.setThrottleRate(1, 1);
+
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertNull(mRegistrationId);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_ATTEMPTS), 4);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_RETRIES), 3);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_FAILURES), 1);
+    }
+
+    @Test
+    public void testCoalesceBurst() throws Exception {
+        final int requests = 100;
+        mStandIn.setLatencyMillis(200);
+
+        for (int i = 0; i < requests; i++) {
+            ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        }
+        awaitIdle();
+
+        // One registration, then a single rerun that finds nothing changed
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_COALESCED), requests - 1);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 1);
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_SKIPPED), 1);
+        Assert.assertEquals(mStandIn.getRequestCount(ReactNativeNotificationHubStandIn.OP_UPSERT_REGISTRATION), 1);
+    }
+
+    @Test
+    public void testTokenFetchThrows() throws Exception {
+        when(FirebaseMessaging.getInstance()).thenThrow(new IllegalStateException("Not initialized"));
+
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+
+        // The failed run must not leave later requests coalesced into nothing
+        Assert.assertFalse(ReactNativeRegistrationIntentService.isRegistering());
+        Assert.assertEquals(counter(METRIC_REGISTRATION_FAILURES), 1);
+
+        when(FirebaseMessaging.getInstance()).thenReturn(mFirebaseMessaging);
+        ReactNativeRegistrationIntentService.requestRegistration(mContext);
+        awaitIdle();
+
+        Assert.assertEquals(counter(METRIC_REGISTRATIONS_COALESCED), 0);
+        Assert.assertEquals(counter(METRIC_REGISTRATION_SUCCESSES), 1);
+    }
+}
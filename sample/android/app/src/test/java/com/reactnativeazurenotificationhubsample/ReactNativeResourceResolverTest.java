@@ -0,0 +1,122 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.content.res.Resources;
+import android.net.Uri;
+
+import com.azure.reactnative.notificationhub.ReactNativeResourceResolver;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import static com.azure.reactnative.notificationhub.ReactNativeConstants.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+/**
+ * Unit tests for ReactNativeResourceResolver.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        Uri.class
+})
+public class ReactNativeResourceResolverTest {
+    private final static String PACKAGE_NAME = "Package Name";
+
+    private Resources mResources;
+
+    @Before
+    public void setUp() {
+        ReactNativeResourceResolver.invalidate();
+        mResources = PowerMockito.mock(Resources.class);
+        PowerMockito.mockStatic(Uri.class);
+    }
+
+    @Test
+    public void testGetIdentifierCachesHit() {
+        when(mResources.getIdentifier("icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME)).thenReturn(1);
+
+        ReactNativeResourceResolver.getIdentifier(mResources, "icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        int resId = ReactNativeResourceResolver.getIdentifier(
+                mResources, "icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+
+        Assert.assertEquals(resId, 1);
+        verify(mResources, times(1)).getIdentifier("icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+    }
+
+    @Test
+    public void testGetIdentifierCachesMiss() {
+        ReactNativeResourceResolver.getIdentifier(mResources, "missing", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        int resId = ReactNativeResourceResolver.getIdentifier(
+                mResources, "missing", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+
+        Assert.assertEquals(resId, 0);
+        verify(mResources, times(1)).getIdentifier("missing", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+    }
+
+    @Test
+    public void testGetIdentifierKeyedByType() {
+        ReactNativeResourceResolver.getIdentifier(mResources, "icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        ReactNativeResourceResolver.getIdentifier(mResources, "icon", RESOURCE_DEF_TYPE_MIPMAP, PACKAGE_NAME);
+
+        verify(mResources, times(1)).getIdentifier("icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        verify(mResources, times(1)).getIdentifier("icon", RESOURCE_DEF_TYPE_MIPMAP, PACKAGE_NAME);
+    }
+
+    @Test
+    public void testGetIdentifierBounded() {
+        // Unknown names from payloads evict the least recently used entry
+        for (int i = 0; i <= RESOURCE_CACHE_MAX_SIZE; i++) {
+            ReactNativeResourceResolver.getIdentifier(mResources, "name" + i, RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        }
+        ReactNativeResourceResolver.getIdentifier(mResources, "name0", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        ReactNativeResourceResolver.getIdentifier(
+                mResources, "name" + RESOURCE_CACHE_MAX_SIZE, RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+
+        verify(mResources, times(2)).getIdentifier("name0", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        verify(mResources, times(1)).getIdentifier(
+                "name" + RESOURCE_CACHE_MAX_SIZE, RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+    }
+
+    @Test
+    public void testGetIdentifierKeepsRecentlyUsed() {
+        when(mResources.getIdentifier("icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME)).thenReturn(1);
+        ReactNativeResourceResolver.getIdentifier(mResources, "icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+
+        for (int i = 0; i < RESOURCE_CACHE_MAX_SIZE * 2; i++) {
+            ReactNativeResourceResolver.getIdentifier(mResources, "icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+            ReactNativeResourceResolver.getIdentifier(mResources, "name" + i, RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+        }
+
+        verify(mResources, times(1)).getIdentifier("icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+    }
+
+    @Test
+    public void testGetResourceUri() {
+        Uri uri = PowerMockito.mock(Uri.class);
+        when(Uri.parse(anyString())).thenReturn(uri);
+
+        ReactNativeResourceResolver.getResourceUri(PACKAGE_NAME, 1);
+        Uri res = ReactNativeResourceResolver.getResourceUri(PACKAGE_NAME, 1);
+
+        Assert.assertEquals(res, uri);
+        PowerMockito.verifyStatic(Uri.class, times(1));
+        Uri.parse("android.resource://" + PACKAGE_NAME + "/1");
+    }
+
+    @Test
+    public void testInvalidate() {
+        ReactNativeResourceResolver.getIdentifier(mResources, "icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+
+        ReactNativeResourceResolver.invalidate();
+        ReactNativeResourceResolver.getIdentifier(mResources, "icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+
+        verify(mResources, times(2)).getIdentifier("icon", RESOURCE_DEF_TYPE_DRAWABLE, PACKAGE_NAME);
+    }
+}
@@ -0,0 +1,146 @@
+package com.reactnativeazurenotificationhubsample;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.os.Trace;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.powermock.reflect.Whitebox;
+
+import com.azure.reactnative.notificationhub.ReactNativeTrace;
+
+/**
+ * Unit tests for ReactNativeTrace.
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({
+        Trace.class
+})
+public class ReactNativeTraceTest {
+    private final static String SECTION = "AzureNH.test";
+    private final static String NEXT_SECTION = "AzureNH.test.next";
+
+    @Mock
+    Context mContext;
+
+    @Before
+    public void setUp() {
+        reset(mContext);
+        Whitebox.setInternalState(ReactNativeTrace.class, "mEnabled", false);
+        Whitebox.setInternalState(ReactNativeTrace.class, "mConfigured", false);
+
+        PowerMockito.mockStatic(Trace.class);
+    }
+
+    @Test
+    public void testInitializeDebuggable() {
+        ApplicationInfo applicationInfo = new ApplicationInfo();
+        applicationInfo.flags = ApplicationInfo.FLAG_DEBUGGABLE;
+        when(mContext.getApplicationInfo()).thenReturn(applicationInfo);
+
+        ReactNativeTrace.initialize(mContext);
+
+        Assert.assertTrue(ReactNativeTrace.isEnabled());
+    }
+
+    @Test
+    public void testInitializeRelease() {
+        when(mContext.getApplicationInfo()).thenReturn(new ApplicationInfo());
+
+        ReactNativeTrace.initialize(mContext);
+
+        Assert.assertFalse(ReactNativeTrace.isEnabled());
+    }
+
+    @Test
+    public void testSetEnabledWinsOverInitialize() {
+        ApplicationInfo applicationInfo = new ApplicationInfo();
+        applicationInfo.flags = ApplicationInfo.FLAG_DEBUGGABLE;
+        when(mContext.getApplicationInfo()).thenReturn(applicationInfo);
+
+        ReactNativeTrace.setEnabled(false);
+        ReactNativeTrace.initialize(mContext);
+
+        Assert.assertFalse(ReactNativeTrace.isEnabled());
+    }
+
+    @Test
+    public void testBeginEndEnabled() {
+        ReactNativeTrace.setEnabled(true);
+
+        boolean section = ReactNativeTrace.begin(SECTION);
+        ReactNativeTrace.end(section);
+
+        Assert.assertTrue(section);
+        PowerMockito.verifyStatic(Trace.class);
+        Trace.beginSection(SECTION);
+        PowerMockito.verifyStatic(Trace.class);
+        Trace.endSection();
+    }
+
+    @Test
+    public void testBeginEndDisabled() {
+        boolean section = ReactNativeTrace.begin(SECTION);
+        ReactNativeTrace.end(section);
+
+        Assert.assertFalse(section);
+        PowerMockito.verifyStatic(Trace.class, times(0));
+        Trace.beginSection(anyString());
+        PowerMockito.verifyStatic(Trace.class, times(0));
+        Trace.endSection();
+    }
+
+    @Test
+    public void testDisabledWhileOpenStillEnds() {
+        ReactNativeTrace.setEnabled(true);
+
+        boolean section = ReactNativeTrace.begin(SECTION);
+        ReactNativeTrace.setEnabled(false);
+        ReactNativeTrace.end(section);
+
+        PowerMockito.verifyStatic(Trace.class, times(1));
+        Trace.endSection();
+    }
+
+    @Test
+    public void testNext() {
+        ReactNativeTrace.setEnabled(true);
+
+        boolean section = ReactNativeTrace.begin(SECTION);
+        section = ReactNativeTrace.next(section, NEXT_SECTION);
+        ReactNativeTrace.end(section);
+
+        PowerMockito.verifyStatic(Trace.class, times(1));
+        Trace.beginSection(SECTION);
+        PowerMockito.verifyStatic(Trace.class, times(1));
+        Trace.beginSection(NEXT_SECTION);
+        PowerMockito.verifyStatic(Trace.class, times(2));
+        Trace.endSection();
+    }
+
+    @Test
+    public void testNextEnabledWhileClosed() {
+        boolean section = ReactNativeTrace.begin(SECTION);
+        ReactNativeTrace.setEnabled(true);
+        section = ReactNativeTrace.next(section, NEXT_SECTION);
+        ReactNativeTrace.end(section);
+
+        PowerMockito.verifyStatic(Trace.class, times(1));
+        Trace.beginSection(NEXT_SECTION);
+        PowerMockito.verifyStatic(Trace.class, times(1));
+        Trace.endSection();
+    }
+}
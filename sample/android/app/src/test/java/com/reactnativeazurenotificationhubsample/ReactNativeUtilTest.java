@@ -3,6 +3,7 @@ package com.reactnativeazurenotificationhubsample;
 import android.app.PendingIntent;
 import android.content.ComponentName;
 import android.content.Intent;
+import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
@@ -37,11 +38,17 @@ import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import com.azure.reactnative.notificationhub.ReactNativeMessageTrace;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationActionReceiver;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationDismissedReceiver;
+import com.azure.reactnative.notificationhub.ReactNativeNotificationHubUtil;
+import com.azure.reactnative.notificationhub.ReactNativeResourceResolver;
 import com.azure.reactnative.notificationhub.ReactNativeUtil;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactApplicationContext;
@@ -53,6 +60,7 @@ import java.net.HttpURLConnection;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 
 import static com.azure.reactnative.notificationhub.ReactNativeUtil.*;
 
@@ -65,6 +73,7 @@ import static com.azure.reactnative.notificationhub.ReactNativeUtil.*;
         RingtoneManager.class,
         Uri.class,
         IntentFactory.class,
+        BundleFactory.class,
         PendingIntent.class,
         Arguments.class,
         BitmapFactory.class,
@@ -83,11 +92,16 @@ public class ReactNativeUtilTest {
     public void setUp() {
         // Reset mocks
         reset(mBundle);
+        ReactNativeResourceResolver.invalidate();
+        setMainActivityClass(null);
+        when(mReactApplicationContext.getSharedPreferences(anyString(), anyInt()))
+                .thenReturn(PowerMockito.mock(SharedPreferences.class));
 
         // Prepare mock objects
         PowerMockito.mockStatic(RingtoneManager.class);
         PowerMockito.mockStatic(Uri.class);
         PowerMockito.mockStatic(IntentFactory.class);
+        PowerMockito.mockStatic(BundleFactory.class);
         PowerMockito.mockStatic(PendingIntent.class);
         PowerMockito.mockStatic(Arguments.class);
         PowerMockito.mockStatic(BitmapFactory.class);
@@ -108,6 +122,27 @@ public class ReactNativeUtilTest {
         Assert.assertEquals(json.toString(), expectedJsonString);
     }
 
+    @Test
+    public void testConvertBundleToJsonString() {
+        Bundle extras = PowerMockito.mock(Bundle.class);
+        when(extras.keySet()).thenReturn(new LinkedHashSet<>(Arrays.asList("orderId")));
+        when(extras.get("orderId")).thenReturn("1234");
+        when(mBundle.keySet()).thenReturn(new LinkedHashSet<>(Arrays.asList(
+                "message", "google.sent_time", "number", "ratio", "foreground", "extras")));
+        when(mBundle.get("message")).thenReturn("Line 1\n\"Line 2\"");
+        when(mBundle.get("google.sent_time")).thenReturn(1697712345678L);
+        when(mBundle.get("number")).thenReturn(3);
+        when(mBundle.get("ratio")).thenReturn(0.5);
+        when(mBundle.get("foreground")).thenReturn(true);
+        when(mBundle.get("extras")).thenReturn(extras);
+
+        String json = convertBundleToJsonString(mBundle);
+
+        Assert.assertEquals(json, "{\"message\":\"Line 1\\n\\\"Line 2\\\"\","
+                + "\"google.sent_time\":1697712345678,\"number\":3,\"ratio\":0.5,"
+                + "\"foreground\":true,\"extras\":{\"orderId\":\"1234\"}}");
+    }
+
     @Test
     public void testConvertBundleToMapNullArgument() {
         WritableMap expectedMap = PowerMockito.mock(WritableMap.class);
@@ -277,6 +312,66 @@ public class ReactNativeUtilTest {
         verify(emitter, times(1)).emit("event", "data");
     }
 
+    @Test
+    public void testEmitIntentRawJson() {
+        when(mReactApplicationContext.hasActiveCatalystInstance()).thenReturn(true);
+        DeviceEventManagerModule.RCTDeviceEventEmitter emitter = PowerMockito.mock(
+                DeviceEventManagerModule.RCTDeviceEventEmitter.class);
+        when(mReactApplicationContext.getJSModule(any())).thenReturn(emitter);
+        when(mBundle.keySet()).thenReturn(new LinkedHashSet<>(Arrays.asList("message")));
+        when(mBundle.get("message")).thenReturn("Hello");
+
+        Intent intent = PowerMockito.mock(Intent.class);
+        when(intent.getStringExtra(KEY_INTENT_EVENT_NAME)).thenReturn("event");
+        when(intent.getStringExtra(KEY_INTENT_EVENT_TYPE)).thenReturn(INTENT_EVENT_TYPE_BUNDLE);
+        when(intent.getExtras()).thenReturn(mBundle);
+        ReactNativeNotificationHubUtil.getInstance().setRawJsonPayloadEnabled(true);
+        try {
+            emitIntent(mReactApplicationContext, intent);
+        } finally {
+            ReactNativeNotificationHubUtil.getInstance().setRawJsonPayloadEnabled(false);
+        }
+
+        // One string across the bridge, no map built key by key
+        verify(emitter, times(1)).emit("event", "{\"message\":\"Hello\"}");
+        verifyStatic(Arguments.class, times(0));
+        Arguments.createMap();
+    }
+
+    @Test
+    public void testEmitIntentRawJsonTimings() {
+        when(mReactApplicationContext.hasActiveCatalystInstance()).thenReturn(true);
+        DeviceEventManagerModule.RCTDeviceEventEmitter emitter = PowerMockito.mock(
+                DeviceEventManagerModule.RCTDeviceEventEmitter.class);
+        when(mReactApplicationContext.getJSModule(any())).thenReturn(emitter);
+        when(mBundle.keySet()).thenReturn(new LinkedHashSet<>(Arrays.asList("message")));
+        when(mBundle.get("message")).thenReturn("Hello");
+
+        Intent intent = PowerMockito.mock(Intent.class);
+        when(intent.getStringExtra(KEY_INTENT_EVENT_NAME)).thenReturn("event");
+        when(intent.getStringExtra(KEY_INTENT_EVENT_TYPE)).thenReturn(INTENT_EVENT_TYPE_BUNDLE);
+        when(intent.getExtras()).thenReturn(mBundle);
+        when(intent.hasExtra(KEY_INTENT_MESSAGE_TRACE)).thenReturn(true);
+        when(intent.getLongArrayExtra(KEY_INTENT_MESSAGE_TRACE)).thenReturn(
+                ReactNativeMessageTrace.start(System.nanoTime()).toArray());
+        ReactNativeNotificationHubUtil.getInstance().setRawJsonPayloadEnabled(true);
+        ReactNativeNotificationHubUtil.getInstance().setEventTimingsSampleRate(1);
+        try {
+            emitIntent(mReactApplicationContext, intent);
+        } finally {
+            ReactNativeNotificationHubUtil.getInstance().setRawJsonPayloadEnabled(false);
+            ReactNativeNotificationHubUtil.getInstance().setEventTimingsSampleRate(0);
+        }
+
+        // The timings follow the payload members in the same object
+        ArgumentCaptor<Object> json = ArgumentCaptor.forClass(Object.class);
+        verify(emitter, times(1)).emit(eq("event"), json.capture());
+        Assert.assertTrue(((String) json.getValue()).startsWith(
+                "{\"message\":\"Hello\",\"" + KEY_REMOTE_NOTIFICATION_TIMINGS + "\":{"));
+        Assert.assertTrue(((String) json.getValue()).endsWith("}}"));
+        verify(mBundle, times(1)).remove(KEY_INTENT_MESSAGE_TRACE);
+    }
+
     @Test
     public void testGetMainActivityClass() throws Exception {
         final String className = "com.reactnativeazurenotificationhubsample.MainActivity";
@@ -313,6 +408,74 @@ public class ReactNativeUtilTest {
         Assert.assertNull(activityClass);
     }
 
+    @Test
+    public void testGetMainActivityClassCached() {
+        final String className = "com.reactnativeazurenotificationhubsample.MainActivity";
+
+        PackageManager packageManager = PowerMockito.mock(PackageManager.class);
+        Intent launchIntent = PowerMockito.mock(Intent.class);
+        ComponentName component = PowerMockito.mock(ComponentName.class);
+        when(mReactApplicationContext.getPackageName()).thenReturn("com.reactnativeazurenotificationhubsample");
+        when(mReactApplicationContext.getPackageManager()).thenReturn(packageManager);
+        when(packageManager.getLaunchIntentForPackage(any())).thenReturn(launchIntent);
+        when(launchIntent.getComponent()).thenReturn(component);
+        when(component.getClassName()).thenReturn(className);
+
+        getMainActivityClass(mReactApplicationContext);
+        Class activityClass = getMainActivityClass(mReactApplicationContext);
+
+        Assert.assertEquals(activityClass.getName(), className);
+        verify(packageManager, times(1)).getLaunchIntentForPackage(any());
+    }
+
+    @Test
+    public void testGetMainActivityClassConfigured() {
+        SharedPreferences prefs = PowerMockito.mock(SharedPreferences.class);
+        when(mReactApplicationContext.getSharedPreferences(anyString(), anyInt())).thenReturn(prefs);
+        when(prefs.getString(eq(KEY_FOR_PREFS_NOTIFICATION_ACTIVITY), any())).thenReturn(
+                "com.reactnativeazurenotificationhubsample.MainActivity");
+
+        Class activityClass = getMainActivityClass(mReactApplicationContext);
+
+        Assert.assertEquals(activityClass, MainActivity.class);
+        verify(mReactApplicationContext, times(0)).getPackageManager();
+    }
+
+    @Test
+    public void testGetMainActivityClassConfiguredNotFound() {
+        final String className = "com.reactnativeazurenotificationhubsample.MainActivity";
+
+        SharedPreferences prefs = PowerMockito.mock(SharedPreferences.class);
+        when(mReactApplicationContext.getSharedPreferences(anyString(), anyInt())).thenReturn(prefs);
+        when(prefs.getString(eq(KEY_FOR_PREFS_NOTIFICATION_ACTIVITY), any())).thenReturn(
+                "com.reactnativeazurenotificationhubsample.RenamedActivity");
+        PackageManager packageManager = PowerMockito.mock(PackageManager.class);
+        Intent launchIntent = PowerMockito.mock(Intent.class);
+        ComponentName component = PowerMockito.mock(ComponentName.class);
+        when(mReactApplicationContext.getPackageName()).thenReturn("com.reactnativeazurenotificationhubsample");
+        when(mReactApplicationContext.getPackageManager()).thenReturn(packageManager);
+        when(packageManager.getLaunchIntentForPackage(any())).thenReturn(launchIntent);
+        when(launchIntent.getComponent()).thenReturn(component);
+        when(component.getClassName()).thenReturn(className);
+
+        Class activityClass = getMainActivityClass(mReactApplicationContext);
+
+        // Logged, then the launch activity opens instead
+        Assert.assertEquals(activityClass.getName(), className);
+        verifyStatic(Log.class);
+        Log.e(eq(ReactNativeUtil.TAG), anyString(), any(ClassNotFoundException.class));
+    }
+
+    @Test
+    public void testGetMainActivityClassOverride() {
+        setMainActivityClass(MainActivity.class);
+
+        Class activityClass = getMainActivityClass(mReactApplicationContext);
+
+        Assert.assertEquals(activityClass, MainActivity.class);
+        verify(mReactApplicationContext, times(0)).getPackageManager();
+    }
+
     @Test
     public void testGetNotificationCompatPriority() {
         Assert.assertEquals(getNotificationCompatPriority("max"), NotificationCompat.PRIORITY_MAX);
@@ -407,6 +570,30 @@ public class ReactNativeUtilTest {
         verify(res, times(0)).getIdentifier(RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName);
     }
 
+    @Test
+    public void testGetSmallIconCachesLookups() {
+        final String packageName = "Package Name";
+
+        Resources res = PowerMockito.mock(Resources.class);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_SMALL_ICON)).thenReturn(null);
+        when(res.getIdentifier(RESOURCE_NAME_VECTOR_ICON, RESOURCE_DEF_TYPE_DRAWABLE, packageName))
+                .thenReturn(0);
+        when(res.getIdentifier(RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName))
+                .thenReturn(0);
+
+        getSmallIcon(mBundle, res, packageName);
+        int smallIconResId = getSmallIcon(mBundle, res, packageName);
+
+        Assert.assertEquals(smallIconResId, android.R.drawable.ic_dialog_info);
+        verify(res, times(1)).getIdentifier(RESOURCE_NAME_VECTOR_ICON, RESOURCE_DEF_TYPE_DRAWABLE, packageName);
+        verify(res, times(1)).getIdentifier(RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName);
+
+        ReactNativeResourceResolver.invalidate();
+        getSmallIcon(mBundle, res, packageName);
+
+        verify(res, times(2)).getIdentifier(RESOURCE_NAME_LAUNCHER, RESOURCE_DEF_TYPE_MIPMAP, packageName);
+    }
+
     @Test
     public void testGetLargeIconNoIcon() {
         final String packageName = "Package Name";
@@ -512,20 +699,46 @@ public class ReactNativeUtilTest {
     @Test
     public void testCreateNotificationIntent() {
         Intent intent = PowerMockito.mock(Intent.class);
+        Bundle payload = PowerMockito.mock(Bundle.class);
         when(IntentFactory.createIntent(eq(mReactApplicationContext), any())).thenReturn(intent);
+        when(BundleFactory.createBundle(mBundle)).thenReturn(payload);
 
         createNotificationIntent(mReactApplicationContext, mBundle, null);
 
         PowerMockito.verifyStatic(IntentFactory.class);
         IntentFactory.createIntent(mReactApplicationContext, null);
         verify(intent, times(1)).addFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP);
-        verify(intent, times(1)).putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, mBundle);
-        verify(mBundle, times(1)).putBoolean(
+        verify(intent, times(1)).putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, payload);
+        verify(payload, times(1)).putBoolean(
                 KEY_REMOTE_NOTIFICATION_FOREGROUND, true);
-        verify(mBundle, times(1)).putBoolean(
+        verify(payload, times(1)).putBoolean(
                 KEY_REMOTE_NOTIFICATION_USER_INTERACTION, false);
-        verify(mBundle, times(1)).putBoolean(
+        verify(payload, times(1)).putBoolean(
                 KEY_REMOTE_NOTIFICATION_COLDSTART, false);
+        verify(mBundle, times(0)).putBoolean(any(), anyBoolean());
+    }
+
+    @Test
+    public void testCreateDismissPendingIntent() {
+        final int notificationID = 7;
+
+        Intent intent = PowerMockito.mock(Intent.class);
+        when(IntentFactory.createIntent(
+                mReactApplicationContext, ReactNativeNotificationDismissedReceiver.class)).thenReturn(intent);
+
+        createDismissPendingIntent(mReactApplicationContext, "a", notificationID);
+        createDismissPendingIntent(mReactApplicationContext, "b", notificationID);
+        createDismissPendingIntent(mReactApplicationContext, null, notificationID);
+
+        // Same id and component, told apart by the action
+        verify(intent, times(1)).setAction(INTENT_ACTION_NOTIFICATION_DISMISSED + "/7/a");
+        verify(intent, times(1)).setAction(INTENT_ACTION_NOTIFICATION_DISMISSED + "/7/b");
+        verify(intent, times(1)).setAction(INTENT_ACTION_NOTIFICATION_DISMISSED + "/7");
+        verify(intent, times(1)).putExtra(KEY_INTENT_NOTIFICATION_TAG, "a");
+        verify(intent, times(3)).putExtra(KEY_INTENT_NOTIFICATION_ID, notificationID);
+        PowerMockito.verifyStatic(PendingIntent.class, times(3));
+        PendingIntent.getBroadcast(eq(mReactApplicationContext), eq(notificationID), eq(intent),
+                eq(PendingIntent.FLAG_UPDATE_CURRENT));
     }
 
     @Test
@@ -589,7 +802,9 @@ public class ReactNativeUtilTest {
 
         NotificationCompat.Builder notificationBuilder = PowerMockito.mock(NotificationCompat.Builder.class);
         Intent intent = PowerMockito.mock(Intent.class);
+        Bundle payload = PowerMockito.mock(Bundle.class);
         when(IntentFactory.createIntent()).thenReturn(intent);
+        when(BundleFactory.createBundle(mBundle)).thenReturn(payload);
         when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ACTIONS)).thenReturn(jsonString);
 
         processNotificationActions(
@@ -600,12 +815,38 @@ public class ReactNativeUtilTest {
         PowerMockito.verifyStatic(PendingIntent.class, times(2));
         PendingIntent.getBroadcast(eq(mReactApplicationContext), eq(notificationID), any(),
                 eq(PendingIntent.FLAG_UPDATE_CURRENT));
-        verify(mBundle, times(2)).putString(
+        verify(payload, times(2)).putString(
                 KEY_REMOTE_NOTIFICATION_ACTION, "Action");
+        verify(mBundle, times(0)).putString(eq(KEY_REMOTE_NOTIFICATION_ACTION), any());
+        verify(intent, times(2)).putExtra(KEY_NOTIFICATION_PAYLOAD_TYPE, payload);
+        verify(intent, times(2)).setClass(mReactApplicationContext, ReactNativeNotificationActionReceiver.class);
         verify(notificationBuilder, times(2)).addAction(
                 eq(0), eq("Action"), any());
     }
 
+    @Test
+    public void testProcessNotificationActionsOwnPayload() {
+        final int notificationID = 1;
+        final String jsonString = " [ \"Accept\", {\"icon\": 1}, \"Decline \\u2715\" ] ";
+
+        NotificationCompat.Builder notificationBuilder = PowerMockito.mock(NotificationCompat.Builder.class);
+        Intent intent = PowerMockito.mock(Intent.class);
+        Bundle acceptPayload = PowerMockito.mock(Bundle.class);
+        Bundle declinePayload = PowerMockito.mock(Bundle.class);
+        when(IntentFactory.createIntent()).thenReturn(intent);
+        when(BundleFactory.createBundle(mBundle)).thenReturn(acceptPayload, declinePayload);
+        when(mBundle.getString(KEY_REMOTE_NOTIFICATION_ACTIONS)).thenReturn(jsonString);
+
+        processNotificationActions(
+                mReactApplicationContext, mBundle, notificationBuilder, notificationID);
+
+        verify(acceptPayload, times(1)).putString(KEY_REMOTE_NOTIFICATION_ACTION, "Accept");
+        verify(declinePayload, times(1)).putString(KEY_REMOTE_NOTIFICATION_ACTION, "Decline \u2715");
+        verify(notificationBuilder, times(2)).addAction(eq(0), any(), any());
+        PowerMockito.verifyStatic(Log.class);
+        Log.e(eq(ReactNativeUtil.TAG), eq(ERROR_GET_ACTIONS_ARRAY), any(JSONException.class));
+    }
+
     @Test
     public void testGetBundleFromIntent() {
         Intent intent = PowerMockito.mock(Intent.class);
@@ -656,5 +897,7 @@ public class ReactNativeUtilTest {
         Bitmap bitmap = ReactNativeUtil.fetchImage(urlString);
 
         Assert.assertEquals(bitmap, expectedBitmap);
+        verify(connection, times(1)).setConnectTimeout(IMAGE_FETCH_CONNECT_TIMEOUT_MS);
+        verify(connection, times(1)).setReadTimeout(IMAGE_FETCH_READ_TIMEOUT_MS);
     }
 }